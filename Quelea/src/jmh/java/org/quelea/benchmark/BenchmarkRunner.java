@@ -0,0 +1,211 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.quelea.data.displayable.TextDisplayable;
+import org.quelea.windows.lyrics.LyricDrawer;
+import org.quelea.windows.main.DisplayCanvas;
+import org.quelea.windows.main.WordDrawer;
+import org.quelea.windows.stage.StageDrawer;
+
+/**
+ * Run as a standalone script - runs the rendering benchmarks, writes the
+ * results out and compares them against the baseline in
+ * src/jmh/resources/render-baseline.properties, if there is one. Exits with
+ * a non-zero status if anything has got noticeably slower, allocates
+ * noticeably more or builds more nodes than the baseline allows, so it can
+ * be used as a build gate.
+ * <p/>
+ * Pass --update-baseline to record the current results as the new baseline
+ * instead of comparing against it. Baselines are only comparable between
+ * runs on the same machine, so record one before making a change and compare
+ * against it afterwards.
+ * <p/>
+ * No baseline is committed, since one recorded on any other machine would
+ * be meaningless. Without one the results are just written out and the run
+ * passes, with a warning that nothing was compared. Once a machine has a
+ * baseline of its own, give -Drender.benchmark.requireBaseline=true so that
+ * a missing baseline fails (straight away, rather than after running
+ * everything) instead of letting the gate quietly pass.
+ * <p/>
+ * @author Michael
+ */
+public class BenchmarkRunner {
+
+    private static final File BASELINE_FILE = new File("src/jmh/resources/render-baseline.properties");
+    private static final File RESULTS_FILE = new File("build/reports/render-benchmark/results.properties");
+    private static final String[] RESOLUTIONS = {"1280x720", "1920x1080", "3840x2160"};
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("render.benchmark.tolerance", "0.25"));
+
+    public static void main(String[] args) throws Exception {
+        boolean updateBaseline = args.length > 0 && args[0].equals("--update-baseline");
+        if (!updateBaseline && !BASELINE_FILE.exists() && isBaselineRequired()) {
+            System.err.println("No baseline at " + BASELINE_FILE.getPath() + " and one is required here. "
+                    + "Record one on the reference machine with --update-baseline and commit it.");
+            System.exit(2);
+        }
+
+        Options opts = new OptionsBuilder()
+                .include(RenderBenchmarks.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> runResults = new Runner(opts).run();
+
+        Properties results = new Properties();
+        for (RunResult runResult : runResults) {
+            String key = runResult.getParams().getBenchmark();
+            key = key.substring(key.lastIndexOf('.') + 1) + "." + runResult.getParams().getParam("resolution");
+            results.setProperty(key + ".time", Double.toString(runResult.getPrimaryResult().getScore()));
+            for (Map.Entry<String, Result> secondary : runResult.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    results.setProperty(key + ".alloc", Double.toString(secondary.getValue().getScore()));
+                }
+            }
+        }
+        countNodes(results);
+
+        RESULTS_FILE.getParentFile().mkdirs();
+        store(results, RESULTS_FILE, "Rendering benchmark results");
+        System.out.println("Results written to " + RESULTS_FILE.getPath());
+
+        if (updateBaseline) {
+            store(results, BASELINE_FILE, "Rendering benchmark baseline");
+            System.out.println("Baseline updated: " + BASELINE_FILE.getPath());
+            System.exit(0);
+        }
+        if (!BASELINE_FILE.exists()) {
+            System.err.println("WARNING: no baseline at " + BASELINE_FILE.getPath() + ", nothing was compared. "
+                    + "Run with --update-baseline to record one.");
+            System.exit(0);
+        }
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(BASELINE_FILE)) {
+            baseline.load(in);
+        }
+        List<String> regressions = compare(baseline, results);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against the baseline.");
+            System.exit(0);
+        }
+        System.err.println("REGRESSIONS:");
+        for (String regression : regressions) {
+            System.err.println(regression);
+        }
+        System.exit(1);
+    }
+
+    /**
+     * Draw every section of the corpus once at each resolution and record the
+     * largest number of nodes any one slide left on the canvas.
+     * <p/>
+     * @param results the results to add the counts to.
+     * @throws Exception if the drawing failed.
+     */
+    private static void countNodes(Properties results) throws Exception {
+        RenderBenchmarks.initEnvironment();
+        for (String resolution : RESOLUTIONS) {
+            String[] parts = resolution.split("x");
+            int width = Integer.parseInt(parts[0]);
+            int height = Integer.parseInt(parts[1]);
+            HeadlessFx.run(() -> {
+                LyricDrawer lyricDrawer = new LyricDrawer();
+                lyricDrawer.setCanvas(RenderBenchmarks.createCanvas(false, width, height));
+                results.setProperty("lyricDrawerSongs." + resolution + ".nodes", Integer.toString(maxNodes(lyricDrawer, true)));
+                results.setProperty("lyricDrawerBible." + resolution + ".nodes", Integer.toString(maxNodes(lyricDrawer, false)));
+                StageDrawer stageDrawer = new StageDrawer();
+                stageDrawer.setCanvas(RenderBenchmarks.createCanvas(true, width, height));
+                results.setProperty("stageDrawerSongs." + resolution + ".nodes", Integer.toString(maxNodes(stageDrawer, true)));
+            });
+        }
+    }
+
+    private static int maxNodes(WordDrawer drawer, boolean songs) {
+        DisplayCanvas canvas = drawer.getCanvas();
+        int max = 0;
+        for (TextDisplayable displayable : songs ? RenderCorpus.getSongs() : RenderCorpus.getPassages()) {
+            for (int i = 0; i < displayable.getSections().length; i++) {
+                drawer.setText(displayable, i);
+                max = Math.max(max, RenderBenchmarks.countNodes(canvas));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Determine whether a missing baseline should fail the run rather than
+     * just be reported.
+     * <p/>
+     * @return true if a baseline has been asked for explicitly, false
+     * otherwise.
+     */
+    private static boolean isBaselineRequired() {
+        return Boolean.getBoolean("render.benchmark.requireBaseline");
+    }
+
+    /**
+     * Compare a set of results against the baseline. Times and allocation
+     * are allowed to grow by the tolerance before they count as a regression,
+     * node counts aren't allowed to grow at all since they don't vary between
+     * runs.
+     * <p/>
+     * @param baseline the baseline results.
+     * @param results the current results.
+     * @return a description of each regression found, empty if none.
+     */
+    private static List<String> compare(Properties baseline, Properties results) {
+        List<String> ret = new ArrayList<>();
+        for (String key : new TreeSet<>(baseline.stringPropertyNames())) {
+            String current = results.getProperty(key);
+            if (current == null) {
+                System.out.println("Not measured this run: " + key);
+                continue;
+            }
+            double before = Double.parseDouble(baseline.getProperty(key));
+            double after = Double.parseDouble(current);
+            double allowed = key.endsWith(".nodes") ? before : before * (1 + TOLERANCE);
+            if (after > allowed) {
+                ret.add(String.format("%s: %.1f -> %.1f (%+.0f%%)", key, before, after, before == 0 ? 100 : (after - before) * 100 / before));
+            }
+        }
+        return ret;
+    }
+
+    private static void store(Properties props, File file, String comment) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            props.store(out, comment);
+        }
+    }
+}
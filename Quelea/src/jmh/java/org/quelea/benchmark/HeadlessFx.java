@@ -0,0 +1,93 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit without a display and runs work on its thread.
+ * The JVM must be started with Monocle's headless platform selected, see the
+ * renderBenchmark task in build.gradle.
+ * <p/>
+ * @author Michael
+ */
+public final class HeadlessFx {
+
+    private static boolean started;
+
+    private HeadlessFx() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Start the toolkit if it isn't running already.
+     * <p/>
+     * @throws InterruptedException if interrupted while waiting for it.
+     */
+    public static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        latch.await();
+        started = true;
+    }
+
+    /**
+     * Run some work on the FX thread and wait for its result.
+     * <p/>
+     * @param <T> the type of the result.
+     * @param work the work to run.
+     * @return the result.
+     * @throws Exception if the work threw one.
+     */
+    public static <T> T call(Callable<T> work) throws Exception {
+        if (Platform.isFxApplicationThread()) {
+            return work.call();
+        }
+        FutureTask<T> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Run some work on the FX thread and wait for it to finish.
+     * <p/>
+     * @param work the work to run.
+     * @throws Exception if the work threw one.
+     */
+    public static void run(Runnable work) throws Exception {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
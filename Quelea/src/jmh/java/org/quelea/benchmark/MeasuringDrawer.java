@@ -0,0 +1,47 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.benchmark;
+
+import java.util.List;
+import javafx.scene.text.Font;
+import org.quelea.services.utils.LyricLine;
+import org.quelea.utils.WrapTextResult;
+import org.quelea.windows.lyrics.LyricDrawer;
+
+/**
+ * A lyric drawer that opens up its font fitting methods so they can be
+ * measured on their own, away from the rest of the drawing.
+ * <p/>
+ * @author Michael
+ */
+public class MeasuringDrawer extends LyricDrawer {
+
+    /**
+     * @see #pickFontSize(Font, List, double, double)
+     */
+    public double fitFontSize(Font font, List<LyricLine> text, double width, double height) {
+        return pickFontSize(font, text, width, height);
+    }
+
+    /**
+     * @see #normalWrapText(Font, String, double, double)
+     */
+    public WrapTextResult wrap(Font font, String line, double width, double height) {
+        return normalWrapText(font, line, width, height);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.benchmark;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.text.Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.quelea.data.ThemeDTO;
+import org.quelea.data.displayable.BiblePassage;
+import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.data.displayable.TextDisplayable;
+import org.quelea.data.displayable.TextSection;
+import org.quelea.services.utils.LyricLine;
+import org.quelea.services.utils.QueleaProperties;
+import org.quelea.windows.lyrics.LyricDrawer;
+import org.quelea.windows.main.DisplayCanvas;
+import org.quelea.windows.main.WordDrawer;
+import org.quelea.windows.stage.StageDrawer;
+
+/**
+ * Times the text layout and drawing paths used when a slide goes live, at
+ * the output resolutions churches commonly project at. Each operation draws
+ * every section of the corpus once, so the scores are per pass over the
+ * whole corpus rather than per slide.
+ * <p/>
+ * Run through the renderBenchmark Gradle task, which starts JavaFX with
+ * Monocle's headless platform and software rendering so the numbers don't
+ * depend on the graphics card of whoever runs it.
+ * <p/>
+ * @author Michael
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw", "-Djava.awt.headless=true"})
+public class RenderBenchmarks {
+
+    private static boolean initialised;
+
+    @Param({"1280x720", "1920x1080", "3840x2160"})
+    public String resolution;
+
+    private int width;
+    private int height;
+    private List<SongDisplayable> songs;
+    private List<BiblePassage> passages;
+    private LyricDrawer lyricDrawer;
+    private StageDrawer stageDrawer;
+    private MeasuringDrawer measuringDrawer;
+    private Font font;
+    private List<List<LyricLine>> sectionLines;
+    private List<String> longLines;
+
+    /**
+     * Start the toolkit, load the corpus and create the drawers and canvases
+     * for the current resolution.
+     * <p/>
+     * @throws Exception if the toolkit couldn't be started.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        initEnvironment();
+        String[] parts = resolution.split("x");
+        width = Integer.parseInt(parts[0]);
+        height = Integer.parseInt(parts[1]);
+        songs = RenderCorpus.getSongs();
+        passages = RenderCorpus.getPassages();
+        font = ThemeDTO.DEFAULT_THEME.getFont();
+        HeadlessFx.run(() -> {
+            lyricDrawer = new LyricDrawer();
+            lyricDrawer.setCanvas(createCanvas(false, width, height));
+            stageDrawer = new StageDrawer();
+            stageDrawer.setCanvas(createCanvas(true, width, height));
+            measuringDrawer = new MeasuringDrawer();
+            measuringDrawer.setCanvas(createCanvas(false, width, height));
+        });
+        sectionLines = new ArrayList<>();
+        longLines = new ArrayList<>();
+        for (TextDisplayable displayable : allDisplayables()) {
+            for (TextSection section : displayable.getSections()) {
+                List<LyricLine> lines = new ArrayList<>();
+                StringBuilder joined = new StringBuilder();
+                for (String line : section.getText(false, false)) {
+                    lines.add(new LyricLine(line));
+                    joined.append(line).append(' ');
+                }
+                sectionLines.add(lines);
+                longLines.add(joined.toString().trim());
+            }
+        }
+    }
+
+    /**
+     * Draw every song section through the main lyric drawer.
+     */
+    @Benchmark
+    public void lyricDrawerSongs() throws Exception {
+        HeadlessFx.run(() -> drawAll(lyricDrawer, songs));
+    }
+
+    /**
+     * Draw every Bible passage section through the main lyric drawer.
+     */
+    @Benchmark
+    public void lyricDrawerBible() throws Exception {
+        HeadlessFx.run(() -> drawAll(lyricDrawer, passages));
+    }
+
+    /**
+     * Draw every song section through the main lyric drawer with a uniform
+     * font size, so the size for the whole song is worked out first. The
+     * songs are fresh copies each time so the cached size isn't reused.
+     */
+    @Benchmark
+    public void lyricDrawerUniformSongs(UniformState state) throws Exception {
+        HeadlessFx.run(() -> drawAll(lyricDrawer, state.songs));
+    }
+
+    /**
+     * Draw every song section, chords included, through the stage drawer.
+     */
+    @Benchmark
+    public void stageDrawerSongs() throws Exception {
+        HeadlessFx.run(() -> drawAll(stageDrawer, songs));
+    }
+
+    /**
+     * Pick a font size for every section of the corpus.
+     */
+    @Benchmark
+    public void pickFontSize(Blackhole bh) throws Exception {
+        HeadlessFx.run(() -> {
+            for (List<LyricLine> lines : sectionLines) {
+                bh.consume(measuringDrawer.fitFontSize(font, lines, width, height));
+            }
+        });
+    }
+
+    /**
+     * Wrap every section of the corpus, run together as one line, to fit the
+     * canvas.
+     */
+    @Benchmark
+    public void normalWrapText(Blackhole bh) throws Exception {
+        HeadlessFx.run(() -> {
+            for (String line : longLines) {
+                bh.consume(measuringDrawer.wrap(font, line, width, height));
+            }
+        });
+    }
+
+    /**
+     * Fresh copies of the song corpus with uniform font sizes switched on.
+     */
+    @State(Scope.Benchmark)
+    public static class UniformState {
+
+        private List<SongDisplayable> songs;
+        private boolean wasUniform;
+
+        @Setup(Level.Trial)
+        public void enable() throws Exception {
+            initEnvironment();
+            wasUniform = QueleaProperties.get().getUseUniformFontSize();
+            QueleaProperties.get().setUseUniformFontSize(true);
+        }
+
+        @Setup(Level.Invocation)
+        public void copySongs() {
+            songs = new ArrayList<>();
+            for (SongDisplayable song : RenderCorpus.getSongs()) {
+                songs.add(new SongDisplayable(song));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void restore() {
+            QueleaProperties.get().setUseUniformFontSize(wasUniform);
+        }
+    }
+
+    private List<TextDisplayable> allDisplayables() {
+        List<TextDisplayable> ret = new ArrayList<>(songs);
+        ret.addAll(passages);
+        return ret;
+    }
+
+    /**
+     * Load the properties from a scratch directory, so a benchmark run never
+     * touches the real ones, and start the toolkit. Safe to call more than
+     * once.
+     * <p/>
+     * @throws Exception if the toolkit couldn't be started.
+     */
+    static synchronized void initEnvironment() throws Exception {
+        if (!initialised) {
+            QueleaProperties.init(Files.createTempDirectory("quelea-bench").toString());
+            initialised = true;
+        }
+        HeadlessFx.start();
+    }
+
+    /**
+     * Create a canvas of a fixed size, as the projection and stage windows
+     * would have.
+     * <p/>
+     * @param stageView true for a stage view canvas.
+     * @param width the canvas width.
+     * @param height the canvas height.
+     * @return the canvas.
+     */
+    static DisplayCanvas createCanvas(boolean stageView, int width, int height) {
+        DisplayCanvas canvas = new DisplayCanvas(stageView, () -> {
+        }, DisplayCanvas.Priority.HIGH);
+        canvas.resize(width, height);
+        return canvas;
+    }
+
+    /**
+     * Draw every section of some displayables in turn.
+     * <p/>
+     * @param drawer the drawer to use.
+     * @param displayables the displayables to draw.
+     */
+    static void drawAll(WordDrawer drawer, List<? extends TextDisplayable> displayables) {
+        for (TextDisplayable displayable : displayables) {
+            for (int i = 0; i < displayable.getSections().length; i++) {
+                drawer.setText(displayable, i);
+            }
+        }
+    }
+
+    /**
+     * Count the nodes in a scene graph, including its root.
+     * <p/>
+     * @param node the root of the graph.
+     * @return the number of nodes.
+     */
+    static int countNodes(Node node) {
+        int ret = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                ret += countNodes(child);
+            }
+        }
+        return ret;
+    }
+}
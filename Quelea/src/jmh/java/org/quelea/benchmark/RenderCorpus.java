@@ -0,0 +1,158 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.quelea.data.bible.BibleVerse;
+import org.quelea.data.displayable.BiblePassage;
+import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.data.displayable.TextDisplayable;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * The fixed set of songs and Bible passages the rendering benchmarks draw.
+ * Everything in it is public domain so it can live in the repository.
+ * <p/>
+ * Songs are read from corpus/songs.txt, one song after another separated by
+ * a line of three dashes. The first line of each song is its title and the
+ * rest is its lyrics, laid out as they would be in the song entry window.
+ * Passages are read from corpus/bible.xml.
+ * <p/>
+ * @author Michael
+ */
+public final class RenderCorpus {
+
+    private static final String SONG_SEPARATOR = "---";
+    private static List<SongDisplayable> songs;
+    private static List<BiblePassage> passages;
+
+    private RenderCorpus() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return the songs in the corpus.
+     */
+    public static synchronized List<SongDisplayable> getSongs() {
+        if (songs == null) {
+            songs = loadSongs();
+        }
+        return songs;
+    }
+
+    /**
+     * @return the Bible passages in the corpus.
+     */
+    public static synchronized List<BiblePassage> getPassages() {
+        if (passages == null) {
+            passages = loadPassages();
+        }
+        return passages;
+    }
+
+    /**
+     * Count the sections across a list of displayables.
+     * <p/>
+     * @param displayables the displayables to count.
+     * @return the total number of sections.
+     */
+    public static int countSections(List<? extends TextDisplayable> displayables) {
+        int ret = 0;
+        for (TextDisplayable displayable : displayables) {
+            ret += displayable.getSections().length;
+        }
+        return ret;
+    }
+
+    private static List<SongDisplayable> loadSongs() {
+        List<SongDisplayable> ret = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open("corpus/songs.txt"), StandardCharsets.UTF_8))) {
+            String title = null;
+            StringBuilder lyrics = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().equals(SONG_SEPARATOR)) {
+                    addSong(ret, title, lyrics);
+                    title = null;
+                    lyrics.setLength(0);
+                } else if (title == null) {
+                    title = line.trim();
+                } else {
+                    lyrics.append(line).append('\n');
+                }
+            }
+            addSong(ret, title, lyrics);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Couldn't read the song corpus", ex);
+        }
+        return ret;
+    }
+
+    private static void addSong(List<SongDisplayable> songs, String title, StringBuilder lyrics) {
+        if (title == null || title.isEmpty()) {
+            return;
+        }
+        SongDisplayable song = new SongDisplayable(title, "Public domain");
+        song.setLyrics(lyrics.toString().trim());
+        songs.add(song);
+    }
+
+    private static List<BiblePassage> loadPassages() {
+        List<BiblePassage> ret = new ArrayList<>();
+        try (InputStream in = open("corpus/bible.xml")) {
+            Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+            NodeList passageNodes = doc.getElementsByTagName("passage");
+            for (int i = 0; i < passageNodes.getLength(); i++) {
+                Element passageNode = (Element) passageNodes.item(i);
+                List<BibleVerse> verses = new ArrayList<>();
+                NodeList verseNodes = passageNode.getChildNodes();
+                for (int j = 0; j < verseNodes.getLength(); j++) {
+                    Node verseNode = verseNodes.item(j);
+                    if (verseNode.getNodeType() == Node.ELEMENT_NODE) {
+                        BibleVerse verse = BibleVerse.parseXML(verseNode);
+                        if (verse != null) {
+                            verses.add(verse);
+                        }
+                    }
+                }
+                ret.add(new BiblePassage("KJV", passageNode.getAttribute("name"), verses.toArray(new BibleVerse[0]), false));
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException("Couldn't read the Bible corpus", ex);
+        }
+        return ret;
+    }
+
+    private static InputStream open(String name) throws IOException {
+        InputStream in = RenderCorpus.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException("Missing corpus resource " + name);
+        }
+        return in;
+    }
+}
@@ -23,13 +23,13 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 
@@ -58,7 +58,7 @@ public class InputDialog extends Stage {
         textField = new TextField();
         BorderPane.setMargin(textField, new Insets(5));
         mainPane.setCenter(textField);
-        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(new Image("file:icons/tick.png")));
+        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         okButton.setDefaultButton(true);
         okButton.setOnAction(t -> hide());
         BorderPane.setMargin(okButton, new Insets(5));
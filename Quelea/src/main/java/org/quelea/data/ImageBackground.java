@@ -55,28 +55,44 @@ public class ImageBackground implements Background, Serializable {
      */
     public ImageBackground(String imageName) {
         this.imageName = imageName;
-        initImage();
+        //Decode in the background, the image isn't needed until it's drawn
+        String uri = getImageURI();
+        if(uri != null) {
+            ImageManager.INSTANCE.getImageAsync(uri, 0, 0, false, false);
+        }
     }
 
     private Image initImage() {
-        File f = new File(QueleaProperties.get().getImageDir(), imageName);
-        File rawPath = new File(imageName);
+        String uri = getImageURI();
         Image img;
-        if(!imageName.trim().isEmpty() && rawPath.exists()) {
-            img = ImageManager.INSTANCE.getImage(rawPath.toURI().toString());
-            originalImage = new SoftReference<>(img);
-        }
-        else if(f.exists() && !imageName.trim().isEmpty()) {
-            img = ImageManager.INSTANCE.getImage(f.toURI().toString());
-            originalImage = new SoftReference<>(img);
+        if(uri != null) {
+            img = ImageManager.INSTANCE.getImage(uri);
         }
         else {
             img = Utils.getImageFromColour(Color.BLACK);
-            originalImage = new SoftReference<>(img);
         }
+        originalImage = new SoftReference<>(img);
         return img;
     }
 
+    /**
+     * Get the URI of the background image, or null if there isn't one.
+     */
+    private String getImageURI() {
+        if(imageName.trim().isEmpty()) {
+            return null;
+        }
+        File rawPath = new File(imageName);
+        if(rawPath.exists()) {
+            return rawPath.toURI().toString();
+        }
+        File f = new File(QueleaProperties.get().getImageDir(), imageName);
+        if(f.exists()) {
+            return f.toURI().toString();
+        }
+        return null;
+    }
+
     /**
      * Get the background image.
      * <p>
@@ -143,7 +159,6 @@ public class ImageBackground implements Background, Serializable {
     public int hashCode() {
         int hash = 5;
         hash = 71 * hash + Objects.hashCode(this.imageName);
-        hash = 71 * hash + Objects.hashCode(this.originalImage);
         return hash;
     }
 
@@ -159,9 +174,6 @@ public class ImageBackground implements Background, Serializable {
         if(!Objects.equals(this.imageName, other.imageName)) {
             return false;
         }
-        if(!Objects.equals(this.originalImage, other.originalImage)) {
-            return false;
-        }
         return true;
     }
 }
@@ -16,17 +16,15 @@
  */
 package org.quelea.data;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -35,17 +33,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 import javafx.application.Platform;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -65,10 +66,10 @@ import org.quelea.data.displayable.WebDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
-import org.quelea.services.utils.Utils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 /**
@@ -80,96 +81,166 @@ import org.xml.sax.SAXException;
 public class Schedule implements Iterable<Displayable> {
 
     private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final int EXTRACT_BUFFER = 256 * 1024;
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+        Thread t = new Thread(r, "schedule-loader");
+        t.setDaemon(true);
+        return t;
+    });
     private final List<Displayable> displayables;
+    private final Map<Displayable, Integer> loadOrder;
     private File file;
     private boolean modified;
+    private ScheduleLoadListener loadListener;
+    private volatile int pendingCount;
+    private volatile int loadTotal;
+    private volatile CountDownLatch loading;
 
     /**
      * Create a new schedule.
      */
     public Schedule() {
         displayables = new ArrayList<>();
+        loadOrder = new IdentityHashMap<>();
+        loading = new CountDownLatch(0);
         modified = false;
     }
 
     /**
-     * Generate a schedule object from a saved file.
+     * Generate a schedule object from a saved file. The schedule is returned
+     * as soon as its XML has been parsed; embedded media is extracted in
+     * parallel, and items that depend on it (presentations, PDFs, images,
+     * video and audio) are loaded in the background and put into the schedule
+     * as they become ready - see {@link #setLoadListener(ScheduleLoadListener)}.
      *
      * @param file the file where the schedule is saved.
      * @return the schedule object.
      */
     public static Schedule fromFile(File file) {
+        ZipFile zipFile = null;
         try {
             LOGGER.log(Level.INFO, "Loading schedule from file: " + file.getAbsolutePath());
-            ZipFile zipFile = new ZipFile(file, Charset.forName("UTF-8"));
-            final int BUFFER = 2048;
-            try {
-                Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
-                Map<String, String> fileChanges = new HashMap<>();
-                while (enumeration.hasMoreElements()) {
-                    ZipEntry entry = enumeration.nextElement();
-                    if (!entry.getName().startsWith("resources/")) {
-                        continue;
-                    }
-                    try (BufferedInputStream is = new BufferedInputStream(zipFile.getInputStream(entry))) {
-                        int count;
-                        byte[] data = new byte[BUFFER];
-                        File writeFile = new File(entry.getName().substring("resources/".length()));
-                        if (writeFile.exists()) {
-                            LOGGER.log(Level.INFO, "Skipping " + writeFile.getAbsolutePath() + ", already exists");
-                            continue;
-                        }
-                        if (!writeFile.canWrite()) {
-                            LOGGER.log(Level.INFO, "Can't write to " + writeFile.getAbsolutePath() + ", creating temp file");
-                            String[] localPathParts = new File(".").toPath().relativize(writeFile.toPath()).toString().split(Pattern.quote(System.getProperty("file.separator")));
-                            LOGGER.log(Level.INFO, "Write file local path: " + Arrays.toString(localPathParts));
-                            String[] parts = writeFile.getAbsolutePath().split("\\.");
-                            String extension = parts[parts.length - 1];
-                            File tempWriteFile = File.createTempFile("resource", "." + extension);
-                            LOGGER.log(Level.INFO, "Created file " + tempWriteFile.getAbsolutePath());
-                            Path tempResourceFile = Paths.get(tempWriteFile.getParentFile().getAbsolutePath(), localPathParts);
-                            Files.deleteIfExists(tempResourceFile);
-                            Files.createDirectories(tempResourceFile);
-                            tempWriteFile = Files.move(tempWriteFile.toPath(), tempResourceFile, StandardCopyOption.REPLACE_EXISTING).toFile();
-                            LOGGER.log(Level.INFO, "Moved to " + tempWriteFile.getAbsolutePath());
-                            tempWriteFile.deleteOnExit();
-                            LOGGER.log(Level.INFO, "Writing out {0} to {1}", new Object[]{writeFile.getAbsolutePath(), tempWriteFile.getAbsolutePath()});
-                            fileChanges.put(writeFile.getAbsolutePath(), tempWriteFile.getAbsolutePath());
-                            writeFile = tempWriteFile;
-                        }
-                        FileOutputStream fos = new FileOutputStream(writeFile);
-                        try (BufferedOutputStream dest = new BufferedOutputStream(fos, BUFFER)) {
-                            while ((count = is.read(data, 0, BUFFER)) != -1) {
-                                dest.write(data, 0, count);
-                            }
-                            dest.flush();
-                        }
-                        LOGGER.log(Level.INFO, "Opening schedule - written file {0}", writeFile.getAbsolutePath());
-                    }
+            zipFile = new ZipFile(file, Charset.forName("UTF-8"));
+            final ZipFile zip = zipFile;
+            Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+            Map<String, String> fileChanges = new HashMap<>();
+            List<CompletableFuture<Void>> extractions = new ArrayList<>();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry = enumeration.nextElement();
+                if (!entry.getName().startsWith(ScheduleArchive.RESOURCE_PREFIX) || entry.isDirectory()) {
+                    continue;
                 }
-                Schedule ret = parseXML(zipFile.getInputStream(zipFile.getEntry("schedule.xml")), fileChanges);
-                if (ret == null) {
-                    return null;
+                File writeFile = getExtractionFile(entry, fileChanges);
+                if (writeFile != null) {
+                    extractions.add(CompletableFuture.runAsync(() -> extract(zip, entry, writeFile), LOADER));
+                }
+            }
+            for (Map.Entry<String, String> alias : ScheduleArchive.readAliases(zipFile).entrySet()) {
+                File aliasFile = new File(alias.getKey().substring(ScheduleArchive.RESOURCE_PREFIX.length()));
+                File storedFile = new File(alias.getValue().substring(ScheduleArchive.RESOURCE_PREFIX.length()));
+                if (!aliasFile.exists()) {
+                    fileChanges.put(aliasFile.getAbsolutePath(), fileChanges.getOrDefault(storedFile.getAbsolutePath(), storedFile.getAbsolutePath()));
                 }
-                ret.setFile(file);
-                ret.modified = false;
-                return ret;
+            }
+            CompletableFuture<Void> extracted = CompletableFuture.allOf(extractions.toArray(new CompletableFuture[0]));
+            Schedule ret;
+            try {
+                ret = parseXML(zipFile.getInputStream(zipFile.getEntry(ScheduleArchive.SCHEDULE_ENTRY)), fileChanges, extracted);
             } finally {
-                zipFile.close();
+                extracted.whenComplete((result, ex) -> {
+                    try {
+                        zip.close();
+                    } catch (IOException closeEx) {
+                        LOGGER.log(Level.INFO, "Couldn't close schedule file", closeEx);
+                    }
+                });
             }
+            if (ret == null) {
+                return null;
+            }
+            ret.setFile(file);
+            ret.modified = false;
+            return ret;
         } catch (IOException ex) {
             LOGGER.log(Level.WARNING, "Couldn't read the schedule from file", ex);
+            if (zipFile != null) {
+                try {
+                    zipFile.close();
+                } catch (IOException closeEx) {
+                    LOGGER.log(Level.INFO, "Couldn't close schedule file", closeEx);
+                }
+            }
             return null;
         }
     }
 
+    /**
+     * Work out where an embedded resource should be extracted to, recording
+     * it in the file changes if it can't go where it was originally.
+     *
+     * @param entry the zip entry of the resource.
+     * @param fileChanges the map of original paths to extracted paths.
+     * @return the file to extract to, or null if it already exists.
+     */
+    private static File getExtractionFile(ZipEntry entry, Map<String, String> fileChanges) throws IOException {
+        File writeFile = new File(entry.getName().substring(ScheduleArchive.RESOURCE_PREFIX.length()));
+        if (writeFile.exists()) {
+            LOGGER.log(Level.INFO, "Skipping " + writeFile.getAbsolutePath() + ", already exists");
+            return null;
+        }
+        if (!writeFile.canWrite()) {
+            LOGGER.log(Level.INFO, "Can't write to " + writeFile.getAbsolutePath() + ", creating temp file");
+            String[] localPathParts = new File(".").toPath().relativize(writeFile.toPath()).toString().split(Pattern.quote(System.getProperty("file.separator")));
+            LOGGER.log(Level.INFO, "Write file local path: " + Arrays.toString(localPathParts));
+            String[] parts = writeFile.getAbsolutePath().split("\\.");
+            String extension = parts[parts.length - 1];
+            File tempWriteFile = File.createTempFile("resource", "." + extension);
+            LOGGER.log(Level.INFO, "Created file " + tempWriteFile.getAbsolutePath());
+            Path tempResourceFile = Paths.get(tempWriteFile.getParentFile().getAbsolutePath(), localPathParts);
+            Files.deleteIfExists(tempResourceFile);
+            Files.createDirectories(tempResourceFile);
+            tempWriteFile = Files.move(tempWriteFile.toPath(), tempResourceFile, StandardCopyOption.REPLACE_EXISTING).toFile();
+            LOGGER.log(Level.INFO, "Moved to " + tempWriteFile.getAbsolutePath());
+            tempWriteFile.deleteOnExit();
+            LOGGER.log(Level.INFO, "Writing out {0} to {1}", new Object[]{writeFile.getAbsolutePath(), tempWriteFile.getAbsolutePath()});
+            fileChanges.put(writeFile.getAbsolutePath(), tempWriteFile.getAbsolutePath());
+            writeFile = tempWriteFile;
+        }
+        return writeFile;
+    }
+
+    /**
+     * Extract an embedded resource. Failures are logged rather than thrown;
+     * the item using the resource is skipped when it can't find its file.
+     *
+     * @param zipFile the schedule file.
+     * @param entry the zip entry of the resource.
+     * @param writeFile the file to extract to.
+     */
+    private static void extract(ZipFile zipFile, ZipEntry entry, File writeFile) {
+        try (InputStream is = zipFile.getInputStream(entry);
+                FileOutputStream dest = new FileOutputStream(writeFile)) {
+            byte[] data = new byte[EXTRACT_BUFFER];
+            int count;
+            while ((count = is.read(data)) != -1) {
+                dest.write(data, 0, count);
+            }
+            LOGGER.log(Level.INFO, "Opening schedule - written file {0}", writeFile.getAbsolutePath());
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't extract " + entry.getName() + " from schedule", ex);
+        }
+    }
+
     /**
      * Parse some given XML from an inputstream to create a schedule.
      *
      * @param inputStream the inputstream where the xml is being read from.
+     * @param fileChanges the map of original paths to extracted paths.
+     * @param resourcesReady completes once the embedded resources have been
+     * extracted.
      * @return the schedule.
      */
-    private static Schedule parseXML(InputStream inputStream, Map<String, String> fileChanges) {
+    private static Schedule parseXML(InputStream inputStream, Map<String, String> fileChanges, CompletableFuture<Void> resourcesReady) {
         try {
             /*
              * TODO: This should solve a problem some people were having with
@@ -178,62 +249,67 @@ public class Schedule implements Iterable<Displayable> {
              * characters that end up in the XML file which shouldn't be there.
              * Character encoding bug perhaps? Oh joy.
              *
-             * Start bodge.
-             */
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-            StringBuilder contentsBuilder = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                contentsBuilder.append(line).append('\n');
-            }
-            String contents = contentsBuilder.toString();
-            contents = contents.replace(new String(new byte[]{11}), "\n");
-            contents = contents.replace(new String(new byte[]{-3}), " ");
-            contents = contents.replace(new String(new byte[]{0}), "");
-            InputStream strInputStream = new ByteArrayInputStream(contents.getBytes("UTF-8"));
-            /*
-             * End bodge.
+             * The bodge is done by SanitisingReader as the XML is read.
              */
+            Reader reader = new SanitisingReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
 
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(strInputStream); //Read from our "bodged" stream.
+            Document doc = builder.parse(new InputSource(reader)); //Read from our "bodged" stream.
             NodeList nodes = doc.getFirstChild().getChildNodes();
             Schedule newSchedule = new Schedule();
+            List<PendingItem> pendingItems = new ArrayList<>();
             boolean skipped = false;
             for (int i = 0; i < nodes.getLength(); i++) {
                 Node node = nodes.item(i);
                 String name = node.getNodeName();
-                //The non-shortcircuit (single bar) "or" is deliberate here, otherwise after "skipped" is set to true, nothing else will get added.
+                Displayable displayable = null;
+                ItemParser parser = null;
                 if (name.equalsIgnoreCase("song")) {
-                    skipped = skipped | !newSchedule.add(SongDisplayable.parseXML(node, fileChanges));
+                    displayable = SongDisplayable.parseXML(node, fileChanges);
                 } else if (name.equalsIgnoreCase("passage")) {
-                    skipped = skipped | !newSchedule.add(BiblePassage.parseXML(node));
+                    displayable = BiblePassage.parseXML(node);
+                } else if (name.equalsIgnoreCase("timer")) {
+                    displayable = TimerDisplayable.parseXML(node);
+                } else if (name.equalsIgnoreCase("url")) {
+                    displayable = WebDisplayable.parseXML(node);
                 } else if (name.equalsIgnoreCase("fileimage")) {
-                    skipped = skipped | !newSchedule.add(ImageDisplayable.parseXML(node, fileChanges));
+                    parser = ImageDisplayable::parseXML;
                 } else if (name.equalsIgnoreCase("filevideo")) {
-                    skipped = skipped | !newSchedule.add(VideoDisplayable.parseXML(node, fileChanges));
+                    parser = VideoDisplayable::parseXML;
                 } else if (name.equalsIgnoreCase("fileaudio")) {
-                    skipped = skipped | !newSchedule.add(AudioDisplayable.parseXML(node, fileChanges));
+                    parser = AudioDisplayable::parseXML;
                 } else if (name.equalsIgnoreCase("filepresentation")) {
-                    PresentationDisplayable disp = PresentationDisplayable.parseXML(node, fileChanges);
-                    skipped = skipped | !newSchedule.add(disp);
-                } else if (name.equalsIgnoreCase("timer")) {
-                    skipped = skipped | !newSchedule.add(TimerDisplayable.parseXML(node));
+                    parser = PresentationDisplayable::parseXML;
                 } else if (name.equalsIgnoreCase("filepdf")) {
-                    skipped = skipped | !newSchedule.add(PdfDisplayable.parseXML(node, fileChanges));
+                    parser = PdfDisplayable::parseXML;
                 } else if (name.equalsIgnoreCase("fileimagegroup")) {
-                    skipped = skipped | !newSchedule.add(ImageGroupDisplayable.parseXML(node, fileChanges));
-                } else if (name.equalsIgnoreCase("url")) {
-                    skipped = skipped | !newSchedule.add(WebDisplayable.parseXML(node));
+                    parser = ImageGroupDisplayable::parseXML;
+                } else {
+                    continue;
+                }
+                int order = newSchedule.loadOrder.size() + pendingItems.size();
+                if (parser != null) {
+                    /*
+                     * DOM nodes aren't safe to read from several threads at
+                     * once, so each item loaded in the background gets its own
+                     * copy.
+                     */
+                    Document itemDoc = builder.newDocument();
+                    itemDoc.appendChild(itemDoc.importNode(node, true));
+                    pendingItems.add(new PendingItem(order, itemDoc.getDocumentElement(), parser));
+                } else if (displayable == null) {
+                    skipped = true;
+                } else {
+                    newSchedule.add(displayable);
+                    newSchedule.loadOrder.put(displayable, order);
                 }
             }
             if (skipped) {
-                Platform.runLater(() -> {
-                    Dialog.showWarning(LabelGrabber.INSTANCE.getLabel("schedule.items.skipped.header"), LabelGrabber.INSTANCE.getLabel("schedule.items.skipped.text"));
-                });
+                showSkippedWarning();
             }
             newSchedule.modified = false;
+            newSchedule.loadInBackground(pendingItems, fileChanges, resourcesReady, skipped);
             return newSchedule;
         } catch (ParserConfigurationException | SAXException | IOException ex) {
             LOGGER.log(Level.WARNING, "Couldn't parse the schedule", ex);
@@ -241,6 +317,131 @@ public class Schedule implements Iterable<Displayable> {
         }
     }
 
+    private static void showSkippedWarning() {
+        Platform.runLater(() -> {
+            Dialog.showWarning(LabelGrabber.INSTANCE.getLabel("schedule.items.skipped.header"), LabelGrabber.INSTANCE.getLabel("schedule.items.skipped.text"));
+        });
+    }
+
+    /**
+     * Load the given items on the loader threads once the resources they need
+     * have been extracted, putting each one into the schedule (in its original
+     * position) on the FX thread when it's ready.
+     */
+    private void loadInBackground(List<PendingItem> items, Map<String, String> fileChanges, CompletableFuture<Void> resourcesReady, boolean warned) {
+        pendingCount = items.size();
+        loadTotal = items.size();
+        loading = new CountDownLatch(items.size());
+        if (items.isEmpty()) {
+            return;
+        }
+        AtomicBoolean skipped = new AtomicBoolean(warned);
+        for (PendingItem item : items) {
+            // Still try to load the item if extraction failed, it may not have needed it
+            resourcesReady.handleAsync((v, ex) -> item.load(fileChanges), LOADER)
+                    .thenAccept(displayable -> Platform.runLater(() -> {
+                        if (displayable == null) {
+                            if (!skipped.getAndSet(true)) {
+                                showSkippedWarning();
+                            }
+                        } else {
+                            insertLoaded(displayable, item.order);
+                        }
+                        pendingCount--;
+                        loading.countDown();
+                        if (loadListener != null) {
+                            loadListener.progress(loadTotal - pendingCount, loadTotal);
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * Put an item that's been loaded in the background into the schedule,
+     * next to the items either side of it in the saved schedule.
+     */
+    private void insertLoaded(Displayable displayable, int order) {
+        loadOrder.put(displayable, order);
+        int index = getInsertIndex(displayables, displayable);
+        displayables.add(index, displayable);
+        if (loadListener != null) {
+            loadListener.itemLoaded(displayable, index);
+        }
+    }
+
+    /**
+     * Work out where an item loaded in the background should go in a list of
+     * this schedule's items. The items may have been reordered or removed
+     * since the schedule was opened, so the item goes straight after the
+     * closest item before it in the saved schedule that's still in the list,
+     * or failing that straight before the closest item after it.
+     *
+     * @param items the items to insert into.
+     * @param displayable the item that's been loaded.
+     * @return the index to insert the item at.
+     */
+    public int getInsertIndex(List<Displayable> items, Displayable displayable) {
+        Integer order = loadOrder.get(displayable);
+        if (order == null) {
+            return items.size();
+        }
+        int before = -1;
+        int beforeOrder = Integer.MIN_VALUE;
+        int after = -1;
+        int afterOrder = Integer.MAX_VALUE;
+        for (int i = 0; i < items.size(); i++) {
+            Integer itemOrder = loadOrder.get(items.get(i));
+            if (itemOrder == null) {
+                continue;
+            }
+            if (itemOrder < order && itemOrder > beforeOrder) {
+                before = i;
+                beforeOrder = itemOrder;
+            } else if (itemOrder > order && itemOrder < afterOrder) {
+                after = i;
+                afterOrder = itemOrder;
+            }
+        }
+        if (before >= 0) {
+            return before + 1;
+        }
+        if (after >= 0) {
+            return after;
+        }
+        return items.size();
+    }
+
+    /**
+     * Wait until every item being loaded in the background has been put into
+     * the schedule. This must not be called on the FX thread, since that's
+     * where the items are put in.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void awaitLoaded() throws InterruptedException {
+        loading.await();
+    }
+
+    /**
+     * Set the listener to be told when items that are loaded in the
+     * background are ready. Should be set on the FX thread straight after the
+     * schedule is loaded, so it doesn't miss any items.
+     *
+     * @param loadListener the listener.
+     */
+    public void setLoadListener(ScheduleLoadListener loadListener) {
+        this.loadListener = loadListener;
+    }
+
+    /**
+     * Get the number of items still being loaded in the background.
+     *
+     * @return the number of items not yet loaded.
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
     /**
      * Determine if this schedule has been modified since it was last saved.
      *
@@ -291,7 +492,9 @@ public class Schedule implements Iterable<Displayable> {
     }
 
     /**
-     * Write this schedule to a file.
+     * Write this schedule to a file. If items are still being loaded in the
+     * background this waits for them first, so they're not left out of the
+     * saved file; it must therefore be called off the FX thread.
      *
      * @return true if the write was successful, false otherwise.
      */
@@ -299,43 +502,29 @@ public class Schedule implements Iterable<Displayable> {
         if (file == null) {
             return false;
         }
-        try {
-            ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file), Charset.forName("UTF-8"));
-            final int BUFFER = 2048;
-            byte[] data = new byte[BUFFER];
+        if (pendingCount > 0) {
+            if (Platform.isFxApplicationThread()) {
+                LOGGER.log(Level.WARNING, "Not saving schedule on the FX thread while items are still loading");
+                return false;
+            }
             try {
-                zos.putNextEntry(new ZipEntry("schedule.xml"));
-                zos.write(getXML().getBytes("UTF8"));
-                zos.closeEntry();
-                if (QueleaProperties.get().getEmbedMediaInScheduleFile()) {
-                    Set<String> entries = new HashSet<>();
-                    for (Displayable displayable : displayables) {
-                        for (File displayableFile : displayable.getResources()) {
-                            if (displayableFile.exists()) {
-                                String zipPath = "resources/" + Utils.toRelativeStorePath(displayableFile);
-                                if (!entries.contains(zipPath)) {
-                                    entries.add(zipPath);
-                                    ZipEntry entry = new ZipEntry(zipPath);
-                                    zos.putNextEntry(entry);
-                                    FileInputStream fi = new FileInputStream(displayableFile);
-                                    try (BufferedInputStream origin = new BufferedInputStream(fi, BUFFER)) {
-                                        int count;
-                                        while ((count = origin.read(data, 0, BUFFER)) != -1) {
-                                            zos.write(data, 0, count);
-                                        }
-                                        zos.closeEntry();
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-                modified = false;
-                return true;
-            } finally {
-                zos.close();
+                awaitLoaded();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
             }
-        } catch (IOException ex) {
+        }
+        List<File> resources = new ArrayList<>();
+        if (QueleaProperties.get().getEmbedMediaInScheduleFile()) {
+            for (Displayable displayable : displayables) {
+                resources.addAll(displayable.getResources());
+            }
+        }
+        try {
+            ScheduleArchive.write(file, getXML(), resources, LOADER);
+            modified = false;
+            return true;
+        } catch (IOException | RuntimeException ex) {
             LOGGER.log(Level.WARNING, "Couldn't write the schedule to file", ex);
             return false;
         }
@@ -414,4 +603,89 @@ public class Schedule implements Iterable<Displayable> {
         return getSize() == 0;
     }
 
+    /**
+     * Creates an item from its XML.
+     */
+    private interface ItemParser {
+
+        Displayable parse(Node node, Map<String, String> fileChanges) throws IOException;
+    }
+
+    /**
+     * An item that's loaded in the background, and where it goes in the
+     * schedule.
+     */
+    private static final class PendingItem {
+
+        private final int order;
+        private final Node node;
+        private final ItemParser parser;
+
+        private PendingItem(int order, Node node, ItemParser parser) {
+            this.order = order;
+            this.node = node;
+            this.parser = parser;
+        }
+
+        private Displayable load(Map<String, String> fileChanges) {
+            try {
+                return parser.parse(node, fileChanges);
+            } catch (IOException | RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't load schedule item " + node.getNodeName(), ex);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Tidies up the odd characters that have been found in some schedule
+     * files as they're read, rather than reading the whole file into a string
+     * and fixing it up afterwards: vertical tabs become new lines, replacement
+     * characters become spaces and nulls are dropped.
+     */
+    private static final class SanitisingReader extends FilterReader {
+
+        private SanitisingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c;
+            do {
+                c = super.read();
+            } while (c == 0);
+            return c == -1 ? -1 : sanitise((char) c);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int count;
+            do {
+                count = super.read(cbuf, off, len);
+                if (count <= 0) {
+                    return count;
+                }
+                int out = off;
+                for (int i = off; i < off + count; i++) {
+                    if (cbuf[i] != 0) {
+                        cbuf[out++] = sanitise(cbuf[i]);
+                    }
+                }
+                count = out - off;
+            } while (count == 0);
+            return count;
+        }
+
+        private static char sanitise(char c) {
+            if (c == 11) {
+                return '\n';
+            }
+            if (c == '\uFFFD') {
+                return ' ';
+            }
+            return c;
+        }
+    }
+
 }
@@ -0,0 +1,403 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.quelea.services.utils.LoggerUtils;
+import org.quelea.services.utils.Utils;
+
+/**
+ * Reads and writes the layout of a schedule file. As well as schedule.xml and
+ * the embedded resources, a schedule file holds a manifest of the content
+ * hash of every resource. That lets a save re-read and recompress only what's
+ * changed since the last one, and lets identical files be stored once however
+ * many paths they're used under. The archive itself is still written out in
+ * full on every save (unchanged entries are copied across without being
+ * inflated), so a save costs I/O in proportion to the whole schedule.
+ * <p/>
+ * @author Michael
+ */
+final class ScheduleArchive {
+
+    static final String SCHEDULE_ENTRY = "schedule.xml";
+    static final String MANIFEST_ENTRY = "resources.properties";
+    static final String RESOURCE_PREFIX = "resources/";
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final int BUFFER = 64 * 1024;
+    /**
+     * File types that are compressed already, so are stored as they are
+     * rather than being deflated again.
+     */
+    private static final Set<String> COMPRESSED_TYPES = new HashSet<>(Arrays.asList(
+            "jpg", "jpeg", "png", "gif", "webp",
+            "mp4", "m4v", "mov", "mkv", "webm", "avi", "wmv", "flv", "mpg", "mpeg", "ogv",
+            "mp3", "m4a", "aac", "ogg", "oga", "opus", "flac", "wma",
+            "zip", "gz", "7z", "pptx", "docx", "xlsx", "odp", "odt", "ods", "pdf"));
+    private static final int INFO_CACHE_SIZE = 256;
+    /*
+     * Checksums of recently saved resources, keyed by path and checked
+     * against the file's size and modified time before use. Bounded so a
+     * long session saving many different files doesn't grow it forever.
+     */
+    private static final Map<String, ResourceInfo> INFO_CACHE = Collections.synchronizedMap(new LinkedHashMap<String, ResourceInfo>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ResourceInfo> eldest) {
+            return size() > INFO_CACHE_SIZE;
+        }
+    });
+
+    private ScheduleArchive() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Write a schedule to a file. If the file already holds a schedule with a
+     * manifest, it's updated through the zip file system: entries that
+     * haven't changed are copied across raw, without the resource being read
+     * or compressed again, and only new or changed resources are added.
+     * Otherwise a new archive is written. In both cases the whole archive is
+     * written to a temporary file and renamed over the old one, so a failed
+     * save never leaves a broken schedule.
+     *
+     * @param file the file to write to.
+     * @param xml the schedule XML.
+     * @param resources the files to embed in the schedule.
+     * @param executor the executor used to hash the resources.
+     * @throws IOException if the schedule couldn't be written.
+     */
+    static void write(File file, String xml, Collection<File> resources, Executor executor) throws IOException {
+        Map<String, ResourceInfo> wanted = describe(resources, executor);
+        Properties manifest = new Properties();
+        Map<String, String> canonical = new HashMap<>();
+        Map<String, ResourceInfo> stored = new LinkedHashMap<>();
+        for (Map.Entry<String, ResourceInfo> entry : wanted.entrySet()) {
+            manifest.setProperty(entry.getKey(), entry.getValue().hash);
+            if (canonical.putIfAbsent(entry.getValue().hash, entry.getKey()) == null) {
+                stored.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (stored.size() < wanted.size()) {
+            LOGGER.log(Level.INFO, "Storing {0} resources once for {1} paths", new Object[]{stored.size(), wanted.size()});
+        }
+        byte[] xmlBytes = xml.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+        manifest.store(manifestBytes, null);
+        if (file.isFile() && update(file, xmlBytes, manifestBytes.toByteArray(), stored)) {
+            return;
+        }
+        writeAll(file, xmlBytes, manifestBytes.toByteArray(), stored);
+    }
+
+    /**
+     * Get the resources in a schedule file that weren't stored because their
+     * content is identical to another resource.
+     *
+     * @param zipFile the schedule file.
+     * @return a map of each resource entry that wasn't stored to the entry
+     * holding its content. Empty for schedules written without a manifest.
+     */
+    static Map<String, String> readAliases(ZipFile zipFile) {
+        ZipEntry manifestEntry = zipFile.getEntry(MANIFEST_ENTRY);
+        if (manifestEntry == null) {
+            return Collections.emptyMap();
+        }
+        Properties manifest = new Properties();
+        try (InputStream in = zipFile.getInputStream(manifestEntry)) {
+            manifest.load(in);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't read the schedule resource manifest", ex);
+            return Collections.emptyMap();
+        }
+        Map<String, String> entryByHash = new HashMap<>();
+        for (String name : manifest.stringPropertyNames()) {
+            if (zipFile.getEntry(name) != null) {
+                entryByHash.put(manifest.getProperty(name), name);
+            }
+        }
+        Map<String, String> aliases = new HashMap<>();
+        for (String name : manifest.stringPropertyNames()) {
+            String target = entryByHash.get(manifest.getProperty(name));
+            if (target != null && !target.equals(name)) {
+                aliases.put(name, target);
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * Work out the entry name and content hash of each resource, hashing on
+     * the given executor any files that have changed since they were last
+     * hashed.
+     */
+    private static Map<String, ResourceInfo> describe(Collection<File> resources, Executor executor) throws IOException {
+        Map<String, CompletableFuture<ResourceInfo>> futures = new LinkedHashMap<>();
+        for (File resource : resources) {
+            if (!resource.exists()) {
+                continue;
+            }
+            String name = RESOURCE_PREFIX + Utils.toRelativeStorePath(resource);
+            if (!futures.containsKey(name)) {
+                futures.put(name, CompletableFuture.supplyAsync(() -> getInfo(resource), executor));
+            }
+        }
+        Map<String, ResourceInfo> ret = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<ResourceInfo>> entry : futures.entrySet()) {
+                ret.put(entry.getKey(), entry.getValue().join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        }
+        return ret;
+    }
+
+    private static ResourceInfo getInfo(File file) {
+        String path = file.getAbsolutePath();
+        ResourceInfo info = INFO_CACHE.get(path);
+        if (info != null && info.length == file.length() && info.lastModified == file.lastModified()) {
+            return info;
+        }
+        try {
+            info = ResourceInfo.read(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        INFO_CACHE.put(path, info);
+        return info;
+    }
+
+    /**
+     * Update an existing schedule file, copying unchanged entries across raw.
+     *
+     * @return true if the file was updated, false if it isn't a schedule that
+     * can be updated and needs writing from scratch.
+     */
+    private static boolean update(File file, byte[] xml, byte[] manifest, Map<String, ResourceInfo> stored) throws IOException {
+        Properties previous = new Properties();
+        Set<String> present = new HashSet<>();
+        try (ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8)) {
+            ZipEntry manifestEntry = zipFile.getEntry(MANIFEST_ENTRY);
+            if (manifestEntry == null) {
+                return false;
+            }
+            try (InputStream in = zipFile.getInputStream(manifestEntry)) {
+                previous.load(in);
+            }
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().startsWith(RESOURCE_PREFIX) && !entry.isDirectory()) {
+                    present.add(entry.getName());
+                }
+            }
+        } catch (ZipException ex) {
+            LOGGER.log(Level.INFO, "Existing schedule file isn't a valid archive, rewriting it", ex);
+            return false;
+        }
+        List<String> removed = new ArrayList<>();
+        for (String name : present) {
+            ResourceInfo info = stored.get(name);
+            if (info == null || !info.hash.equals(previous.getProperty(name))) {
+                removed.add(name);
+            }
+        }
+        List<String> added = new ArrayList<>();
+        boolean deflate = false;
+        for (Map.Entry<String, ResourceInfo> entry : stored.entrySet()) {
+            if (!present.contains(entry.getKey()) || removed.contains(entry.getKey())) {
+                added.add(entry.getKey());
+                deflate |= !isCompressed(entry.getValue().file);
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            LOGGER.log(Level.INFO, "Resources unchanged, copying them across with the new schedule XML");
+        } else {
+            LOGGER.log(Level.INFO, "Updating schedule: {0} resources added, {1} removed", new Object[]{added.size(), removed.size() - countReplaced(removed, added)});
+        }
+        /*
+         * Entries that aren't touched are copied over as they are when the
+         * zip file system is closed, without being inflated or deflated -
+         * closing it writes the whole archive to a temporary file and moves
+         * that over the original. It
+         * can only use one compression method for new entries, so store them
+         * unless some of them would benefit from deflating.
+         */
+        Map<String, Object> env = new HashMap<>();
+        env.put("compressionMethod", deflate ? "DEFLATED" : "STORED");
+        try (FileSystem zipfs = FileSystems.newFileSystem(file.toPath(), env)) {
+            Files.write(zipfs.getPath(SCHEDULE_ENTRY), xml);
+            Files.write(zipfs.getPath(MANIFEST_ENTRY), manifest);
+            for (String name : removed) {
+                Files.deleteIfExists(zipfs.getPath(name));
+            }
+            for (String name : added) {
+                Path target = zipfs.getPath(name);
+                if (target.getParent() != null) {
+                    Files.createDirectories(target.getParent());
+                }
+                Files.copy(stored.get(name).file.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return true;
+    }
+
+    private static int countReplaced(List<String> removed, List<String> added) {
+        int count = 0;
+        for (String name : removed) {
+            if (added.contains(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write a new schedule file from scratch.
+     */
+    private static void writeAll(File file, byte[] xml, byte[] manifest, Map<String, ResourceInfo> stored) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), ".schedule", ".tmp");
+        try {
+            try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER), StandardCharsets.UTF_8)) {
+                zos.putNextEntry(new ZipEntry(SCHEDULE_ENTRY));
+                zos.write(xml);
+                zos.closeEntry();
+                zos.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+                zos.write(manifest);
+                zos.closeEntry();
+                byte[] data = new byte[BUFFER];
+                for (Map.Entry<String, ResourceInfo> resource : stored.entrySet()) {
+                    ResourceInfo info = resource.getValue();
+                    ZipEntry entry = new ZipEntry(resource.getKey());
+                    if (isCompressed(info.file)) {
+                        entry.setMethod(ZipEntry.STORED);
+                        entry.setSize(info.length);
+                        entry.setCompressedSize(info.length);
+                        entry.setCrc(info.crc);
+                    }
+                    zos.putNextEntry(entry);
+                    try (InputStream in = Files.newInputStream(info.file.toPath())) {
+                        int count;
+                        while ((count = in.read(data)) != -1) {
+                            zos.write(data, 0, count);
+                        }
+                    }
+                    zos.closeEntry();
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean isCompressed(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_TYPES.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The content hash and checksum of a resource, along with the size and
+     * modification time they were worked out for.
+     */
+    private static final class ResourceInfo {
+
+        private final File file;
+        private final String hash;
+        private final long crc;
+        private final long length;
+        private final long lastModified;
+
+        private ResourceInfo(File file, String hash, long crc, long length, long lastModified) {
+            this.file = file;
+            this.hash = hash;
+            this.crc = crc;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        private static ResourceInfo read(File file) throws IOException {
+            long length = file.length();
+            long lastModified = file.lastModified();
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IOException(ex);
+            }
+            CRC32 crc = new CRC32();
+            byte[] data = new byte[BUFFER];
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                int count;
+                while ((count = in.read(data)) != -1) {
+                    digest.update(data, 0, count);
+                    crc.update(data, 0, count);
+                }
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return new ResourceInfo(file, hash.toString(), crc.getValue(), length, lastModified);
+        }
+    }
+}
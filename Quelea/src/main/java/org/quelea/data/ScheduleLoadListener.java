@@ -0,0 +1,48 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data;
+
+import org.quelea.data.displayable.Displayable;
+
+/**
+ * Notified as the items of a schedule that are loaded in the background
+ * (presentations, PDFs, media and so on) become ready. Methods are always
+ * called on the JavaFX application thread.
+ * <p/>
+ * @author Michael
+ */
+public interface ScheduleLoadListener {
+
+    /**
+     * Called when an item has finished loading and has been put into the
+     * schedule.
+     * <p/>
+     * @param displayable the item that's been loaded.
+     * @param index the position it's been put in the schedule.
+     */
+    void itemLoaded(Displayable displayable, int index);
+
+    /**
+     * Called after each background item has finished loading, whether or not
+     * it loaded successfully.
+     * <p/>
+     * @param done the number of items finished so far.
+     * @param total the total number of items being loaded in the background.
+     */
+    void progress(int done, int total);
+}
@@ -366,6 +366,22 @@ public class ThemeDTO implements Serializable {
         return ret.toString();
     }
 
+    /**
+     * Get a string that covers everything about how this theme looks, for
+     * keying things made from it. Unlike {@link #equals(Object)}, which only
+     * compares the font, font colour and background, two themes with the
+     * same key look the same in every respect.
+     * <p/>
+     * @return the key of this theme.
+     */
+    public String getCacheKey() {
+        return asString()
+                + "$fontfullname:" + font.getFont().getName()
+                + "$fontsize:" + font.getFont().getSize()
+                + "$translatefontfullname:" + translateFont.getFont().getName()
+                + "$translatefontsize:" + translateFont.getFont().getSize();
+    }
+
     public String asXMLString() {
         return Utils.escapeXML(asString());
     }
@@ -24,11 +24,11 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 
 /**
@@ -48,7 +48,7 @@ public class BibleBrowseDialog extends Stage implements BibleChangeListener {
     public BibleBrowseDialog() {
         BorderPane mainPane = new BorderPane();
         setTitle(LabelGrabber.INSTANCE.getLabel("bible.browser.title"));
-        getIcons().add(new Image("file:icons/bible.png"));
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/bible.png"));
 
         HBox northPanel = new HBox();
         bibles = new ComboBox<>();
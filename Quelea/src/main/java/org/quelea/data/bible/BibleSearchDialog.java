@@ -30,7 +30,6 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
@@ -42,6 +41,7 @@ import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 import org.quelea.data.displayable.BiblePassage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.QueleaApp;
 import org.quelea.windows.main.widgets.LoadingPane;
@@ -68,7 +68,7 @@ public class BibleSearchDialog extends Stage implements BibleChangeListener {
     public BibleSearchDialog() {
         BorderPane mainPane = new BorderPane();
         setTitle(LabelGrabber.INSTANCE.getLabel("bible.search.title"));
-        getIcons().add(new Image("file:icons/search.png"));
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/search.png"));
 
         overlay = new LoadingPane();
         searchField = new TextField();
@@ -81,7 +81,7 @@ public class BibleSearchDialog extends Stage implements BibleChangeListener {
         resultsField = new Text(" " + LabelGrabber.INSTANCE.getLabel("bible.search.keep.typing"));
         resultsField.setFont(Font.font("Sans", 14));
         resultsField.getStyleClass().add("text");
-        addToSchedule = new Button(LabelGrabber.INSTANCE.getLabel("add.to.schedule.text"), new ImageView(new Image("file:icons/tick.png")));
+        addToSchedule = new Button(LabelGrabber.INSTANCE.getLabel("add.to.schedule.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
 
         BibleManager.get().registerBibleChangeListener(this);
         updateBibles();
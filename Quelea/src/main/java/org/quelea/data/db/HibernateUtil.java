@@ -24,6 +24,12 @@ public class HibernateUtil {
     private static ServiceRegistry serviceRegistry;
     private static boolean init = false;
     private static final Logger LOGGER = LoggerUtils.getLogger();
+    /**
+     * The number of statements sent to the database in one JDBC batch, and
+     * the number of entities bulk operations should save before flushing and
+     * clearing the session.
+     */
+    public static final int BATCH_SIZE = 100;
 
     public interface SessionCallback {
 
@@ -42,6 +48,8 @@ public class HibernateUtil {
             cfg.setProperty("hibernate.hbm2ddl.auto", "update");
             cfg.setProperty("hibernate.implicit_naming_strategy", "legacy-hbm");
             cfg.setProperty("hibernate.connection.characterEncoding", "utf8");
+            cfg.setProperty("hibernate.jdbc.batch_size", Integer.toString(BATCH_SIZE));
+            cfg.setProperty("hibernate.order_inserts", "true");
             cfg.setImplicitNamingStrategy(new EJB3ImplicitNamingStrategy());
             cfg.addAnnotatedClass(org.quelea.data.db.model.Song.class);
             cfg.addAnnotatedClass(org.quelea.data.db.model.Theme.class);
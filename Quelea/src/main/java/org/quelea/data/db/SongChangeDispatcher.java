@@ -0,0 +1,116 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.db;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quelea.services.utils.DatabaseListener;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Collects song database changes and passes them on to listeners in batches,
+ * on a thread of its own. An import or a run of remote edits then turns into
+ * one notification shortly after it's finished rather than one for every
+ * song, and listeners never run while the song manager's lock is held.
+ * <p/>
+ * @author Michael
+ */
+class SongChangeDispatcher {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final long DISPATCH_DELAY_MILLIS = 100;
+    private final List<SongChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<DatabaseListener> databaseListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+    private SongChanges pending;
+
+    SongChangeDispatcher() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "song-change-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void addChangeListener(SongChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    void addDatabaseListener(DatabaseListener listener) {
+        databaseListeners.add(listener);
+    }
+
+    synchronized void songAdded(long id) {
+        pending().songAdded(id);
+    }
+
+    synchronized void songUpdated(long id) {
+        pending().songUpdated(id);
+    }
+
+    synchronized void songRemoved(long id) {
+        pending().songRemoved(id);
+    }
+
+    synchronized void reloadAll() {
+        pending().reloadAll();
+    }
+
+    /**
+     * Get the batch being built, starting a new one and scheduling its
+     * dispatch if there isn't one.
+     */
+    private SongChanges pending() {
+        if (pending == null) {
+            pending = new SongChanges();
+            executor.schedule(this::dispatch, DISPATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return pending;
+    }
+
+    private void dispatch() {
+        SongChanges changes;
+        synchronized (this) {
+            changes = pending;
+            pending = null;
+        }
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        LOGGER.log(Level.FINE, "Dispatching song changes: {0}", changes);
+        for (SongChangeListener listener : changeListeners) {
+            try {
+                listener.songsChanged(changes);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Song change listener failed", ex);
+            }
+        }
+        for (DatabaseListener listener : databaseListeners) {
+            try {
+                listener.databaseChanged();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Database listener failed", ex);
+            }
+        }
+    }
+}
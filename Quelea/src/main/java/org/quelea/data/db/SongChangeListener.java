@@ -0,0 +1,35 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.db;
+
+/**
+ * Notified with the details of what's changed whenever songs are added to,
+ * updated in or removed from the database.
+ * <p/>
+ * @author Michael
+ */
+public interface SongChangeListener {
+
+    /**
+     * Called with a batch of changes. Called on the dispatcher's thread, not
+     * the FX thread.
+     * <p/>
+     * @param changes the changes made since the last call.
+     */
+    void songsChanged(SongChanges changes);
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.db;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A batch of changes to the song database, by song ID. Changes are merged as
+ * they're added, so a song that's added then edited in the same batch is
+ * just an addition, and one that's added then removed doesn't appear at all.
+ * <p/>
+ * @author Michael
+ */
+public class SongChanges {
+
+    private final Set<Long> added = new LinkedHashSet<>();
+    private final Set<Long> updated = new LinkedHashSet<>();
+    private final Set<Long> removed = new LinkedHashSet<>();
+    private boolean reload;
+
+    void songAdded(long id) {
+        if (removed.remove(id)) {
+            updated.add(id);
+        } else {
+            added.add(id);
+        }
+    }
+
+    void songUpdated(long id) {
+        if (!added.contains(id)) {
+            updated.add(id);
+        }
+    }
+
+    void songRemoved(long id) {
+        if (!added.remove(id)) {
+            updated.remove(id);
+            removed.add(id);
+        }
+    }
+
+    void reloadAll() {
+        reload = true;
+        added.clear();
+        updated.clear();
+        removed.clear();
+    }
+
+    /**
+     * @return the IDs of the songs added to the database.
+     */
+    public Set<Long> getAdded() {
+        return Collections.unmodifiableSet(added);
+    }
+
+    /**
+     * @return the IDs of the songs changed in the database.
+     */
+    public Set<Long> getUpdated() {
+        return Collections.unmodifiableSet(updated);
+    }
+
+    /**
+     * @return the IDs of the songs removed from the database.
+     */
+    public Set<Long> getRemoved() {
+        return Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Determine whether the whole database should be reloaded, either
+     * because a refresh was asked for or because the change couldn't be
+     * pinned down to particular songs. If so, the ID sets are empty.
+     * <p/>
+     * @return true if everything should be reloaded.
+     */
+    public boolean isReload() {
+        return reload;
+    }
+
+    /**
+     * @return true if there's nothing to do.
+     */
+    public boolean isEmpty() {
+        return !reload && added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        if (reload) {
+            return "reload";
+        }
+        return "added=" + added + " updated=" + updated + " removed=" + removed;
+    }
+}
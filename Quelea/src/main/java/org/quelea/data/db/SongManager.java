@@ -19,9 +19,12 @@ package org.quelea.data.db;
 
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Level;
@@ -40,8 +43,10 @@ import org.quelea.data.db.model.Theme;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.services.lucene.SongSearchIndex;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.DatabaseListener;
 import org.quelea.services.utils.LoggerUtils;
+import org.quelea.windows.main.StatusPanel;
 import org.quelea.windows.main.widgets.LoadingPane;
 
 import com.mongodb.client.MongoClient;
@@ -65,7 +70,7 @@ public final class SongManager {
     private final SongSearchIndex index;
     private boolean indexIsClear;
     private SoftReference<SongDisplayable[]> cacheSongs = new SoftReference<>(null);
-    private final Set<DatabaseListener> listeners;
+    private final SongChangeDispatcher dispatcher;
     private boolean useMongoDB;
     private MongoClient mongoClient;
     private MongoDatabase database;
@@ -75,7 +80,7 @@ public final class SongManager {
      * Initialise the song database.
      */
     private SongManager(boolean useMongoDB) {
-        listeners = new HashSet<>();
+        dispatcher = new SongChangeDispatcher();
         indexIsClear = true;
         index = new SongSearchIndex();
 
@@ -117,22 +122,59 @@ public final class SongManager {
     }
 
     /**
-     * Register a database listener with this database.
+     * Register a database listener with this database. It's called once for
+     * each batch of changes, on the song change dispatcher's background
+     * thread rather than the thread that made the change or the JavaFX
+     * application thread. Listeners that touch the UI must use
+     * Platform.runLater(), and shouldn't block, since later batches wait
+     * for them.
      * <p/>
      *
      * @param listener the listener.
      */
     public void registerDatabaseListener(DatabaseListener listener) {
-        listeners.add(listener);
+        dispatcher.addDatabaseListener(listener);
     }
 
     /**
-     * Fire off the database listeners.
+     * Register a listener to be told which songs have been added, updated
+     * and removed. Like database listeners, it's called on the song change
+     * dispatcher's background thread.
+     * <p/>
+     *
+     * @param listener the listener.
      */
-    public synchronized void fireUpdate() {
-        for (DatabaseListener listener : listeners) {
-            listener.databaseChanged();
+    public void registerSongChangeListener(SongChangeListener listener) {
+        dispatcher.addChangeListener(listener);
+    }
+
+    /**
+     * Tell the listeners to reload the whole database. They're notified
+     * shortly afterwards on the dispatcher's thread, along with anything else
+     * that's changed in the meantime.
+     */
+    public void fireUpdate() {
+        dispatcher.reloadAll();
+    }
+
+    /**
+     * Get the songs with the given IDs, skipping any that can't be found.
+     * <p/>
+     *
+     * @param ids the IDs of the songs to get.
+     * @return the songs found.
+     */
+    public synchronized List<SongDisplayable> getSongsById(Set<Long> ids) {
+        List<SongDisplayable> ret = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return ret;
         }
+        for (SongDisplayable song : getSongs()) {
+            if (ids.contains(song.getID())) {
+                ret.add(song);
+            }
+        }
+        return ret;
     }
 
     public synchronized SongDisplayable[] getSongs() {
@@ -149,7 +191,15 @@ public final class SongManager {
         if (cacheSongs.get() != null) {
             return cacheSongs.get();
         }
+        Metrics.Timer timer = Metrics.get().start("songs.load");
+        try {
+            return loadSongs(loadingPane);
+        } finally {
+            timer.stop();
+        }
+    }
 
+    private SongDisplayable[] loadSongs(LoadingPane loadingPane) {
         if (useMongoDB) {
 
             List<SongDisplayable> songs = new ArrayList<>();
@@ -258,6 +308,7 @@ public final class SongManager {
     public synchronized boolean addSong(final SongDisplayable[] songs, final boolean fireUpdate) {
         cacheSongs.clear();
         clearIndex();
+        final List<Long> addedIds = new ArrayList<>();
 
         if (useMongoDB) {
             for (SongDisplayable song : songs) {
@@ -289,6 +340,7 @@ public final class SongManager {
                     // Update the inserted document with the ID field
                     UpdateResult  updatedResults = songCollection.updateOne(Filters.eq("_id", songDoc.getObjectId("_id")), new Document("$set", new Document("id", mongoIdLong)));
                     LOGGER.log(Level.INFO, "Generated mongoID", updatedResults.getModifiedCount());
+                    addedIds.add(mongoIdLong);
 
                 }
             }
@@ -323,6 +375,7 @@ public final class SongManager {
                                 song.getTranslations(),
                                 song.getSequence());
                         session.save(newSong);
+                        addedIds.add(newSong.getId());
                     }
                 });
             } catch (IllegalStateException ex) {
@@ -333,11 +386,174 @@ public final class SongManager {
 
         getSongs();
         if (fireUpdate) {
-            fireUpdate();
+            for (long id : addedIds) {
+                dispatcher.songAdded(id);
+            }
         }
         return true;
     }
 
+    /**
+     * Add a large number of songs to the database, such as the results of an
+     * import. Unlike {@link #addSong(SongDisplayable[], boolean)}, the inserts
+     * are sent in JDBC batches with the session flushed and cleared every
+     * {@link HibernateUtil#BATCH_SIZE} songs, songs with the same theme share
+     * a single theme row, and the new songs are added to the search index and
+     * song cache as they are rather than the whole library being reloaded.
+     * Listeners are told about the new songs in a single batch.
+     * <p/>
+     *
+     * @param songs       the songs to add.
+     * @param statusPanel the status panel to show progress on, or null.
+     * @return the number of songs added.
+     */
+    public synchronized int bulkAddSongs(final Collection<SongDisplayable> songs, final StatusPanel statusPanel) {
+        final List<SongDisplayable> adjustedSongs = new ArrayList<>();
+        for (SongDisplayable song : songs) {
+            if (song.getSectionsWithoutSequence().length > 0) {
+                adjustedSongs.add(song);
+            }
+        }
+        if (adjustedSongs.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        if (useMongoDB) {
+            bulkAddMongoSongs(adjustedSongs, statusPanel);
+        } else {
+            try {
+                HibernateUtil.execute((Session session) -> {
+                    Map<String, Theme> themes = new HashMap<>();
+                    List<Song> batch = new ArrayList<>();
+                    for (int i = 0; i < adjustedSongs.size(); i++) {
+                        SongDisplayable song = adjustedSongs.get(i);
+                        ThemeDTO themeDTO = song.getSections()[0].getTheme();
+                        if (themeDTO == null) {
+                            themeDTO = ThemeDTO.DEFAULT_THEME;
+                        }
+                        String themeKey = themeKey(themeDTO);
+                        Theme theme = themes.get(themeKey);
+                        if (theme == null) {
+                            theme = themeDTO.getTheme();
+                            themes.put(themeKey, theme);
+                        }
+                        Song newSong = new Song(song.getTitle(),
+                                song.getAuthor(),
+                                song.getLyrics(true, true, false),
+                                song.getCcli(),
+                                song.getCopyright(),
+                                song.getYear(),
+                                song.getPublisher(),
+                                song.getKey(),
+                                song.getCapo(),
+                                song.getInfo(),
+                                theme,
+                                song.getTranslations(),
+                                song.getSequence());
+                        session.save(newSong);
+                        batch.add(newSong);
+                        if (batch.size() == HibernateUtil.BATCH_SIZE || i == adjustedSongs.size() - 1) {
+                            session.flush();
+                            session.clear();
+                            for (int j = 0; j < batch.size(); j++) {
+                                adjustedSongs.get(i - batch.size() + 1 + j).setID(batch.get(j).getId());
+                            }
+                            batch.clear();
+                            /*
+                             * The themes saved so far are detached by the clear,
+                             * so swap them for references that later songs can
+                             * point at without saving them again.
+                             */
+                            for (Map.Entry<String, Theme> entry : themes.entrySet()) {
+                                entry.setValue(session.load(Theme.class, entry.getValue().getId()));
+                            }
+                            if (statusPanel != null) {
+                                statusPanel.setProgress((double) (i + 1) / adjustedSongs.size());
+                            }
+                        }
+                    }
+                    LOGGER.log(Level.INFO, "Bulk add used {0} theme rows for {1} songs", new Object[]{themes.size(), adjustedSongs.size()});
+                });
+            } catch (IllegalStateException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't add songs", ex);
+                cacheSongs.clear();
+                clearIndex();
+                return 0;
+            }
+        }
+        for (SongDisplayable song : adjustedSongs) {
+            if (song.getSections()[0].getTheme() == null) {
+                for (TextSection section : song.getSections()) {
+                    section.setTheme(ThemeDTO.DEFAULT_THEME);
+                }
+                song.setTheme(ThemeDTO.DEFAULT_THEME);
+            }
+        }
+        if (!indexIsClear) {
+            index.addAll(adjustedSongs);
+        }
+        SongDisplayable[] cached = cacheSongs.get();
+        if (cached != null) {
+            Set<SongDisplayable> allSongs = new TreeSet<>(Arrays.asList(cached));
+            allSongs.addAll(adjustedSongs);
+            cacheSongs = new SoftReference<>(allSongs.toArray(new SongDisplayable[allSongs.size()]));
+        }
+        for (SongDisplayable song : adjustedSongs) {
+            dispatcher.songAdded(song.getID());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        LOGGER.log(Level.INFO, String.format("Added %d songs in %.2fs (%.0f songs/s)", adjustedSongs.size(), seconds, adjustedSongs.size() / Math.max(seconds, 0.001)));
+        return adjustedSongs.size();
+    }
+
+    /**
+     * Add songs to the Mongo database, a batch at a time. The IDs are
+     * generated up front so each batch is a single insert.
+     */
+    /**
+     * Get the key songs with the same theme share a theme row by. This covers
+     * everything that goes in the row - ThemeDTO's own equality only looks at
+     * the font, colour and background, so songs differing in shadow,
+     * alignment or translation styling would otherwise lose those.
+     * <p/>
+     * @param theme the theme.
+     * @return the key for the theme.
+     */
+    static String themeKey(ThemeDTO theme) {
+        return theme.getCacheKey();
+    }
+
+    private void bulkAddMongoSongs(List<SongDisplayable> songs, StatusPanel statusPanel) {
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < songs.size(); i++) {
+            SongDisplayable song = songs.get(i);
+            ObjectId objectId = new ObjectId();
+            long id = new java.math.BigInteger(objectId.toHexString(), 16).longValue();
+            batch.add(new Document("_id", objectId)
+                    .append("id", id)
+                    .append("title", song.getTitle())
+                    .append("author", song.getAuthor())
+                    .append("lyrics", song.getLyrics(true, true, false))
+                    .append("year", song.getYear())
+                    .append("publisher", song.getPublisher())
+                    .append("key", song.getKey())
+                    .append("capo", song.getCapo())
+                    .append("info", song.getInfo())
+                    .append("translations", song.getTranslations())
+                    .append("sequence", song.getSequence())
+                    .append("ccli", song.getCcli())
+                    .append("copyright", song.getCopyright()));
+            song.setID(id);
+            if (batch.size() == HibernateUtil.BATCH_SIZE || i == songs.size() - 1) {
+                songCollection.insertMany(batch);
+                batch.clear();
+                if (statusPanel != null) {
+                    statusPanel.setProgress((double) (i + 1) / songs.size());
+                }
+            }
+        }
+    }
+
     /**
      * Update a song in the database.
      * <p/>
@@ -369,6 +585,7 @@ public final class SongManager {
                 LOGGER.log(Level.WARNING, "Song update failed, no matching song found: {0}", song.getID());
                 return false;
             }
+            dispatcher.songUpdated(song.getID());
             return true;
         }
 
@@ -408,6 +625,7 @@ public final class SongManager {
                             : new Theme(song.getSections()[0].getTheme().getTheme()));
                     session.update(updatedSong);
                     index.add(song);
+                    dispatcher.songUpdated(song.getID());
                 } catch (ObjectNotFoundException e) {
                     LOGGER.log(Level.INFO, "Updating song that doesn't exist, adding instead");
                     addSong(song, true);
@@ -464,7 +682,9 @@ public final class SongManager {
 
             if (!mongoIds.isEmpty()) {
                 songCollection.deleteMany(Filters.in("_id", mongoIds));
-                fireUpdate();
+                for (long id : ids) {
+                    dispatcher.songRemoved(id);
+                }
                 return true;
             } else {
                 LOGGER.log(Level.WARNING, "No matching songs found in MongoDB for removal: {0}", ids);
@@ -475,12 +695,30 @@ public final class SongManager {
             // Hibernate-based removal for non-MongoDB storage
             try {
                 HibernateUtil.execute((Session session) -> {
+                    /*
+                     * Songs added in bulk share their theme rows, so a theme is
+                     * only removed along with the last song that uses it.
+                     */
+                    Set<Theme> themes = new HashSet<>();
                     for (SongDisplayable song : songs) {
                         Song deletedSong = new SongDao(session).getSongById(song.getID());
                         if (deletedSong != null) {
+                            if (deletedSong.getTheme() != null) {
+                                themes.add(deletedSong.getTheme());
+                                deletedSong.setTheme(null);
+                            }
                             session.delete(deletedSong);
                         }
                     }
+                    session.flush();
+                    for (Theme theme : themes) {
+                        Long users = session.createQuery("select count(s) from Song s where s.theme = :theme", Long.class)
+                                .setParameter("theme", theme)
+                                .uniqueResult();
+                        if (users == null || users == 0) {
+                            session.delete(theme);
+                        }
+                    }
                 });
             } catch (IllegalStateException ex) {
                 LOGGER.log(Level.WARNING, "Couldn't remove songs " + ids, ex);
@@ -491,8 +729,8 @@ public final class SongManager {
 
         for (SongDisplayable song : songs) {
             index.remove(song);
+            dispatcher.songRemoved(song.getID());
         }
-        fireUpdate();
         LOGGER.log(Level.INFO, "Removed song {0}", ids);
         return true;
     }
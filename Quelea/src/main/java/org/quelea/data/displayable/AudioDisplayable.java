@@ -6,8 +6,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.w3c.dom.Node;
@@ -95,7 +95,7 @@ public class AudioDisplayable implements MultimediaDisplayable, Serializable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image("file:icons/audio30.png"));
+        return new ImageView(ImageManager.INSTANCE.getImage("file:icons/audio30.png"));
     }
 
     /**
@@ -27,7 +27,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.javafx.dialog.Dialog;
 import org.quelea.data.Background;
@@ -38,6 +37,7 @@ import org.quelea.data.bible.BibleBookNameUtil;
 import org.quelea.data.bible.BibleManager;
 import org.quelea.data.bible.BibleVerse;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -331,7 +331,7 @@ public class BiblePassage implements TextDisplayable, Serializable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image("file:icons/bible.png"));
+        return new ImageView(ImageManager.INSTANCE.getImage("file:icons/bible.png"));
     }
 
     /**
@@ -24,8 +24,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -63,7 +65,8 @@ public class ImageDisplayable implements Displayable {
      */
     public ImageDisplayable(File file) {
         this.file = file;
-        image = new Image("file:" + file.getAbsolutePath());
+        //Decode in the background, the image isn't needed until it's shown
+        ImageManager.INSTANCE.getImageAsync("file:" + file.getAbsolutePath(), 0, 0, false, false);
     }
 
     public ImageDisplayable(Image image) {
@@ -94,6 +97,9 @@ public class ImageDisplayable implements Displayable {
      * @return the displayable image.
      */
     public Image getImage() {
+        if (image == null && file != null) {
+            image = ImageManager.INSTANCE.getImage("file:" + file.getAbsolutePath());
+        }
         return image;
     }
 
@@ -153,7 +159,17 @@ public class ImageDisplayable implements Displayable {
     @Override
 public ImageView getPreviewIcon() {
     if (file != null) {
-        return new ImageView(new Image("file:" + file.getAbsolutePath(), 30, 30, false, true));
+        ImageView small = new ImageView();
+        small.setFitWidth(30);
+        small.setFitHeight(30);
+        ImageManager.INSTANCE.getImageAsync("file:" + file.getAbsolutePath(), 30, 30, false, true).thenAccept(img -> {
+            if (Platform.isFxApplicationThread()) {
+                small.setImage(img);
+            } else {
+                Platform.runLater(() -> small.setImage(img));
+            }
+        });
+        return small;
     } else if (objectId != null) {
         // If the file is null, but we have an objectId, it means the image
         // was likely loaded from MongoDB. We need to retrieve the image data.
@@ -17,6 +17,8 @@
  */
 package org.quelea.data.displayable;
 
+import org.quelea.services.utils.ImageManager;
+
  import java.io.File;
  import java.io.IOException;
  import java.util.ArrayList;
@@ -134,7 +136,7 @@ public class ImageGroupDisplayable implements Displayable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image("file:icons/image-group-schedule.png", 30, 30, false, true));
+        return new ImageView(ImageManager.INSTANCE.getImage("file:icons/image-group-schedule.png", 30, 30, false, true));
     }
 
     /**
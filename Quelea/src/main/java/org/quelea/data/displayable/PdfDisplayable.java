@@ -25,9 +25,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.data.pdf.*;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -108,7 +108,7 @@ public class PdfDisplayable implements Displayable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/add_pdf-light.png" : "file:icons/add_pdf.png", 30, 30, false, true));
+        return new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/add_pdf-light.png" : "file:icons/add_pdf.png", 30, 30, false, true));
     }
 
     /**
@@ -138,6 +138,7 @@ public class PdfDisplayable implements Displayable {
      */
     @Override
     public void dispose() {
+        presentation.dispose();
     }
 
     /**
@@ -25,11 +25,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.data.powerpoint.OOPresentation;
 import org.quelea.data.powerpoint.Presentation;
 import org.quelea.data.powerpoint.PresentationFactory;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -131,7 +131,7 @@ public class PresentationDisplayable implements Displayable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image("file:icons/powerpoint.png", 30, 30, false, true));
+        return new ImageView(ImageManager.INSTANCE.getImage("file:icons/powerpoint.png", 30, 30, false, true));
     }
 
     /**
@@ -171,6 +171,7 @@ public class PresentationDisplayable implements Displayable {
      */
     @Override
     public void dispose() {
+        presentation.dispose();
         if(ooPresentation != null) {
             ooPresentation.dispose();
         }
@@ -39,7 +39,6 @@ import java.util.logging.Logger;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.DataFormat;
 
@@ -56,6 +55,7 @@ import org.quelea.data.Background;
 import org.quelea.data.ThemeDTO;
 import org.quelea.data.db.SongManager;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
@@ -1380,11 +1380,11 @@ public class SongDisplayable implements TextDisplayable, Comparable<SongDisplaya
     public javafx.scene.Node getPreviewIcon() {
         ImageView iv;
         if (getID() < 0) {
-            iv = new ImageView(new Image("file:icons/lyricscopy.png"));
+            iv = new ImageView(ImageManager.INSTANCE.getImage("file:icons/lyricscopy.png"));
         } else if (hasChords()) {
-            iv = new ImageView(new Image("file:icons/lyricsandchords.png"));
+            iv = new ImageView(ImageManager.INSTANCE.getImage("file:icons/lyricsandchords.png"));
         } else {
-            iv = new ImageView(new Image("file:icons/lyrics.png"));
+            iv = new ImageView(ImageManager.INSTANCE.getImage("file:icons/lyrics.png"));
         }
         StackPane stackPane = new StackPane();
         stackPane.getChildren().add(iv);
@@ -29,11 +29,11 @@ import java.util.List;
 import java.util.logging.Level;
 
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.data.Background;
 import org.quelea.data.ThemeDTO;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -247,7 +247,7 @@ public class TimerDisplayable implements MultimediaDisplayable, Serializable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        return new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/timer-small-light.png" : "file:icons/timer-small.png", 30, 30, false, true));
+        return new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/timer-small-light.png" : "file:icons/timer-small.png", 30, 30, false, true));
     }
 
     /**
@@ -25,8 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -129,9 +129,9 @@ public class VideoDisplayable implements MultimediaDisplayable, Serializable {
     @Override
     public ImageView getPreviewIcon() {
         if (Utils.fileIsVideo(getLocationAsFile())) {
-            return new ImageView(new Image("file:icons/video.png"));
+            return new ImageView(ImageManager.INSTANCE.getImage("file:icons/video.png"));
         } else {
-            return new ImageView(new Image("file:icons/audio30.png"));
+            return new ImageView(ImageManager.INSTANCE.getImage("file:icons/audio30.png"));
         }
     }
 
@@ -25,10 +25,10 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.Cursor;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
 import org.w3c.dom.Node;
@@ -107,7 +107,7 @@ public class WebDisplayable implements Displayable {
      */
     @Override
     public ImageView getPreviewIcon() {
-        ImageView small = new ImageView(new Image("file:icons/website.png"));
+        ImageView small = new ImageView(ImageManager.INSTANCE.getImage("file:icons/website.png"));
         return small;
     }
 
@@ -36,5 +36,13 @@ public interface ImageGroup {
      * in order.
      */
     ImageGroupSlide[] getSlides();
+
+    /**
+     * Let the image group know which slide is being displayed, so it can keep
+     * full resolution images for that slide and the next one and release the
+     * rest.
+     * @param index the index of the slide being displayed.
+     */
+    void setCurrentSlide(int index);
     
 }
@@ -62,6 +62,28 @@ public class ImageGroupPresentation implements ImageGroup {
         return slides;
     }
 
+    /**
+     * Keep full resolution images for the current and next slides only.
+     *
+     * @param index the index of the slide being displayed.
+     */
+    @Override
+    public void setCurrentSlide(int index) {
+        if (slides.length == 0) {
+            return;
+        }
+        int next = (index + 1) % slides.length;
+        for (int i = 0; i < slides.length; i++) {
+            if (i == index) {
+                slides[i].getImage();
+            } else if (i == next) {
+                slides[i].preload();
+            } else {
+                slides[i].releaseImage();
+            }
+        }
+    }
+
     /**
      * Make the slides that go in this image group, this is what takes time and
      * should only be done once.
@@ -20,15 +20,20 @@ package org.quelea.data.imagegroup;
 import java.io.File;
 import java.io.IOException;
 import javafx.scene.image.Image;
+import org.quelea.services.utils.QueleaProperties;
 
 /**
- * A slide in an image group.
+ * A slide in an image group. Only a downscaled thumbnail is decoded up front;
+ * the full resolution image is decoded on demand and can be released again
+ * once the slide is no longer near the one being displayed.
  *
  * @author Arvid, based on PresentationSlide
  */
 public class ImageGroupSlide {
 
-    private final Image image;
+    private final String url;
+    private Image image;
+    private Image thumbnail;
 
 
     /**
@@ -38,15 +43,51 @@ public class ImageGroupSlide {
      * @param image the name of the file
      */
     public ImageGroupSlide(int numSlide, File image) throws IOException {
-        this.image = new Image(image.toURI().toURL().toString());
+        this.url = image.toURI().toURL().toString();
     }
 
     /**
-     * Get the image from this slide.
+     * Get the full resolution image from this slide, decoding it if it isn't
+     * already loaded.
      *
      * @return the image of this slide.
      */
-    public final Image getImage() {
+    public final synchronized Image getImage() {
+        if (image == null) {
+            image = new Image(url);
+        }
         return image;
     }
+
+    /**
+     * Get a thumbnail of this slide, decoded in the background at the
+     * configured thumbnail size rather than at full resolution.
+     *
+     * @return the thumbnail of this slide.
+     */
+    public synchronized Image getThumbnail() {
+        if (thumbnail == null) {
+            int size = QueleaProperties.get().getThumbnailSize();
+            thumbnail = new Image(url, size, size, true, true, true);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Start decoding the full resolution image in the background, so it's
+     * ready by the time this slide is shown.
+     */
+    public synchronized void preload() {
+        if (image == null) {
+            image = new Image(url, true);
+        }
+    }
+
+    /**
+     * Drop the full resolution image, if loaded. It'll be decoded again if
+     * it's needed later.
+     */
+    public synchronized void releaseImage() {
+        image = null;
+    }
 }
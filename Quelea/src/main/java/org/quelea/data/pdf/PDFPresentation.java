@@ -17,23 +17,51 @@
  */
 package org.quelea.data.pdf;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
+import org.quelea.services.utils.LoggerUtils;
 
 /**
- * A PDF presentation that can be displayed.
+ * A PDF presentation that can be displayed. Pages aren't rendered up front;
+ * they're rendered at the size they're actually shown at when they're asked
+ * for, with the neighbouring pages rendered ahead of time in the background.
+ * Since PDFBox documents can't be rendered from several threads at once, each
+ * rendering thread borrows its own copy of the document.
  *
  * @author Arvid
  */
 public class PDFPresentation implements Pdf {
 
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final AtomicInteger IDS = new AtomicInteger();
+    private static final int MAX_RENDER_WIDTH = 4096;
+    private static final long IDLE_CLOSE_MILLIS = 30_000;
     private PdfSlide[] slides;
     public String file;
+    private final String keyPrefix;
+    private final ConcurrentLinkedQueue<DocumentHandle> idleDocuments;
+    private final Map<String, CompletableFuture<Image>> rendering;
+    private final AtomicBoolean closeScheduled;
+    private volatile boolean disposed;
 
     /**
      * Create a presentation from a file.
@@ -42,6 +70,10 @@ public class PDFPresentation implements Pdf {
      */
     public PDFPresentation(String file) throws IOException {
         this.file = file;
+        keyPrefix = IDS.incrementAndGet() + "#";
+        idleDocuments = new ConcurrentLinkedQueue<>();
+        rendering = new ConcurrentHashMap<>();
+        closeScheduled = new AtomicBoolean();
         slides = makeSlides();
     }
 
@@ -67,23 +99,243 @@ public class PDFPresentation implements Pdf {
     }
 
     /**
-     * Make the slides that go in this PDF, this is what takes time and should
-     * only be done once.
+     * Close the documents held open for rendering and drop this PDF's pages
+     * from the cache.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        closeIdleDocuments();
+        PdfPageCache.get().evict(keyPrefix);
+    }
+
+    /**
+     * Make the slides that go in this PDF. This only reads the page sizes;
+     * the thumbnails are then rendered in the background.
      *
      * @return all the slides.
      */
     private PdfSlide[] makeSlides() throws IOException {
-        File pdf = new File(file);
-        PDDocument document = PDDocument.load(pdf.getAbsoluteFile());
-        Path f = Files.createTempDirectory(null);
-        f.toFile().deleteOnExit();
-        ArrayList<PdfSlide> ret = new ArrayList<>();
-        PDFRenderer pdfRenderer = new PDFRenderer(document);
-        int totalPages = document.getNumberOfPages();
+        DocumentHandle handle = new DocumentHandle(new File(file));
+        int totalPages = handle.document.getNumberOfPages();
+        PdfSlide[] ret = new PdfSlide[totalPages];
         for (int i = 0; i < totalPages; i++) {
-            ret.add(new PdfSlide(i + 1, pdfRenderer));
+            PDPage page = handle.document.getPage(i);
+            PDRectangle box = page.getCropBox();
+            boolean rotated = page.getRotation() % 180 != 0;
+            ret[i] = new PdfSlide(this, i, rotated ? box.getHeight() : box.getWidth(), rotated ? box.getWidth() : box.getHeight());
+        }
+        returnDocument(handle);
+        for (PdfSlide slide : ret) {
+            PdfPageCache.get().render(() -> {
+                if (disposed) {
+                    return;
+                }
+                try {
+                    slide.renderThumbnail();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Couldn't render PDF thumbnail", ex);
+                }
+            }, false);
+        }
+        return ret;
+    }
+
+    /**
+     * Get a page rendered at the given width, from the cache if possible.
+     * If it has to be rendered, it's rendered on the calling thread unless
+     * another thread is already rendering it. The pages either side are then
+     * rendered at the same width in the background.
+     *
+     * @param index the index of the page.
+     * @param width the width to render the page at, in pixels.
+     * @return the rendered page.
+     */
+    Image getPage(int index, int width) {
+        Image image = loadPage(index, width);
+        prefetch(index + 1, width);
+        prefetch(index - 1, width);
+        return image;
+    }
+
+    /**
+     * Get a page rendered at the given width only if it's already in the
+     * cache. The pages either side are rendered at the same width in the
+     * background either way.
+     *
+     * @param index the index of the page.
+     * @param width the width of the page, in pixels.
+     * @return the rendered page, or null if it isn't cached.
+     */
+    Image getCachedPage(int index, int width) {
+        Image image = PdfPageCache.get().get(getKey(index, clampWidth(width)));
+        prefetch(index + 1, width);
+        prefetch(index - 1, width);
+        return image;
+    }
+
+    /**
+     * Render a page at the given width in the background, ahead of any
+     * queued thumbnails, then the pages either side of it.
+     *
+     * @param index the index of the page.
+     * @param width the width to render the page at, in pixels.
+     * @param callback called on the JavaFX thread with the rendered page.
+     * Not called if the page couldn't be rendered.
+     */
+    void requestPage(int index, int width, Consumer<Image> callback) {
+        PdfPageCache.get().render(() -> {
+            if (disposed) {
+                return;
+            }
+            try {
+                Image image = loadPage(index, width);
+                Platform.runLater(() -> callback.accept(image));
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't render PDF page " + (index + 1), ex);
+            }
+        }, true);
+        prefetch(index + 1, width);
+        prefetch(index - 1, width);
+    }
+
+    private static int clampWidth(int width) {
+        return Math.max(1, Math.min(MAX_RENDER_WIDTH, width));
+    }
+
+    private Image loadPage(int index, int width) {
+        width = clampWidth(width);
+        String key = getKey(index, width);
+        Image image = PdfPageCache.get().get(key);
+        if (image != null) {
+            return image;
+        }
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = rendering.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            image = renderPage(index, (float) (width / slides[index].getPageWidth()));
+            PdfPageCache.get().put(key, image);
+            future.complete(image);
+            return image;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            rendering.remove(key);
+        }
+    }
+
+    private void prefetch(int index, int width) {
+        if (disposed || index < 0 || index >= slides.length) {
+            return;
+        }
+        String key = getKey(index, clampWidth(width));
+        if (PdfPageCache.get().contains(key) || rendering.containsKey(key)) {
+            return;
+        }
+        PdfPageCache.get().render(() -> {
+            if (disposed) {
+                return;
+            }
+            try {
+                loadPage(index, width);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't render PDF page " + (index + 1), ex);
+            }
+        }, true);
+    }
+
+    private String getKey(int index, int width) {
+        return keyPrefix + index + "@" + width;
+    }
+
+    /**
+     * Render a page at the given scale, using one of the documents held open
+     * for rendering (or opening another one if they're all in use.)
+     *
+     * @param index the index of the page.
+     * @param scale the scale factor, 1 is 72 DPI.
+     * @return the rendered page.
+     */
+    Image renderPage(int index, float scale) {
+        DocumentHandle handle = idleDocuments.poll();
+        try {
+            if (handle == null) {
+                handle = new DocumentHandle(new File(file));
+            }
+            BufferedImage image = handle.renderer.renderImage(index, scale, ImageType.RGB);
+            return SwingFXUtils.toFXImage(image, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (handle != null) {
+                returnDocument(handle);
+            }
+        }
+    }
+
+    /**
+     * Hand a document back once it's been rendered from, and make sure it's
+     * closed if it then sits unused for a while.
+     */
+    private void returnDocument(DocumentHandle handle) {
+        handle.lastUsed = System.currentTimeMillis();
+        idleDocuments.add(handle);
+        if (disposed) {
+            closeIdleDocuments();
+        } else if (closeScheduled.compareAndSet(false, true)) {
+            PdfPageCache.get().schedule(this::closeStaleDocuments, IDLE_CLOSE_MILLIS);
+        }
+    }
+
+    /**
+     * Close the documents that haven't been used for a while, checking again
+     * later if any are still open.
+     */
+    private void closeStaleDocuments() {
+        closeScheduled.set(false);
+        long cutoff = System.currentTimeMillis() - IDLE_CLOSE_MILLIS;
+        for (DocumentHandle handle : idleDocuments) {
+            if (handle.lastUsed <= cutoff && idleDocuments.remove(handle)) {
+                close(handle);
+            }
+        }
+        if (!idleDocuments.isEmpty() && closeScheduled.compareAndSet(false, true)) {
+            PdfPageCache.get().schedule(this::closeStaleDocuments, IDLE_CLOSE_MILLIS);
+        }
+    }
+
+    private void closeIdleDocuments() {
+        DocumentHandle handle;
+        while ((handle = idleDocuments.poll()) != null) {
+            close(handle);
+        }
+    }
+
+    private static void close(DocumentHandle handle) {
+        try {
+            handle.document.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, "Couldn't close PDF document", ex);
+        }
+    }
+
+    /**
+     * An open copy of the document along with its renderer, which caches
+     * fonts and images between pages.
+     */
+    private static final class DocumentHandle {
+
+        private final PDDocument document;
+        private final PDFRenderer renderer;
+        private volatile long lastUsed;
+
+        private DocumentHandle(File file) throws IOException {
+            document = PDDocument.load(file.getAbsoluteFile());
+            renderer = new PDFRenderer(document);
         }
-        document.close();
-        return ret.toArray(new PdfSlide[ret.size()]);
     }
 }
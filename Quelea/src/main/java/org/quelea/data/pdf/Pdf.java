@@ -36,5 +36,10 @@ public interface Pdf {
      * in order.
      */
     PdfSlide[] getSlides();
+
+    /**
+     * Free any resources held by this PDF.
+     */
+    void dispose();
     
 }
@@ -0,0 +1,202 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.pdf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.scene.image.Image;
+
+/**
+ * A memory cache of rendered PDF pages, shared between all open PDFs and
+ * bounded by the (approximate) number of bytes the decoded pages take up.
+ * Also owns the small pool of threads pages are rendered on ahead of time;
+ * pages about to be shown are rendered before any outstanding thumbnails.
+ * <p/>
+ * @author Arvid
+ */
+public final class PdfPageCache {
+
+    private static final PdfPageCache INSTANCE = new PdfPageCache();
+    private static final long MAX_BYTES = 160L * 1024 * 1024;
+    private static final int RENDER_THREADS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+    private final Map<String, Image> pages;
+    private final ThreadPoolExecutor renderer;
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicLong taskCount;
+    private long bytes;
+
+    private PdfPageCache() {
+        pages = new LinkedHashMap<>(16, 0.75f, true);
+        renderer = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS, 30, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "pdf-renderer");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                });
+        renderer.allowCoreThreadTimeOut(true);
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pdf-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        taskCount = new AtomicLong();
+    }
+
+    /**
+     * Get the instance of this singleton class.
+     * <p/>
+     * @return the instance of this singleton class.
+     */
+    public static PdfPageCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Render something in the background. Urgent work (pages about to be
+     * shown) is run before any queued work that isn't, and otherwise work is
+     * run in the order it was queued.
+     * <p/>
+     * @param work the work to do.
+     * @param urgent true if the work should jump the queue.
+     */
+    void render(Runnable work, boolean urgent) {
+        renderer.execute(new RenderTask(work, urgent, taskCount.incrementAndGet()));
+    }
+
+    /**
+     * Run something once after the given delay, on a background thread.
+     * <p/>
+     * @param work the work to do.
+     * @param delayMillis the delay in milliseconds.
+     */
+    void schedule(Runnable work, long delayMillis) {
+        housekeeper.schedule(work, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get a page from the cache.
+     * <p/>
+     * @param key the key of the page.
+     * @return the page, or null if it's not cached.
+     */
+    synchronized Image get(String key) {
+        return pages.get(key);
+    }
+
+    /**
+     * Determine whether a page is in the cache, without affecting the order
+     * pages are evicted in.
+     * <p/>
+     * @param key the key of the page.
+     * @return true if the page is cached, false otherwise.
+     */
+    synchronized boolean contains(String key) {
+        return pages.containsKey(key);
+    }
+
+    /**
+     * Put a page in the cache, evicting the least recently used pages until
+     * the cache is back under its size limit.
+     * <p/>
+     * @param key the key of the page.
+     * @param image the rendered page.
+     */
+    synchronized void put(String key, Image image) {
+        Image old = pages.put(key, image);
+        if (old != null) {
+            bytes -= sizeOf(old);
+        }
+        bytes += sizeOf(image);
+        Iterator<Map.Entry<String, Image>> it = pages.entrySet().iterator();
+        while (bytes > MAX_BYTES && pages.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Remove all pages whose key starts with the given prefix.
+     * <p/>
+     * @param prefix the key prefix of the pages to remove.
+     */
+    synchronized void evict(String prefix) {
+        Iterator<Map.Entry<String, Image>> it = pages.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Image> entry = it.next();
+            if (entry.getKey().startsWith(prefix)) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the approximate memory taken up by the cached pages.
+     * <p/>
+     * @return the size of the cache in bytes.
+     */
+    public synchronized long getBytesUsed() {
+        return bytes;
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * A queued piece of rendering work, ordered by urgency and then by when
+     * it was queued.
+     */
+    private static final class RenderTask implements Runnable, Comparable<RenderTask> {
+
+        private final Runnable work;
+        private final boolean urgent;
+        private final long sequence;
+
+        private RenderTask(Runnable work, boolean urgent, long sequence) {
+            this.work = work;
+            this.urgent = urgent;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            work.run();
+        }
+
+        @Override
+        public int compareTo(RenderTask other) {
+            if (urgent != other.urgent) {
+                return urgent ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
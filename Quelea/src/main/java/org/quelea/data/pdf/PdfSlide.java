@@ -17,96 +17,144 @@
  */
 package org.quelea.data.pdf;
 
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.scene.image.Image;
-import javax.imageio.ImageIO;
-import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.quelea.services.utils.QueleaProperties;
 
 /**
- * A slide in a PDF presentation.
+ * A slide in a PDF presentation. The page is rendered when it's needed, at
+ * the width it's going to be shown at.
  *
  * @author Arvid
  */
 public class PdfSlide {
 
-    private BufferedImage thumbnail;
-    private BufferedImage originalImage;
-    private final File outputfile;
-    private final File thumbnailFile;
     private final int BIG_SIZE = 1920;
+    private final PDFPresentation presentation;
+    private final int index;
+    private final double pageWidth;
+    private final double pageHeight;
+    private final ReadOnlyObjectWrapper<Image> thumbnail;
 
     /**
      * Create a new PDF slide.
      *
-     * @param numSlide slide number
-     * @param pdfRenderer the renderer of the file
+     * @param presentation the PDF this slide is a page of.
+     * @param index the index of the page.
+     * @param pageWidth the width of the page, in points.
+     * @param pageHeight the height of the page, in points.
      */
-    public PdfSlide(int numSlide, PDFRenderer pdfRenderer) throws IOException {
-        originalImage = resizeImage(pdfRenderer.renderImageWithDPI(numSlide - 1, 200, ImageType.RGB), BIG_SIZE, BIG_SIZE);
-        outputfile = File.createTempFile("slide" + numSlide, ".png");
-        outputfile.deleteOnExit();
-        ImageIO.write(originalImage, "png", outputfile);
+    PdfSlide(PDFPresentation presentation, int index, double pageWidth, double pageHeight) {
+        this.presentation = presentation;
+        this.index = index;
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        thumbnail = new ReadOnlyObjectWrapper<>();
+    }
+
+    /**
+     * Render the thumbnail of this slide. Called on the PDF rendering
+     * threads.
+     */
+    void renderThumbnail() {
+        int size = QueleaProperties.get().getThumbnailSize();
+        float scale = (float) Math.min(size / pageWidth, size / pageHeight);
+        Image image = presentation.renderPage(index, scale);
+        Platform.runLater(() -> thumbnail.set(image));
+    }
 
-        thumbnail = resizeImage(originalImage, QueleaProperties.get().getThumbnailSize(), QueleaProperties.get().getThumbnailSize());
-        thumbnailFile = File.createTempFile("thumb" + numSlide, ".png");
-        thumbnailFile.deleteOnExit();
-        ImageIO.write(thumbnail, "png", thumbnailFile);
-        
-        originalImage.flush();
-        originalImage = null;
-        thumbnail.flush();
-        thumbnail = null;
+    /**
+     * Get the width of the page.
+     *
+     * @return the width of the page, in points.
+     */
+    double getPageWidth() {
+        return pageWidth;
     }
 
     /**
-     * Get the image from this slide.
+     * Get the image from this slide, at a size suitable for the projector.
      *
      * @return the image of this slide.
      */
     public final Image getImage() {
-        return new Image("file:" + outputfile.getAbsolutePath());
+        return getImage(pageWidth >= pageHeight ? BIG_SIZE : BIG_SIZE * pageWidth / pageHeight);
     }
 
     /**
-     * Get the thumbnail of this slide.
+     * Get the image from this slide, rendered at the given width. Rendered
+     * pages are cached, and the pages either side are rendered at the same
+     * width in the background.
      *
+     * @param width the width the slide is going to be shown at, in pixels.
      * @return the image of this slide.
      */
-    public final Image getThumbnail() {
-        return new Image("file:" + thumbnailFile.getAbsolutePath());
+    public Image getImage(double width) {
+        return presentation.getPage(index, (int) Math.ceil(width));
+    }
+
+    /**
+     * Get the image from this slide, rendered at the largest size that fits
+     * in the given area without changing its aspect ratio.
+     *
+     * @param width the width of the area, in pixels.
+     * @param height the height of the area, in pixels.
+     * @return the image of this slide.
+     */
+    public Image getImage(double width, double height) {
+        return getImage(fitWidth(width, height));
+    }
+
+    /**
+     * Get the image from this slide at the largest size that fits in the
+     * given area, but only if it's already been rendered at that size. Safe
+     * to call on the JavaFX thread.
+     *
+     * @param width the width of the area, in pixels.
+     * @param height the height of the area, in pixels.
+     * @return the image of this slide, or null if it hasn't been rendered.
+     */
+    public Image getCachedImage(double width, double height) {
+        return presentation.getCachedPage(index, (int) Math.ceil(fitWidth(width, height)));
+    }
+
+    /**
+     * Render the image from this slide at the largest size that fits in the
+     * given area in the background, for when {@link #getCachedImage(double,
+     * double)} returns null.
+     *
+     * @param width the width of the area, in pixels.
+     * @param height the height of the area, in pixels.
+     * @param callback called on the JavaFX thread with the image.
+     */
+    public void requestImage(double width, double height, Consumer<Image> callback) {
+        presentation.requestPage(index, (int) Math.ceil(fitWidth(width, height)), callback);
+    }
+
+    private double fitWidth(double width, double height) {
+        return pageWidth * Math.min(width / pageWidth, height / pageHeight);
     }
 
     /**
-     * Scale image to a smaller size of this slide.
+     * Get the thumbnail of this slide. This is null until the thumbnail has
+     * been rendered.
      *
-     * @param originalImage source image to scale
-     * @param width desired width
-     * @param height desired height
-     * @return the resixed image
+     * @return the thumbnail of this slide.
      */
-    private BufferedImage resizeImage(BufferedImage originalImage, int width, int height) {
-        int finalw = width;
-        int finalh = height;
-        double factor;
-        if (originalImage.getWidth() > originalImage.getHeight()) {
-            factor = ((double) originalImage.getHeight() / (double) originalImage.getWidth());
-            finalh = (int) (finalw * factor);
-        } else {
-            factor = ((double) originalImage.getWidth() / (double) originalImage.getHeight());
-            finalw = (int) (finalh * factor);
-        }
+    public final Image getThumbnail() {
+        return thumbnail.get();
+    }
 
-        BufferedImage scaledImage = new BufferedImage(finalw, finalh, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2 = scaledImage.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2.drawImage(originalImage, 0, 0, finalw, finalh, null);
-        g2.dispose();
-        return scaledImage;
+    /**
+     * Get the thumbnail property of this slide, updated on the JavaFX thread
+     * once the thumbnail has been rendered.
+     *
+     * @return the thumbnail property.
+     */
+    public ReadOnlyObjectProperty<Image> thumbnailProperty() {
+        return thumbnail.getReadOnlyProperty();
     }
 }
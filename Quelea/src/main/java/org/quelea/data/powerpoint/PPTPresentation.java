@@ -20,10 +20,8 @@ package org.quelea.data.powerpoint;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.List;
-import org.apache.poi.hslf.usermodel.HSLFSlide;
 import org.apache.poi.hslf.usermodel.HSLFSlideShow;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.sl.usermodel.SlideShow;
 
 /**
  * A presentation that can be displayed. At the moment represents a powerpoint
@@ -31,10 +29,7 @@ import org.apache.poi.xslf.usermodel.XMLSlideShow;
  *
  * @author Michael
  */
-public class PPTPresentation implements Presentation {
-
-    private HSLFSlideShow slideshow;
-    private PresentationSlide[] slides;
+public class PPTPresentation extends SlideShowPresentation {
 
     /**
      * Create a presentation from a file.
@@ -42,45 +37,13 @@ public class PPTPresentation implements Presentation {
      * @param file the file containing the presentation.
      */
     public PPTPresentation(String file) throws IOException {
-        try(FileInputStream fis = new FileInputStream(file)) {
-            slideshow = new HSLFSlideShow(fis);
-            slides = makeSlides();
-        }
-    }
-
-    /**
-     * Get the presentation slide at the given index in the presentation.
-     *
-     * @param index the index of the slide.
-     * @return the slide at the given index.
-     */
-    @Override
-    public PresentationSlide getSlide(int index) {
-        return slides[index];
+        super(file);
     }
 
-    /**
-     * Get all the slides in the presentation.
-     *
-     * @return all the slides.
-     */
     @Override
-    public PresentationSlide[] getSlides() {
-        return slides;
-    }
-
-    /**
-     * Make the slides that go in this presentation, this is what takes time and
-     * should only be done once.
-     *
-     * @return all the slides.
-     */
-    private PresentationSlide[] makeSlides() {
-        List<HSLFSlide> lSlides = slideshow.getSlides();
-        PresentationSlide[] ret = new PresentationSlide[lSlides.size()];
-        for (int i = 0; i < lSlides.size(); i++) {
-            ret[i] = new PresentationSlide(lSlides.get(i), i + 1);
+    protected SlideShow<?, ?> openSlideShow(File file) throws IOException {
+        try(FileInputStream fis = new FileInputStream(file)) {
+            return new HSLFSlideShow(fis);
         }
-        return ret;
     }
 }
@@ -36,5 +36,10 @@ public interface Presentation {
      * in order.
      */
     PresentationSlide[] getSlides();
+
+    /**
+     * Free any resources held by this presentation.
+     */
+    void dispose();
     
 }
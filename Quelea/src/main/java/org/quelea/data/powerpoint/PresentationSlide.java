@@ -17,123 +17,249 @@
  */
 package org.quelea.data.powerpoint;
 
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
-import javafx.scene.image.WritableImage;
-import org.apache.poi.sl.usermodel.Slide;
-import org.apache.poi.sl.usermodel.SlideShow;
-import org.apache.poi.xslf.usermodel.XSLFSlide;
-import org.quelea.services.languages.LabelGrabber;
+import javax.imageio.ImageIO;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 
 /**
- * A slide in a powerpoint presentation.
+ * A slide in a powerpoint presentation. Slides are rendered lazily; until the
+ * slide has been rendered its thumbnail is a placeholder, and asking for the
+ * full size image renders it straight away if it's not already cached.
  *
  * @author Michael
  */
 public class PresentationSlide {
 
     private static final Logger LOGGER = LoggerUtils.getLogger();
-    private WritableImage image;
-    private static final int WIDTH = 1920;
-    private static final int HEIGHT = 1080;
-    private static double scaleWidth = 0;
-    private static double scaleHeight = 0;
+    private final SlideShowPresentation presentation;
+    private final int index;
+    private final int num;
+    private final ReadOnlyObjectWrapper<Image> thumbnail;
+    private final Object renderLock = new Object();
 
     /**
      * Create a new presentation slide.
      *
-     * @param slide the underlying apache POI slide.
+     * @param presentation the presentation this slide belongs to.
+     * @param index the index of the slide in the underlying slide show.
+     * @param numSlide the slide number.
+     * @param placeholder the thumbnail to show until the slide is rendered.
      */
-    public PresentationSlide(Slide slide, int numSlide) {
-        SlideShow slideshow = slide.getSlideShow();
-        if (Math.abs(slideshow.getPageSize().getHeight() - HEIGHT) > 0.1) {
-            int adjustHeight = HEIGHT;
-            int adjustWidth = (int) ((adjustHeight / slideshow.getPageSize().getHeight()) * slideshow.getPageSize().getWidth());
-            scaleWidth = (double) adjustWidth / slideshow.getPageSize().getWidth();
-            scaleHeight = (double) adjustHeight / slideshow.getPageSize().getHeight();
-            slideshow.setPageSize(new Dimension(adjustWidth, adjustHeight));
-        }
-        BufferedImage originalImage = new BufferedImage((int) slideshow.getPageSize().getWidth(), (int) slideshow.getPageSize().getHeight(), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = originalImage.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        try {
-            g2.setTransform(AffineTransform.getScaleInstance(scaleWidth, scaleHeight));
-            slide.draw(g2);
-        } catch (Exception ex) {
-            if (QueleaProperties.get().getUsePP()) {
-                LOGGER.log(Level.INFO, "Couldn't use library to generate thumbnail, using default");
-                draw(g2, originalImage.getWidth(), originalImage.getHeight(), numSlide);
-            } else {
-                throw ex;
+    PresentationSlide(SlideShowPresentation presentation, int index, int numSlide, Image placeholder) {
+        this.presentation = presentation;
+        this.index = index;
+        this.num = numSlide;
+        thumbnail = new ReadOnlyObjectWrapper<>(placeholder);
+    }
+
+    /**
+     * Make sure this slide is in the disk cache, loading its thumbnail from
+     * there if it already is and rendering it otherwise. Called on the slide
+     * rendering threads.
+     */
+    void prepare() {
+        String key = presentation.getKey();
+        File thumbnailFile = SlideCache.get().getThumbnailFile(key, index, QueleaProperties.get().getThumbnailSize());
+        if (thumbnailFile.isFile() && SlideCache.get().getImageFile(key, index).isFile()) {
+            Image cached = new Image(thumbnailFile.toURI().toString());
+            if (!cached.isError()) {
+                setThumbnail(cached);
+                return;
             }
         }
-        image = new WritableImage(originalImage.getWidth(), originalImage.getHeight());
-        SwingFXUtils.toFXImage(originalImage, image);
-        originalImage.flush();
-        originalImage = null;
+        render(false);
     }
 
     /**
-     * Create a new presentation slide.
+     * Render this slide, writing the full size image and thumbnail to the disk
+     * cache.
      *
-     * @param slide the underlying apache POI slide.
+     * @param keep true if the full size image should be kept in memory (and
+     * returned), false if it's only wanted on disk.
+     * @return the full size image if it was kept, null otherwise.
      */
-    public PresentationSlide(XSLFSlide slide, int numSlide) {
-        org.apache.poi.xslf.usermodel.XMLSlideShow slideshow = slide.getSlideShow();
-        if (Math.abs(slideshow.getPageSize().getHeight() - HEIGHT) > 0.1) {
-            int adjustHeight = HEIGHT;
-            int adjustWidth = (int) ((adjustHeight / slideshow.getPageSize().getHeight()) * slideshow.getPageSize().getWidth());
-            scaleWidth = (double) adjustWidth / slideshow.getPageSize().getWidth();
-            scaleHeight = (double) adjustHeight / slideshow.getPageSize().getHeight();
-            slideshow.setPageSize(new Dimension(adjustWidth, adjustHeight));
+    private Image render(boolean keep) {
+        String key = presentation.getKey();
+        synchronized (renderLock) {
+            if (keep) {
+                Image cached = loadCached();
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            Image image = null;
+            BufferedImage originalImage = presentation.render(index, num);
+            // Failed slides aren't cached, so they're tried (and reported) again next time
+            boolean failed = originalImage == null;
+            if (failed) {
+                originalImage = presentation.renderFailed();
+            }
+            if (keep) {
+                image = SwingFXUtils.toFXImage(originalImage, null);
+                SlideCache.get().putImage(key, index, image);
+            }
+            int size = QueleaProperties.get().getThumbnailSize();
+            BufferedImage thumbnailImage = makeThumbnail(originalImage, size);
+            setThumbnail(SwingFXUtils.toFXImage(thumbnailImage, null));
+            if (!failed) {
+                writeImage(originalImage, SlideCache.get().getImageFile(key, index));
+                writeImage(thumbnailImage, SlideCache.get().getThumbnailFile(key, index, size));
+            }
+            originalImage.flush();
+            return image;
         }
-        BufferedImage originalImage = new BufferedImage((int) slideshow.getPageSize().getWidth(), (int) slideshow.getPageSize().getHeight(), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = originalImage.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    /**
+     * Scale the rendered slide down to the configured thumbnail size, so the
+     * slide list doesn't have to hold on to full size images just to shrink
+     * them on screen.
+     */
+    private static BufferedImage makeThumbnail(BufferedImage originalImage, int size) {
+        double factor = Math.min((double) size / originalImage.getWidth(), (double) size / originalImage.getHeight());
+        int width = Math.max(1, (int) (originalImage.getWidth() * factor));
+        int height = Math.max(1, (int) (originalImage.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(originalImage, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    /**
+     * Write an image to the cache. It's written to a temporary file first so
+     * that another thread never sees a half written image.
+     */
+    private static void writeImage(BufferedImage image, File file) {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp" + Thread.currentThread().getId());
         try {
-            g2.setTransform(AffineTransform.getScaleInstance(scaleWidth, scaleHeight));
-            slide.draw(g2);
-        } catch (NullPointerException ex) {
-            if (QueleaProperties.get().getUsePP()) {
-                LOGGER.log(Level.INFO, "Couldn't use library to generate thumbnail, using default");
-                draw(g2, originalImage.getWidth(), originalImage.getHeight(), numSlide);
-            } else {
-                throw ex;
-            }
+            ImageIO.write(image, "png", temp);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't cache slide image " + file, ex);
+            temp.delete();
         }
-        image = new WritableImage(originalImage.getWidth(), originalImage.getHeight());
-        SwingFXUtils.toFXImage(originalImage, image);
     }
 
-    private void draw(Graphics2D graphics, int width, int height, int num) {
-        String slideText = LabelGrabber.INSTANCE.getLabel("preview.failed");
-        graphics.setColor(new Color(174, 167, 159));
-        graphics.fillRect(0, 0, width, height);
-        graphics.setFont(new Font("Calibri", Font.PLAIN, 1000));
-        graphics.setColor(new Color(250, 250, 250));
-        while (graphics.getFontMetrics().stringWidth(slideText) > width - 1000) {
-            graphics.setFont(new Font("Calibri", Font.PLAIN, graphics.getFont().getSize() - 2));
+    private void setThumbnail(Image image) {
+        if (Platform.isFxApplicationThread()) {
+            thumbnail.set(image);
+        } else {
+            Platform.runLater(() -> thumbnail.set(image));
         }
-        graphics.drawString(slideText, 10, height / 2 - graphics.getFontMetrics().getHeight() / 4);
     }
 
     /**
-     * Get the image from this slide.
+     * Get the full size image of this slide if it's already in memory.
+     *
+     * @return the image of this slide, or null if it needs loading first.
+     */
+    public Image getLoadedImage() {
+        return SlideCache.get().getImage(presentation.getKey(), index);
+    }
+
+    /**
+     * Get the full size image of this slide in the background, loading it
+     * from disk or rendering it ahead of any slides still being rendered.
+     *
+     * @param callback called with the image on the JavaFX thread.
+     */
+    public void requestImage(Consumer<Image> callback) {
+        SlideCache.get().getLoader().submit(() -> {
+            Image image = getImage();
+            Platform.runLater(() -> callback.accept(image));
+        });
+    }
+
+    /**
+     * Load the full size image of this slide into memory in the background,
+     * behind any slides already requested, so it can be shown straight away
+     * when it comes up. Does nothing if it's already in memory.
+     */
+    public void prefetch() {
+        if (getLoadedImage() != null) {
+            return;
+        }
+        SlideCache.get().getLoader().submit(() -> {
+            if (getLoadedImage() == null) {
+                getImage();
+            }
+        });
+    }
+
+    /**
+     * Get the full size image of this slide. If the slide isn't cached in
+     * memory or on disk yet it is rendered before this method returns, so on
+     * the JavaFX thread use {@link #requestImage(Consumer)} instead.
      *
      * @return the image of this slide.
      */
     public final Image getImage() {
-        return image;
+        Image image = loadCached();
+        if (image != null) {
+            return image;
+        }
+        return render(true);
+    }
+
+    /**
+     * Get the full size image from the memory cache, or failing that the disk
+     * cache.
+     *
+     * @return the image, or null if it's not cached.
+     */
+    private Image loadCached() {
+        String key = presentation.getKey();
+        Image image = SlideCache.get().getImage(key, index);
+        if (image != null) {
+            return image;
+        }
+        File imageFile = SlideCache.get().getImageFile(key, index);
+        if (imageFile.isFile()) {
+            image = new Image(imageFile.toURI().toString());
+            if (!image.isError()) {
+                SlideCache.get().putImage(key, index, image);
+                return image;
+            }
+            LOGGER.log(Level.WARNING, "Corrupt cached slide {0}, rendering again", imageFile);
+        }
+        return null;
+    }
+
+    /**
+     * Get a thumbnail of this slide, already scaled to the thumbnail size.
+     * This is a placeholder until the slide has been rendered.
+     *
+     * @return the thumbnail of this slide.
+     */
+    public Image getThumbnail() {
+        return thumbnail.get();
+    }
+
+    /**
+     * Get the thumbnail property of this slide, updated on the JavaFX thread
+     * once the slide has been rendered.
+     *
+     * @return the thumbnail property.
+     */
+    public ReadOnlyObjectProperty<Image> thumbnailProperty() {
+        return thumbnail.getReadOnlyProperty();
     }
 }
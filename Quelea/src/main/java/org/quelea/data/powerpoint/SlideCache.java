@@ -0,0 +1,250 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.powerpoint;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.scene.image.Image;
+import org.quelea.services.utils.DiskCacheUtils;
+import org.quelea.services.utils.LoggerUtils;
+import org.quelea.services.utils.QueleaProperties;
+
+/**
+ * Caches rendered presentation slides. Full size slides are held in an
+ * in-memory LRU cache shared by all open presentations and bounded by the
+ * (approximate) number of bytes the decoded slides take up, and every rendered
+ * slide is also written to disk keyed by the presentation file's path, size
+ * and last modified time, so opening the same presentation again doesn't need
+ * to render anything. The disk cache is trimmed back to a fixed size by
+ * deleting the least recently opened presentations first.
+ * <p/>
+ * @author Michael
+ */
+public final class SlideCache {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final SlideCache INSTANCE = new SlideCache();
+    private static final long MAX_MEMORY_BYTES = 256L * 1024 * 1024;
+    private static final long MAX_DISK_BYTES = 512L * 1024 * 1024;
+    private static final int RENDER_THREADS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+    private final Map<String, Image> images;
+    private final ExecutorService renderer;
+    private final ExecutorService loader;
+    private final Map<String, Integer> open;
+    private long bytes;
+
+    private SlideCache() {
+        images = new LinkedHashMap<>(16, 0.75f, true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "slide-renderer");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        renderer = executor;
+        loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "slide-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        open = new HashMap<>();
+    }
+
+    /**
+     * Get the instance of this singleton class.
+     * <p/>
+     * @return the instance of this singleton class.
+     */
+    public static SlideCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the executor slides are rendered on.
+     * <p/>
+     * @return the slide rendering executor.
+     */
+    ExecutorService getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Get the executor used to load or render slides that are wanted on
+     * screen straight away, so they don't queue behind background rendering.
+     * <p/>
+     * @return the slide loading executor.
+     */
+    ExecutorService getLoader() {
+        return loader;
+    }
+
+    /**
+     * Mark a presentation's slides as in use, so they're not trimmed from the
+     * disk cache while it's open. Every call must be balanced by a call to
+     * {@link #close(String)}.
+     * <p/>
+     * @param key the key of the presentation.
+     */
+    void open(String key) {
+        synchronized (open) {
+            open.merge(key, 1, Integer::sum);
+        }
+        getDir(key).setLastModified(System.currentTimeMillis());
+        loader.submit(this::trimDisk);
+    }
+
+    /**
+     * Mark a presentation's slides as no longer in use by one presentation.
+     * <p/>
+     * @param key the key of the presentation.
+     */
+    void close(String key) {
+        synchronized (open) {
+            open.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Delete the least recently opened presentations from the disk cache
+     * until it's back under its size limit. Presentations that are open are
+     * left alone.
+     */
+    void trimDisk() {
+        File[] dirs = QueleaProperties.get().getSlideCacheDir().listFiles(File::isDirectory);
+        if (dirs == null) {
+            return;
+        }
+        int remaining = DiskCacheUtils.trimLeastRecentlyUsed(dirs, MAX_DISK_BYTES, Integer.MAX_VALUE, dir -> {
+            synchronized (open) {
+                return open.containsKey(dir.getName());
+            }
+        });
+        if (remaining < dirs.length) {
+            LOGGER.log(Level.INFO, "Removed {0} cached presentations", dirs.length - remaining);
+        }
+    }
+
+    /**
+     * Get a full size slide image from memory.
+     * <p/>
+     * @param key the key of the presentation.
+     * @param index the index of the slide.
+     * @return the image, or null if it isn't in memory.
+     */
+    synchronized Image getImage(String key, int index) {
+        return images.get(key + "#" + index);
+    }
+
+    /**
+     * Put a full size slide image in memory, evicting the least recently used
+     * slides until the cache is back under its size limit.
+     * <p/>
+     * @param key the key of the presentation.
+     * @param index the index of the slide.
+     * @param image the image.
+     */
+    synchronized void putImage(String key, int index, Image image) {
+        String imageKey = key + "#" + index;
+        Image old = images.put(imageKey, image);
+        if (old != null) {
+            bytes -= sizeOf(old);
+        }
+        bytes += sizeOf(image);
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (bytes > MAX_MEMORY_BYTES && images.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            if (eldest.getKey().equals(imageKey)) {
+                continue;
+            }
+            bytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Remove all of a presentation's slides from memory.
+     * <p/>
+     * @param key the key of the presentation.
+     */
+    synchronized void evict(String key) {
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Image> entry = it.next();
+            if (entry.getKey().startsWith(key + "#")) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Clear all slides from memory.
+     */
+    public synchronized void clearMemory() {
+        images.clear();
+        bytes = 0;
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * Get the file a full size rendered slide is stored in.
+     * <p/>
+     * @param key the key of the presentation.
+     * @param index the index of the slide.
+     * @return the slide image file, which may not exist yet.
+     */
+    File getImageFile(String key, int index) {
+        return new File(getDir(key), index + ".png");
+    }
+
+    /**
+     * Get the file a slide thumbnail is stored in.
+     * <p/>
+     * @param key the key of the presentation.
+     * @param index the index of the slide.
+     * @param size the thumbnail size.
+     * @return the thumbnail file, which may not exist yet.
+     */
+    File getThumbnailFile(String key, int index, int size) {
+        return new File(getDir(key), index + "-thumb" + size + ".png");
+    }
+
+    private File getDir(String key) {
+        File dir = new File(QueleaProperties.get().getSlideCacheDir(), key);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        return dir;
+    }
+
+}
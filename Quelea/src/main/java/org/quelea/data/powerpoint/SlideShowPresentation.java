@@ -0,0 +1,292 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.data.powerpoint;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import org.apache.poi.sl.usermodel.Slide;
+import org.apache.poi.sl.usermodel.SlideShow;
+import org.javafx.dialog.Dialog;
+import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.DiskCacheUtils;
+import org.quelea.services.utils.LoggerUtils;
+import org.quelea.services.utils.QueleaProperties;
+
+/**
+ * A presentation backed by an Apache POI slide show. Opening the presentation
+ * only parses the file; the slides themselves are rendered in parallel in the
+ * background (or on demand if they're needed first) and cached by
+ * {@link SlideCache}. Each rendering thread borrows its own copy of the slide
+ * show, since POI slide shows can't safely be drawn from several threads at
+ * once, and the copies are closed again once every slide has been rendered.
+ * <p/>
+ * @author Michael
+ */
+public abstract class SlideShowPresentation implements Presentation {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    static final int HEIGHT = 1080;
+    private final File file;
+    private final String key;
+    private final Dimension pageSize;
+    private final ConcurrentLinkedQueue<SlideShow<?, ?>> idleSlideShows;
+    private final AtomicInteger outstanding;
+    private final AtomicBoolean errorReported;
+    private final PresentationSlide[] slides;
+    private volatile boolean disposed;
+
+    /**
+     * Open a presentation and start rendering its slides in the background.
+     * <p/>
+     * @param file the file containing the presentation.
+     * @throws IOException if the presentation couldn't be read.
+     */
+    protected SlideShowPresentation(String file) throws IOException {
+        this.file = new File(file);
+        idleSlideShows = new ConcurrentLinkedQueue<>();
+        outstanding = new AtomicInteger();
+        errorReported = new AtomicBoolean();
+        SlideShow<?, ?> slideshow = openSlideShow(this.file);
+        pageSize = slideshow.getPageSize();
+        key = DiskCacheUtils.getFileKey(this.file);
+        SlideCache.get().open(key);
+        Image placeholder = makePlaceholder();
+        List<? extends Slide<?, ?>> lSlides = slideshow.getSlides();
+        List<PresentationSlide> ret = new ArrayList<>();
+        for (int i = 0; i < lSlides.size(); i++) {
+            if (lSlides.get(i) != null) {
+                ret.add(new PresentationSlide(this, i, i + 1, placeholder));
+            }
+        }
+        slides = ret.toArray(new PresentationSlide[ret.size()]);
+        idleSlideShows.add(slideshow);
+        renderAll();
+    }
+
+    /**
+     * Open the underlying slide show. This may be called several times, once
+     * for each thread that's rendering slides at the same time.
+     * <p/>
+     * @param file the presentation file.
+     * @return the slide show.
+     * @throws IOException if the file couldn't be read.
+     */
+    protected abstract SlideShow<?, ?> openSlideShow(File file) throws IOException;
+
+    /**
+     * Get the presentation slide at the given index in the presentation.
+     *
+     * @param index the index of the slide.
+     * @return the slide at the given index.
+     */
+    @Override
+    public PresentationSlide getSlide(int index) {
+        return slides[index];
+    }
+
+    /**
+     * Get all the slides in the presentation.
+     *
+     * @return all the slides.
+     */
+    @Override
+    public PresentationSlide[] getSlides() {
+        return slides;
+    }
+
+    /**
+     * Stop rendering any outstanding slides and free the memory used by this
+     * presentation. Slides already rendered stay in the disk cache.
+     */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        closeIdleSlideShows();
+        SlideCache.get().evict(key);
+        SlideCache.get().close(key);
+    }
+
+    /**
+     * Get the key used to cache this presentation's slides.
+     * <p/>
+     * @return the cache key.
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Queue every slide to be rendered into the cache.
+     */
+    private void renderAll() {
+        outstanding.set(slides.length);
+        for (PresentationSlide slide : slides) {
+            SlideCache.get().getRenderer().submit(() -> {
+                try {
+                    if (!disposed) {
+                        slide.prepare();
+                    }
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Couldn't render slide", ex);
+                } finally {
+                    if (outstanding.decrementAndGet() == 0) {
+                        closeIdleSlideShows();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Render a slide at full size. If the slide can't be drawn and PowerPoint
+     * isn't being used to show the presentation instead, the user is told
+     * (once per presentation) that it couldn't be imported properly.
+     * <p/>
+     * @param index the index of the slide in the underlying slide show.
+     * @param num the slide number.
+     * @return the rendered slide, or null if it couldn't be rendered.
+     */
+    BufferedImage render(int index, int num) {
+        double scale = HEIGHT / pageSize.getHeight();
+        BufferedImage image = createImage();
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        SlideShow<?, ?> slideshow = borrowSlideShow();
+        try {
+            g2.setTransform(AffineTransform.getScaleInstance(scale, scale));
+            slideshow.getSlides().get(index).draw(g2);
+            return image;
+        } catch (RuntimeException ex) {
+            if (QueleaProperties.get().getUsePP()) {
+                LOGGER.log(Level.INFO, "Couldn't use library to render slide " + num + ", using default", ex);
+            } else {
+                LOGGER.log(Level.WARNING, "Couldn't render slide " + num + " of " + file, ex);
+                if (errorReported.compareAndSet(false, true)) {
+                    Platform.runLater(() -> Dialog.showError(LabelGrabber.INSTANCE.getLabel("adding.presentation.error.title"), LabelGrabber.INSTANCE.getLabel("adding.presentation.error.message")));
+                }
+            }
+            image.flush();
+            return null;
+        } finally {
+            returnSlideShow(slideshow);
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Render the image shown in place of a slide that couldn't be rendered.
+     * <p/>
+     * @return the default slide image.
+     */
+    BufferedImage renderFailed() {
+        BufferedImage image = createImage();
+        Graphics2D g2 = image.createGraphics();
+        drawFailed(g2, image.getWidth(), image.getHeight());
+        g2.dispose();
+        return image;
+    }
+
+    private BufferedImage createImage() {
+        double scale = HEIGHT / pageSize.getHeight();
+        int width = Math.max(1, (int) Math.round(pageSize.getWidth() * scale));
+        return new BufferedImage(width, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void drawFailed(Graphics2D graphics, int width, int height) {
+        String slideText = LabelGrabber.INSTANCE.getLabel("preview.failed");
+        graphics.setColor(new Color(174, 167, 159));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setFont(new Font("Calibri", Font.PLAIN, 1000));
+        graphics.setColor(new Color(250, 250, 250));
+        while (graphics.getFontMetrics().stringWidth(slideText) > width - 1000) {
+            graphics.setFont(new Font("Calibri", Font.PLAIN, graphics.getFont().getSize() - 2));
+        }
+        graphics.drawString(slideText, 10, height / 2 - graphics.getFontMetrics().getHeight() / 4);
+    }
+
+    /**
+     * Make a plain grey image the size of a thumbnail, to show until the real
+     * thumbnail has been rendered.
+     */
+    private Image makePlaceholder() {
+        int size = QueleaProperties.get().getThumbnailSize();
+        double factor = Math.min(size / pageSize.getWidth(), size / pageSize.getHeight());
+        int width = Math.max(1, (int) (pageSize.getWidth() * factor));
+        int height = Math.max(1, (int) (pageSize.getHeight() * factor));
+        WritableImage placeholder = new WritableImage(width, height);
+        PixelWriter writer = placeholder.getPixelWriter();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                writer.setArgb(x, y, 0xFFAEA79F);
+            }
+        }
+        return placeholder;
+    }
+
+    private SlideShow<?, ?> borrowSlideShow() {
+        SlideShow<?, ?> slideshow = idleSlideShows.poll();
+        if (slideshow != null) {
+            return slideshow;
+        }
+        try {
+            return openSlideShow(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void returnSlideShow(SlideShow<?, ?> slideshow) {
+        idleSlideShows.add(slideshow);
+        if (disposed || outstanding.get() == 0) {
+            closeIdleSlideShows();
+        }
+    }
+
+    private void closeIdleSlideShows() {
+        SlideShow<?, ?> slideshow;
+        while ((slideshow = idleSlideShows.poll()) != null) {
+            try {
+                slideshow.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, "Couldn't close slide show", ex);
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.quelea.server;
 
+import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -76,24 +77,37 @@ public class MobileLyricsServer {
     public MobileLyricsServer(int port) throws IOException {
         fileCache = new HashMap<>();
         server = HttpServer.create(new InetSocketAddress(port), 0);
-        server.createContext("/", new RootHandler());
-        server.createContext("/lyrics", new LyricsHandler());
-        server.createContext("/chords", new ChordsHandler());
-        server.createContext("/chordsv2", new ChordsHandlerv2());
-        server.createContext("/title", new TitleHandler());
-        server.createContext("/songtranslations", new SongTranslationsHandler());
-        server.createContext("/gettranslation", new SongTranslationsHandler());
-        server.createContext("/livetext", new LiveTextHandler());
-        server.createContext("/jscolor.js", new FileHandler("icons/jscolor.js"));
-        server.createContext("/arrow.gif", new FileHandler("icons/arrow.gif"));
-        server.createContext("/gear.png", new FileHandler("icons/gear.png"));
-        server.createContext("/translate.png", new FileHandler("icons/translate_on.png"));
-        server.createContext("/cross.gif", new FileHandler("icons/cross.gif"));
-        server.createContext("/hs.png", new FileHandler("icons/hs.png"));
-        server.createContext("/hv.png", new FileHandler("icons/hv.png"));
+        createContext("/", new RootHandler());
+        createContext("/lyrics", new LyricsHandler());
+        createContext("/chords", new ChordsHandler());
+        createContext("/chordsv2", new ChordsHandlerv2());
+        createContext("/title", new TitleHandler());
+        createContext("/songtranslations", new SongTranslationsHandler());
+        createContext("/gettranslation", new SongTranslationsHandler());
+        createContext("/livetext", new LiveTextHandler());
+        createContext("/jscolor.js", new FileHandler("icons/jscolor.js"));
+        createContext("/arrow.gif", new FileHandler("icons/arrow.gif"));
+        createContext("/gear.png", new FileHandler("icons/gear.png"));
+        createContext("/translate.png", new FileHandler("icons/translate_on.png"));
+        createContext("/cross.gif", new FileHandler("icons/cross.gif"));
+        createContext("/hs.png", new FileHandler("icons/hs.png"));
+        createContext("/hv.png", new FileHandler("icons/hv.png"));
         server.setExecutor(null);
     }
 
+    /**
+     * Create a context on the server with a handler, timing its requests.
+     * <p>
+     * @param path the context path.
+     * @param handler the handler for the context.
+     * @return the new context.
+     */
+    private HttpContext createContext(String path, HttpHandler handler) {
+        HttpContext context = server.createContext(path, handler);
+        context.getFilters().add(new TimingFilter("mobile", path));
+        return context;
+    }
+
     /**
      * Start the server.
      */
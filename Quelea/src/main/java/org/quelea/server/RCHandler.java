@@ -46,6 +46,7 @@ import org.quelea.data.displayable.PdfDisplayable;
 import org.quelea.data.displayable.PresentationDisplayable;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TimerDisplayable;
+import org.quelea.data.displayable.WebDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.lucene.SongSearchIndex;
 import org.quelea.services.utils.LoggerUtils;
@@ -516,6 +517,14 @@ public class RCHandler {
                 sb.append("\n</html>");
                 return sb.toString().getBytes();
             }
+        } else if (d instanceof WebDisplayable) {
+            if (targetPath.contains("/")) {
+                byte[] frame = QueleaApp.get().getMainWindow().getMainPanel().getLivePanel().getWebMirror().getFramePng();
+                return frame == null ? "".getBytes() : frame;
+            } else {
+                return ("\n<html><div class=\"inner current\"><p class=\"empty\" onclick=\"section(0);\">"
+                        + "<a href='/slides/slide0'></a></p></div>\n</html>").getBytes();
+            }
         }
         return "".getBytes();
     }
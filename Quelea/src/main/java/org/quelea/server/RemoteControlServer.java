@@ -37,12 +37,15 @@ import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -58,6 +61,7 @@ import org.quelea.data.displayable.PresentationDisplayable;
 import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
@@ -67,6 +71,8 @@ import org.quelea.windows.main.ThemePreviewPanel;
 import org.quelea.windows.main.actionhandlers.RecordingsHandler;
 import org.quelea.windows.main.schedule.ScheduleThemeNode;
 import org.quelea.windows.main.toolbars.MainToolbar;
+import org.quelea.windows.output.MjpegPublisher;
+import org.quelea.windows.output.OutputTap;
 
 /**
  * The remote control server, responsible for handling the mobile HTTP calls and
@@ -96,47 +102,62 @@ public class RemoteControlServer {
     public RemoteControlServer(int port) throws IOException {
         fileCache = new HashMap<>();
         server = HttpServer.create(new InetSocketAddress(port), 0);
-        HttpContext rootcontext = server.createContext("/", new RootHandler());
-        server.createContext("/logout", new LogoutHandler());
-        server.createContext("/tlogo", new LogoToggleHandler());
-        server.createContext("/black", new BlackToggleHandler());
-        server.createContext("/clear", new ClearToggleHandler());
-        server.createContext("/next", new NextSlideHandler());
-        server.createContext("/prev", new PreviousSlideHandler());
-        server.createContext("/nextitem", new NextItemHandler());
-        server.createContext("/previtem", new PreviousItemHandler());
-        server.createContext("/play", new PlayHandler());
-        server.createContext("/lyrics", new LyricsHandler());
-        server.createContext("/chords", new ChordsHandler());
-        server.createContext("/status", new StatusHandler());
-        server.createContext("/schedule", new ScheduleHandler());
-        server.createContext("/songsearch", new SongSearchHandler());
-        server.createContext("/search", new DatabaseSearchHandler());
-        server.createContext("/song", new SongDisplayHandler());
-        server.createContext("/add", new AddSongHandler());
-        server.createContext("/addbible", new AddBibleHandler());
-        server.createContext("/translations", new ListBibleTranslationsHandler());
-        server.createContext("/books", new ListBibleBooksHandler());
-        server.createContext("/passage", new PassageSelecterHandler());
-        server.createContext("/sidebar.png", new FileHandler("icons/sidebar.png"));
-        server.createContext("/logo.png", new FileHandler("icons/logo-square.png"));
-        server.createContext("/section", new SectionHandler());
-        server.createContext("/songtranslations", new SongTranslationsHandler());
-        server.createContext("/gettranslation", new SongTranslationsHandler());
-        server.createContext("/record", new RecordToggleHandler());
-        server.createContext("/gotoitem", new GotoItemHandler());
-        server.createContext("/remove", new RemoveItemHandler());
-        server.createContext("/getthemes", new GetThemesHandler());
-        server.createContext("/settheme", new SetThemeHandler());
-        server.createContext("/moveup", new MoveItemUpHandler());
-        server.createContext("/movedown", new MoveItemDownHandler());
-        server.createContext("/themethumb", new ThemeThumbnailsHandler());
-        server.createContext("/slides", new PresentationSlidesHandler());
-        server.createContext("/transpose", new TransposeSongHandler());
+        HttpContext rootcontext = createContext("/", new RootHandler());
+        createContext("/logout", new LogoutHandler());
+        createContext("/tlogo", new LogoToggleHandler());
+        createContext("/black", new BlackToggleHandler());
+        createContext("/clear", new ClearToggleHandler());
+        createContext("/next", new NextSlideHandler());
+        createContext("/prev", new PreviousSlideHandler());
+        createContext("/nextitem", new NextItemHandler());
+        createContext("/previtem", new PreviousItemHandler());
+        createContext("/play", new PlayHandler());
+        createContext("/lyrics", new LyricsHandler());
+        createContext("/chords", new ChordsHandler());
+        createContext("/status", new StatusHandler());
+        createContext("/schedule", new ScheduleHandler());
+        createContext("/songsearch", new SongSearchHandler());
+        createContext("/search", new DatabaseSearchHandler());
+        createContext("/song", new SongDisplayHandler());
+        createContext("/add", new AddSongHandler());
+        createContext("/addbible", new AddBibleHandler());
+        createContext("/translations", new ListBibleTranslationsHandler());
+        createContext("/books", new ListBibleBooksHandler());
+        createContext("/passage", new PassageSelecterHandler());
+        createContext("/sidebar.png", new FileHandler("icons/sidebar.png"));
+        createContext("/logo.png", new FileHandler("icons/logo-square.png"));
+        createContext("/section", new SectionHandler());
+        createContext("/songtranslations", new SongTranslationsHandler());
+        createContext("/gettranslation", new SongTranslationsHandler());
+        createContext("/record", new RecordToggleHandler());
+        createContext("/gotoitem", new GotoItemHandler());
+        createContext("/remove", new RemoveItemHandler());
+        createContext("/getthemes", new GetThemesHandler());
+        createContext("/settheme", new SetThemeHandler());
+        createContext("/moveup", new MoveItemUpHandler());
+        createContext("/movedown", new MoveItemDownHandler());
+        createContext("/themethumb", new ThemeThumbnailsHandler());
+        createContext("/slides", new PresentationSlidesHandler());
+        createContext("/transpose", new TransposeSongHandler());
+        createContext("/output.mjpg", new OutputStreamHandler());
+        createContext("/metrics", new MetricsHandler());
         rootcontext.getFilters().add(new ParameterFilter());
         server.setExecutor(null);
     }
 
+    /**
+     * Create a context on the server with a handler, timing its requests.
+     * <p>
+     * @param path the context path.
+     * @param handler the handler for the context.
+     * @return the new context.
+     */
+    private HttpContext createContext(String path, HttpHandler handler) {
+        HttpContext context = server.createContext(path, handler);
+        context.getFilters().add(new TimingFilter("remote", path));
+        return context;
+    }
+
     /**
      * Start the server.
      */
@@ -350,6 +371,92 @@ public class RemoteControlServer {
         }
     }
 
+    /**
+     * Streams the projection output as MJPEG. Each client is served from its
+     * own thread since the stream never ends, and the server's only thread
+     * has to stay free for everything else.
+     */
+    private class OutputStreamHandler implements HttpHandler {
+
+        private static final String BOUNDARY = "queleaframe";
+        private final ExecutorService streams = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "output-stream");
+            t.setDaemon(true);
+            return t;
+        });
+
+        @Override
+        public void handle(HttpExchange he) throws IOException {
+            if (!RCHandler.isLoggedOn(he.getRemoteAddress().getAddress().toString())) {
+                passwordPage(he);
+                return;
+            }
+            OutputTap tap = QueleaApp.get().getOutputTap();
+            if (tap == null) {
+                he.sendResponseHeaders(404, -1);
+                he.close();
+                return;
+            }
+            streams.execute(() -> stream(he, tap.getMjpegPublisher()));
+        }
+
+        private void stream(HttpExchange he, MjpegPublisher publisher) {
+            publisher.addClient();
+            he.getResponseHeaders().add("Content-Type", "multipart/x-mixed-replace; boundary=" + BOUNDARY);
+            he.getResponseHeaders().add("Cache-Control", "no-cache, no-store, must-revalidate");
+            try (OutputStream os = he.getResponseBody()) {
+                he.sendResponseHeaders(200, 0);
+                long seq = 0;
+                while (running) {
+                    MjpegPublisher.JpegFrame frame = publisher.awaitFrame(seq, 5000);
+                    if (frame == null) {
+                        if (!publisher.isRunning()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    seq = frame.getSequence();
+                    byte[] data = frame.getData();
+                    os.write(("--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\nContent-Length: " + data.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    os.write(data);
+                    os.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+                    os.flush();
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Output stream client went away", ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                publisher.removeClient();
+                he.close();
+            }
+        }
+    }
+
+    /**
+     * Serves the timing metrics in Prometheus' text format. Open to anything
+     * on this machine so a local scraper doesn't need to log in, anyone else
+     * has to.
+     */
+    private class MetricsHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange he) throws IOException {
+            if (he.getRemoteAddress().getAddress().isLoopbackAddress()
+                    || RCHandler.isLoggedOn(he.getRemoteAddress().getAddress().toString())) {
+                byte[] response = Metrics.get().toPrometheus().getBytes(StandardCharsets.UTF_8);
+                he.getResponseHeaders().add("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                he.getResponseHeaders().add("Cache-Control", "no-cache, no-store, must-revalidate");
+                he.sendResponseHeaders(200, response.length);
+                try (OutputStream os = he.getResponseBody()) {
+                    os.write(response);
+                }
+            } else {
+                passwordPage(he);
+            }
+        }
+    }
+
     private class AddSongHandler implements HttpHandler {
 
         @Override
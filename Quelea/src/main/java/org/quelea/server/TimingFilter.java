@@ -0,0 +1,59 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.server;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import org.quelea.services.metrics.Metrics;
+
+/**
+ * Times every request that goes through a context, recording it against the
+ * server name and the context path.
+ * <p/>
+ * @author Michael
+ */
+class TimingFilter extends Filter {
+
+    private final String name;
+
+    /**
+     * Create a new timing filter.
+     * <p/>
+     * @param serverName the name to record the server's requests under.
+     * @param path the path of the context being filtered.
+     */
+    TimingFilter(String serverName, String path) {
+        this.name = "http." + serverName + (path.equals("/") ? ".root" : path.replace('/', '.'));
+    }
+
+    @Override
+    public String description() {
+        return "Records how long requests take";
+    }
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        Metrics.Timer timer = Metrics.get().start(name);
+        try {
+            chain.doFilter(exchange);
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -37,13 +37,13 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
-import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.QueleaApp;
@@ -91,7 +91,7 @@ public class ElevantoImportDialog extends Stage {
         }
 
         centerOnScreen();
-        getIcons().add(new Image("file:icons/elevanto.png"));        
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/elevanto.png"));        
     }
     
     public ElevantoParser getParser() {
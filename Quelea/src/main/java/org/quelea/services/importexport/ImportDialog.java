@@ -23,12 +23,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.application.Platform;
@@ -39,7 +35,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
@@ -52,9 +47,9 @@ import org.javafx.dialog.Dialog;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
-import org.quelea.services.utils.SongDuplicateChecker;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
 import org.quelea.windows.main.StatusPanel;
@@ -94,7 +89,7 @@ public abstract class ImportDialog extends Stage implements PropertyChangeListen
 		files = new ArrayList<>();
 		halt = false;
 		importedDialog = new SelectImportedSongsDialog();
-		importButton = new Button(LabelGrabber.INSTANCE.getLabel("import.button"), new ImageView(new Image("file:icons/import.png", 16, 16, true, false)));
+		importButton = new Button(LabelGrabber.INSTANCE.getLabel("import.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/import.png", 16, 16, true, false)));
 
 		VBox mainPane = new VBox();
 		final FileChooser locationChooser = new FileChooser();
@@ -166,7 +161,7 @@ public abstract class ImportDialog extends Stage implements PropertyChangeListen
 			mainPane.getChildren().add(locationField);
 		}
 
-		closeButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(new Image("file:icons/cross.png")));
+		closeButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png")));
 		closeButton.setOnAction(evt -> {
 			hide();
 		});
@@ -182,53 +177,24 @@ public abstract class ImportDialog extends Stage implements PropertyChangeListen
 		mainPane.getChildren().add(buttonPane);
 		importButton.setOnAction(evt -> {
 			statusPanel = QueleaApp.get().getStatusGroup().addPanel(LabelGrabber.INSTANCE.getLabel("importing.status"));
+			final SongImporter importer = new SongImporter(parser, checkDuplicates.isSelected(), statusPanel);
 			statusPanel.getCancelButton().setOnAction(evt2 -> {
 				statusPanel.done();
 				halt = true;
+				importer.cancel();
 			});
 			setActive();
+			final List<File> importFiles = new ArrayList<>(files);
 			Thread worker = new Thread() {
-				private List<SongDisplayable> localSongs;
-				private Map<SongDisplayable, Boolean> localSongsDuplicate;
-				private final ExecutorService checkerService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
 				@Override
 				public void run() {
 					try {
-						localSongs = new ArrayList<>();
-						localSongsDuplicate = new HashMap<>();
-						for (File file : files) {
-							localSongs.addAll(parser.getSongs(file, statusPanel));
-						}
-						if (halt) {
-							localSongs = null;
-						}
-						Collections.sort(localSongs);
-						statusPanel.setProgress(0);
-						if (checkDuplicates.isSelected()) {
-							for (int i = 0; i < (localSongs == null ? 0 : localSongs.size()); i++) {
-								final int finali = i;
-								checkerService.submit(() -> {
-									try {
-										if (!halt) {
-											final boolean result = new SongDuplicateChecker().checkSong(localSongs.get(finali));
-											localSongsDuplicate.put(localSongs.get(finali), result);
-											final double progress = ((double) finali / localSongs.size());
-											if (statusPanel.getProgress() < progress) {
-												statusPanel.setProgress(progress);
-											}
-										}
-									} catch (Throwable ex) {
-										ex.printStackTrace();
-									}
-								});
-							}
-							try {
-								checkerService.shutdown();
-								checkerService.awaitTermination(365, TimeUnit.DAYS); //Year eh? ;-)
-							} catch (InterruptedException ex) {
-								LOGGER.log(Level.WARNING, "Interrupted?!", ex);
-							}
+						List<SongDisplayable> importedSongs = importer.importSongs(importFiles);
+						final List<SongDisplayable> localSongs = halt ? null : importedSongs;
+						final Map<SongDisplayable, Boolean> localSongsDuplicate = importer.getDuplicates();
+						if (localSongs != null) {
+							Collections.sort(localSongs);
 						}
 						Platform.runLater(() -> {
 							if ((localSongs == null || localSongs.isEmpty()) && !halt) {
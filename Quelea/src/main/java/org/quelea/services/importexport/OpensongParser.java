@@ -19,21 +19,18 @@ package org.quelea.services.importexport;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.UnicodeReader;
-import org.quelea.windows.main.StatusPanel;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -45,38 +42,35 @@ import org.xml.sax.SAXException;
  * <p>
  * @author Michael
  */
-public class OpensongParser implements SongParser {
+public class OpensongParser extends StreamingSongParser {
 
     private static final Logger LOGGER = LoggerUtils.getLogger();
 
     @Override
-    public List<SongDisplayable> getSongs(File location, StatusPanel statusPanel) throws IOException {
-        try (ZipFile file = new ZipFile(location, Charset.forName("Cp437"))) {
-            List<SongDisplayable> ret = new ArrayList<>();
-            final Enumeration<? extends ZipEntry> entries = file.entries();
-            while (entries.hasMoreElements()) {
-                String fileName = null;
-                try {
-                    final ZipEntry entry = entries.nextElement();
-                    fileName = entry.getName();
-                    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                    Document doc = dBuilder.parse(new InputSource(new UnicodeReader(file.getInputStream(entry), "UTF-8")));
-                    NodeList list = doc.getChildNodes();
-                    for (int i = 0; i < list.getLength(); i++) {
-                        if (list.item(i).getNodeName().equalsIgnoreCase("song")) {
-                            SongDisplayable displayable = getDisplayable(list.item(i));
-                            if (displayable != null) {
-                                ret.add(displayable);
-                            }
-                        }
+    public SongSources getSources(File location) throws IOException {
+        return SongSources.fromZip(location, Charset.forName("Cp437"), name -> true);
+    }
+
+    @Override
+    public List<SongDisplayable> parse(SongSource source) throws IOException {
+        List<SongDisplayable> ret = new ArrayList<>();
+        try (InputStream in = source.openStream()) {
+            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+            Document doc = dBuilder.parse(new InputSource(new UnicodeReader(in, "UTF-8")));
+            NodeList list = doc.getChildNodes();
+            for (int i = 0; i < list.getLength(); i++) {
+                if (list.item(i).getNodeName().equalsIgnoreCase("song")) {
+                    SongDisplayable displayable = getDisplayable(list.item(i));
+                    if (displayable != null) {
+                        ret.add(displayable);
                     }
-                } catch (IOException | ParserConfigurationException | SAXException ex) {
-                    LOGGER.log(Level.WARNING, "Error importing opensong: " + fileName, ex);
                 }
             }
-            return ret;
+        } catch (IOException | ParserConfigurationException | SAXException ex) {
+            LOGGER.log(Level.WARNING, "Error importing opensong: " + source.getName(), ex);
         }
+        return ret;
     }
 
     /**
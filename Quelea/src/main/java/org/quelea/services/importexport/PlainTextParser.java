@@ -2,25 +2,24 @@ package org.quelea.services.importexport;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.Utils;
-import org.quelea.windows.main.StatusPanel;
 
 /**
  * A parser for plain text files - also supports some tags and chordpro chords.
  *
  * @author tomaszpio, Michael Berry
  */
-public class PlainTextParser implements SongParser {
+public class PlainTextParser extends StreamingSongParser {
 
     private static final String DEFAULT_TITLE = "(Unknown)";
     private static final List<String> TITLE_PREFIXES = Arrays.asList("Title:");
@@ -137,56 +136,47 @@ public class PlainTextParser implements SongParser {
     }
 
     @Override
-    public List<SongDisplayable> getSongs(File f, StatusPanel statusPanel) throws IOException {
-        List<SongDisplayable> ret = new ArrayList<>();
-        File[] listOfSongs;
-        if (f.isDirectory()) {
-            listOfSongs = f.listFiles();
-        } else {
-            listOfSongs = new File[]{f};
+    public SongSources getSources(File f) {
+        return SongSources.fromFiles(f, fileName -> fileName.endsWith(".txt"));
+    }
+
+    @Override
+    public List<SongDisplayable> parse(SongSource source) throws IOException {
+        final String fileName = source.getName();
+        List<String> section = new ArrayList<>();
+        StringBuilder lyrics = new StringBuilder();
+        String defaultSongTitle = fileName.substring(0,fileName.length()-4);
+        if(defaultSongTitle.isEmpty()) {
+            defaultSongTitle = DEFAULT_TITLE;
         }
-        for (int i = 0; i < listOfSongs.length; i++) {
-            if (listOfSongs[i].isFile()) {
-                final String fileName = listOfSongs[i].getName();
-                if (fileName.endsWith(".txt")) {
-                    List<String> section = new ArrayList<>();
-                    StringBuilder lyrics = new StringBuilder();
-                    String defaultSongTitle = fileName.substring(0,fileName.length()-4);
-                    if(defaultSongTitle.isEmpty()) {
-                        defaultSongTitle = DEFAULT_TITLE;
+        SongDisplayable song = new SongDisplayable(defaultSongTitle, "");
+        try (BufferedReader bfr = new BufferedReader(new InputStreamReader(source.openStream(), Utils.getEncoding(source.getFile())))) {
+            String line;
+            while ((line = bfr.readLine()) != null) {
+                line = line.replace('\f', '\n');
+                if (!line.isEmpty()) {
+                    if (isAttributeLine(line)) {
+                        setAttribute(song, line);
+                    } else {
+                        section.add(line);
                     }
-                    SongDisplayable song = new SongDisplayable(defaultSongTitle, "");
-                    try (BufferedReader bfr = new BufferedReader(new InputStreamReader(new FileInputStream(listOfSongs[i]), Utils.getEncoding(listOfSongs[i])))) {
-                        String line;
-                        while ((line = bfr.readLine()) != null) {
-                            line = line.replace('\f', '\n');
-                            if (!line.isEmpty()) {
-                                if (isAttributeLine(line)) {
-                                    setAttribute(song, line);
-                                } else {
-                                    section.add(line);
-                                }
-                            } else {
-                                if (song.getTitle().equals(DEFAULT_TITLE) && section.size() == 1) {
-                                    song.setTitle(section.get(0));
-                                } else if (!isBlankLines(section)) {
-                                    addSectionToLyrics(section, lyrics);
-                                    lyrics.append('\n');
-                                }
-                                section.clear();
-                            }
-                        }
-                        if (!isBlankLines(section)) {
-                            addSectionToLyrics(section, lyrics);
-                            lyrics.append('\n');
-                        }
-                        song.setLyrics(lyrics.toString());
-                        ret.add(song);
+                } else {
+                    if (song.getTitle().equals(DEFAULT_TITLE) && section.size() == 1) {
+                        song.setTitle(section.get(0));
+                    } else if (!isBlankLines(section)) {
+                        addSectionToLyrics(section, lyrics);
+                        lyrics.append('\n');
                     }
+                    section.clear();
                 }
             }
+            if (!isBlankLines(section)) {
+                addSectionToLyrics(section, lyrics);
+                lyrics.append('\n');
+            }
+            song.setLyrics(lyrics.toString());
         }
-        return ret;
+        return Collections.singletonList(song);
     }
 
     private static boolean isBlankLines(List<String> section) {
@@ -40,7 +40,6 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
-import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -51,6 +50,7 @@ import org.quelea.planningcenter.model.services.Item;
 import org.quelea.planningcenter.model.services.Plan;
 import org.quelea.planningcenter.model.services.ServiceType;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.QueleaApp;
@@ -101,7 +101,7 @@ public class PlanningCenterOnlineImportDialog extends Stage {
         }
 
         centerOnScreen();
-        getIcons().add(new Image("file:icons/planningcenteronline.png"));
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/planningcenteronline.png"));
     }
 
     public PlanningCenterOnlineParser getParser() {
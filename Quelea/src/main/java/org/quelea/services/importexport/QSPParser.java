@@ -19,27 +19,47 @@ package org.quelea.services.importexport;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.quelea.data.displayable.SongDisplayable;
-import org.quelea.services.utils.SongPack;
-import org.quelea.windows.main.StatusPanel;
+import org.quelea.services.utils.LoggerUtils;
 
 /**
- * A parser for parsing song packs. Not really a parser, but here for 
- * completeness.
+ * A parser for parsing song packs. Each song in the pack is parsed on its
+ * own, so large packs are spread across all cores.
  * @author Michael
  */
-public class QSPParser implements SongParser {
+public class QSPParser extends StreamingSongParser {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
 
     /**
-     * Get a list of the songs contained in the given pack.
+     * Get the songs in the given pack.
      * @param location the location of the QSP file.
-     * @return a list of the songs found.
-     * @throws IOException if something goes wrong.
+     * @return the songs in the pack.
+     * @throws IOException if the pack couldn't be opened.
      */
     @Override
-    public List<SongDisplayable> getSongs(File location, StatusPanel statusPanel) throws IOException {
-        return SongPack.fromFile(location).getSongs();
+    public SongSources getSources(File location) throws IOException {
+        return SongSources.fromZip(location, StandardCharsets.UTF_8, name -> true);
+    }
+
+    @Override
+    public List<SongDisplayable> parse(SongSource source) throws IOException {
+        try (InputStream in = source.openStream()) {
+            SongDisplayable song = SongDisplayable.parseXML(in);
+            if (song == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(song);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.INFO, "Skipping malformed song " + source.getName(), ex);
+            return Collections.emptyList();
+        }
     }
 
 }
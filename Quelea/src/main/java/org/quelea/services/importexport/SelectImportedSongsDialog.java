@@ -65,8 +65,7 @@ public class SelectImportedSongsDialog extends SelectSongsDialog {
                         });
                         List<SongDisplayable> songDisplayables = new ArrayList<>();
                         songDisplayables.addAll(getSelectedSongs());
-                        SongManager.get(true).addSong(songDisplayables, false);
-                        SongManager.get(true).fireUpdate();
+                        SongManager.get(true).bulkAddSongs(songDisplayables, statusPanel);
                         if(statusPanel != null) {
                             statusPanel.done();
                         }
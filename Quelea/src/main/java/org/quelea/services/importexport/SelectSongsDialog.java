@@ -31,7 +31,6 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.Control;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
@@ -44,6 +43,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 
 /**
@@ -111,7 +111,7 @@ public class SelectSongsDialog extends Stage {
         gridScroll.setFitToWidth(true);
         gridScroll.setFitToHeight(true);
         mainPanel.getChildren().add(gridScroll);
-        addButton = new Button(acceptText, new ImageView(new Image("file:icons/tick.png")));
+        addButton = new Button(acceptText, new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         StackPane stackAdd = new StackPane();
         stackAdd.getChildren().add(addButton);
         VBox.setMargin(stackAdd, new Insets(10));
@@ -0,0 +1,253 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.importexport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.services.utils.LoggerUtils;
+import org.quelea.services.utils.SongDuplicateChecker;
+import org.quelea.windows.main.StatusPanel;
+
+/**
+ * Imports songs from a set of files as a pipeline. Sources from a
+ * {@link StreamingSongParser} are parsed across all cores, and each song is
+ * queued for the duplicate check as soon as it's parsed rather than once the
+ * whole import has finished. Parsers that don't stream are given one file at
+ * a time, as they may not be safe to run concurrently.
+ * <p/>
+ * @author Michael
+ */
+public class SongImporter {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final ExecutorService PARSE_POOL = createPool("song-import-parser");
+    private static final ExecutorService CHECK_POOL = createPool("song-import-checker");
+    private final SongParser parser;
+    private final StatusPanel statusPanel;
+    private final SongDuplicateChecker duplicateChecker;
+    private final List<SongDisplayable> songs;
+    private final Map<SongDisplayable, Boolean> duplicates;
+    private final AtomicInteger workDone;
+    private final AtomicInteger workTotal;
+    private volatile Consumer<SongDisplayable> songListener;
+    private volatile boolean cancelled;
+    private double progress;
+
+    /**
+     * Create a new importer.
+     * <p/>
+     * @param parser the parser to use.
+     * @param checkDuplicates true if each song should be checked against the
+     * database for duplicates.
+     * @param statusPanel the status panel to report progress to, or null.
+     */
+    public SongImporter(SongParser parser, boolean checkDuplicates, StatusPanel statusPanel) {
+        this.parser = parser;
+        this.statusPanel = statusPanel;
+        this.duplicateChecker = checkDuplicates ? new SongDuplicateChecker() : null;
+        songs = Collections.synchronizedList(new ArrayList<>());
+        duplicates = Collections.synchronizedMap(new HashMap<>());
+        workDone = new AtomicInteger();
+        workTotal = new AtomicInteger();
+    }
+
+    private static ExecutorService createPool(String name) {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Set a listener to be given each song as soon as it's parsed. It may be
+     * called from several threads at once.
+     * <p/>
+     * @param songListener the listener.
+     */
+    public void setSongListener(Consumer<SongDisplayable> songListener) {
+        this.songListener = songListener;
+    }
+
+    /**
+     * Stop the import. Sources that haven't been started are skipped, and
+     * songs that haven't been checked for duplicates are left unchecked.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Determine whether the import has been cancelled.
+     * <p/>
+     * @return true if it's been cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Import the songs from the given files, blocking until they've all been
+     * parsed and checked.
+     * <p/>
+     * @param files the files to import from.
+     * @return the songs found, in no particular order.
+     * @throws IOException if one of the files couldn't be read.
+     */
+    public List<SongDisplayable> importSongs(List<File> files) throws IOException {
+        long start = System.nanoTime();
+        List<SongSources> opened = new ArrayList<>();
+        try {
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            if (parser instanceof StreamingSongParser) {
+                StreamingSongParser streamingParser = (StreamingSongParser) parser;
+                List<SongSource> sources = new ArrayList<>();
+                for (File file : files) {
+                    SongSources found = streamingParser.getSources(file);
+                    opened.add(found);
+                    sources.addAll(found.getSources());
+                }
+                workTotal.set(sources.size());
+                for (SongSource source : sources) {
+                    pending.add(CompletableFuture.supplyAsync(() -> parseSource(streamingParser, source), PARSE_POOL)
+                            .thenCompose(this::accept));
+                }
+            } else {
+                workTotal.set(files.size());
+                CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+                for (File file : files) {
+                    CompletableFuture<List<SongDisplayable>> parsed = previous.thenApplyAsync(v -> parseFile(file), PARSE_POOL);
+                    pending.add(parsed.thenCompose(this::accept));
+                    previous = parsed.thenApply(ignored -> null);
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        } finally {
+            for (SongSources found : opened) {
+                found.close();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        LOGGER.log(Level.INFO, String.format("Imported %d songs from %d sources in %.1fs", songs.size(), workTotal.get(), seconds));
+        synchronized (songs) {
+            return new ArrayList<>(songs);
+        }
+    }
+
+    /**
+     * Get the results of the duplicate check.
+     * <p/>
+     * @return a map of each song checked to whether it's a duplicate of one
+     * already in the database. Empty if duplicates weren't checked.
+     */
+    public Map<SongDisplayable, Boolean> getDuplicates() {
+        synchronized (duplicates) {
+            return new HashMap<>(duplicates);
+        }
+    }
+
+    private List<SongDisplayable> parseSource(StreamingSongParser streamingParser, SongSource source) {
+        if (cancelled) {
+            return Collections.emptyList();
+        }
+        try {
+            return streamingParser.parse(source);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't import songs from " + source.getName(), ex);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<SongDisplayable> parseFile(File file) {
+        if (cancelled) {
+            return Collections.emptyList();
+        }
+        try {
+            return parser.getSongs(file, statusPanel);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Take the songs parsed from one source, and queue them for the
+     * duplicate check.
+     */
+    private CompletableFuture<Void> accept(List<SongDisplayable> parsed) {
+        List<CompletableFuture<Void>> checks = new ArrayList<>();
+        for (SongDisplayable song : parsed) {
+            if (song == null || cancelled) {
+                continue;
+            }
+            songs.add(song);
+            Consumer<SongDisplayable> listener = songListener;
+            if (listener != null) {
+                listener.accept(song);
+            }
+            if (duplicateChecker != null) {
+                workTotal.incrementAndGet();
+                checks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        if (!cancelled) {
+                            duplicates.put(song, duplicateChecker.checkSong(song));
+                        }
+                    } catch (RuntimeException ex) {
+                        LOGGER.log(Level.WARNING, "Couldn't check " + song.getTitle() + " for duplicates", ex);
+                    }
+                    workDone();
+                }, CHECK_POOL));
+            }
+        }
+        workDone();
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]));
+    }
+
+    private void workDone() {
+        int done = workDone.incrementAndGet();
+        if (statusPanel == null) {
+            return;
+        }
+        double newProgress = (double) done / workTotal.get();
+        synchronized (this) {
+            if (newProgress <= progress) {
+                return;
+            }
+            progress = newProgress;
+        }
+        statusPanel.setProgress(newProgress);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.importexport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A single unit of input to a streaming song parser - a file in a folder or
+ * an entry in an archive. Sources are parsed independently of each other, so
+ * may be parsed on different threads at once.
+ * <p/>
+ * @author Michael
+ */
+public interface SongSource {
+
+    /**
+     * Get the name of this source, for logging.
+     * <p/>
+     * @return the file or entry name.
+     */
+    String getName();
+
+    /**
+     * Open a new stream over the contents of this source. The caller is
+     * responsible for closing it.
+     * <p/>
+     * @return the stream.
+     * @throws IOException if the source couldn't be read.
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * Get the file this source is on disk, if there is one.
+     * <p/>
+     * @return the file, or null if the source is inside an archive.
+     */
+    File getFile();
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.importexport;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The sources found at an import location. Closing it releases anything held
+ * open while the sources are being read, such as an archive.
+ * <p/>
+ * @author Michael
+ */
+public final class SongSources implements Closeable {
+
+    private final List<SongSource> sources;
+    private final Closeable resource;
+
+    private SongSources(List<SongSource> sources, Closeable resource) {
+        this.sources = Collections.unmodifiableList(sources);
+        this.resource = resource;
+    }
+
+    /**
+     * Get the sources from the entries in a zip file. The entries can be read
+     * from several threads at once.
+     * <p/>
+     * @param location the zip file.
+     * @param charset the charset of the entry names.
+     * @param filter the entry names to include.
+     * @return the sources.
+     * @throws IOException if the zip file couldn't be opened.
+     */
+    public static SongSources fromZip(File location, Charset charset, Predicate<String> filter) throws IOException {
+        ZipFile zipFile = new ZipFile(location, charset);
+        List<SongSource> sources = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && filter.test(entry.getName())) {
+                sources.add(new ZipEntrySource(zipFile, entry));
+            }
+        }
+        return new SongSources(sources, zipFile);
+    }
+
+    /**
+     * Get the sources from the files in a folder, or the given file if it
+     * isn't a folder.
+     * <p/>
+     * @param location the folder or file.
+     * @param filter the file names to include.
+     * @return the sources.
+     */
+    public static SongSources fromFiles(File location, Predicate<String> filter) {
+        File[] files;
+        if (location.isDirectory()) {
+            files = location.listFiles();
+        } else {
+            files = new File[]{location};
+        }
+        List<SongSource> sources = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && filter.test(file.getName())) {
+                    sources.add(new FileSource(file));
+                }
+            }
+        }
+        return new SongSources(sources, null);
+    }
+
+    /**
+     * Get the sources.
+     * <p/>
+     * @return the sources, in the order they were found.
+     */
+    public List<SongSource> getSources() {
+        return sources;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    private static final class ZipEntrySource implements SongSource {
+
+        private final ZipFile zipFile;
+        private final ZipEntry entry;
+
+        private ZipEntrySource(ZipFile zipFile, ZipEntry entry) {
+            this.zipFile = zipFile;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName() {
+            return entry.getName();
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return zipFile.getInputStream(entry);
+        }
+
+        @Override
+        public File getFile() {
+            return null;
+        }
+    }
+
+    private static final class FileSource implements SongSource {
+
+        private final File file;
+
+        private FileSource(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public String getName() {
+            return file.getName();
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(file.toPath());
+        }
+
+        @Override
+        public File getFile() {
+            return file;
+        }
+    }
+}
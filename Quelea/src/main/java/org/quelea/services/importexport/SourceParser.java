@@ -19,7 +19,7 @@ package org.quelea.services.importexport;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,13 +28,12 @@ import java.util.regex.Pattern;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
-import org.quelea.windows.main.StatusPanel;
 
 /**
  * A parser for songs in the source songbook in HTML format.
  * @author Michael
  */
-public class SourceParser implements SongParser {
+public class SourceParser extends StreamingSongParser {
 
     private static final String START_PARSE_LYRICS = "<!-- InstanceBeginEditable name=\"content\" -->";
     private static final String START_PARSE_AUTHOR = "<!-- InstanceBeginEditable name=\"Author\" -->";
@@ -42,44 +41,51 @@ public class SourceParser implements SongParser {
     private static final Logger LOGGER = LoggerUtils.getLogger();
 
     /**
-     * Get all the songs from the given location.
+     * Get the HTML files in the given location.
      * @param location the directory containing all the HTML files containing
      * the songs.
-     * @return a list of parsed songs.
-     * @throws IOException if something went wrong.
+     * @return the files to parse.
      */
     @Override
-    public List<SongDisplayable> getSongs(File location, StatusPanel statusPanel) throws IOException {
+    public SongSources getSources(File location) {
         if (!location.isDirectory()) {
             throw new RuntimeException("Must be a directory.");
         }
-        File[] files = location.listFiles();
-        List<SongDisplayable> ret = new ArrayList<>();
-        for (File file : files) {
-            if (file.getName().endsWith("htm") || file.getName().endsWith("html")) {
-                String contents = Utils.getTextFromFile(file.getAbsolutePath(), null);
-                contents = contents.replaceAll("(&nbsp;)+", " ");
-                contents = contents.replaceAll(" +", " ");
-                contents = contents.replace("&amp;", "&");
-                contents = contents.replace("&quot;", "'");
-                contents = contents.replace("&lsquo;", "\"");
-                contents = contents.replace("&rsquo;", "\"");
-                contents = contents.replace("&lt;", "<");
-                contents = contents.replace("&gt;", ">");
-                String lyrics = getLyrics(contents);
-                if (lyrics == null) {
-                    continue;
-                }
-                String title = getTitle(lyrics, 0);
-                SongDisplayable newSong = new SongDisplayable(title, getAuthor(contents));
-                newSong.setLyrics(lyrics);
-                ret.add(newSong);
-            }
-            else {
-                LOGGER.log(Level.WARNING, "Invalid file {0}", file.getName());
+        return SongSources.fromFiles(location, name -> true);
+    }
+
+    /**
+     * Parse the song in one HTML file.
+     * @param source the HTML file.
+     * @return the parsed song, or an empty list if there wasn't one.
+     * @throws IOException if something went wrong.
+     */
+    @Override
+    public List<SongDisplayable> parse(SongSource source) throws IOException {
+        File file = source.getFile();
+        if (file.getName().endsWith("htm") || file.getName().endsWith("html")) {
+            String contents = Utils.getTextFromFile(file.getAbsolutePath(), null);
+            contents = contents.replaceAll("(&nbsp;)+", " ");
+            contents = contents.replaceAll(" +", " ");
+            contents = contents.replace("&amp;", "&");
+            contents = contents.replace("&quot;", "'");
+            contents = contents.replace("&lsquo;", "\"");
+            contents = contents.replace("&rsquo;", "\"");
+            contents = contents.replace("&lt;", "<");
+            contents = contents.replace("&gt;", ">");
+            String lyrics = getLyrics(contents);
+            if (lyrics == null) {
+                return Collections.emptyList();
             }
+            String title = getTitle(lyrics, 0);
+            SongDisplayable newSong = new SongDisplayable(title, getAuthor(contents));
+            newSong.setLyrics(lyrics);
+            return Collections.singletonList(newSong);
+        }
+        else {
+            LOGGER.log(Level.WARNING, "Invalid file {0}", file.getName());
+            return Collections.emptyList();
         }
-        return ret;
     }
 
     /**
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.importexport;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.windows.main.StatusPanel;
+
+/**
+ * A song parser for locations made up of many independent files, such as a
+ * folder of song files or an archive of them. Rather than parsing the whole
+ * location in one go, it splits it into sources that are parsed separately,
+ * so a {@link SongImporter} can parse them across several threads and pass
+ * each song on as soon as it's ready.
+ * <p/>
+ * Implementations must be safe to use from several threads at once.
+ * <p/>
+ * @author Michael
+ */
+public abstract class StreamingSongParser implements SongParser {
+
+    /**
+     * Get the sources to parse at the given location.
+     * <p/>
+     * @param location the location to import from.
+     * @return the sources found. The caller must close it once it's finished
+     * parsing them.
+     * @throws IOException if the location couldn't be read.
+     */
+    public abstract SongSources getSources(File location) throws IOException;
+
+    /**
+     * Parse the songs from a single source. May be called from any thread.
+     * <p/>
+     * @param source the source to parse.
+     * @return the songs found in the source, empty if there are none or the
+     * source couldn't be parsed.
+     * @throws IOException if the source couldn't be read.
+     */
+    public abstract List<SongDisplayable> parse(SongSource source) throws IOException;
+
+    /**
+     * Parse all the songs at a location, passing each one to the given
+     * consumer as soon as it's been parsed. The consumer may be called from
+     * several threads at once, and songs arrive in no particular order.
+     * <p/>
+     * @param location the location to import from.
+     * @param consumer the consumer to pass the songs to.
+     * @param statusPanel the status panel to report progress to, or null.
+     * @throws IOException if the location couldn't be read.
+     */
+    public void streamSongs(File location, Consumer<SongDisplayable> consumer, StatusPanel statusPanel) throws IOException {
+        SongImporter importer = new SongImporter(this, false, statusPanel);
+        importer.setSongListener(consumer);
+        importer.importSongs(Collections.singletonList(location));
+    }
+
+    @Override
+    public List<SongDisplayable> getSongs(File location, StatusPanel statusPanel) throws IOException {
+        return new SongImporter(this, false, statusPanel).importSongs(Collections.singletonList(location));
+    }
+}
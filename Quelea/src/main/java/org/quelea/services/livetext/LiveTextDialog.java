@@ -23,7 +23,6 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
@@ -32,6 +31,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -132,7 +132,7 @@ public class LiveTextDialog extends Stage {
             dialog.textField.clear();
             dialog.messageLabel.setText(message);
             dialog.messageLabel.setWrapText(true);
-            dialog.getIcons().add(new Image("file:icons/live_text.png"));
+            dialog.getIcons().add(ImageManager.INSTANCE.getImage("file:icons/live_text.png"));
             dialog.showAndWait();
         });
         while (dialog.isShowing()) {
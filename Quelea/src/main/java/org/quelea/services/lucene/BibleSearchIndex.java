@@ -49,6 +49,7 @@ import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 import org.quelea.data.bible.BibleChapter;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.LoggerUtils;
 
 /**
@@ -156,6 +157,15 @@ public class BibleSearchIndex implements SearchIndex<BibleChapter> {
      */
     @Override
     public BibleChapter[] filter(String queryString, FilterType type) {
+        Metrics.Timer timer = Metrics.get().start("search.bible");
+        try {
+            return doFilter(queryString);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private BibleChapter[] doFilter(String queryString) {
         String sanctifyQueryString = SearchIndexUtils.makeLuceneQuery(queryString);
         if(chapters.isEmpty() || sanctifyQueryString.isEmpty()) {
             return chapters.values().toArray(new BibleChapter[chapters.size()]);
@@ -51,6 +51,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.util.ThreadInterruptedException;
 import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.LoggerUtils;
 
 /**
@@ -60,6 +61,10 @@ import org.quelea.services.utils.LoggerUtils;
  */
 public class SongSearchIndex implements SearchIndex<SongDisplayable> {
 
+    /**
+     * The most songs {@link #filterFields(String)} returns for each field.
+     */
+    public static final int MAX_FIELD_RESULTS = 1000;
     private static final Logger LOGGER = LoggerUtils.getLogger();
     private final Analyzer analyzer;
     private final Directory index;
@@ -178,6 +183,65 @@ public class SongSearchIndex implements SearchIndex<SongDisplayable> {
      */
     @Override
     public synchronized SongDisplayable[] filter(String queryString, FilterType type) {
+        Metrics.Timer timer = Metrics.get().start("search.songs");
+        try {
+            return doFilter(queryString, type);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Search the title, lyrics and author of every song in one go, with a
+     * single reader. Quicker than three calls to
+     * {@link #filter(String, FilterType)}, which also searches titles again
+     * for a lyrics search.
+     *
+     * @param queryString the query to use to search.
+     * @return three arrays of matching songs - those matching on title, on
+     * lyrics and on author, in that order. A song can appear in more than one.
+     * Null if the query was invalid or interrupted.
+     */
+    public synchronized SongDisplayable[][] filterFields(String queryString) {
+        Metrics.Timer timer = Metrics.get().start("search.songs");
+        String sanctifyQueryString = SearchIndexUtils.makeLuceneQuery(queryString);
+        try (DirectoryReader dr = DirectoryReader.open(index)) {
+            IndexSearcher searcher = new IndexSearcher(dr);
+            return new SongDisplayable[][]{
+                search(searcher, "title", sanctifyQueryString),
+                search(searcher, "lyrics", sanctifyQueryString),
+                search(searcher, "author", sanctifyQueryString)
+            };
+        }
+        catch(ClosedByInterruptException|ThreadInterruptedException ex) {
+            //Ignore, thread is being shut down by other character being typed
+            return null;
+        }
+        catch (ParseException | IOException ex) {
+            LOGGER.log(Level.WARNING, "Invalid query string: " + sanctifyQueryString, ex);
+            return null;
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    private SongDisplayable[] search(IndexSearcher searcher, String field, String sanctifyQueryString) throws ParseException, IOException {
+        Query q = new ComplexPhraseQueryParser(field, analyzer).parse(sanctifyQueryString);
+        TopScoreDocCollector collector = TopScoreDocCollector.create(MAX_FIELD_RESULTS, 10000);
+        searcher.search(q, collector);
+        ScoreDoc[] hits = collector.topDocs().scoreDocs;
+        List<SongDisplayable> ret = new ArrayList<>();
+        for (ScoreDoc hit : hits) {
+            SongDisplayable song = songs.get(Long.parseLong(searcher.doc(hit.doc).get("number")));
+            if (song != null) {
+                ret.add(song);
+            }
+        }
+        return ret.toArray(new SongDisplayable[ret.size()]);
+    }
+
+    private SongDisplayable[] doFilter(String queryString, FilterType type) {
         String sanctifyQueryString = SearchIndexUtils.makeLuceneQuery(queryString);
         if (songs.isEmpty() || sanctifyQueryString.trim().isEmpty()) {
             return songs.values().toArray(new SongDisplayable[songs.size()]);
@@ -209,7 +273,7 @@ public class SongSearchIndex implements SearchIndex<SongDisplayable> {
                 ret.add(song);
             }
             if (type == FilterType.BODY) {
-                for (SongDisplayable song : filter(queryString, FilterType.TITLE)) {
+                for (SongDisplayable song : doFilter(queryString, FilterType.TITLE)) {
                     ret.remove(song);
                 }
             }
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with power-of-two microsecond buckets. Recording is a
+ * handful of atomic adds so it's cheap enough to leave on all the time, at
+ * the cost of only knowing each latency to within a factor of two.
+ * <p/>
+ * Bucket 0 holds anything under a microsecond, bucket i anything from
+ * 2^(i-1) up to 2^i microseconds, and the last bucket anything longer.
+ * <p/>
+ * @author Michael
+ */
+public class LatencyHistogram {
+
+    static final int BUCKETS = 26;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a latency.
+     * <p/>
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketFor(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Reset the histogram to empty.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    /**
+     * @return the number of latencies recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of all the latencies recorded, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the longest latency recorded, in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the mean latency, in milliseconds.
+     */
+    public double getAverageMillis() {
+        long c = count.sum();
+        if (c == 0) {
+            return 0;
+        }
+        return (totalNanos.sum() / (double) c) / 1_000_000.0;
+    }
+
+    /**
+     * Estimate a percentile. The result is the upper bound of the bucket the
+     * percentile falls in, so it errs on the slow side.
+     * <p/>
+     * @param percentile the percentile to get, between 0 and 100.
+     * @return the estimated latency at that percentile, in milliseconds.
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(getUpperBoundMicros(i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Get a copy of the count in each bucket. The copy isn't taken
+     * atomically, so it may be very slightly out with a concurrent record.
+     * <p/>
+     * @return the bucket counts.
+     */
+    long[] getBucketCounts() {
+        long[] ret = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            ret[i] = buckets.get(i);
+        }
+        return ret;
+    }
+
+    /**
+     * Get the exclusive upper bound of a bucket. The last bucket has no upper
+     * bound.
+     * <p/>
+     * @param bucket the bucket index.
+     * @return the upper bound in microseconds.
+     */
+    static long getUpperBoundMicros(int bucket) {
+        return 1L << bucket;
+    }
+
+    private static int bucketFor(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d avg=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                getCount(), getAverageMillis(), getPercentileMillis(50), getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Always-on timers, counters and gauges for the paths that matter during a
+ * live service - searching, loading songs, laying out slides, getting a
+ * slide change onto the screen, serving remote requests and delivering
+ * video frames.
+ * <p/>
+ * Everything is keyed by a dotted name such as "slide.change.live". Timers
+ * feed a {@link LatencyHistogram} and also emit a flight recorder event, so
+ * a stall can be lined up against GC and thread activity in a JFR recording.
+ * The lot can be read in Prometheus' text format from the remote control
+ * server's /metrics page.
+ * <p/>
+ * @author Michael
+ */
+public final class Metrics {
+
+    private static final Metrics INSTANCE = new Metrics();
+    private static final String PREFIX = "quelea_";
+    private final Map<String, LatencyHistogram> histograms;
+    private final Map<String, LongAdder> counters;
+    private final Map<String, DoubleSupplier> gauges;
+
+    private Metrics() {
+        histograms = new ConcurrentHashMap<>();
+        counters = new ConcurrentHashMap<>();
+        gauges = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the singleton instance.
+     * <p/>
+     * @return the instance.
+     */
+    public static Metrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start timing an operation. The time is recorded when the returned
+     * timer is stopped.
+     * <p/>
+     * @param name the name of the operation.
+     * @return the running timer.
+     */
+    public Timer start(String name) {
+        return new Timer(name);
+    }
+
+    /**
+     * Record a latency that's been measured elsewhere.
+     * <p/>
+     * @param name the name of the operation.
+     * @param nanos how long it took, in nanoseconds.
+     */
+    public void record(String name, long nanos) {
+        getHistogram(name).record(nanos);
+    }
+
+    /**
+     * Add one to a counter.
+     * <p/>
+     * @param name the name of the counter.
+     */
+    public void increment(String name) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Register a gauge, replacing any existing gauge with the same name. The
+     * supplier is called whenever the metrics are read, from whatever thread
+     * reads them, so it should be cheap and thread safe.
+     * <p/>
+     * @param name the name of the gauge.
+     * @param supplier supplies the gauge's current value.
+     */
+    public void registerGauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Remove a gauge.
+     * <p/>
+     * @param name the name of the gauge.
+     */
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Stop a timer once the next pulse has laid out the scene, which is the
+     * last point before the frame's rendered. Used to time a change from
+     * start to the point it's actually on the way to the screen, rather than
+     * just until the scene graph has been updated. Must be called on the FX
+     * thread.
+     * <p/>
+     * @param timer the timer to stop.
+     * @param scene the scene being changed, or null to stop the timer now.
+     */
+    public void stopAfterPulse(Timer timer, Scene scene) {
+        if (scene == null) {
+            timer.stop();
+            return;
+        }
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                if (timer.stop() >= 0) {
+                    //Can't remove ourselves while the scene is walking its listeners
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the histogram for an operation, creating it if need be.
+     * <p/>
+     * @param name the name of the operation.
+     * @return the histogram.
+     */
+    public LatencyHistogram getHistogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Reset every histogram and counter. Gauges are left alone since they
+     * report state held elsewhere.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (LongAdder counter : counters.values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Write out every metric in the Prometheus text exposition format.
+     * <p/>
+     * @return the metrics as text.
+     */
+    public String toPrometheus() {
+        StringBuilder ret = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String name = PREFIX + sanitise(entry.getKey()) + "_seconds";
+            LatencyHistogram histogram = entry.getValue();
+            long[] counts = histogram.getBucketCounts();
+            ret.append("# TYPE ").append(name).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < counts.length - 1; i++) {
+                cumulative += counts[i];
+                ret.append(name).append("_bucket{le=\"").append(LatencyHistogram.getUpperBoundMicros(i) / 1_000_000.0).append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += counts[counts.length - 1];
+            ret.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            ret.append(name).append("_sum ").append(histogram.getTotalNanos() / 1_000_000_000.0).append('\n');
+            ret.append(name).append("_count ").append(cumulative).append('\n');
+            ret.append("# TYPE ").append(name).append("_max gauge\n");
+            ret.append(name).append("_max ").append(histogram.getMaxMillis() / 1000.0).append('\n');
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            String name = PREFIX + sanitise(entry.getKey()) + "_total";
+            ret.append("# TYPE ").append(name).append(" counter\n");
+            ret.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, DoubleSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            double value = entry.getValue().getAsDouble();
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            String name = PREFIX + sanitise(entry.getKey());
+            ret.append("# TYPE ").append(name).append(" gauge\n");
+            ret.append(name).append(' ').append(value).append('\n');
+        }
+        return ret.toString();
+    }
+
+    private static String sanitise(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+    }
+
+    /**
+     * A running timer for a single operation.
+     */
+    public final class Timer {
+
+        private final String name;
+        private final long start;
+        private final TimingEvent event;
+        private boolean stopped;
+
+        private Timer(String name) {
+            this.name = name;
+            event = new TimingEvent();
+            event.begin();
+            start = System.nanoTime();
+        }
+
+        /**
+         * Stop the timer and record how long it ran for. Only the first call
+         * has any effect.
+         * <p/>
+         * @return the time recorded in nanoseconds, or -1 if the timer had
+         * already been stopped.
+         */
+        public synchronized long stop() {
+            if (stopped) {
+                return -1;
+            }
+            stopped = true;
+            long took = System.nanoTime() - start;
+            getHistogram(name).record(took);
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = name;
+                event.commit();
+            }
+            return took;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for one timed operation. Only committed while a
+ * recording is running, for instance one started with
+ * -XX:StartFlightRecording or jcmd, so it costs next to nothing otherwise.
+ * <p/>
+ * @author Michael
+ */
+@Name("org.quelea.Timing")
+@Label("Timed Operation")
+@Category("Quelea")
+@Description("An operation on one of Quelea's timed paths, such as a slide change or a search")
+@StackTrace(false)
+class TimingEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.notice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+
+/**
+ * Rasterises notice text into bitmaps, once per notice text, style and output
+ * scale. Every canvas showing the same notice at the same scale is handed the
+ * same image, so scrolling it only ever moves a bitmap about rather than
+ * laying out and drawing text each frame.
+ * <p/>
+ * A long notice at a high output scale can be wider than the graphics card
+ * will take as a single texture, so the text is cut into tiles no wider than
+ * {@link #MAX_TILE_WIDTH} pixels, to be laid side by side.
+ * <p/>
+ * Only to be used on the FX thread.
+ * <p/>
+ * @author Michael
+ */
+final class NoticeBitmapCache {
+
+    /**
+     * The widest tile in physical pixels, well under the smallest maximum
+     * texture size we're likely to come across.
+     */
+    static final int MAX_TILE_WIDTH = 4096;
+    private static final int CACHE_SIZE = 16;
+    private static final Map<BitmapKey, List<Image>> CACHE = new LinkedHashMap<BitmapKey, List<Image>>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BitmapKey, List<Image>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private NoticeBitmapCache() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Get the bitmaps for a notice.
+     * <p/>
+     * @param notice the notice to draw.
+     * @param scale the output scale of the screen it's going on, so the
+     * bitmaps have one pixel per physical pixel.
+     * @return images of the notice text with a transparent background, at the
+     * given scale, in order from left to right. Short notices have just the
+     * one.
+     */
+    static List<Image> get(Notice notice, double scale) {
+        Font font = notice.getFont().getFont();
+        Color color = notice.getColor().getColor();
+        BitmapKey key = new BitmapKey(notice.getText(), font, color, scale);
+        List<Image> tiles = CACHE.get(key);
+        if (tiles == null) {
+            Text text = new Text(notice.getText());
+            text.setFont(font);
+            text.setFill(color);
+            tiles = snapshotTiles(text, scale);
+            CACHE.put(key, tiles);
+        }
+        return tiles;
+    }
+
+    private static List<Image> snapshotTiles(Text text, double scale) {
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setTransform(Transform.scale(scale, scale));
+        Bounds bounds = text.getBoundsInLocal();
+        double minX = Math.floor(bounds.getMinX() * scale);
+        double minY = Math.floor(bounds.getMinY() * scale);
+        int width = (int) Math.ceil(bounds.getMaxX() * scale - minX);
+        int height = (int) Math.ceil(bounds.getMaxY() * scale - minY);
+        if (width <= MAX_TILE_WIDTH) {
+            return Collections.singletonList(text.snapshot(params, null));
+        }
+        List<Image> tiles = new ArrayList<>();
+        for (int x = 0; x < width; x += MAX_TILE_WIDTH) {
+            params.setViewport(new Rectangle2D(minX + x, minY, Math.min(MAX_TILE_WIDTH, width - x), height));
+            tiles.add(text.snapshot(params, null));
+        }
+        return Collections.unmodifiableList(tiles);
+    }
+
+    private static final class BitmapKey {
+
+        private final String text;
+        private final Font font;
+        private final Color color;
+        private final double scale;
+
+        BitmapKey(String text, Font font, Color color, double scale) {
+            this.text = text;
+            this.font = font;
+            this.color = color;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof BitmapKey)) {
+                return false;
+            }
+            BitmapKey other = (BitmapKey) obj;
+            return scale == other.scale && text.equals(other.text) && font.equals(other.font) && color.equals(other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, font, color, scale);
+        }
+    }
+}
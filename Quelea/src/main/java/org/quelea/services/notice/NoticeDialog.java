@@ -32,13 +32,13 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ListView;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.DisplayCanvas;
 
@@ -64,7 +64,7 @@ public class NoticeDialog extends Stage {
      */
     public NoticeDialog() {
         BorderPane mainPane = new BorderPane();
-        getIcons().add(new Image("file:icons/info.png"));
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/info.png"));
         noticeDrawers = new ArrayList<>();
         setTitle(LabelGrabber.INSTANCE.getLabel("notices.heading"));
         newNoticeButton = new Button(LabelGrabber.INSTANCE.getLabel("new.notice.text"));
@@ -168,7 +168,7 @@ public class NoticeDialog extends Stage {
             }
         });
 
-        doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(new Image("file:icons/tick.png")));
+        doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         doneButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
             public void handle(javafx.event.ActionEvent t) {
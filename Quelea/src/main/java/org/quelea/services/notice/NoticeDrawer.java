@@ -21,21 +21,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javafx.animation.FadeTransition;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
 import javafx.util.Duration;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.DisplayCanvas;
 import org.quelea.windows.main.QueleaApp;
-import org.quelea.utils.FXFontMetrics;
 
 /**
  * Responsible for drawing the notice animation on a particular canvas.
@@ -95,93 +92,76 @@ public class NoticeDrawer {
 
     private void playNotices() {
         canvas.ensureNoticesVisible(); //Shouldn't need this, but guards against any cases where the notice overlay may have been removed.
-        if (!playing) {
-            playing = true;
-            final List<Notice> oldNotices = new ArrayList<>();
-            if (notices.isEmpty()) {
-                return;
-            }
-            oldNotices.add(notices.get(0));
-            final HBox textGroup = new HBox(notices.get(0).getFont().getFont().getSize() * 2);
-            final StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < oldNotices.size(); i++) {
-                Notice notice = oldNotices.get(i);
-                builder.append(notice.getText());
-                Text noticeText = new Text(notice.getText());
-                noticeText.setFill(notice.getColor().getColor());
-                noticeText.setFont(notice.getFont().getFont());
-                textGroup.getChildren().add(noticeText);
-            }
-            FXFontMetrics metrics = new FXFontMetrics(oldNotices.get(0).getFont().getFont());
-            double displayWidth = QueleaApp.get().getProjectionWindow().getWidth();
-            double width = metrics.computeStringWidth(builder.toString()) + textGroup.getSpacing() * (notices.size() - 1);
-            if (QueleaProperties.get().getNoticePosition()==NoticePosition.BOTTOM) {
-                StackPane.setAlignment(overlay, Pos.BOTTOM_CENTER);
-                overlay.setAlignment(Pos.BOTTOM_CENTER);
-                textGroup.setAlignment(Pos.BOTTOM_LEFT);
-            } else {
-                StackPane.setAlignment(overlay, Pos.TOP_CENTER);
-                overlay.setAlignment(Pos.TOP_CENTER);
-                textGroup.setAlignment(Pos.TOP_LEFT);
-            }
-            if (!overlay.getChildren().contains(backing)) {
-                backing = new Rectangle(displayWidth, metrics.getLineHeight()+5, QueleaProperties.get().getNoticeBackgroundColour());
-                backing.setOpacity(0);
-                overlay.getChildren().add(backing);
-                FadeTransition fadeTrans = new FadeTransition(Duration.seconds(BACKGROUND_FADE_DURATION), backing);
-                fadeTrans.setFromValue(0);
-                fadeTrans.setToValue(BACKGROUND_OPACITY);
-                fadeTrans.play();
-            }
-            double excessWidth = width - displayWidth;
-            double stopPoint = -width;
-            if (excessWidth <= 0) {
-                textGroup.setTranslateX(displayWidth);
-            } else {
-                stopPoint += excessWidth / 2;
-                textGroup.setTranslateX(displayWidth + excessWidth / 2);
+        if (playing || notices.isEmpty()) {
+            return;
+        }
+        playing = true;
+        final Notice notice = notices.get(0);
+        double scale = canvas.getScene() == null || canvas.getScene().getWindow() == null ? 1 : canvas.getScene().getWindow().getOutputScaleX();
+        final HBox noticeView = new HBox();
+        double width = 0;
+        double height = 0;
+        for (Image tile : NoticeBitmapCache.get(notice, scale)) {
+            ImageView tileView = new ImageView(tile);
+            tileView.setSmooth(true);
+            tileView.setFitWidth(tile.getWidth() / scale);
+            tileView.setFitHeight(tile.getHeight() / scale);
+            noticeView.getChildren().add(tileView);
+            width += tileView.getFitWidth();
+            height = Math.max(height, tileView.getFitHeight());
+        }
+        noticeView.setMaxSize(HBox.USE_PREF_SIZE, HBox.USE_PREF_SIZE);
+        double displayWidth = QueleaApp.get().getProjectionWindow().getWidth();
+        if (QueleaProperties.get().getNoticePosition() == NoticePosition.BOTTOM) {
+            StackPane.setAlignment(overlay, Pos.BOTTOM_CENTER);
+            overlay.setAlignment(Pos.BOTTOM_CENTER);
+            StackPane.setAlignment(noticeView, Pos.BOTTOM_LEFT);
+        } else {
+            StackPane.setAlignment(overlay, Pos.TOP_CENTER);
+            overlay.setAlignment(Pos.TOP_CENTER);
+            StackPane.setAlignment(noticeView, Pos.TOP_LEFT);
+        }
+        if (!overlay.getChildren().contains(backing)) {
+            backing = new Rectangle(displayWidth, height + 5, QueleaProperties.get().getNoticeBackgroundColour());
+            backing.setOpacity(0);
+            overlay.getChildren().add(backing);
+            FadeTransition fadeTrans = new FadeTransition(Duration.seconds(BACKGROUND_FADE_DURATION), backing);
+            fadeTrans.setFromValue(0);
+            fadeTrans.setToValue(BACKGROUND_OPACITY);
+            fadeTrans.play();
+        }
+        double excessWidth = Math.max(0, width - displayWidth);
+        double start = displayWidth + excessWidth / 2;
+        double stop = -width + excessWidth / 2;
+        double speed = displayWidth * QueleaProperties.get().getNoticeSpeed() / 30.0;
+        overlay.getChildren().add(noticeView);
+        NoticeTicker.get().scroll(noticeView, start, stop, speed, () -> noticeFinished(notice, noticeView));
+    }
+
+    private void noticeFinished(Notice notice, HBox noticeView) {
+        playing = false;
+        overlay.getChildren().remove(noticeView);
+        for (int i = notices.size() - 1; i >= 0; i--) {
+            Notice current = notices.get(i);
+            if (current == notice) {
+                current.decrementTimes();
             }
-            overlay.getChildren().add(textGroup);
-            Timeline timeline = new Timeline(25);
-            timeline.getKeyFrames().add(new KeyFrame(Duration.ZERO, new KeyValue(textGroup.translateXProperty(), textGroup.getTranslateX())));
-            double baseDuration = 30.0/QueleaProperties.get().getNoticeSpeed();
-            if (excessWidth <= 0) {
-                timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(baseDuration), new KeyValue(textGroup.translateXProperty(), 0)));
-                timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(baseDuration + baseDuration / (displayWidth / width)), new KeyValue(textGroup.translateXProperty(), stopPoint)));
-            } else {
-                timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(baseDuration), new KeyValue(textGroup.translateXProperty(), excessWidth / 2)));
-                timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(baseDuration + baseDuration / (displayWidth / width)), new KeyValue(textGroup.translateXProperty(), stopPoint)));
+            if (current.getTimes() == 0) {
+                notices.remove(current);
             }
-            timeline.play();
-            timeline.setOnFinished(new EventHandler<ActionEvent>() {
+        }
+        QueleaApp.get().getMainWindow().getNoticeDialog().noticesUpdated();
+        if (!notices.isEmpty()) {
+            playNotices();
+        } else {
+            FadeTransition fadeTrans = new FadeTransition(Duration.seconds(BACKGROUND_FADE_DURATION), backing);
+            fadeTrans.setFromValue(BACKGROUND_OPACITY);
+            fadeTrans.setToValue(0);
+            fadeTrans.play();
+            fadeTrans.setOnFinished(new EventHandler<ActionEvent>() {
                 @Override
                 public void handle(ActionEvent t) {
-                    playing = false;
-                    overlay.getChildren().remove(textGroup);
-                    for (int i = notices.size() - 1; i >= 0; i--) {
-                        Notice notice = notices.get(i);
-                        if (oldNotices.contains(notice)) {
-                            notice.decrementTimes();
-                        }
-                        if (notice.getTimes() == 0) {
-                            notices.remove(notice);
-                        }
-                    }
-                    QueleaApp.get().getMainWindow().getNoticeDialog().noticesUpdated();
-                    if (!notices.isEmpty()) {
-                        playNotices();
-                    } else {
-                        FadeTransition fadeTrans = new FadeTransition(Duration.seconds(BACKGROUND_FADE_DURATION), backing);
-                        fadeTrans.setFromValue(BACKGROUND_OPACITY);
-                        fadeTrans.setToValue(0);
-                        fadeTrans.play();
-                        fadeTrans.setOnFinished(new EventHandler<ActionEvent>() {
-                            @Override
-                            public void handle(ActionEvent t) {
-                                overlay.getChildren().remove(backing);
-                            }
-                        });
-                    }
+                    overlay.getChildren().remove(backing);
                 }
             });
         }
@@ -32,7 +32,6 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -46,6 +45,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.javafx.dialog.Dialog;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.SerializableColor;
 import org.quelea.services.utils.SerializableFont;
@@ -85,7 +85,7 @@ public class NoticeEntryDialog extends Stage {
         setTitle(LabelGrabber.INSTANCE.getLabel("new.notice.heading"));
         initModality(Modality.APPLICATION_MODAL);
         setResizable(false);
-        getIcons().add(new Image("file:icons/info.png"));
+        getIcons().add(ImageManager.INSTANCE.getImage("file:icons/info.png"));
         colourPicker = new ColorPicker(Color.WHITE);
         colourPicker.setStyle("-fx-color-label-visible: false ;");
         if (fontSelectionDialog == null) {
@@ -157,7 +157,7 @@ public class NoticeEntryDialog extends Stage {
         mainPanel.getChildren().add(fontBox);
 
         HBox southPanel = new HBox();
-        addButton = new Button(LabelGrabber.INSTANCE.getLabel("add.notice.button"), new ImageView(new Image("file:icons/tick.png")));
+        addButton = new Button(LabelGrabber.INSTANCE.getLabel("add.notice.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         addButton.setDefaultButton(true);
         addButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
@@ -171,7 +171,7 @@ public class NoticeEntryDialog extends Stage {
             }
         });
         southPanel.getChildren().add(addButton);
-        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.text"), new ImageView(new Image("file:icons/cross.png")));
+        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png")));
         cancelButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
             public void handle(javafx.event.ActionEvent t) {
@@ -181,7 +181,7 @@ public class NoticeEntryDialog extends Stage {
             }
         });
         southPanel.getChildren().add(cancelButton);
-        saveButton = new Button(LabelGrabber.INSTANCE.getLabel("save.add.notice.button"), new ImageView(new Image("file:icons/filesave.png")));
+        saveButton = new Button(LabelGrabber.INSTANCE.getLabel("save.add.notice.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/filesave.png")));
         saveButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
             public void handle(javafx.event.ActionEvent t) {
@@ -191,7 +191,7 @@ public class NoticeEntryDialog extends Stage {
             }
         });
         southPanel.getChildren().add(saveButton);
-        deleteButton = new Button(LabelGrabber.INSTANCE.getLabel("delete.notice.button"), new ImageView(new Image("file:icons/removedb.png")));
+        deleteButton = new Button(LabelGrabber.INSTANCE.getLabel("delete.notice.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/removedb.png")));
         deleteButton.setOnAction(e -> {
             QueleaApp.get().getMainWindow().getNoticeDialog().getTemplates().getItems().remove(notice);
             NoticeFileHandler.deleteNotice(notice);
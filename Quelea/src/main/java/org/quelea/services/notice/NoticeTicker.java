@@ -0,0 +1,210 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.notice;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import org.quelea.services.metrics.Metrics;
+
+/**
+ * Scrolls notices across the screen in step with the display pulse. All
+ * notices on all canvases are moved by the one timer, and each position is
+ * worked out from the pulse time rather than stepped on from the last one, so
+ * notices move smoothly to a fraction of a pixel and stay in step with each
+ * other even when a pulse runs late.
+ * <p/>
+ * Only to be used on the FX thread, except for the frame time metrics which
+ * can be read from anywhere.
+ * <p/>
+ * @author Michael
+ */
+public class NoticeTicker {
+
+    private static final NoticeTicker INSTANCE = new NoticeTicker();
+    private static final long EXPECTED_FRAME_NANOS = 1_000_000_000L / 60;
+    private final List<Scroll> scrolls;
+    private final AnimationTimer timer;
+    private long lastPulse;
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder lateFrames = new LongAdder();
+    private final LongAdder totalFrameNanos = new LongAdder();
+    private final LongAdder totalUpdateNanos = new LongAdder();
+    private final AtomicLong maxFrameNanos = new AtomicLong();
+
+    private NoticeTicker() {
+        scrolls = new ArrayList<>();
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                tick(now);
+            }
+        };
+        Metrics.get().registerGauge("notice.frames", this::getFrames);
+        Metrics.get().registerGauge("notice.frames.late", this::getLateFrames);
+        Metrics.get().registerGauge("notice.frame.max.ms", this::getMaxFrameMillis);
+    }
+
+    /**
+     * Get the singleton instance.
+     * <p/>
+     * @return the instance.
+     */
+    public static NoticeTicker get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start scrolling a node horizontally from one position to another at a
+     * constant speed. The first pulse after this call puts it at the start
+     * position.
+     * <p/>
+     * @param node the node to scroll.
+     * @param from the starting x translation.
+     * @param to the x translation to finish at, less than the start.
+     * @param speed the speed in pixels a second.
+     * @param onFinished run once the node reaches the finishing position.
+     */
+    void scroll(Node node, double from, double to, double speed, Runnable onFinished) {
+        node.setTranslateX(from);
+        scrolls.add(new Scroll(node, from, to, speed, onFinished));
+        timer.start();
+    }
+
+    private void tick(long now) {
+        if (lastPulse != 0) {
+            long frameNanos = now - lastPulse;
+            frames.increment();
+            totalFrameNanos.add(frameNanos);
+            maxFrameNanos.accumulateAndGet(frameNanos, Math::max);
+            if (frameNanos > EXPECTED_FRAME_NANOS * 3 / 2) {
+                lateFrames.increment();
+            }
+        }
+        lastPulse = now;
+        long start = System.nanoTime();
+        List<Scroll> finished = new ArrayList<>();
+        for (Iterator<Scroll> it = scrolls.iterator(); it.hasNext();) {
+            Scroll scroll = it.next();
+            if (scroll.startNanos < 0) {
+                scroll.startNanos = now;
+            }
+            double x = scroll.from - scroll.speed * (now - scroll.startNanos) / 1_000_000_000.0;
+            if (x <= scroll.to) {
+                scroll.node.setTranslateX(scroll.to);
+                it.remove();
+                finished.add(scroll);
+            } else {
+                scroll.node.setTranslateX(x);
+            }
+        }
+        totalUpdateNanos.add(System.nanoTime() - start);
+        for (Scroll scroll : finished) {
+            scroll.onFinished.run();
+        }
+        if (scrolls.isEmpty()) {
+            timer.stop();
+            lastPulse = 0;
+        }
+    }
+
+    /**
+     * @return the number of frames shown while notices were scrolling.
+     */
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    /**
+     * @return the number of frames that came more than half a frame late at
+     * 60fps, each of which shows up as a visible jump.
+     */
+    public long getLateFrames() {
+        return lateFrames.sum();
+    }
+
+    /**
+     * @return the mean time between frames while notices were scrolling, in
+     * milliseconds.
+     */
+    public double getAverageFrameMillis() {
+        long count = frames.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (totalFrameNanos.sum() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * @return the longest time between frames while notices were scrolling,
+     * in milliseconds.
+     */
+    public double getMaxFrameMillis() {
+        return maxFrameNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the mean time spent moving notices each frame, in milliseconds.
+     */
+    public double getAverageUpdateMillis() {
+        long count = frames.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (totalUpdateNanos.sum() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * Reset the frame time metrics to zero.
+     */
+    public void resetMetrics() {
+        frames.reset();
+        lateFrames.reset();
+        totalFrameNanos.reset();
+        totalUpdateNanos.reset();
+        maxFrameNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d late=%d frame(avg/max)=%.1f/%.1fms update(avg)=%.2fms",
+                getFrames(), getLateFrames(), getAverageFrameMillis(), getMaxFrameMillis(), getAverageUpdateMillis());
+    }
+
+    private static final class Scroll {
+
+        private final Node node;
+        private final double from;
+        private final double to;
+        private final double speed;
+        private final Runnable onFinished;
+        private long startNanos = -1;
+
+        Scroll(Node node, double from, double to, double speed, Runnable onFinished) {
+            this.node = node;
+            this.from = from;
+            this.to = to;
+            this.speed = speed;
+            this.onFinished = onFinished;
+        }
+    }
+}
@@ -24,7 +24,8 @@ package org.quelea.services.utils;
 public interface DatabaseListener {
 
     /**
-     * Signifies that the database has been updated.
+     * Signifies that the database has been updated. This isn't called on the
+     * JavaFX application thread.
      */
     void databaseChanged();
 }
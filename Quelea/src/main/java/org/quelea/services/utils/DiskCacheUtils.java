@@ -0,0 +1,129 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.services.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Helpers shared by the caches that keep rendered media on disk (slides and
+ * video thumbnails.)
+ * <p/>
+ * @author Michael
+ */
+public final class DiskCacheUtils {
+
+    private DiskCacheUtils() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Work out the cache key for a file, a hash of its path, size and last
+     * modified time. This doesn't read the file, so it's cheap even for large
+     * files, and a changed file gets a new key. It does look the file up on
+     * disk, so avoid calling it on the FX thread.
+     * <p/>
+     * @param file the file.
+     * @return the cache key.
+     */
+    public static String getFileKey(File file) {
+        String raw = file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            StringBuilder ret = new StringBuilder();
+            for (byte b : digest.digest(raw.getBytes(StandardCharsets.UTF_8))) {
+                ret.append(String.format("%02x", b));
+            }
+            return ret.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 not available", ex);
+        }
+    }
+
+    /**
+     * Delete the least recently used entries of a cache directory until it's
+     * back under its limits. An entry is a file or a directory of files, and
+     * its last modified time is taken as when it was last used.
+     * <p/>
+     * @param entries the entries in the cache directory.
+     * @param maxBytes the most the entries may take up on disk.
+     * @param maxEntries the most entries there may be.
+     * @param inUse entries that mustn't be deleted, even if they're the least
+     * recently used.
+     * @return the number of entries left.
+     */
+    public static int trimLeastRecentlyUsed(File[] entries, long maxBytes, int maxEntries, Predicate<File> inUse) {
+        Map<File, Long> sizes = new HashMap<>();
+        long total = 0;
+        for (File entry : entries) {
+            long size = sizeOf(entry);
+            sizes.put(entry, size);
+            total += size;
+        }
+        int remaining = entries.length;
+        if (total <= maxBytes && remaining <= maxEntries) {
+            return remaining;
+        }
+        File[] sorted = entries.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(File::lastModified));
+        for (File entry : sorted) {
+            if (total <= maxBytes && remaining <= maxEntries) {
+                break;
+            }
+            if (inUse.test(entry)) {
+                continue;
+            }
+            if (delete(entry)) {
+                total -= sizes.get(entry);
+                remaining--;
+            }
+        }
+        return remaining;
+    }
+
+    private static long sizeOf(File entry) {
+        if (!entry.isDirectory()) {
+            return entry.length();
+        }
+        long size = 0;
+        File[] files = entry.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private static boolean delete(File entry) {
+        File[] files = entry.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        return entry.delete();
+    }
+}
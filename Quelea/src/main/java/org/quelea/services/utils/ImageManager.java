@@ -5,14 +5,35 @@
  */
 package org.quelea.services.utils;
 
-import java.util.WeakHashMap;
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
+import org.quelea.services.metrics.Metrics;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 /**
  * An image manager that should be used to deal with all large images (to keep
- * memory overhead to a minimum.)
+ * memory overhead to a minimum.) Images are cached by URI, requested size and
+ * smoothing in an LRU cache bounded by the memory the decoded images take up,
+ * so the same background or icon is only ever decoded once while it's in use.
+ * Local files are also keyed by their size and last modified time, so an image
+ * that's edited in place is loaded again. Those are looked up at most every
+ * couple of seconds per file rather than on every request, so icon lookups on
+ * busy paths don't each cost a file system call. Concurrent requests for the same
+ * image share a single decode. The cache statistics are published as metrics.
  * <p>
  * @author Michael
  */
@@ -21,17 +42,38 @@ public class ImageManager {
     private static final Logger LOGGER = Logger.getLogger(ImageManager.class.getName());
 
     public static final ImageManager INSTANCE = new ImageManager();
-    /**
-     * Could possibly be a soft hashmap in future to aid with caching even when
-     * a reference isn't elsewhere? Not sure we need this for now though, so
-     * leaving as is.
-     */
-    private final WeakHashMap<String, Image> images;
+    private static final long MAX_BYTES = Math.max(64L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 8);
+    private static final long STAMP_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final int MAX_STAMPS = 4096;
+    private final Map<ImageKey, Image> images;
+    private final Map<ImageKey, CompletableFuture<Image>> loading;
+    private final Map<String, FileStamp> stamps;
+    private final ExecutorService decoder;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long bytes;
 
     private ImageManager() {
         LOGGER.log(Level.INFO, "Initiated the image manager.");
 
-        images = new WeakHashMap<>();
+        images = new LinkedHashMap<>(64, 0.75f, true);
+        loading = new ConcurrentHashMap<>();
+        stamps = new ConcurrentHashMap<>();
+        int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "image-decoder");
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        decoder = executor;
+        Metrics.get().registerGauge("images.cache.hits", this::getHits);
+        Metrics.get().registerGauge("images.cache.misses", this::getMisses);
+        Metrics.get().registerGauge("images.cache.evictions", this::getEvictions);
+        Metrics.get().registerGauge("images.cache.bytes", this::getBytesUsed);
+        Metrics.get().registerGauge("images.cache.entries", this::getCachedCount);
     }
 
     /**
@@ -49,28 +91,310 @@ public class ImageManager {
         if(uri == null) {
             return Utils.getImageFromColour(Color.BLACK);
         }
-        Image img = images.get(uri);
-        if(img == null) {
-            img = new Image(uri);
-            images.put(uri, img);
-        }
-        return img;
+        return load(keyOf(uri, 0, 0, false, false));
     }
 
     /**
-     * Get an image with a particular size. Images using this method are not
-     * cached at present, so only use for small images. (We could cache in the
-     * future if necessary.)
+     * Get an image with a particular size. The image is smoothed when it's
+     * scaled, and cached in the same way as full size images.
      * <p>
      * @param uri the URI of the image to load.
      * @param width the width of the image.
      * @param height the height of the image.
      * @param preserveRatio true if the aspect ratio should be preserved, false
      * otherwise.
-     * @return
+     * @return the image at this URI, at the given size.
      */
     public Image getImage(String uri, double width, double height, boolean preserveRatio) {
-        return new Image(uri, width, height, preserveRatio, true);
+        return getImage(uri, width, height, preserveRatio, true);
+    }
+
+    /**
+     * Get an image with a particular size.
+     * <p>
+     * @param uri the URI of the image to load.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param preserveRatio true if the aspect ratio should be preserved, false
+     * otherwise.
+     * @param smooth true if a better quality filter should be used when
+     * scaling the image.
+     * @return the image at this URI, at the given size.
+     */
+    public Image getImage(String uri, double width, double height, boolean preserveRatio, boolean smooth) {
+        if(uri == null) {
+            return Utils.getImageFromColour(Color.BLACK);
+        }
+        return load(keyOf(uri, width, height, preserveRatio, smooth));
+    }
+
+    /**
+     * Get an image with a particular size, decoding it on a background thread
+     * if it's not already cached. The returned future is already complete if
+     * the image was cached.
+     * <p>
+     * @param uri the URI of the image to load.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param preserveRatio true if the aspect ratio should be preserved, false
+     * otherwise.
+     * @param smooth true if a better quality filter should be used when
+     * scaling the image.
+     * @return a future that completes with the image.
+     */
+    public CompletableFuture<Image> getImageAsync(String uri, double width, double height, boolean preserveRatio, boolean smooth) {
+        if(uri == null) {
+            return CompletableFuture.completedFuture(Utils.getImageFromColour(Color.BLACK));
+        }
+        ImageKey key = keyOf(uri, width, height, preserveRatio, smooth);
+        Image img = getCached(key);
+        if(img != null) {
+            return CompletableFuture.completedFuture(img);
+        }
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = loading.putIfAbsent(key, future);
+        if(existing != null) {
+            return existing;
+        }
+        decoder.execute(() -> decode(key, future));
+        return future;
+    }
+
+    /**
+     * Make the key for an image, stamping local files with their size and
+     * last modified time as of the last couple of seconds.
+     */
+    private ImageKey keyOf(String uri, double width, double height, boolean preserveRatio, boolean smooth) {
+        FileStamp stamp = FileStamp.NONE;
+        if(uri.startsWith("file:")) {
+            long now = System.nanoTime();
+            stamp = stamps.get(uri);
+            if(stamp == null || now - stamp.checked > STAMP_MAX_AGE_NANOS) {
+                if(stamps.size() >= MAX_STAMPS) {
+                    stamps.clear();
+                }
+                File file = toFile(uri);
+                stamp = new FileStamp(file.length(), file.lastModified(), now);
+                stamps.put(uri, stamp);
+            }
+        }
+        return new ImageKey(uri, width, height, preserveRatio, smooth, stamp.length, stamp.modified);
+    }
+
+    private static File toFile(String uri) {
+        try {
+            return new File(new URI(uri));
+        }
+        catch(URISyntaxException | IllegalArgumentException ex) {
+            // Most callers build "file:" + path rather than a proper URI
+            return new File(uri.substring("file:".length()));
+        }
+    }
+
+    private Image load(ImageKey key) {
+        Image img = getCached(key);
+        if(img != null) {
+            return img;
+        }
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = loading.putIfAbsent(key, future);
+        if(existing != null) {
+            return existing.join();
+        }
+        return decode(key, future);
+    }
+
+    private Image decode(ImageKey key, CompletableFuture<Image> future) {
+        try {
+            misses.increment();
+            Image img;
+            if(key.width > 0 || key.height > 0) {
+                img = new Image(key.uri, key.width, key.height, key.preserveRatio, key.smooth);
+            }
+            else {
+                img = new Image(key.uri);
+            }
+            if(img.isError()) {
+                LOGGER.log(Level.WARNING, "Couldn't load image " + key.uri, img.getException());
+            }
+            else {
+                put(key, img);
+            }
+            future.complete(img);
+            return img;
+        }
+        catch(RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        finally {
+            loading.remove(key);
+        }
+    }
+
+    private synchronized Image getCached(ImageKey key) {
+        Image img = images.get(key);
+        if(img != null) {
+            hits.increment();
+        }
+        return img;
+    }
+
+    private synchronized void put(ImageKey key, Image img) {
+        Image old = images.put(key, img);
+        if(old != null) {
+            bytes -= sizeOf(old);
+        }
+        bytes += sizeOf(img);
+        Iterator<Map.Entry<ImageKey, Image>> it = images.entrySet().iterator();
+        while(it.hasNext()) {
+            // Drop versions of this file from before it last changed
+            Map.Entry<ImageKey, Image> entry = it.next();
+            if(entry.getKey().uri.equals(key.uri) && (entry.getKey().length != key.length || entry.getKey().modified != key.modified)) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+        it = images.entrySet().iterator();
+        while(bytes > MAX_BYTES && it.hasNext()) {
+            Map.Entry<ImageKey, Image> eldest = it.next();
+            if(eldest.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Remove every cached version of the image at the given URI. Local files
+     * that change are picked up automatically, so this is only needed to free
+     * the memory straight away.
+     * <p>
+     * @param uri the URI of the image.
+     */
+    public synchronized void invalidate(String uri) {
+        stamps.remove(uri);
+        Iterator<Map.Entry<ImageKey, Image>> it = images.entrySet().iterator();
+        while(it.hasNext()) {
+            Map.Entry<ImageKey, Image> entry = it.next();
+            if(entry.getKey().uri.equals(uri)) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests served from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests that had to decode an image.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the proportion of requests served from the cache, between 0
+     * and 1.
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @return the number of images evicted to keep the cache within its
+     * memory budget.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the approximate memory used by the cached images, in bytes.
+     */
+    public synchronized long getBytesUsed() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of images in the cache.
+     */
+    public synchronized int getCachedCount() {
+        return images.size();
+    }
+
+    private static long sizeOf(Image img) {
+        return (long) img.getWidth() * (long) img.getHeight() * 4;
+    }
+
+    /**
+     * The things that make one cached image different from another.
+     */
+    private static final class ImageKey {
+
+        private final String uri;
+        private final double width;
+        private final double height;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+        private final long length;
+        private final long modified;
+
+        private ImageKey(String uri, double width, double height, boolean preserveRatio, boolean smooth, long length, long modified) {
+            this.uri = uri;
+            this.width = width;
+            this.height = height;
+            this.preserveRatio = preserveRatio;
+            this.smooth = smooth;
+            this.length = length;
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof ImageKey)) {
+                return false;
+            }
+            ImageKey other = (ImageKey) obj;
+            return uri.equals(other.uri) && width == other.width && height == other.height
+                    && preserveRatio == other.preserveRatio && smooth == other.smooth
+                    && length == other.length && modified == other.modified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, width, height, preserveRatio, smooth, length, modified);
+        }
+    }
+
+    /**
+     * The size and last modified time of a local image file, and when they
+     * were looked up.
+     */
+    private static final class FileStamp {
+
+        private static final FileStamp NONE = new FileStamp(0, 0, 0);
+        private final long length;
+        private final long modified;
+        private final long checked;
+
+        private FileStamp(long length, long modified, long checked) {
+            this.length = length;
+            this.modified = modified;
+            this.checked = checked;
+        }
     }
 
 }
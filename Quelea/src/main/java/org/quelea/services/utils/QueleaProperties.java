@@ -27,11 +27,26 @@ import org.quelea.services.languages.spelling.DictionaryManager;
 import org.quelea.services.notice.NoticeDrawer.NoticePosition;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 import static org.quelea.services.utils.QueleaPropertyKeys.activeSelectionColorKey;
@@ -168,18 +183,37 @@ import static org.quelea.services.utils.QueleaPropertyKeys.webRefreshRateKey;
 import static org.quelea.services.utils.QueleaPropertyKeys.websiteLocationKey;
 import static org.quelea.services.utils.QueleaPropertyKeys.wikiPageKey;
 import static org.quelea.services.utils.QueleaPropertyKeys.useMongoDB;
+import static org.quelea.services.utils.QueleaPropertyKeys.outputTapFpsKey;
+import static org.quelea.services.utils.QueleaPropertyKeys.outputTapHeightKey;
+import static org.quelea.services.utils.QueleaPropertyKeys.outputTapJpegQualityKey;
+import static org.quelea.services.utils.QueleaPropertyKeys.outputTapRawPathKey;
+import static org.quelea.services.utils.QueleaPropertyKeys.outputTapWidthKey;
+import static org.quelea.services.utils.QueleaPropertyKeys.useOutputTapKey;
 
 /**
  * Manages the properties specific to Quelea.
  * <p>
+ * Reads go through an immutable snapshot of all the properties that's swapped
+ * atomically whenever a property changes, so the getters never lock, and
+ * parsed numbers, booleans and colours are cached against the raw value they
+ * came from. Writes to the properties file are debounced and done on a
+ * background thread, written to a temporary file first and then moved into
+ * place so a crash half way through can't leave a truncated file behind.
  *
  * @author Michael
  */
 public final class QueleaProperties extends SortedProperties {
 
     public static final Version VERSION = new Version("2024.1", VersionType.CI);
+    private static final long WRITE_DELAY_MILLIS = 500;
     private static QueleaProperties INSTANCE;
     private String userHome;
+    private volatile Map<String, String> snapshot = Collections.emptyMap();
+    private final Map<String, TypedValue> typedCache = new ConcurrentHashMap<>();
+    private final Map<String, List<BiConsumer<String, String>>> changeListeners = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private ScheduledExecutorService writer;
+    private boolean writePending;
 
     public static void init(String userHome) {
         INSTANCE = new QueleaProperties(userHome);
@@ -216,13 +250,177 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     /**
-     * Save these properties to the file.
+     * Schedule these properties to be saved to the file. Several changes in
+     * quick succession are written out together.
      */
     private void write() {
-        try (FileWriter writer = new FileWriter(getPropFile())) {
-            store(writer, "Auto save");
-        } catch (IOException ex) {
-//            LOGGER.log(Level.WARNING, "Couldn't store properties", ex);
+        synchronized (writeLock) {
+            if (writePending) {
+                return;
+            }
+            writePending = true;
+            if (writer == null) {
+                writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "properties-writer");
+                    t.setDaemon(true);
+                    return t;
+                });
+                Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "properties-flush"));
+            }
+            writer.schedule(this::flush, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write any pending changes to the properties file now, rather than
+     * waiting for the scheduled write.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            if (!writePending) {
+                return;
+            }
+            writePending = false;
+            SortedProperties copy = new SortedProperties();
+            copy.putAll(snapshot);
+            Path target = getPropFile().toPath();
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try {
+                try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.ISO_8859_1)) {
+                    copy.store(out, "Auto save");
+                }
+                try {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException ex) {
+                LoggerUtils.getLogger().log(Level.WARNING, "Couldn't store properties", ex);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Object put(Object key, Object value) {
+        Object old = super.put(key, value);
+        if (key instanceof String && value instanceof String) {
+            propertyChanged((String) key, (String) old, (String) value);
+        }
+        return old;
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        Object old = super.remove(key);
+        if (old != null && key instanceof String) {
+            propertyChanged((String) key, (String) old, null);
+        }
+        return old;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        return snapshot.get(key);
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        String val = snapshot.get(key);
+        return val == null ? defaultValue : val;
+    }
+
+    /**
+     * Add a listener to be notified when the given property changes. The
+     * listener is called with the old and new values (either of which may be
+     * null) on the thread that made the change.
+     * <p>
+     *
+     * @param key the property key to listen to.
+     * @param listener the listener to add.
+     */
+    public void addChangeListener(String key, BiConsumer<String, String> listener) {
+        changeListeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Remove a listener previously added with
+     * {@link #addChangeListener(String, BiConsumer)}.
+     * <p>
+     *
+     * @param key the property key the listener was added for.
+     * @param listener the listener to remove.
+     */
+    public void removeChangeListener(String key, BiConsumer<String, String> listener) {
+        List<BiConsumer<String, String>> listeners = changeListeners.get(key);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    private void propertyChanged(String key, String oldValue, String newValue) {
+        Map<String, String> next = new HashMap<>(snapshot);
+        if (newValue == null) {
+            next.remove(key);
+        } else {
+            next.put(key, newValue);
+        }
+        snapshot = Collections.unmodifiableMap(next);
+        typedCache.remove(key);
+        if (oldValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+        List<BiConsumer<String, String>> listeners = changeListeners.get(key);
+        if (listeners != null) {
+            for (BiConsumer<String, String> listener : listeners) {
+                listener.accept(oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Get a property converted to another type, reusing the last conversion
+     * if the raw value hasn't changed since.
+     */
+    private <T> T getTyped(String key, String defaultValue, Function<String, T> parser) {
+        String raw = getProperty(key, defaultValue);
+        TypedValue cached = typedCache.get(key);
+        if (cached != null && cached.raw == raw) {
+            @SuppressWarnings("unchecked")
+            T ret = (T) cached.value;
+            return ret;
+        }
+        T ret = parser.apply(raw);
+        typedCache.put(key, new TypedValue(raw, ret));
+        return ret;
+    }
+
+    private double getDouble(String key, String defaultValue) {
+        return getTyped(key, defaultValue, Double::valueOf);
+    }
+
+    private int getInt(String key, String defaultValue) {
+        return getTyped(key, defaultValue, Integer::valueOf);
+    }
+
+    private boolean getBoolean(String key, String defaultValue) {
+        return getTyped(key, defaultValue, Boolean::valueOf);
+    }
+
+    private Color getColor(String key, String defaultValue) {
+        return getTyped(key, defaultValue, QueleaProperties::parseColor);
+    }
+
+    /**
+     * A parsed property value, along with the raw string it was parsed from.
+     */
+    private static final class TypedValue {
+
+        private final String raw;
+        private final Object value;
+
+        private TypedValue(String raw, Object value) {
+            this.raw = raw;
+            this.value = value;
         }
     }
 
@@ -248,7 +446,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean isDictionaryEnabled() {
-        return Boolean.parseBoolean(getProperty(enableDictKey, "false"));
+        return getBoolean(enableDictKey, "false");
     }
 
     /**
@@ -300,7 +498,7 @@ public final class QueleaProperties extends SortedProperties {
      */
     public boolean getDisplayVideoTab() {
         try {
-            return Boolean.parseBoolean(getProperty(videoTabKey, "false"));
+            return getBoolean(videoTabKey, "false");
         } catch (Exception ex) {
             return true;
         }
@@ -308,7 +506,7 @@ public final class QueleaProperties extends SortedProperties {
 
     public boolean getUseMongoDB() {
         try {
-            return Boolean.parseBoolean(getProperty(useMongoDB, "true"));
+            return getBoolean(useMongoDB, "true");
         } catch (Exception ex) {
             return true;
         }
@@ -361,7 +559,7 @@ public final class QueleaProperties extends SortedProperties {
      * set.
      */
     public double getMainDivPos() {
-        return Double.parseDouble(getProperty(mainDivposKey, "-1"));
+        return getDouble(mainDivposKey, "-1");
     }
 
     public String getElevantoClientId() {
@@ -375,7 +573,7 @@ public final class QueleaProperties extends SortedProperties {
      * if none is set.
      */
     public double getLibraryDivPos() {
-        return Double.parseDouble(getProperty(libraryDivposKey, "-1"));
+        return getDouble(libraryDivposKey, "-1");
     }
 
     /**
@@ -385,7 +583,7 @@ public final class QueleaProperties extends SortedProperties {
      * none is set.
      */
     public double getPrevLiveDivPos() {
-        return Double.parseDouble(getProperty(preliveDivposKey, "-1"));
+        return getDouble(preliveDivposKey, "-1");
     }
 
     /**
@@ -394,7 +592,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the canvas divider position property, or -1 if none is set.
      */
     public double getCanvasDivPos() {
-        return Double.parseDouble(getProperty(canvasDivposKey, "-1"));
+        return getDouble(canvasDivposKey, "-1");
     }
 
     /**
@@ -403,7 +601,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the preview panel divider position property, or -1 if none is set.
      */
     public double getPreviewDivposKey() {
-        return Double.parseDouble(getProperty(previewDivposKey, "-1"));
+        return getDouble(previewDivposKey, "-1");
     }
 
     /**
@@ -500,7 +698,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if the uniform font size should be used, false otherwise.
      */
     public boolean getUseUniformFontSize() {
-        return Boolean.parseBoolean(getProperty(uniformFontSizeKey, "true"));
+        return getBoolean(uniformFontSizeKey, "true");
     }
 
     /**
@@ -522,7 +720,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should show verse numbers, false otherwise.
      */
     public boolean getShowVerseNumbers() {
-        return Boolean.parseBoolean(getProperty(showVerseNumbersKey, "true"));
+        return getBoolean(showVerseNumbersKey, "true");
     }
 
     /**
@@ -541,7 +739,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour to use for notice backgrounds.
      */
     public Color getNoticeBackgroundColour() {
-        return getColor(getProperty(noticeBackgroundColourKey, getStr(Color.BROWN)));
+        return parseColor(getProperty(noticeBackgroundColourKey, getStr(Color.BROWN)));
     }
 
     /**
@@ -581,7 +779,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the speed at which to display the notices.
      */
     public double getNoticeSpeed() {
-        return Double.parseDouble(getProperty(noticeSpeedKey, "10"));
+        return getDouble(noticeSpeedKey, "10");
     }
 
     /**
@@ -655,7 +853,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if should embed, false otherwise
      */
     public boolean getEmbedMediaInScheduleFile() {
-        boolean ret = Boolean.parseBoolean(getProperty(scheduleEmbedMediaKey, "true"));
+        boolean ret = getBoolean(scheduleEmbedMediaKey, "true");
         return ret;
     }
 
@@ -674,7 +872,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if should override, false otherwise
      */
     public boolean getItemThemeOverride() {
-        boolean ret = Boolean.parseBoolean(getProperty(itemThemeOverrideKey, "false"));
+        boolean ret = getBoolean(itemThemeOverrideKey, "false");
         return ret;
     }
 
@@ -766,7 +964,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if auto play is enabled, false otherwise.
      */
     public boolean getAutoPlayVideo() {
-        return Boolean.parseBoolean(getProperty(autoplayVidKey, "false"));
+        return getBoolean(autoplayVidKey, "false");
     }
 
     /**
@@ -785,7 +983,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if should use java fx for VLC Rendering, false otherwise
      */
     public boolean getUseJavaFXforVLCRendering() {
-        return Boolean.parseBoolean(getProperty(useVlcJavafxRenderingKey, "false"));
+        return getBoolean(useVlcJavafxRenderingKey, "false");
     }
 
     /**
@@ -804,7 +1002,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the font size at which to display the notices.
      */
     public double getNoticeFontSize() {
-        return Double.parseDouble(getProperty(noticeFontSizeKey, "50"));
+        return getDouble(noticeFontSizeKey, "50");
     }
 
     /**
@@ -823,7 +1021,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should translate automatically, false otherwise.
      */
     public boolean getAutoTranslate() {
-        return Boolean.parseBoolean(getProperty(autoTranslateKey, "true"));
+        return getBoolean(autoTranslateKey, "true");
     }
 
     /**
@@ -843,7 +1041,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the maximum font size used by text displayables.
      */
     public double getMaxFontSize() {
-        return Double.parseDouble(getProperty(maxFontSizeKey, "1000"));
+        return getDouble(maxFontSizeKey, "1000");
     }
 
     /**
@@ -863,7 +1061,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the additional line spacing.
      */
     public double getAdditionalLineSpacing() {
-        return Double.parseDouble(getProperty(additionalLineSpacingKey, "10"));
+        return getDouble(additionalLineSpacingKey, "10");
     }
 
     /**
@@ -883,7 +1081,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the thumbnail size.
      */
     public int getThumbnailSize() {
-        return Integer.parseInt(getProperty(thumbnailSizeKey, "200"));
+        return getInt(thumbnailSizeKey, "200");
     }
 
     /**
@@ -897,7 +1095,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public int getPlanningCentrePrevDays() {
-        return Integer.parseInt(getProperty(planningCentrePrevDaysKey, "31"));
+        return getInt(planningCentrePrevDaysKey, "31");
     }
 
     public void setPlanningCentrePrevDays(int days) {
@@ -905,7 +1103,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getUseDefaultTranslation() {
-        return Boolean.parseBoolean(getProperty(useDefaultTranslation, "false"));
+        return getBoolean(useDefaultTranslation, "false");
     }
 
     public void setUseDefaultTranslation(boolean val) {
@@ -927,7 +1125,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the true to show extra toolbar options.
      */
     public boolean getShowExtraLivePanelToolbarOptions() {
-        return Boolean.parseBoolean(getProperty(showExtraLivePanelToolbarOptionsKey, "false"));
+        return getBoolean(showExtraLivePanelToolbarOptionsKey, "false");
     }
 
     /**
@@ -947,7 +1145,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if the preview and live dividers should be linked, else false
      */
     public boolean getLinkPreviewAndLiveDividers() {
-        return Boolean.parseBoolean(getProperty(linkPreviewAndLiveDividers, "true"));
+        return getBoolean(linkPreviewAndLiveDividers, "true");
     }
 
     /**
@@ -959,7 +1157,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if it should be cleared, false otherwise.
      */
     public boolean getClearLiveOnRemove() {
-        return Boolean.parseBoolean(getProperty(clearLiveOnRemoveKey, "true"));
+        return getBoolean(clearLiveOnRemoveKey, "true");
     }
 
     /**
@@ -1019,7 +1217,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public int getTranslationFontSizeOffset() {
-        return Integer.parseInt(getProperty(translationFontSizeOffsetKey, "3"));
+        return getInt(translationFontSizeOffsetKey, "3");
     }
 
     /**
@@ -1071,7 +1269,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if they should be displayed, false otherwise.
      */
     public boolean getShowChords() {
-        return Boolean.parseBoolean(getProperty(stageShowChordsKey, "true"));
+        return getBoolean(stageShowChordsKey, "true");
     }
 
     /**
@@ -1094,7 +1292,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should phone home, false otherwise.
      */
     public boolean getPhoneHome() {
-        return Boolean.parseBoolean(getProperty(phonehomeKey, "true"));
+        return getBoolean(phonehomeKey, "true");
     }
 
     /**
@@ -1137,6 +1335,26 @@ public final class QueleaProperties extends SortedProperties {
         return new File(getQueleaUserHome(), "vid");
     }
 
+    /**
+     * Get the directory used for caching generated video thumbnails.
+     * <p>
+     *
+     * @return the video thumbnail cache directory
+     */
+    public File getVideoThumbnailDir() {
+        return new File(getQueleaUserHome(), "vidthumbs");
+    }
+
+    /**
+     * Get the directory used for caching rendered presentation slides.
+     * <p>
+     *
+     * @return the slide cache directory
+     */
+    public File getSlideCacheDir() {
+        return new File(getQueleaUserHome(), "slidecache");
+    }
+
     /**
      * Get the directory used for storing temporary recordings.
      * <p>
@@ -1175,7 +1393,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the control screen number.
      */
     public int getControlScreen() {
-        return Integer.parseInt(getProperty(controlScreenKey, "0"));
+        return getInt(controlScreenKey, "0");
     }
 
     /**
@@ -1196,7 +1414,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if one line mode should be enabled, false otherwise.
      */
     public boolean getOneLineMode() {
-        return Boolean.parseBoolean(getProperty(oneLineModeKey, "false"));
+        return getBoolean(oneLineModeKey, "false");
     }
 
     /**
@@ -1217,7 +1435,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if text shadows are enabled, false otherwise.
      */
     public boolean getTextShadow() {
-        return Boolean.parseBoolean(getProperty(textShadowKey, "false"));
+        return getBoolean(textShadowKey, "false");
     }
 
     /**
@@ -1239,7 +1457,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the projector screen number.
      */
     public int getProjectorScreen() {
-        return Integer.parseInt(getProperty(projectorScreenKey, "1"));
+        return getInt(projectorScreenKey, "1");
     }
 
     /**
@@ -1261,7 +1479,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if the projector screen should be moved, false otherwise.
      */
     public boolean getUseAutoExtend() {
-        return Boolean.parseBoolean(getProperty(useAutoExtendKey, "false"));
+        return getBoolean(useAutoExtendKey, "false");
     }
 
     /**
@@ -1285,7 +1503,7 @@ public final class QueleaProperties extends SortedProperties {
      * projected text.
      */
     public int getMaxChars() {
-        return Integer.parseInt(getProperty(maxCharsKey, "30"));
+        return getInt(maxCharsKey, "30");
     }
 
     /**
@@ -1446,7 +1664,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the stage screen number.
      */
     public int getStageScreen() {
-        return Integer.parseInt(getProperty(stageScreenKey, "-1"));
+        return getInt(stageScreenKey, "-1");
     }
 
     /**
@@ -1528,7 +1746,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the minimum line count.
      */
     public int getMinLines() {
-        return Integer.parseInt(getProperty(minLinesKey, "10"));
+        return getInt(minLinesKey, "10");
     }
 
     /**
@@ -1550,7 +1768,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if the warning should be shown, false otherwise.
      */
     public boolean showSingleMonitorWarning() {
-        return Boolean.parseBoolean(getProperty(singleMonitorWarningKey, "true"));
+        return getBoolean(singleMonitorWarningKey, "true");
     }
 
     /**
@@ -1622,7 +1840,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should check for updates, false otherwise.
      */
     public boolean checkUpdate() {
-        return Boolean.parseBoolean(getProperty(checkUpdateKey, "true"));
+        return getBoolean(checkUpdateKey, "true");
     }
 
     /**
@@ -1644,7 +1862,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if it should be a capital, false otherwise.
      */
     public boolean checkCapitalFirst() {
-        return Boolean.parseBoolean(getProperty(capitalFirstKey, "false"));
+        return getBoolean(capitalFirstKey, "false");
     }
 
     /**
@@ -1665,7 +1883,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if it should be a displayed, false otherwise.
      */
     public boolean checkDisplaySongInfoText() {
-        return Boolean.parseBoolean(getProperty(displaySonginfotextKey, "true"));
+        return getBoolean(displaySonginfotextKey, "true");
     }
 
     /**
@@ -1707,7 +1925,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used to display chords in stage view.
      */
     public Color getStageChordColor() {
-        return getColor(getProperty(stageChordColorKey, "200,200,200"));
+        return getColor(stageChordColorKey, "200,200,200");
     }
 
 
@@ -1718,7 +1936,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used to display chords in stage view.
      */
     public Color getTextBackgroundColor() {
-        return getColor(getProperty(lyricsTextBackgroundColor));
+        return parseColor(getProperty(lyricsTextBackgroundColor));
     }
 
 
@@ -1730,7 +1948,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should auto-advance, false otherwise.
      */
     public boolean getTextBackgroundEnable() {
-        return Boolean.parseBoolean(getProperty(lyricsTextBackgroundEnable, "false"));
+        return getBoolean(lyricsTextBackgroundEnable, "false");
     }
 
     /**
@@ -1750,7 +1968,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used to display lyrics in stage view.
      */
     public Color getStageLyricsColor() {
-        return getColor(getProperty(stageLyricsColorKey, "255,255,255"));
+        return getColor(stageLyricsColorKey, "255,255,255");
     }
 
     /**
@@ -1780,7 +1998,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used for the background in stage view.
      */
     public Color getStageBackgroundColor() {
-        return getColor(getProperty(stageBackgroundColorKey, "0,0,0"));
+        return getColor(stageBackgroundColorKey, "0,0,0");
     }
 
     /**
@@ -1790,7 +2008,7 @@ public final class QueleaProperties extends SortedProperties {
      * @param str the string to use to get the color value.
      * @return the color.
      */
-    private Color getColor(String str) {
+    private static Color parseColor(String str) {
         String[] color = str.split(",");
         double red = Double.parseDouble(color[0].trim());
         double green = Double.parseDouble(color[1].trim());
@@ -1821,7 +2039,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used to signify an active list.
      */
     public Color getActiveSelectionColor() {
-        return getColor(getProperty(activeSelectionColorKey, "30,160,225"));
+        return getColor(activeSelectionColorKey, "30,160,225");
     }
 
     /**
@@ -1831,7 +2049,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the colour used to signify an active list.
      */
     public Color getInactiveSelectionColor() {
-        return getColor(getProperty(inactiveSelectionColorKey, "150,150,150"));
+        return getColor(inactiveSelectionColorKey, "150,150,150");
     }
 
     /**
@@ -1841,7 +2059,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the outline thickness in pixels.
      */
     public int getOutlineThickness() {
-        return Integer.parseInt(getProperty(outlineThicknessKey, "2"));
+        return getInt(outlineThicknessKey, "2");
     }
 
     /**
@@ -1862,7 +2080,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the notice box height.
      */
     public int getNoticeBoxHeight() {
-        return Integer.parseInt(getProperty(noticeBoxHeightKey, "40"));
+        return getInt(noticeBoxHeightKey, "40");
     }
 
     /**
@@ -1883,7 +2101,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the notice box speed.
      */
     public int getNoticeBoxSpeed() {
-        return Integer.parseInt(getProperty(noticeBoxSpeedKey, "8"));
+        return getInt(noticeBoxSpeedKey, "8");
     }
 
     /**
@@ -1921,7 +2139,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should auto-advance, false otherwise.
      */
     public boolean getAdvanceOnLive() {
-        return Boolean.parseBoolean(getProperty(advanceOnLiveKey, "false"));
+        return getBoolean(advanceOnLiveKey, "false");
     }
 
     /**
@@ -1944,7 +2162,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should preview, false otherwise.
      */
     public boolean getPreviewOnImageUpdate() {
-        return Boolean.parseBoolean(getProperty(previewOnImageChangeKey, "false"));
+        return getBoolean(previewOnImageChangeKey, "false");
     }
 
     /**
@@ -1967,7 +2185,7 @@ public final class QueleaProperties extends SortedProperties {
      * basic POI images.
      */
     public boolean getUseOO() {
-        return Boolean.parseBoolean(getProperty(useOoKey, "false"));
+        return getBoolean(useOoKey, "false");
     }
 
     /**
@@ -2011,7 +2229,7 @@ public final class QueleaProperties extends SortedProperties {
      * basic POI images or openoffice.
      */
     public boolean getUsePP() {
-        return Boolean.parseBoolean(getProperty(usePpKey, "false"));
+        return getBoolean(usePpKey, "false");
     }
 
     /**
@@ -2096,7 +2314,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if recordings should be converted, false otherwise.
      */
     public boolean getConvertRecordings() {
-        return Boolean.parseBoolean(getProperty(convertMp3Key, "false"));
+        return getBoolean(convertMp3Key, "false");
     }
 
     /**
@@ -2120,7 +2338,7 @@ public final class QueleaProperties extends SortedProperties {
      * otherwise.
      */
     public boolean getOOPresOnTop() {
-        return Boolean.parseBoolean(getProperty(ooOntopKey, "true"));
+        return getBoolean(ooOntopKey, "true");
     }
 
     /**
@@ -2162,7 +2380,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return the port used for mobile lyrics display.
      */
     public int getMobLyricsPort() {
-        return Integer.parseInt(getProperty(mobLyricsPortKey, "1111"));
+        return getInt(mobLyricsPortKey, "1111");
     }
 
     /**
@@ -2172,7 +2390,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should, false otherwise.
      */
     public boolean getUseMobLyrics() {
-        return Boolean.parseBoolean(getProperty(useMobLyricsKey, "false"));
+        return getBoolean(useMobLyricsKey, "false");
     }
 
     /**
@@ -2198,7 +2416,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if we should, false otherwise.
      */
     public boolean getUseRemoteControl() {
-        return Boolean.parseBoolean(getProperty(useRemoteControlKey, "false"));
+        return getBoolean(useRemoteControlKey, "false");
     }
 
     /**
@@ -2209,7 +2427,7 @@ public final class QueleaProperties extends SortedProperties {
      */
     public int getRemoteControlPort() {
         try {
-            return Integer.parseInt(getProperty(remoteControlPortKey, "1112"));
+            return getInt(remoteControlPortKey, "1112");
         } catch (NumberFormatException e) {
             return 1112;
         }
@@ -2257,7 +2475,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public Double getSmallSongTextSize() {
-        return Double.parseDouble(getProperty(smallSongTextSizeKey, "0.1"));
+        return getDouble(smallSongTextSizeKey, "0.1");
     }
 
     public void setSmallSongTextSize(double size) {
@@ -2293,7 +2511,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public Double getSmallBibleTextSize() {
-        return Double.parseDouble(getProperty(smallBibleTextSizeKey, "0.1"));
+        return getDouble(smallBibleTextSizeKey, "0.1");
     }
 
     public void setSmallBibleTextSize(double size) {
@@ -2302,7 +2520,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getSmallSongTextShow() {
-        return Boolean.parseBoolean(getProperty(showSmallSongTextKey, "true"));
+        return getBoolean(showSmallSongTextKey, "true");
     }
 
     public void setSmallSongTextShow(boolean show) {
@@ -2311,7 +2529,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getSmallBibleTextShow() {
-        return Boolean.parseBoolean(getProperty(showSmallBibleTextKey, "true"));
+        return getBoolean(showSmallBibleTextKey, "true");
     }
 
     public void setSmallBibleTextShow(boolean show) {
@@ -2325,7 +2543,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return number of words or verses (depends on use.max.bible.verses)
      */
     public int getMaxBibleVerses() {
-        return Integer.parseInt(getProperty(maxBibleVersesKey, "5"));
+        return getInt(maxBibleVersesKey, "5");
     }
 
     public void setMaxBibleVerses(int number) {
@@ -2339,7 +2557,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if using maximum verses per slide
      */
     public boolean getBibleUsingMaxChars() {
-        return Boolean.parseBoolean(getProperty(useMaxBibleCharsKey, "true"));
+        return getBoolean(useMaxBibleCharsKey, "true");
     }
 
     public void setBibleUsingMaxChars(boolean useChars) {
@@ -2356,7 +2574,7 @@ public final class QueleaProperties extends SortedProperties {
      * text.
      */
     public int getMaxBibleChars() {
-        return Integer.parseInt(getProperty(maxBibleCharsKey, "80"));
+        return getInt(maxBibleCharsKey, "80");
     }
 
     /**
@@ -2452,7 +2670,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getClearStageWithMain() {
-        return Boolean.parseBoolean(getProperty(clearStageviewWithMainKey, "true"));
+        return getBoolean(clearStageviewWithMainKey, "true");
     }
 
     public void setClearStageWithMain(boolean clear) {
@@ -2461,7 +2679,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getBlackStageWithMain() {
-        return Boolean.parseBoolean(getProperty(blackStageviewWithMainKey, "true"));
+        return getBoolean(blackStageviewWithMainKey, "true");
     }
 
     public void setBlackStageWithMain(boolean black) {
@@ -2470,7 +2688,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getDisableVideo() {
-        return Boolean.parseBoolean(getProperty(disableVideoKey, "false"));
+        return getBoolean(disableVideoKey, "false");
     }
 
     /**
@@ -2484,7 +2702,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getSongOverflow() {
-        return Boolean.parseBoolean(getProperty(songOverflowKey, "false"));
+        return getBoolean(songOverflowKey, "false");
     }
 
     public void setSongOverflow(boolean overflow) {
@@ -2493,15 +2711,15 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public int getAutoDetectPort() {
-        return Integer.parseInt(getProperty(autoDetectPortKey, "50015"));
+        return getInt(autoDetectPortKey, "50015");
     }
 
     public boolean getStageShowClock() {
-        return Boolean.parseBoolean(getProperty(stageShowClockKey, "true"));
+        return getBoolean(stageShowClockKey, "true");
     }
 
     public boolean getUse24HourClock() {
-        return Boolean.parseBoolean(getProperty(use24hClockKey, "true"));
+        return getBoolean(use24hClockKey, "true");
     }
 
     public void setUse24HourClock(boolean s24h) {
@@ -2510,7 +2728,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getBibleSplitVerses() {
-        return Boolean.parseBoolean(getProperty(splitBibleVersesKey, "false"));
+        return getBoolean(splitBibleVersesKey, "false");
     }
 
     public void setBibleSplitVerses(boolean selected) {
@@ -2519,19 +2737,19 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public double getLyricWidthBounds() {
-        return Double.parseDouble(getProperty(lyricWidthBoundKey, "0.92"));
+        return getDouble(lyricWidthBoundKey, "0.92");
     }
 
     public double getLyricHeightBounds() {
-        return Double.parseDouble(getProperty(lyricHeightBoundKey, "0.9"));
+        return getDouble(lyricHeightBoundKey, "0.9");
     }
 
     public boolean getDefaultSongDBUpdate() {
-        return Boolean.parseBoolean(getProperty(defaultSongDbUpdateKey, "true"));
+        return getBoolean(defaultSongDbUpdateKey, "true");
     }
 
     public boolean getShowDBSongPreview() {
-        return Boolean.parseBoolean(getProperty(dbSongPreviewKey, "false"));
+        return getBoolean(dbSongPreviewKey, "false");
     }
 
     public void setShowDBSongPreview(boolean val) {
@@ -2539,7 +2757,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getImmediateSongDBPreview() {
-        return Boolean.parseBoolean(getProperty("db.song.immediate.preview", "false"));
+        return getBoolean("db.song.immediate.preview", "false");
     }
 
     public void setImmediateSongDBPreview(boolean val) {
@@ -2552,7 +2770,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public int getWebDisplayableRefreshRate() {
-        return Integer.parseInt(getProperty(webRefreshRateKey, "500"));
+        return getInt(webRefreshRateKey, "500");
     }
 
     public String getWebProxyHost() {
@@ -2655,7 +2873,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return true if fade is enabled, false otherwise.
      */
     public boolean getUseSlideTransition() {
-        return Boolean.parseBoolean(getProperty(useSlideTransitionKey, "false"));
+        return getBoolean(useSlideTransitionKey, "false");
     }
 
     /**
@@ -2673,7 +2891,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return milliseconds for fade-in effect.
      */
     public int getSlideTransitionInDuration() {
-        return Integer.parseInt(getProperty(slideTransitionInDurationKey, "750"));
+        return getInt(slideTransitionInDurationKey, "750");
     }
 
     /**
@@ -2682,7 +2900,7 @@ public final class QueleaProperties extends SortedProperties {
      * @return milliseconds for fade-out effect.
      */
     public int getSlideTransitionOutDuration() {
-        return Integer.parseInt(getProperty(slideTransitionOutDurationKey, "400"));
+        return getInt(slideTransitionOutDurationKey, "400");
     }
 
     /**
@@ -2695,7 +2913,7 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getUseDarkTheme() {
-        return Boolean.parseBoolean(getProperty(darkThemeKey, "false"));
+        return getBoolean(darkThemeKey, "false");
     }
 
     public void setUseDarkTheme(boolean useDarkTheme) {
@@ -2703,6 +2921,50 @@ public final class QueleaProperties extends SortedProperties {
     }
 
     public boolean getDisableDirectShowForWVC1() {
-        return Boolean.parseBoolean(getProperty(disableDirectShowForWVC1Key, "true"));
+        return getBoolean(disableDirectShowForWVC1Key, "true");
+    }
+
+    /**
+     * Determine whether the projection output should be tapped for
+     * streaming and recording.
+     *
+     * @return true if the output tap is enabled, false otherwise.
+     */
+    public boolean getUseOutputTap() {
+        return getBoolean(useOutputTapKey, "false");
+    }
+
+    public void setUseOutputTap(boolean val) {
+        setProperty(useOutputTapKey, Boolean.toString(val));
+    }
+
+    public int getOutputTapWidth() {
+        return getInt(outputTapWidthKey, "1280");
+    }
+
+    public int getOutputTapHeight() {
+        return getInt(outputTapHeightKey, "720");
+    }
+
+    public int getOutputTapFps() {
+        return getInt(outputTapFpsKey, "30");
+    }
+
+    /**
+     * Get the JPEG quality used for the MJPEG output stream.
+     *
+     * @return the quality, between 0 and 1.
+     */
+    public double getOutputTapJpegQuality() {
+        return getDouble(outputTapJpegQualityKey, "0.8");
+    }
+
+    /**
+     * Get the named pipe or file raw output frames are written to.
+     *
+     * @return the path, or an empty string if raw frames aren't written.
+     */
+    public String getOutputTapRawPath() {
+        return getProperty(outputTapRawPathKey, "");
     }
 }
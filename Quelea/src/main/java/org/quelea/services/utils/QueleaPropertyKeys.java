@@ -143,5 +143,11 @@ public class QueleaPropertyKeys {
     public static final String useDefaultTranslation = "use.default.translation";
     public static final String defaultTranslationName = "default.translation.name";
     public static final String disableDirectShowForWVC1Key = "disable.directshow.for.wvc1";
+    public static final String useOutputTapKey = "use.output.tap";
+    public static final String outputTapWidthKey = "output.tap.width";
+    public static final String outputTapHeightKey = "output.tap.height";
+    public static final String outputTapFpsKey = "output.tap.fps";
+    public static final String outputTapJpegQualityKey = "output.tap.jpeg.quality";
+    public static final String outputTapRawPathKey = "output.tap.raw.path";
 
 }
@@ -29,6 +29,8 @@ import org.quelea.data.displayable.SongDisplayable;
  */
 public class SongDuplicateChecker {
 
+    private String[] databaseLyrics;
+
     public static void main(String[] args) {
         new SongDuplicateChecker().checkSongs(null);
     }
@@ -64,9 +66,8 @@ public class SongDuplicateChecker {
      * false otherwise.
      */
     public boolean checkSong(SongDisplayable newSong) {
-        for(SongDisplayable databaseSong : SongManager.get(true).getSongs()) {
-            String databaseLyrics = databaseSong.getLyrics(false, false, false).replaceAll("[^\\p{L}]", "");
-            String newLyrics = newSong.getLyrics(false, false, false).replaceAll("[^\\p{L}]", "");
+        String newLyrics = normalise(newSong);
+        for (String databaseLyrics : getDatabaseLyrics()) {
             int maxDistance;
             if(newLyrics.length() < databaseLyrics.length()) {
                 maxDistance = newLyrics.length() / 10;
@@ -80,4 +81,27 @@ public class SongDuplicateChecker {
         }
         return false;
     }
+
+    /**
+     * Get the lyrics of the songs in the database, stripped down for
+     * comparison. They're worked out the first time they're needed and then
+     * reused, so one checker can check a whole import without stripping the
+     * database lyrics again for every song.
+     *
+     * @return the stripped database lyrics.
+     */
+    private synchronized String[] getDatabaseLyrics() {
+        if (databaseLyrics == null) {
+            SongDisplayable[] songs = SongManager.get(true).getSongs();
+            databaseLyrics = new String[songs.length];
+            for (int i = 0; i < songs.length; i++) {
+                databaseLyrics[i] = normalise(songs[i]);
+            }
+        }
+        return databaseLyrics;
+    }
+
+    private static String normalise(SongDisplayable song) {
+        return song.getLyrics(false, false, false).replaceAll("[^\\p{L}]", "");
+    }
 }
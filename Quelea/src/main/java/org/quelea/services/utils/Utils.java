@@ -281,7 +281,7 @@ public final class Utils {
 	public static void addIconsToStage(Stage stage) {
 //        stage.getIcons().add(new Image("file:icons/logo64.png"));
 //        stage.getIcons().add(new Image("file:icons/logo48.png"));
-		stage.getIcons().add(new Image("file:icons/logo32.png"));
+		stage.getIcons().add(ImageManager.INSTANCE.getImage("file:icons/logo32.png"));
 //        stage.getIcons().add(new Image("file:icons/logo16.png"));
 	}
 
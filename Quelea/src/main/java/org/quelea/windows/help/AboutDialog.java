@@ -27,7 +27,6 @@ import javafx.scene.Cursor;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -40,6 +39,7 @@ import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.utils.DesktopApi;
@@ -64,7 +64,7 @@ public class AboutDialog extends Stage {
         setTitle(LabelGrabber.INSTANCE.getLabel("help.about.title"));
 
         BorderPane newLayout = new BorderPane();
-        ImageView logo = new ImageView(new Image("file:icons/full logo.png"));
+        ImageView logo = new ImageView(ImageManager.INSTANCE.getImage("file:icons/full logo.png"));
         BorderPane.setAlignment(logo, Pos.CENTER);
         newLayout.setTop(logo);
 
@@ -69,6 +69,7 @@ public class ImageGroupPanel extends AbstractPanel {
                 LivePanel lp = QueleaApp.get().getMainWindow().getMainPanel().getLivePanel();
                 if (newSlide != null && displayable != null) {
                         currentSlide = newSlide;
+                        displayable.getPresentation().setCurrentSlide(imageGroupPreview.getSelectedIndex() - 1);
                         updateCanvas();
                 }
             }
@@ -40,6 +40,7 @@ import javafx.stage.FileChooser;
 import org.javafx.dialog.Dialog;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -78,7 +79,7 @@ public class LibraryImagePanel extends BorderPane {
             setCenter(imagePanel);
             toolbar = new ToolBar();
 
-            Button addButton = new Button("", new ImageView(new Image("file:icons/add.png")));
+            Button addButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/add.png")));
             addButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("add.images.panel")));
             addButton.setOnAction(t -> {
                 LOGGER.log(Level.INFO, "Add button clicked. Opening file chooser for MongoDB...");
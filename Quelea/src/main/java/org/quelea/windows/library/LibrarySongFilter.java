@@ -0,0 +1,276 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.library;
+
+import java.lang.Character.UnicodeScript;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.quelea.data.displayable.SongDisplayable;
+import org.quelea.services.lucene.SongSearchIndex;
+
+/**
+ * Filters the song library for the library song list, remembering recent
+ * results so typing a search is quick.
+ * <p/>
+ * A query that extends a recent one (typing another letter, or another
+ * word) can only match songs the recent one matched, so rather than going
+ * back to the index those songs are checked in memory against the longer
+ * query. Backspacing lands on a query that's already been run, so that's
+ * served straight from the cache.
+ * <p/>
+ * The in-memory check follows the index's rules: the last word of the query
+ * is a prefix, any words before it must match whole, in order. Queries in
+ * scripts the index splits into single characters (Chinese, Thai and so on)
+ * always go to the index.
+ * <p/>
+ * Only the index is searched under the lock, so the list can still fetch
+ * the whole library or be cleared while a search is running. A search
+ * that fails, is interrupted or overlaps a {@link #clear()} isn't cached.
+ * <p/>
+ * @author Michael
+ */
+class LibrarySongFilter {
+
+    private static final int CACHE_SIZE = 32;
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\w\\s]", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Set<UnicodeScript> SPLIT_SCRIPTS = EnumSet.of(UnicodeScript.HAN, UnicodeScript.HIRAGANA,
+            UnicodeScript.THAI, UnicodeScript.LAO, UnicodeScript.KHMER, UnicodeScript.MYANMAR);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private final Map<String, Result> cache;
+    private final Map<SongDisplayable, String[][]> tokens;
+    private SongDisplayable[] library;
+    private List<SongDisplayable> sortedLibrary;
+    private long generation;
+
+    LibrarySongFilter() {
+        cache = new LinkedHashMap<String, Result>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        tokens = Collections.synchronizedMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Find the songs matching a search, best matches first: those matching on
+     * title, then on lyrics, then on author, each group in alphabetical
+     * order.
+     * <p/>
+     * @param index the index to search if the result can't be worked out
+     * from an earlier one.
+     * @param search the search. Must contain at least one word character.
+     * @return the matching songs.
+     */
+    Result filter(SongSearchIndex index, String search) {
+        String[] words = tokenise(search);
+        String key = String.join(" ", words);
+        Result base = null;
+        long startGeneration;
+        synchronized (this) {
+            Result ret = cache.get(key);
+            if (ret != null) {
+                return ret;
+            }
+            if (!splitsCharacters(key)) {
+                for (Map.Entry<String, Result> entry : cache.entrySet()) {
+                    if (entry.getValue().complete && key.startsWith(entry.getKey())
+                            && (base == null || entry.getKey().length() > base.key.length())) {
+                        base = entry.getValue();
+                    }
+                }
+            }
+            startGeneration = generation;
+        }
+        Result ret = base == null ? query(index, key) : narrow(base, key, words);
+        synchronized (this) {
+            if (ret.cacheable && !Thread.currentThread().isInterrupted() && startGeneration == generation) {
+                cache.put(key, ret);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Get the whole library in alphabetical order, for when there's no
+     * search. The sorted list is kept until the library changes.
+     * <p/>
+     * @param songs all the songs in the library.
+     * @return the songs in alphabetical order.
+     */
+    synchronized List<SongDisplayable> all(SongDisplayable[] songs) {
+        if (songs != library) {
+            library = songs;
+            sortedLibrary = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(Arrays.asList(songs))));
+        }
+        return sortedLibrary;
+    }
+
+    /**
+     * Forget everything, for when the library changes.
+     */
+    synchronized void clear() {
+        generation++;
+        cache.clear();
+        tokens.clear();
+        library = null;
+        sortedLibrary = null;
+    }
+
+    private Result query(SongSearchIndex index, String key) {
+        SongDisplayable[][] fields = index.filterFields(key);
+        if (fields == null) {
+            return new Result(key, Collections.emptyList(), 0, false, false);
+        }
+        Set<SongDisplayable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<SongDisplayable> songs = new ArrayList<>();
+        int titleMatches = 0;
+        boolean complete = true;
+        for (int i = 0; i < fields.length; i++) {
+            complete &= fields[i].length < SongSearchIndex.MAX_FIELD_RESULTS;
+            TreeSet<SongDisplayable> group = new TreeSet<>();
+            for (SongDisplayable song : fields[i]) {
+                if (!seen.contains(song)) {
+                    group.add(song);
+                }
+            }
+            seen.addAll(group);
+            songs.addAll(group);
+            if (i == 0) {
+                titleMatches = group.size();
+            }
+        }
+        return new Result(key, songs, titleMatches, complete, true);
+    }
+
+    private Result narrow(Result base, String key, String[] words) {
+        List<SongDisplayable> title = new ArrayList<>();
+        List<SongDisplayable> lyrics = new ArrayList<>();
+        List<SongDisplayable> author = new ArrayList<>();
+        for (SongDisplayable song : base.songs) {
+            String[][] fields = tokens.computeIfAbsent(song, s -> new String[][]{
+                tokenise(s.getTitle()),
+                tokenise(s.getLyrics(false, false, false)),
+                tokenise(s.getAuthor())
+            });
+            if (matches(fields[0], words)) {
+                title.add(song);
+            } else if (matches(fields[1], words)) {
+                lyrics.add(song);
+            } else if (matches(fields[2], words)) {
+                author.add(song);
+            }
+        }
+        //Songs can drop down a group as the query narrows, so the lower groups may be out of order
+        Collections.sort(lyrics);
+        Collections.sort(author);
+        List<SongDisplayable> songs = new ArrayList<>(title.size() + lyrics.size() + author.size());
+        songs.addAll(title);
+        songs.addAll(lyrics);
+        songs.addAll(author);
+        return new Result(key, songs, title.size(), base.complete, true);
+    }
+
+    private static boolean matches(String[] text, String[] words) {
+        int last = words.length - 1;
+        for (int i = 0; i + last < text.length; i++) {
+            boolean match = text[i + last].startsWith(words[last]);
+            for (int j = 0; match && j < last; j++) {
+                match = text[i + j].equals(words[j]);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Split some text into words the way the index does - punctuation
+     * removed, then lower cased and folded to ASCII with the same filter the
+     * index uses (so "straße" is "strasse", not "straße" without accents).
+     */
+    private static String[] tokenise(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String stripped = PUNCTUATION.matcher(text).replaceAll("").trim();
+        if (stripped.isEmpty()) {
+            return new String[0];
+        }
+        StringBuilder lower = new StringBuilder(stripped.length());
+        stripped.codePoints().map(Character::toLowerCase).forEach(lower::appendCodePoint);
+        char[] input = lower.toString().toCharArray();
+        char[] output = new char[input.length * 4];
+        int length = ASCIIFoldingFilter.foldToASCII(input, 0, output, 0, input.length);
+        return WHITESPACE.split(new String(output, 0, length));
+    }
+
+    /**
+     * Whether some text has characters the index treats as words on their
+     * own, which the in-memory check can't follow.
+     */
+    private static boolean splitsCharacters(String text) {
+        return text.codePoints().anyMatch(c -> SPLIT_SCRIPTS.contains(UnicodeScript.of(c)));
+    }
+
+    /**
+     * The songs matching one search.
+     */
+    static class Result {
+
+        private final String key;
+        private final List<SongDisplayable> songs;
+        private final int titleMatches;
+        private final boolean complete;
+        private final boolean cacheable;
+
+        private Result(String key, List<SongDisplayable> songs, int titleMatches, boolean complete, boolean cacheable) {
+            this.key = key;
+            this.songs = Collections.unmodifiableList(songs);
+            this.titleMatches = titleMatches;
+            this.complete = complete;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * @return the matching songs, best first.
+         */
+        List<SongDisplayable> getSongs() {
+            return songs;
+        }
+
+        /**
+         * @return how many of the songs at the start of the list matched on
+         * title.
+         */
+        int getTitleMatches() {
+            return titleMatches;
+        }
+    }
+}
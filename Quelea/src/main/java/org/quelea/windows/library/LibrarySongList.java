@@ -17,16 +17,22 @@
  */
 package org.quelea.windows.library;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.TreeSet;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -43,9 +49,10 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.text.Text;
 import javafx.util.Callback;
+import javafx.util.Duration;
+import org.quelea.data.db.SongChanges;
 import org.quelea.data.db.SongManager;
 import org.quelea.data.displayable.SongDisplayable;
-import org.quelea.services.lucene.SongSearchIndex;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.utils.SongDisplayableList;
@@ -62,11 +69,22 @@ import org.quelea.windows.main.widgets.LoadingPane;
 public class LibrarySongList extends StackPane {
 
     private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final Duration FILTER_DELAY = Duration.millis(30);
+    private static final int PAGE_SIZE = 500;
     private final LibraryPopupMenu popupMenu;
     private final ListView<SongDisplayable> songList;
     private final LoadingPane loadingOverlay;
     private final LibrarySongPreviewCanvas previewCanvas;
     private final AddSongPromptOverlay addSongOverlay;
+    private final ObservableList<SongDisplayable> items;
+    private final LibrarySongFilter songFilter;
+    private final PauseTransition filterDelay;
+    private final AnimationTimer pager;
+    private volatile String currentSearch;
+    private String pendingSearch;
+    private long filterGeneration;
+    private List<SongDisplayable> pagedSongs = List.of();
+    private int pagedCount;
 
     /**
      * Create a new library song list.
@@ -75,16 +93,26 @@ public class LibrarySongList extends StackPane {
      * when right-clicked, false if not.
      */
     public LibrarySongList(boolean popup) {
-        songList = new ListView<>();
+        items = FXCollections.observableArrayList();
+        songList = new ListView<>(items);
         songList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        songFilter = new LibrarySongFilter();
+        filterDelay = new PauseTransition(FILTER_DELAY);
+        filterDelay.setOnFinished(event -> runFilter(pendingSearch));
+        pager = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                addPage();
+            }
+        };
         loadingOverlay = new LoadingPane();
         addSongOverlay = new AddSongPromptOverlay();
         setAlignment(Pos.CENTER);
         getChildren().add(songList);
         getChildren().add(addSongOverlay);
         addSongOverlay.show();
-        songList.itemsProperty().addListener((val, oldList, newList) -> {
-            if (songList.getItems().isEmpty()) {
+        items.addListener((ListChangeListener<SongDisplayable>) change -> {
+            if (items.isEmpty()) {
                 addSongOverlay.show();
             } else {
                 addSongOverlay.hide();
@@ -192,86 +220,103 @@ public class LibrarySongList extends StackPane {
             songList.setCellFactory(DisplayableListCell.forListView(popupMenu, callback, null));
         }
         new Thread(this::refresh).start();
-        SongManager.get(true).registerDatabaseListener(this::refresh);
+        SongManager.get(true).registerSongChangeListener(this::applyChanges);
     }
     private ExecutorService filterService = Executors.newSingleThreadExecutor();
     private Future<?> filterFuture;
 
     /**
-     * Filter the results in this list by a specific search term.
+     * Filter the results in this list by a specific search term. The search
+     * runs once typing has paused for a moment, so a burst of keystrokes
+     * only searches once. Must be called on the FX thread.
      * <p/>
      * @param search the search term to use.
      */
     public void filter(final String search) {
+        pendingSearch = search;
+        currentSearch = isEmptySearch(search) ? null : search;
+        filterDelay.playFromStart();
+    }
+
+    private void runFilter(final String search) {
         if (filterFuture != null) {
             filterFuture.cancel(true);
         }
-        Platform.runLater(() -> {
-            setLoading(true);
-        });
+        setLoading(true);
+        final long generation = ++filterGeneration;
+        // empty or null search strings do not need to be filtered - lest they get added twice
+        final boolean emptySearch = isEmptySearch(search);
         LOGGER.log(Level.INFO, "Performing search for {0}", search);
         filterFuture = filterService.submit(() -> {
-            final ObservableList<SongDisplayable> songs = FXCollections.observableArrayList();
-
-            // empty or null search strings do not need to be filtered - lest they get added twice
-            if (search == null || search.trim().isEmpty() || Pattern.compile("[^\\w ]", Pattern.UNICODE_CHARACTER_CLASS).matcher(search).replaceAll("").isEmpty()) {
-                TreeSet<SongDisplayable> m = new TreeSet<>();
-                LOGGER.log(Level.INFO, "Empty song search performed");
-                for (SongDisplayable song : SongManager.get(true).getSongs()) {
-                    song.setLastSearch(null);
-                    m.add(song);
-                }
-                songs.addAll(m);
-                LOGGER.log(Level.INFO, "{0} songs in list", songs.size());
+            final List<SongDisplayable> songs;
+            final int titleMatches;
+            if (emptySearch) {
+                songs = songFilter.all(SongManager.get(true).getSongs());
+                titleMatches = 0;
             } else {
-                TreeSet<SongDisplayable> m = new TreeSet<>();
-                LOGGER.log(Level.INFO, "Filtering songs by title");
-                SongDisplayable[] titleSongs = SongManager.get(true).getIndex().filter(search, SongSearchIndex.FilterType.TITLE);
-                LOGGER.log(Level.INFO, "Filtered songs by title");
-                for (SongDisplayable song : titleSongs) {
-                    song.setLastSearch(search);
-                    m.add(song);
-                }
-                songs.addAll(m);
-                m.clear();
-                LOGGER.log(Level.INFO, "{0} songs in list", songs.size());
-
-                LOGGER.log(Level.INFO, "Filtering songs by lyrics");
-                SongDisplayable[] lyricSongs = SongManager.get(true).getIndex().filter(search, SongSearchIndex.FilterType.BODY);
-                LOGGER.log(Level.INFO, "Filtered songs by lyrics");
-                for (SongDisplayable song : lyricSongs) {
-                    song.setLastSearch(null);
-                    m.add(song);
-                }
-                songs.addAll(m);
-                m.clear();
-                LOGGER.log(Level.INFO, "{0} songs in list", songs.size());
-
-                LOGGER.log(Level.INFO, "Filtering songs by author");
-                SongDisplayable[] authorSongs = SongManager.get(true).getIndex().filter(search, SongSearchIndex.FilterType.AUTHOR);
-                LOGGER.log(Level.INFO, "Filtered songs by author");
-                for (SongDisplayable song : authorSongs) {
-                    m.add(song);
-                }
-                songs.addAll(m);
-                m.clear();
-                LOGGER.log(Level.INFO, "{0} songs in list", songs.size());
+                LibrarySongFilter.Result result = songFilter.filter(SongManager.get(true).getIndex(), search);
+                songs = result.getSongs();
+                titleMatches = result.getTitleMatches();
             }
+            LOGGER.log(Level.INFO, "{0} songs in list", songs.size());
 
             Platform.runLater(() -> {
-                LOGGER.log(Level.INFO, "Setting song list");
-                songList.setItems(FXCollections.observableArrayList()); //Force search display update
-                songList.setItems(songs);
+                if (generation != filterGeneration) {
+                    return; //A newer search has started since
+                }
+                showSongs(songs, emptySearch ? null : search, titleMatches);
                 if (!songs.isEmpty()) {
-                    LOGGER.log(Level.INFO, "Selecting first song");
                     songList.getSelectionModel().select(0);
                 }
-                LOGGER.log(Level.INFO, "Setting no longer loading");
                 setLoading(false);
                 LOGGER.log(Level.INFO, "Song search done");
             });
         });
+    }
+
+    private static boolean isEmptySearch(String search) {
+        return search == null || search.trim().isEmpty() || Pattern.compile("[^\\w ]", Pattern.UNICODE_CHARACTER_CLASS).matcher(search).replaceAll("").isEmpty();
+    }
+
+    /**
+     * Show a list of songs. The first page goes in straight away and the rest
+     * a page at a time on the following pulses, so a long list doesn't hold
+     * up the first results appearing.
+     * <p/>
+     * @param songs the songs to show.
+     * @param search the search the songs matched, or null if none.
+     * @param titleMatches the number of songs at the start of the list that
+     * matched the search on their title, and so should have it highlighted.
+     */
+    private void showSongs(List<SongDisplayable> songs, String search, int titleMatches) {
+        pager.stop();
+        for (int i = 0; i < songs.size(); i++) {
+            songs.get(i).setLastSearch(i < titleMatches ? search : null);
+        }
+        pagedSongs = songs;
+        pagedCount = Math.min(PAGE_SIZE, songs.size());
+        items.setAll(songs.subList(0, pagedCount));
+        songList.refresh(); //Highlights may have changed on songs that were already showing
+        if (pagedCount < songs.size()) {
+            pager.start();
+        }
+    }
 
+    private void addPage() {
+        int end = Math.min(pagedCount + PAGE_SIZE, pagedSongs.size());
+        items.addAll(pagedSongs.subList(pagedCount, end));
+        pagedCount = end;
+        if (pagedCount == pagedSongs.size()) {
+            pager.stop();
+        }
+    }
+
+    private void addRemainingPages() {
+        pager.stop();
+        if (pagedCount < pagedSongs.size()) {
+            items.addAll(pagedSongs.subList(pagedCount, pagedSongs.size()));
+            pagedCount = pagedSongs.size();
+        }
     }
 
     /**
@@ -302,16 +347,63 @@ public class LibrarySongList extends StackPane {
     }
 
     private void refresh() {
+        currentSearch = null;
+        songFilter.clear();
         Platform.runLater(() -> {
             setLoading(true);
         });
-        final ObservableList<SongDisplayable> songs = FXCollections.observableArrayList(SongManager.get(true).getSongs(loadingOverlay));
+        final List<SongDisplayable> songs = songFilter.all(SongManager.get(true).getSongs(loadingOverlay));
         Platform.runLater(() -> {
-            songList.itemsProperty().set(songs);
+            filterGeneration++;
+            showSongs(songs, null, 0);
             setLoading(false);
         });
     }
 
+    /**
+     * Bring the list up to date with a batch of database changes. Removed
+     * songs are taken out and new or edited ones put in their sorted place,
+     * rather than the whole library being reloaded. If a search is showing,
+     * it's run again when songs are added or edited, since they may or may
+     * not match it.
+     * <p/>
+     * @param changes the changes to apply.
+     */
+    private void applyChanges(SongChanges changes) {
+        songFilter.clear();
+        if (changes.isReload()) {
+            refresh();
+            return;
+        }
+        String search = currentSearch;
+        if (search != null && (!changes.getAdded().isEmpty() || !changes.getUpdated().isEmpty())) {
+            Platform.runLater(() -> filter(search));
+            return;
+        }
+        Set<Long> changedIds = new HashSet<>(changes.getAdded());
+        changedIds.addAll(changes.getUpdated());
+        final List<SongDisplayable> changedSongs = SongManager.get(true).getSongsById(changedIds);
+        Platform.runLater(() -> {
+            addRemainingPages();
+            SongDisplayable selected = songList.getSelectionModel().getSelectedItem();
+            List<SongDisplayable> toRemove = new ArrayList<>();
+            for (SongDisplayable song : items) {
+                if (changes.getRemoved().contains(song.getID()) || changes.getUpdated().contains(song.getID())) {
+                    toRemove.add(song);
+                }
+            }
+            items.removeAll(toRemove);
+            for (SongDisplayable song : changedSongs) {
+                song.setLastSearch(null);
+                int pos = Collections.binarySearch(items, song);
+                items.add(pos < 0 ? -pos - 1 : pos, song);
+            }
+            if (selected != null && songList.getSelectionModel().getSelectedItem() != selected && items.contains(selected)) {
+                songList.getSelectionModel().select(selected);
+            }
+        });
+    }
+
     private boolean hasMultipleSelected() {
         return songList.getSelectionModel().getSelectedItems().size() > 1;
     }
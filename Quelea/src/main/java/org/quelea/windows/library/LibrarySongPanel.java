@@ -31,7 +31,6 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -42,6 +41,7 @@ import javafx.scene.layout.Priority;
 import org.quelea.data.db.SongManager;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.actionhandlers.NewSongActionHandler;
@@ -108,7 +108,7 @@ public class LibrarySongPanel extends BorderPane {
             }
         });
         northPanel.getChildren().add(searchBox);
-        searchCancelButton = new Button("", new ImageView(new Image(darkTheme ? "file:icons/cross-light.png" : "file:icons/cross.png")));
+        searchCancelButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/cross-light.png" : "file:icons/cross.png")));
         Utils.setToolbarButtonStyle(searchCancelButton);
         searchCancelButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("clear.search.box")));
         searchCancelButton.setDisable(true);
@@ -125,7 +125,7 @@ public class LibrarySongPanel extends BorderPane {
         ToolBar toolbar = new ToolBar();
         toolbar.setOrientation(Orientation.VERTICAL);
 
-        ImageView addIV = new ImageView(new Image(darkTheme ? "file:icons/newsongdb-light.png" : "file:icons/newsongdb.png"));
+        ImageView addIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/newsongdb-light.png" : "file:icons/newsongdb.png"));
         addIV.setFitWidth(16);
         addIV.setFitHeight(16);
         addButton = new Button("", addIV);
@@ -134,14 +134,14 @@ public class LibrarySongPanel extends BorderPane {
         addButton.setOnAction(new NewSongActionHandler());
         toolbar.getItems().add(addButton);
 
-        ImageView refreshIV = new ImageView(new Image(darkTheme ? "file:icons/refresh16.png" : "file:icons/refresh16.png"));
+        ImageView refreshIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/refresh16.png" : "file:icons/refresh16.png"));
         refreshButton = new Button("", refreshIV);
         Utils.setToolbarButtonStyle(refreshButton);
         refreshButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("add.song.text")));
         refreshButton.setOnAction(event -> SongManager.get(true).fireUpdate());
         toolbar.getItems().add(refreshButton);
 
-        ImageView removeIV = new ImageView(new Image(darkTheme ? "file:icons/removedb-light.png" : "file:icons/removedb.png"));
+        ImageView removeIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/removedb-light.png" : "file:icons/removedb.png"));
         removeIV.setFitWidth(16);
         removeIV.setFitHeight(16);
         removeButton = new Button("", removeIV);
@@ -18,28 +18,46 @@
  */
 package org.quelea.windows.library;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import javafx.animation.FadeTransition;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import org.quelea.data.ColourBackground;
 import org.quelea.data.ThemeDTO;
+import org.quelea.data.VideoBackground;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.windows.lyrics.LyricDrawer;
 import org.quelea.windows.main.DisplayCanvas;
-import org.quelea.windows.main.WordDrawer;
+import org.quelea.windows.video.VideoThumbnailCache;
 
 /**
  * A pane that can be overlaid on a component when it's loading something.
  * <p/>
+ * The preview is drawn by a single drawer that's reused for every song, and
+ * never plays video - video backgrounds are shown as their thumbnail. Once a
+ * song has been drawn at a given size and theme the result is kept, so moving
+ * back over it shows the image straight away without drawing anything.
+ * <p/>
  * @author Michael
  */
 public class LibrarySongPreviewCanvas extends StackPane {
 
+    private static final int CACHE_SIZE = 48;
     private FadeTransition trans;
     private DisplayCanvas canvas;
     private SongDisplayable displayable;
+    private final LyricDrawer drawer;
+    private final ImageView cachedView;
+    private final Map<PreviewKey, Image> cache;
 
     /**
      * Create the loading pane.
@@ -48,29 +66,127 @@ public class LibrarySongPreviewCanvas extends StackPane {
         setMaxSize(250, 167);
         canvas = new DisplayCanvas(false, this::updateCanvas, DisplayCanvas.Priority.LOW);
         canvas.setMaxSize(250, 167);
-        getChildren().add(canvas);
+        drawer = new LyricDrawer();
+        drawer.setCanvas(canvas);
+        cachedView = new ImageView();
+        cachedView.setVisible(false);
+        cache = new LinkedHashMap<PreviewKey, Image>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PreviewKey, Image> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        getChildren().addAll(canvas, cachedView);
         setOpacity(0);
         setVisible(false);
         setMouseTransparent(true);
     }
 
     public void updateCanvas() {
-        WordDrawer drawer = new LyricDrawer();
-        drawer.setCanvas(canvas);
+        PreviewKey key = getKey();
+        Image cached = key == null ? null : cache.get(key);
+        if (cached != null) {
+            showCached(cached);
+            return;
+        }
+        cachedView.setVisible(false);
+        canvas.setVisible(true);
         if (displayable == null || displayable.getSections().length == 0) {
             drawer.eraseText();
+            return;
+        }
+        TextSection currentSection = displayable.getSections()[0];
+        ThemeDTO theme = currentSection.getTheme();
+        boolean complete = true;
+        if (theme != null && theme.getBackground() instanceof VideoBackground) {
+            drawer.setTheme(withoutVideo(theme));
+            complete = showVideoThumbnail(((VideoBackground) theme.getBackground()));
         } else {
-            TextSection currentSection = displayable.getSections()[0];
-            ThemeDTO newTheme = currentSection.getTheme();
-            drawer.setTheme(newTheme);
-            drawer.setCapitaliseFirst(currentSection.shouldCapitaliseFirst());
-            drawer.setText(displayable, 0);
+            drawer.setTheme(theme);
+        }
+        drawer.setCapitaliseFirst(currentSection.shouldCapitaliseFirst());
+        drawer.setText(displayable, 0);
+        if (complete && key != null) {
+            cache.put(key, canvas.snapshot(null, null));
         }
     }
 
     public void setSong(SongDisplayable displayable) {
         this.displayable = displayable;
-        canvas.update();
+        PreviewKey key = getKey();
+        Image cached = key == null ? null : cache.get(key);
+        if (cached != null) {
+            showCached(cached);
+        } else {
+            cachedView.setVisible(false);
+            canvas.setVisible(true);
+            canvas.update();
+        }
+    }
+
+    private void showCached(Image image) {
+        cachedView.setImage(image);
+        cachedView.setVisible(true);
+        canvas.setVisible(false);
+    }
+
+    /**
+     * Get the key the current song's preview is cached under.
+     *
+     * @return the key, or null if the preview shouldn't be cached.
+     */
+    private PreviewKey getKey() {
+        if (displayable == null || displayable.getSections().length == 0
+                || canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+            return null;
+        }
+        TextSection section = displayable.getSections()[0];
+        //Everything the drawer uses, including the other sections as they decide the uniform font size
+        StringBuilder text = new StringBuilder();
+        for (TextSection s : displayable.getSections()) {
+            text.append(String.join("\n", s.getText(false, false))).append("\n\n");
+        }
+        text.append(displayable.getCurrentTranslationSection(0)).append("\n\n");
+        text.append(String.join("\n", section.getSmallText())).append("\n\n");
+        text.append(section.shouldCapitaliseFirst());
+        ThemeDTO theme = section.getTheme();
+        return new PreviewKey(displayable.getID(), theme == null ? "" : theme.getCacheKey(), text.toString(),
+                (int) canvas.getWidth(), (int) canvas.getHeight());
+    }
+
+    /**
+     * Get a copy of a theme with its video background swapped for black, so
+     * the drawer doesn't start any video.
+     */
+    private static ThemeDTO withoutVideo(ThemeDTO theme) {
+        return new ThemeDTO(theme.getSerializableFont(), theme.getFontPaint(),
+                theme.getTranslateSerializableFont(), theme.getTranslateFontPaint(),
+                new ColourBackground(Color.BLACK), theme.getShadow(), theme.isBold(), theme.isItalic(),
+                theme.isTranslateBold(), theme.isTranslateItalic(), theme.getTextPosition(), theme.getTextAlignment());
+    }
+
+    /**
+     * Put the thumbnail of a video background behind the text.
+     *
+     * @return true if the thumbnail was shown, false if it's still being
+     * generated (the preview is redrawn when it's ready.)
+     */
+    private boolean showVideoThumbnail(VideoBackground background) {
+        Image thumbnail = VideoThumbnailCache.get().getCached(background.getVideoFile());
+        if (thumbnail == null) {
+            final SongDisplayable requested = displayable;
+            VideoThumbnailCache.get().request(background.getVideoFile(), image -> {
+                if (displayable == requested) {
+                    canvas.update();
+                }
+            });
+            return false;
+        }
+        Node backgroundNode = canvas.getCanvasBackground();
+        if (backgroundNode instanceof ImageView) {
+            ((ImageView) backgroundNode).setImage(thumbnail);
+        }
+        return true;
     }
 
     /**
@@ -106,4 +222,40 @@ public class LibrarySongPreviewCanvas extends StackPane {
             }
         });
     }
+
+    /**
+     * Identifies a rendered preview: the song, the full key of its theme, the
+     * text that was drawn and the size it was drawn at.
+     */
+    private static final class PreviewKey {
+
+        private final long songId;
+        private final String theme;
+        private final String text;
+        private final int width;
+        private final int height;
+
+        private PreviewKey(long songId, String theme, String text, int width, int height) {
+            this.songId = songId;
+            this.theme = theme;
+            this.text = text;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PreviewKey)) {
+                return false;
+            }
+            PreviewKey other = (PreviewKey) obj;
+            return songId == other.songId && width == other.width && height == other.height
+                    && theme.equals(other.theme) && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(songId, theme, text, width, height);
+        }
+    }
 }
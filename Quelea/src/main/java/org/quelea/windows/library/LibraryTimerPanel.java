@@ -33,7 +33,6 @@ import javafx.geometry.Orientation;
 import javafx.scene.control.Button;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -42,6 +41,7 @@ import org.javafx.dialog.Dialog;
 import org.quelea.data.displayable.TimerDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -76,11 +76,11 @@ public class LibraryTimerPanel extends BorderPane {
             checkRemoveButton();
         });
 
-        Button addButton = new Button("", new ImageView(new Image("file:icons/add.png")));
+        Button addButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/add.png")));
         addButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("add.timers.panel")));
         addButton.setOnAction(new AddTimerActionHandler());
         
-        Button importButton = new Button("", new ImageView(new Image("file:icons/importbw.png")));
+        Button importButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/importbw.png")));
         importButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("import.heading")));
         importButton.setOnAction((ActionEvent t) -> {
             FileChooser chooser = new FileChooser();
@@ -124,7 +124,7 @@ public class LibraryTimerPanel extends BorderPane {
                 }
             }
         });
-        ImageView removeIV = new ImageView(new Image("file:icons/removedb.png"));
+        ImageView removeIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/removedb.png"));
         removeButton = new Button("", removeIV);
         Utils.setToolbarButtonStyle(removeButton);
         removeButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("remove.timer.text")));
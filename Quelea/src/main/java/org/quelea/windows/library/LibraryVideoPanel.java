@@ -32,7 +32,6 @@ import javafx.geometry.Orientation;
 import javafx.scene.control.Button;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -40,6 +39,7 @@ import javafx.stage.FileChooser;
 import org.javafx.dialog.Dialog;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -62,7 +62,7 @@ public class LibraryVideoPanel extends BorderPane {
         videoPanel = new VideoListPanel(QueleaProperties.get().getVidDir().getAbsolutePath());
         setCenter(videoPanel);
         ToolBar toolbar = new ToolBar();
-        Button addButton = new Button("", new ImageView(new Image("file:icons/add.png")));
+        Button addButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/add.png")));
         addButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("add.videos.panel")));
         addButton.setOnAction((ActionEvent t) -> {
             FileChooser chooser = new FileChooser();
@@ -117,4 +117,13 @@ public class LibraryVideoPanel extends BorderPane {
         toolbar.getItems().add(addButton);
         setLeft(toolbarBox);
     }
+
+    /**
+     * Get the panel showing the videos themselves.
+     *
+     * @return the video list panel.
+     */
+    public VideoListPanel getVideoListPanel() {
+        return videoPanel;
+    }
 }
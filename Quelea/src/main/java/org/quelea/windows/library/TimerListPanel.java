@@ -31,7 +31,6 @@ import javafx.scene.control.ListView;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.cell.TextFieldListCell;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.DragEvent;
@@ -42,6 +41,7 @@ import javafx.util.Callback;
 import javafx.util.StringConverter;
 import org.quelea.data.displayable.TimerDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -113,7 +113,7 @@ public class TimerListPanel extends BorderPane {
         });
 
         ContextMenu removeMenu = new ContextMenu();
-        MenuItem removeItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("remove.timer.text"), new ImageView(new Image("file:icons/removedb.png", 16, 16, false, false)));
+        MenuItem removeItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("remove.timer.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/removedb.png", 16, 16, false, false)));
         removeItem.setOnAction(new RemoveTimerActionHandler());
         removeMenu.getItems().add(removeItem);
         timerList.setCellFactory(DisplayableListCell.forListView(removeMenu, callback, null));
@@ -18,7 +18,6 @@
 package org.quelea.windows.library;
 
 import javafx.application.Platform;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.event.ActionEvent;
 import javafx.geometry.Bounds;
 import javafx.geometry.Orientation;
@@ -37,19 +36,31 @@ import javafx.scene.layout.VBox;
 import org.javafx.dialog.Dialog;
 import org.quelea.data.displayable.VideoDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
-import org.quelea.windows.video.VidPreviewDisplay;
+import org.quelea.windows.video.VideoThumbnailCache;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -67,9 +78,12 @@ public class VideoListPanel extends BorderPane {
     private final TilePane videoList;
     private final String dir;
     private Thread updateThread;
-    private final VidPreviewDisplay vidPreviewDisplay;
-    public static final Image BLANK = new Image("file:icons/vid preview.png");
-    public static final Image UNSUPPORTED = new Image("file:icons/unsupported vid preview.png");
+    private WatchService watcher;
+    private Thread watchThread;
+    private final Map<File, VBox> tiles;
+    private static final long WATCH_SETTLE_MILLIS = 500;
+    public static final Image BLANK = ImageManager.INSTANCE.getImage("file:icons/vid preview.png");
+    public static final Image UNSUPPORTED = ImageManager.INSTANCE.getImage("file:icons/unsupported vid preview.png");
 
     /**
      * Create a new video list panel.
@@ -79,7 +93,7 @@ public class VideoListPanel extends BorderPane {
      */
     public VideoListPanel(String dir) {
         this.dir = dir;
-        vidPreviewDisplay = new VidPreviewDisplay();
+        tiles = new HashMap<>();
         videoList = new TilePane();
         videoList.setAlignment(Pos.CENTER);
         videoList.setHgap(15);
@@ -94,11 +108,11 @@ public class VideoListPanel extends BorderPane {
                     for (File f : files) {
                         if (Utils.fileIsVideo(f) && !f.isDirectory()) {
                             try {
-                                Files.copy(f.getAbsoluteFile().toPath(), Paths.get(getDir(), f.getName()), StandardCopyOption.COPY_ATTRIBUTES);
+                                Path target = Files.copy(f.getAbsoluteFile().toPath(), Paths.get(getDir(), f.getName()), StandardCopyOption.COPY_ATTRIBUTES);
+                                addVideoFile(target.toFile());
                             } catch (IOException ex) {
                                 LoggerUtils.getLogger().log(Level.WARNING, "Could not copy file into VideoPanel through system drag and drop.", ex);
                             }
-                            updateVideos();
                         }
                     }
                 }
@@ -109,6 +123,7 @@ public class VideoListPanel extends BorderPane {
         scroll.setFitToWidth(true);
         scroll.setContent(videoList);
         setCenter(scroll);
+        startWatcher();
     }
 
     /**
@@ -127,75 +142,185 @@ public class VideoListPanel extends BorderPane {
     }
 
     /**
-     * Add the files.
+     * Add the files. Tiles are shown straight away with a placeholder and
+     * filled in as their thumbnails come back from the thumbnail cache.
      * <p/>
      */
     private void updateVideos() {
         LOGGER.log(Level.INFO, "Updating videos");
-        videoList.getChildren().clear();
-        final File[] files = new File(dir).listFiles();
         if (updateThread != null && updateThread.isAlive()) {
             return;
         }
+        videoList.getChildren().clear();
+        tiles.clear();
         updateThread = new Thread(() -> {
-            for (int i = 0; i < files.length; i++) {
-                File file = files[i];
-                LOGGER.log(Level.INFO, "Checking file {0}", file);
+            final File[] files = new File(dir).listFiles();
+            if (files == null) {
+                return;
+            }
+            Arrays.sort(files, Comparator.comparing(File::getName, String.CASE_INSENSITIVE_ORDER));
+            for (File file : files) {
                 if (Utils.fileIsVideo(file) && !file.isDirectory()) {
                     addVideoFile(file);
                 }
             }
-        });
+        }, "video-list-update");
+        updateThread.setDaemon(true);
         updateThread.start();
     }
 
+    /**
+     * Add a video to the panel, or refresh its thumbnail if it's already
+     * there. May be called from any thread.
+     * <p/>
+     * @param file the video file to add.
+     */
     public void addVideoFile(File file) {
-        LOGGER.log(Level.INFO, "Adding video file {0} to panel", file);
-        final ImageView view = new ImageView();
-        final Label fileLabel = new Label(trim17(file.getName()));
+        final File key = file.getAbsoluteFile();
+        LOGGER.log(Level.INFO, "Adding video file {0} to panel", key);
+        Runnable addTile = () -> {
+            if (!tiles.containsKey(key)) {
+                VBox tile = createTile(key);
+                tiles.put(key, tile);
+                videoList.getChildren().add(tile);
+            }
+        };
+        if (Platform.isFxApplicationThread()) {
+            addTile.run();
+        } else {
+            Platform.runLater(addTile);
+        }
+        VideoThumbnailCache.get().request(key, image -> {
+            VBox tile = tiles.get(key);
+            if (tile != null) {
+                ((ImageView) tile.getChildren().get(0)).setImage(image);
+            }
+        });
+    }
 
-        view.setImage(resize(vidPreviewDisplay.getPreviewImg(file.toURI())));
+    private void removeVideoFile(File file) {
+        VBox tile = tiles.remove(file.getAbsoluteFile());
+        if (tile != null) {
+            videoList.getChildren().remove(tile);
+        }
+    }
 
-        Platform.runLater(() -> {
-            final VBox viewBox = new VBox();
-            viewBox.setAlignment(Pos.CENTER);
-            view.setPreserveRatio(true);
-            view.setFitWidth(160);
-            view.setFitHeight(90);
-            view.setOnMouseClicked((MouseEvent t) -> {
-                if (t.getButton() == MouseButton.PRIMARY && t.getClickCount() > 1) {
-                    QueleaApp.get().getMainWindow().getMainPanel().getSchedulePanel().getScheduleList().add(new VideoDisplayable(file.getAbsolutePath()));
-                } else if (t.getButton() == MouseButton.SECONDARY) {
-                    ContextMenu removeMenu = new ContextMenu();
-                    MenuItem removeItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("remove.video.text"));
-                    removeItem.setOnAction((ActionEvent t1) -> {
-                        final boolean[] reallyDelete = new boolean[]{false};
-                        Dialog.buildConfirmation(LabelGrabber.INSTANCE.getLabel("delete.video.title"),
-                                LabelGrabber.INSTANCE.getLabel("delete.video.confirmation")).addYesButton((ActionEvent t2) -> {
-                            reallyDelete[0] = true;
-                        }).addNoButton((ActionEvent t3) -> {
-                        }).build().showAndWait();
-                        if (reallyDelete[0]) {
-                            file.delete();
-                            videoList.getChildren().remove(viewBox);
+    private VBox createTile(File file) {
+        final ImageView view = new ImageView(BLANK);
+        final Label fileLabel = new Label(trim17(file.getName()));
+        final VBox viewBox = new VBox();
+        viewBox.setAlignment(Pos.CENTER);
+        view.setPreserveRatio(true);
+        view.setFitWidth(VideoThumbnailCache.THUMBNAIL_WIDTH);
+        view.setFitHeight(VideoThumbnailCache.THUMBNAIL_HEIGHT);
+        view.setOnMouseClicked((MouseEvent t) -> {
+            if (t.getButton() == MouseButton.PRIMARY && t.getClickCount() > 1) {
+                QueleaApp.get().getMainWindow().getMainPanel().getSchedulePanel().getScheduleList().add(new VideoDisplayable(file.getAbsolutePath()));
+            } else if (t.getButton() == MouseButton.SECONDARY) {
+                ContextMenu removeMenu = new ContextMenu();
+                MenuItem removeItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("remove.video.text"));
+                removeItem.setOnAction((ActionEvent t1) -> {
+                    final boolean[] reallyDelete = new boolean[]{false};
+                    Dialog.buildConfirmation(LabelGrabber.INSTANCE.getLabel("delete.video.title"),
+                            LabelGrabber.INSTANCE.getLabel("delete.video.confirmation")).addYesButton((ActionEvent t2) -> {
+                        reallyDelete[0] = true;
+                    }).addNoButton((ActionEvent t3) -> {
+                    }).build().showAndWait();
+                    if (reallyDelete[0]) {
+                        VideoThumbnailCache.get().invalidate(file);
+                        file.delete();
+                        removeVideoFile(file);
+                    }
+                });
+                removeMenu.getItems().add(removeItem);
+                removeMenu.show(view, t.getScreenX(), t.getScreenY());
+            }
+        });
+        view.setOnDragDetected((MouseEvent t) -> {
+            Dragboard db = startDragAndDrop(TransferMode.ANY);
+            ClipboardContent content = new ClipboardContent();
+            content.putString(file.getAbsolutePath());
+            db.setContent(content);
+            t.consume();
+        });
+        viewBox.getChildren().add(view);
+        viewBox.getChildren().add(fileLabel);
+        setupHover(viewBox, file.getName());
+        return viewBox;
+    }
+
+    /**
+     * Watch the video directory so that files added, changed or removed
+     * outside of Quelea only update their own tiles, rather than reloading
+     * the whole panel.
+     */
+    private void startWatcher() {
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            Paths.get(dir).register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't watch video directory " + dir + ", changes will need a manual refresh", ex);
+            stopWatcher();
+            return;
+        }
+        final WatchService watcher = this.watcher;
+        watchThread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    // Let copies in progress settle so we don't thumbnail half written files
+                    Thread.sleep(WATCH_SETTLE_MILLIS);
+                    Set<String> changed = new LinkedHashSet<>();
+                    boolean overflow = false;
+                    do {
+                        for (WatchEvent<?> event : key.pollEvents()) {
+                            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                                overflow = true;
+                            } else {
+                                changed.add(event.context().toString());
+                            }
+                        }
+                        key.reset();
+                    } while ((key = watcher.poll()) != null);
+                    if (overflow) {
+                        Platform.runLater(this::updateVideos);
+                        continue;
+                    }
+                    for (String name : changed) {
+                        File file = new File(dir, name);
+                        if (!file.exists()) {
+                            Platform.runLater(() -> removeVideoFile(file));
+                        } else if (Utils.fileIsVideo(file) && !file.isDirectory()) {
+                            addVideoFile(file);
                         }
-                    });
-                    removeMenu.getItems().add(removeItem);
-                    removeMenu.show(view, t.getScreenX(), t.getScreenY());
+                    }
                 }
-            });
-            view.setOnDragDetected((MouseEvent t) -> {
-                Dragboard db = startDragAndDrop(TransferMode.ANY);
-                ClipboardContent content = new ClipboardContent();
-                content.putString(file.getAbsolutePath());
-                db.setContent(content);
-                t.consume();
-            });
-            viewBox.getChildren().add(view);
-            viewBox.getChildren().add(fileLabel);
-            setupHover(viewBox, file.getName());
-            videoList.getChildren().add(viewBox);
-        });
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                LOGGER.log(Level.INFO, "Video directory watcher stopped");
+            }
+        }, "video-dir-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Stop watching the video directory and close the watch service. Called
+     * when Quelea exits.
+     */
+    public void stopWatcher() {
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't close video directory watcher", ex);
+            }
+            watcher = null;
+        }
     }
 
     private void setupHover(final Node view, String fileName) {
@@ -218,13 +343,4 @@ public class VideoListPanel extends BorderPane {
         }
         return toTrim;
     }
-
-    private Image resize(Image image) {
-        var sImg = SwingFXUtils.fromFXImage(image, null).getScaledInstance(160, 90, 0);
-        BufferedImage bimage = new BufferedImage(sImg.getWidth(null), sImg.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D bGr = bimage.createGraphics();
-        bGr.drawImage(sImg, 0, 0, null);
-        bGr.dispose();
-        return SwingFXUtils.toFXImage(bimage, null);
-    }
 }
@@ -63,7 +63,8 @@ import org.quelea.windows.main.WordDrawer;
 import org.quelea.windows.main.widgets.DisplayPositionSelector;
 import org.quelea.utils.FXFontMetrics;
 import org.quelea.utils.WrapTextResult;
-import org.quelea.windows.video.VidDisplay;
+import org.quelea.windows.video.SharedVideoSource;
+import org.quelea.windows.video.VideoSourceManager;
 
 /**
  * Responsible for drawing lyrics and their background.
@@ -84,7 +85,7 @@ public class LyricDrawer extends WordDrawer {
     private Group oldTextGroup;
     private String[] oldText;
     private boolean newItem;
-    private VidDisplay vidDisplay;
+    private SharedVideoSource videoSource;
 
     public LyricDrawer() {
         text = new String[]{};
@@ -92,8 +93,6 @@ public class LyricDrawer extends WordDrawer {
         textGroup = new Group();
         smallTextGroup = new Group();
         lastClearedState = new HashMap<>();
-        vidDisplay = new VidDisplay();
-        vidDisplay.setLoop(true);
     }
 
     protected void drawText(double defaultFontSize, boolean dumbWrap) {
@@ -113,7 +112,7 @@ public class LyricDrawer extends WordDrawer {
             }
         }
 
-        if (getCanvas().equals(QueleaApp.get().getProjectionWindow().getCanvas())) {
+        if (isProjectionCanvas()) {
             newItem = oldText != null && !Arrays.deepEquals(getText(), oldText) && textGroup != null;
             oldText = getText();
         } else {
@@ -341,7 +340,7 @@ public class LyricDrawer extends WordDrawer {
         } else if (QueleaProperties.get().getUseSlideTransition()
                 && !getCanvas().isBlacked() && !getCanvas().isCleared()
                 && !getCanvas().isShowingLogo()
-                && getCanvas().equals(QueleaApp.get().getProjectionWindow().getCanvas())) {
+                && isProjectionCanvas()) {
             if (oldTextGroup != null) {
                 FadeTransition fadeOut = new FadeTransition(Duration.millis(QueleaProperties.get().getSlideTransitionOutDuration()), oldTextGroup);
                 fadeOut.setFromValue(1.0);
@@ -404,18 +403,21 @@ public class LyricDrawer extends WordDrawer {
             image = Utils.getImageFromColour(color);
         } else if (theme.getBackground() instanceof VideoBackground) {
             var uri = ((VideoBackground) theme.getBackground()).getVideoFile().toURI();
-            if(!Objects.equals(vidDisplay.getUri(), uri)) {
-                vidDisplay.stop();
-                vidDisplay.setURI(uri);
-                vidDisplay.play();
+            if (videoSource == null || !Objects.equals(videoSource.getUri(), uri)) {
+                releaseVideoSource();
+                videoSource = VideoSourceManager.get().acquire(uri, true);
             }
-            newImageView.imageProperty().bind(vidDisplay.imageProperty());
+            newImageView.imageProperty().bind(videoSource.imageProperty());
 
         } else {
             LOGGER.log(Level.SEVERE, "Bug: Unhandled theme background case, trying to use default background: " + theme.getBackground(), new RuntimeException("DEBUG EXCEPTION FOR STACK TRACE"));
             image = Utils.getImageFromColour(ThemeDTO.DEFAULT_BACKGROUND.getColour());
         }
 
+        if (!(theme.getBackground() instanceof VideoBackground)) {
+            releaseVideoSource();
+        }
+
         Node newBackground;
         newImageView.setFitHeight(getCanvas().getHeight());
         newImageView.setFitWidth(getCanvas().getWidth());
@@ -433,6 +435,22 @@ public class LyricDrawer extends WordDrawer {
         getCanvas().setCanvasBackground(newBackground);
     }
 
+    @Override
+    public void dispose() {
+        releaseVideoSource();
+    }
+
+    /**
+     * Let go of the shared video background this drawer was showing, if any,
+     * so the video stops being decoded once no other canvas is using it.
+     */
+    private void releaseVideoSource() {
+        if (videoSource != null) {
+            videoSource.release();
+            videoSource = null;
+        }
+    }
+
     /**
      * Get the theme currently in use on the getCanvas().
      * <p/>
@@ -535,6 +553,18 @@ public class LyricDrawer extends WordDrawer {
         return sections;
     }
 
+    /**
+     * Determine whether this drawer draws onto the main projection window.
+     * There's no projection window when drawing headless, such as in the
+     * rendering benchmarks.
+     *
+     * @return true if the canvas is the projection canvas, false otherwise.
+     */
+    private boolean isProjectionCanvas() {
+        return QueleaApp.get().getProjectionWindow() != null
+                && getCanvas().equals(QueleaApp.get().getProjectionWindow().getCanvas());
+    }
+
     /**
      * Determine the largest font size we can safely use for every section of a
      * text displayable.
@@ -17,8 +17,7 @@
  */
 package org.quelea.windows.lyrics;
 
-import javafx.application.Platform;
-import javafx.beans.value.ObservableValue;
+import javafx.animation.AnimationTimer;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
 import javafx.scene.input.Clipboard;
@@ -26,6 +25,9 @@ import javafx.scene.input.DataFormat;
 import javafx.scene.layout.StackPane;
 import org.fxmisc.flowless.VirtualizedScrollPane;
 import org.fxmisc.richtext.InlineCssTextArea;
+import org.fxmisc.richtext.model.PlainTextChange;
+import org.fxmisc.richtext.model.StyleSpansBuilder;
+import org.fxmisc.richtext.model.TwoDimensional.Bias;
 import org.fxmisc.undo.UndoManagerFactory;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.LineTypeChecker;
@@ -38,6 +40,9 @@ import org.quelea.services.utils.QueleaProperties;
 public class LyricsTextArea extends StackPane {
 
     private InlineCssTextArea textArea;
+    private final AnimationTimer styleTimer;
+    private int dirtyFrom;
+    private int dirtyTo = -1;
 
     public LyricsTextArea() {
         textArea = new InlineCssTextArea();
@@ -55,9 +60,14 @@ public class LyricsTextArea extends StackPane {
 
         contextMenu.getItems().add(paste);
         textArea.setContextMenu(contextMenu);
-        textArea.textProperty().addListener((ObservableValue<? extends String> observable, String oldValue, String newValue) -> {
-            Platform.runLater(this::refreshStyle);
-        });
+        styleTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                applyStyles();
+            }
+        };
+        textArea.plainTextChanges().subscribe(this::markDirty);
 
         textArea.setStyle("-fx-font-family: monospace; -fx-font-size: 10pt;");
         textArea.setUndoManager(UndoManagerFactory.zeroHistorySingleChangeUM(textArea.richChanges()));
@@ -69,45 +79,79 @@ public class LyricsTextArea extends StackPane {
         return textArea;
     }
 
+    /**
+     * Restyle every line straight away, rather than waiting for the next
+     * pulse.
+     */
     public void refreshStyle() {
-        setStyles(textArea.getText());
+        dirtyFrom = 0;
+        dirtyTo = textArea.getLength();
+        styleTimer.stop();
+        applyStyles();
     }
 
-    private String[] oldLines;
+    /**
+     * Widen the range of text that needs restyling to take in a change, and
+     * restyle on the next pulse. Several changes between pulses are merged
+     * into one range, with the part already marked shifted along to follow
+     * the text it covers.
+     */
+    private void markDirty(PlainTextChange change) {
+        int from = change.getPosition();
+        int to = change.getInsertionEnd();
+        if (dirtyTo >= 0) {
+            int shift = change.getInsertionEnd() - change.getRemovalEnd();
+            from = Math.min(from, shiftOffset(dirtyFrom, change, shift));
+            to = Math.max(to, shiftOffset(dirtyTo, change, shift));
+        }
+        dirtyFrom = from;
+        dirtyTo = to;
+        styleTimer.start();
+    }
 
-    private void setStyles(String text) {
-        String[] lines = text.split("\n");
-        int charPos = 0;
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            String oldLine = null;
-            if (oldLines != null && i < oldLines.length) {
-                oldLine = oldLines[i];
-            }
-            if (new LineTypeChecker(line).getLineType() == Type.TITLE) {
-                textArea.clearStyle(charPos, charPos + line.length());
-                if (QueleaProperties.get().getUseDarkTheme()) {
-                    textArea.setStyle(charPos, charPos + line.length(), "-fx-fill: rgb(50,160,255); -fx-font-weight: bold;");
-                } else {
-                    textArea.setStyle(charPos, charPos + line.length(), "-fx-fill: blue; -fx-font-weight: bold;");
-                }
-            } else if (new LineTypeChecker(line).getLineType() == Type.CHORDS) {
-                textArea.clearStyle(charPos, charPos + line.length());
-                if (QueleaProperties.get().getUseDarkTheme()) {
-                    textArea.setStyle(charPos, charPos + line.length(), "-fx-fill: rgb(200,200,200); -fx-font-style: italic;");
-                } else {
-                    textArea.setStyle(charPos, charPos + line.length(), "-fx-fill: grey; -fx-font-style: italic;");
-                }
-            } else if (new LineTypeChecker(line).getLineType() == Type.NONBREAK) {
-                textArea.clearStyle(charPos, charPos + line.length());
-                textArea.setStyle(charPos, charPos + line.length(), "-fx-fill: red; -fx-font-weight: bold;");
-            } else if (new LineTypeChecker(line).getLineType() != new LineTypeChecker(oldLine).getLineType()) {
-                textArea.clearStyle(charPos, charPos + line.length());
-                textArea.setStyle(charPos, charPos + line.length(), "");
+    private static int shiftOffset(int offset, PlainTextChange change, int shift) {
+        if (offset >= change.getRemovalEnd()) {
+            return offset + shift;
+        }
+        return Math.min(offset, change.getPosition());
+    }
+
+    /**
+     * Reclassify every line touched since the last pulse and apply all their
+     * styles in one go.
+     */
+    private void applyStyles() {
+        if (dirtyTo < 0) {
+            return;
+        }
+        int length = textArea.getLength();
+        int firstPar = textArea.offsetToPosition(Math.min(dirtyFrom, length), Bias.Backward).getMajor();
+        int lastPar = textArea.offsetToPosition(Math.min(dirtyTo, length), Bias.Forward).getMajor();
+        dirtyFrom = 0;
+        dirtyTo = -1;
+        boolean dark = QueleaProperties.get().getUseDarkTheme();
+        StyleSpansBuilder<String> spans = new StyleSpansBuilder<>();
+        for (int i = firstPar; i <= lastPar; i++) {
+            String line = textArea.getParagraph(i).getText();
+            spans.add(getStyle(new LineTypeChecker(line).getLineType(), dark), line.length());
+            if (i < lastPar) {
+                spans.add("", 1);
             }
-            charPos += line.length() + 1;
         }
-        oldLines = lines;
+        textArea.setStyleSpans(textArea.getAbsolutePosition(firstPar, 0), spans.create());
+    }
+
+    private static String getStyle(Type type, boolean dark) {
+        switch (type) {
+            case TITLE:
+                return dark ? "-fx-fill: rgb(50,160,255); -fx-font-weight: bold;" : "-fx-fill: blue; -fx-font-weight: bold;";
+            case CHORDS:
+                return dark ? "-fx-fill: rgb(200,200,200); -fx-font-style: italic;" : "-fx-fill: grey; -fx-font-style: italic;";
+            case NONBREAK:
+                return "-fx-fill: red; -fx-font-weight: bold;";
+            default:
+                return "";
+        }
     }
 
 }
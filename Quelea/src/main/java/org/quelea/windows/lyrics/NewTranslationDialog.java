@@ -27,7 +27,6 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -37,6 +36,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 
@@ -93,7 +93,7 @@ public class NewTranslationDialog extends Stage {
         StackPane buttonWrapperPane = new StackPane();
         HBox buttonPane = new HBox(5);
         buttonPane.setAlignment(Pos.CENTER);
-        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(new Image("file:icons/tick.png", 16, 16, true, true)));
+        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png", 16, 16, true, true)));
         okButton.setDisable(true);
         okButton.setDefaultButton(true);
         okButton.setOnAction(new EventHandler<ActionEvent>() {
@@ -105,7 +105,7 @@ public class NewTranslationDialog extends Stage {
             }
         });
         buttonPane.getChildren().add(okButton);
-        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(new Image("file:icons/cross.png", 16, 16, true, true)));
+        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png", 16, 16, true, true)));
         cancelButton.setOnAction(new EventHandler<ActionEvent>() {
 
             @Override
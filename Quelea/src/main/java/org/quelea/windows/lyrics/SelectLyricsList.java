@@ -22,10 +22,10 @@ import javafx.scene.Cursor;
 import javafx.scene.ImageCursor;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import org.quelea.data.displayable.TextSection;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 
 /**
@@ -35,7 +35,7 @@ import org.quelea.services.utils.QueleaProperties;
  */
 public class SelectLyricsList extends ListView<TextSection> {
 
-    private static final Cursor Q_CURSOR = new ImageCursor(new Image("file:icons/edit32.png"), 6, 27);
+    private static final Cursor Q_CURSOR = new ImageCursor(ImageManager.INSTANCE.getImage("file:icons/edit32.png"), 6, 27);
     private boolean oneLineMode;
     private boolean showQuickEdit;
     private int quickEditIndex;
@@ -24,12 +24,14 @@ import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TextSection;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.AbstractPanel;
 import org.quelea.windows.main.DisplayCanvas;
 import org.quelea.windows.main.DisplayCanvas.Priority;
 import org.quelea.windows.main.DisplayableDrawer;
+import org.quelea.windows.main.LivePanel;
 import org.quelea.windows.main.LivePreviewPanel;
 import org.quelea.windows.main.MainPanel;
 import org.quelea.windows.main.QueleaApp;
@@ -53,6 +55,7 @@ public class SelectLyricsPanel extends AbstractPanel {
     private final SplitPane splitPane;
     private final LyricDrawer lyricDrawer;
     private final StageDrawer stageDrawer;
+    private final String changeMetric;
 
     /**
      * Create a new lyrics panel.
@@ -63,6 +66,7 @@ public class SelectLyricsPanel extends AbstractPanel {
     public SelectLyricsPanel(LivePreviewPanel containerPanel) {
         lyricDrawer = new LyricDrawer();
         stageDrawer = new StageDrawer();
+        changeMetric = containerPanel instanceof LivePanel ? "slide.change.live" : "slide.change.preview";
         splitPane = new SplitPane();
         splitPane.setOrientation(Orientation.VERTICAL);
         lyricsList = new SelectLyricsList();
@@ -229,6 +233,7 @@ public class SelectLyricsPanel extends AbstractPanel {
      */
     @Override
     public void updateCanvas() {
+        Metrics.Timer timer = Metrics.get().start(changeMetric);
         int selectedIndex = lyricsList.selectionModelProperty().get().getSelectedIndex();
         for (DisplayCanvas canvas : getCanvases()) {
             WordDrawer drawer;
@@ -251,6 +256,7 @@ public class SelectLyricsPanel extends AbstractPanel {
             drawer.setCapitaliseFirst(currentSection.shouldCapitaliseFirst());
             drawer.setText((TextDisplayable) getCurrentDisplayable(), selectedIndex);
         }
+        Metrics.get().stopAfterPulse(timer, getScene());
     }
 
     @Override
@@ -36,7 +36,6 @@ import javafx.scene.control.SplitPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
@@ -45,6 +44,7 @@ import javafx.scene.text.Text;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.Cancellable;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LanguageNameMap;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LoggerUtils;
@@ -78,7 +78,7 @@ public class TranslatePanel extends BorderPane implements Cancellable {
         StackPane translationPane = new StackPane();
         tabPane = new TabPane();
         translationPane.getChildren().add(tabPane);
-        addTranslationButton = new Button("", new ImageView(new Image("file:icons/newstar.png", 16, 16, false, true)));
+        addTranslationButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/newstar.png", 16, 16, false, true)));
         Utils.setToolbarButtonStyle(addTranslationButton);
         addTranslationButton.setOnAction(new EventHandler<ActionEvent>() {
 
@@ -17,7 +17,6 @@
  */
 package org.quelea.windows.main;
 
-import java.util.Comparator;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -35,15 +34,8 @@ import org.quelea.services.utils.Utils;
  */
 public abstract class AbstractPanel extends BorderPane implements ContainedPanel {
 
-    private static class PriorityComparator implements Comparator<DisplayCanvas> {
-
-        @Override
-        public int compare(DisplayCanvas o1, DisplayCanvas o2) {
-            return o2.getDrawingPriority().getPriority() - o1.getDrawingPriority().getPriority();
-        }
-    }
     private static final Logger LOGGER = LoggerUtils.getLogger();
-    private SortedSet<DisplayCanvas> canvases = new TreeSet<>(new PriorityComparator());
+    private SortedSet<DisplayCanvas> canvases = new TreeSet<>(DisplayCanvas.DRAW_ORDER);
     private Displayable currentDisplayable = null;
 
     public void setCurrentDisplayable(Displayable currentDisplayable) {
@@ -17,6 +17,7 @@
  */
 package org.quelea.windows.main;
 
+import java.util.Comparator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -59,6 +60,15 @@ public class DisplayCanvas extends StackPane {
     private final Node noticeOverlay;
     private final CanvasUpdater updater;
     private Priority drawingPriority;
+    private final long sequence;
+    private static long nextSequence;
+    /**
+     * The order canvases should be drawn in: highest priority first, and in
+     * the order they were created within a priority.
+     */
+    static final Comparator<DisplayCanvas> DRAW_ORDER = Comparator
+            .comparingInt((DisplayCanvas canvas) -> canvas.getDrawingPriority().getPriority())
+            .thenComparingLong(canvas -> canvas.sequence);
 
     public enum Type {
 
@@ -97,12 +107,20 @@ public class DisplayCanvas extends StackPane {
         setStyle("-fx-background-color: rgba(0, 0, 0, 0);");
         this.stageView = stageView;
         this.drawingPriority = drawingPriority;
+        synchronized (DisplayCanvas.class) {
+            this.sequence = nextSequence++;
+        }
         setMinHeight(0);
         setMinWidth(0);
         background = getNewImageView();
         this.updater = updater;
         heightProperty().addListener((ov, t, t1) -> updateCanvas(updater));
         widthProperty().addListener((ov, t, t1) -> updateCanvas(updater));
+        sceneProperty().addListener((ov, oldScene, newScene) -> {
+            if (newScene == null) {
+                RedrawScheduler.get().cancel(this);
+            }
+        });
         getChildren().add(background);
 
         black.setFill(Color.BLACK);
@@ -198,11 +216,36 @@ public class DisplayCanvas extends StackPane {
     }
 
     private void updateCanvas(final CanvasUpdater updater) {
-        Platform.runLater(() -> {
-            if (isVisibleInScene() && updater != null) {
-                updater.updateCallback();
-            }
-        });
+        if (updater != null) {
+            RedrawScheduler.get().schedule(this);
+        }
+    }
+
+    /**
+     * Redraw this canvas now. Called by the {@link RedrawScheduler}.
+     */
+    void redraw() {
+        if (updater != null) {
+            updater.updateCallback();
+        }
+    }
+
+    /**
+     * Determine whether this canvas is currently showing - it's in a window
+     * that's showing, has a size, and neither it nor any of its parents are
+     * hidden.
+     * <p/>
+     *
+     * @return true if the canvas is showing, false otherwise.
+     */
+    boolean isShowing() {
+        if (getScene() == null || getScene().getWindow() == null || !getScene().getWindow().isShowing()) {
+            return false;
+        }
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+        return isVisibleInScene();
     }
 
     private boolean isVisibleInScene() {
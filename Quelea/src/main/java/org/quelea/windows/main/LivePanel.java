@@ -17,24 +17,17 @@
  */
 package org.quelea.windows.main;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.HashSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.event.EventHandler;
-import javafx.scene.SnapshotParameters;
+import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
@@ -42,7 +35,6 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
-import javafx.scene.paint.Color;
 import javafx.scene.web.WebView;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
@@ -57,12 +49,15 @@ import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.data.displayable.WebDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.actionhandlers.AddBibleVerseHandler;
 import org.quelea.windows.presentation.PowerPointHandler;
+import org.quelea.windows.web.WebMirror;
 
 /**
  * The panel displaying the live lyrics selection - changes made on this panel
@@ -84,8 +79,7 @@ public class LivePanel extends LivePreviewPanel {
 
     private final ToolBar header;
     private Displayable oldD;
-    private WritableImage webPreviewImage;
-    private ScheduledExecutorService updateWebPreview;
+    private final WebMirror webMirror;
     private Dialog focusDialog;
 
     /**
@@ -96,11 +90,12 @@ public class LivePanel extends LivePreviewPanel {
         getPdfPanel().setLive();
         getVideoPanel().setLive();
         getImageGroupPanel().setLive();
+        webMirror = new WebMirror(getWebPanel().getImagePreview());
         header = new ToolBar();
         Label headerLabel = new Label(LabelGrabber.INSTANCE.getLabel("live.heading"));
         headerLabel.setStyle("-fx-font-weight: bold;");
         header.getItems().add(headerLabel);
-        ImageView liveIcon = new ImageView(new Image("file:icons/recordingssettingsicon.png"));
+        ImageView liveIcon = new ImageView(ImageManager.INSTANCE.getImage("file:icons/recordingssettingsicon.png"));
         liveIcon.setFitHeight(10);
         liveIcon.setFitWidth(10);
         header.getItems().add(liveIcon);
@@ -148,9 +143,9 @@ public class LivePanel extends LivePreviewPanel {
         header.getItems().add(spacer);
         ImageView logoIV;
         if (Utils.isMac()) {
-            logoIV = new ImageView(new Image("file:icons/logo48.png"));
+            logoIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/logo48.png"));
         } else {
-            logoIV = new ImageView(new Image("file:icons/logo16.png"));
+            logoIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/logo16.png"));
         }
         logoIV.setFitHeight(16);
         logoIV.setFitWidth(16);
@@ -190,7 +185,7 @@ public class LivePanel extends LivePreviewPanel {
             }
         });
         header.getItems().add(logo);
-        black = new ToggleButton("", new ImageView(new Image("file:icons/black.png")));
+        black = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/black.png")));
         black.setToggleGroup(group);
         Utils.setToolbarButtonStyle(black);
         black.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("black.screen.tooltip") + " (F6)"));
@@ -211,7 +206,7 @@ public class LivePanel extends LivePreviewPanel {
             QueleaApp.get().getMainWindow().getMainPanel().getLivePanel().getLyricsPanel().requestFocus();
         });
         header.getItems().add(black);
-        ImageView clearIV = new ImageView(new Image("file:icons/clear.png"));
+        ImageView clearIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/clear.png"));
         clearIV.setFitWidth(16);
         clearIV.setFitHeight(16);
         clear = new ToggleButton("", clearIV);
@@ -231,7 +226,7 @@ public class LivePanel extends LivePreviewPanel {
             QueleaApp.get().getMainWindow().getMainPanel().getLivePanel().getLyricsPanel().requestFocus();
         });
         header.getItems().add(clear);
-        ImageView hideIV = new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/cross-light.png" : "file:icons/cross.png"));
+        ImageView hideIV = new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/cross-light.png" : "file:icons/cross.png"));
         hideIV.setFitWidth(16);
         hideIV.setFitHeight(16);
         hide = new ToggleButton("", hideIV);
@@ -436,6 +431,7 @@ public class LivePanel extends LivePreviewPanel {
      */
     @Override
     public void setDisplayable(Displayable d, int index) {
+        Metrics.Timer timer = Metrics.get().start("live.set");
         super.setDisplayable(d, index);
         loop.setSelected(false);
         if (d instanceof PresentationDisplayable || d instanceof PdfDisplayable || d instanceof ImageGroupDisplayable) {
@@ -465,18 +461,13 @@ public class LivePanel extends LivePreviewPanel {
                 clear.setSelected(false);
             }
         }
-        if (d instanceof WebDisplayable) {
-            updateWebPreview = Executors.newSingleThreadScheduledExecutor();
-            updateWebPreview.scheduleAtFixedRate(() -> Platform.runLater(() -> {
-                if (d != null && d instanceof WebDisplayable) {
-                    getWebPanel().setLoading();
-                    getWebPanel().getImagePreview().setImage(geWebPreviewImage());
-                }
-            }), 0, QueleaProperties.get().getWebDisplayableRefreshRate(), TimeUnit.MILLISECONDS);
-        }
         if (oldD instanceof WebDisplayable) {
             ((WebDisplayable) oldD).dispose();
-            updateWebPreview.shutdown();
+            webMirror.stop();
+        }
+        if (d instanceof WebDisplayable) {
+            webMirror.start(this::getWebMirrorSource, QueleaProperties.get().getWebDisplayableRefreshRate());
+            webMirror.watch(((WebDisplayable) d).getWebView());
         }
         HashSet<DisplayCanvas> canvases = new HashSet<>();
         canvases.addAll(getCanvases());
@@ -495,6 +486,7 @@ public class LivePanel extends LivePreviewPanel {
             }
         }
         oldD = d;
+        Metrics.get().stopAfterPulse(timer, getScene());
     }
 
     /**
@@ -616,35 +608,40 @@ public class LivePanel extends LivePreviewPanel {
     }
 
     /**
-     * Get a preview image of the web view or move it to the main panel if it's
-     * not visible.
+     * Get the node the web preview should mirror, or move the web view to the
+     * main panel if it's not visible.
      *
-     * @return a screenshot image of the web view
+     * @return the projection canvas to mirror, or null if the web view is
+     * being shown on the panel directly.
      */
-    private Image geWebPreviewImage() {
+    private Node getWebMirrorSource() {
+        if (!(getDisplayable() instanceof WebDisplayable)) {
+            return null;
+        }
+        getWebPanel().setLoading();
         DisplayCanvas canvas = QueleaApp.get().getProjectionWindow().getCanvas();
         if (QueleaApp.get().getProjectionWindow().isShowing() && isContentShowing()) {
-            Double d = canvas.getBoundsInLocal().getHeight();
-            int h = d.intValue();
-            Double d2 = canvas.getBoundsInLocal().getWidth();
-            int w = d2.intValue();
-            webPreviewImage = new WritableImage(w, h);
-            SnapshotParameters params = new SnapshotParameters();
-            params.setFill(Color.TRANSPARENT);
-            canvas.snapshot(params, webPreviewImage);
-            BufferedImage bi = SwingFXUtils.fromFXImage((WritableImage) webPreviewImage, null);
-            SwingFXUtils.toFXImage(bi, webPreviewImage);
             WebView wv = getWebPanel().removeWebView();
             if (wv != null && !canvas.getChildren().contains(wv)) {
                 canvas.getChildren().add(wv);
             }
-            return webPreviewImage;
+            return canvas;
         } else {
             getWebPanel().addWebView((WebDisplayable) getDisplayable());
-            return new Image("file:icons/web preview.png");
+            getWebPanel().getImagePreview().setImage(ImageManager.INSTANCE.getImage("file:icons/web preview.png"));
+            return null;
         }
     }
 
+    /**
+     * Get the mirror that shows live web items in this panel.
+     *
+     * @return the web mirror.
+     */
+    public WebMirror getWebMirror() {
+        return webMirror;
+    }
+
     /**
      * Start native PowerPoint service.
      *
@@ -41,6 +41,7 @@ import org.quelea.services.utils.UpdateChecker;
 import org.quelea.services.utils.UserFileChecker;
 import org.quelea.services.utils.Utils;
 import org.quelea.utils.DesktopApi;
+import org.quelea.windows.output.OutputTap;
 import org.quelea.windows.splash.SplashStage;
 
 import javax.imageio.ImageIO;
@@ -48,9 +49,12 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,6 +65,10 @@ import java.util.logging.Logger;
  */
 public final class Main extends Application {
 
+    /**
+     * Pass this on the command line to print the start-up timing report.
+     */
+    public static final String STARTUP_PROFILE_FLAG = "--startup-profile";
     private static Logger LOGGER;
     private MainWindow mainWindow;
     private DisplayStage fullScreenWindow;
@@ -98,239 +106,297 @@ public final class Main extends Application {
         } catch (Exception ex) {
             LOGGER.log(Level.INFO, "Couldn't set icon, probably an unsupported platform and nothing to worry about: {0}", ex.getMessage());
         }
-        ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
-
-        new Thread(() -> {
-            try {
-                boolean gok;
-
-                if(QueleaProperties.get().getDisableVideo()) {
+        final List<String> cmdParams = getParameters().getRaw();
+        final boolean startupProfile = cmdParams.contains(STARTUP_PROFILE_FLAG);
+
+        final ObservableList<Screen> monitors = Screen.getScreens();
+        LOGGER.log(Level.INFO, "Number of displays: {0}", monitors.size());
+
+        final int projectorScreen = QueleaProperties.get().getProjectorScreen();
+        final int stageScreen = QueleaProperties.get().getStageScreen();
+        final int monitorNumber = monitors.size();
+
+        final boolean lyricsHidden = !QueleaProperties.get().isProjectorModeCoords() && (projectorScreen >= monitorNumber || projectorScreen < 0);
+        final boolean stageHidden = !QueleaProperties.get().isStageModeCoords() && (stageScreen >= monitorNumber || stageScreen < 0);
+
+        /*
+         * Start-up is split into stages with explicit dependencies so that
+         * independent work (GStreamer, fonts, the database, servers) runs
+         * concurrently and the main window appears as soon as the things it
+         * actually needs are ready.
+         */
+        StartupPipeline pipeline = new StartupPipeline();
+
+        pipeline.add("gstreamer", () -> {
+            boolean gok;
+            if (QueleaProperties.get().getDisableVideo()) {
+                gok = false;
+            } else {
+                GStreamerUtils.configurePaths();
+                try {
+                    Gst.init(Version.BASELINE, "Quelea");
+                    GStreamerUtils.setFeaturePriorities();
+                    gok = true;
+                } catch (UnsatisfiedLinkError err) {
+                    LOGGER.log(Level.WARNING, "No GStreamer", err);
                     gok = false;
                 }
-                else {
-                    GStreamerUtils.configurePaths();
-                    try {
-                        Gst.init(Version.BASELINE, "Quelea");
-                        GStreamerUtils.setFeaturePriorities();
-                        gok = true;
-                    } catch (UnsatisfiedLinkError err) {
-                        LOGGER.log(Level.WARNING, "No GStreamer", err);
-                        gok = false;
-                    }
-                }
-                GStreamerInitState.INIT_SUCCESS = gok;
-                final boolean gstreamerOk = gok;
-
-                new FontInstaller().setupBundledFonts();
-                new UserFileChecker(QueleaProperties.get().getQueleaUserHome()).checkUserFiles();
-
-                final ObservableList<Screen> monitors = Screen.getScreens();
-                LOGGER.log(Level.INFO, "Number of displays: {0}", monitors.size());
-
-                final int projectorScreen = QueleaProperties.get().getProjectorScreen();
-                final int stageScreen = QueleaProperties.get().getStageScreen();
-                final int monitorNumber = monitors.size();
-
-                final boolean lyricsHidden = !QueleaProperties.get().isProjectorModeCoords() && (projectorScreen >= monitorNumber || projectorScreen < 0);
-                final boolean stageHidden = !QueleaProperties.get().isStageModeCoords() && (stageScreen >= monitorNumber || stageScreen < 0);
-
-                if (QueleaProperties.get().getUseMobLyrics()) {
-                    LOGGER.log(Level.INFO, "Starting lyric server on {0}", QueleaProperties.get().getMobLyricsPort());
-                    try {
-                        MobileLyricsServer mls = new MobileLyricsServer(QueleaProperties.get().getMobLyricsPort());
-                        mls.start();
-                        QueleaApp.get().setMobileLyricsServer(mls);
-                    } catch (IOException ex) {
-                        LOGGER.log(Level.INFO, "Couldn't create lyric server", ex);
-                    }
-                } else {
-                    LOGGER.log(Level.INFO, "Mobile lyrics disabled");
-                }
-
-                if (QueleaProperties.get().getUseRemoteControl()) {
-                    LOGGER.log(Level.INFO, "Starting remote control server on {0}", QueleaProperties.get().getRemoteControlPort());
-                    try {
-                        RemoteControlServer rcs = new RemoteControlServer(QueleaProperties.get().getRemoteControlPort());
-                        rcs.start();
-                        QueleaApp.get().setRemoteControlServer(rcs);
-                    } catch (IOException ex) {
-                        LOGGER.log(Level.INFO, "Couldn't create remote control server", ex);
-                    }
-                } else {
-                    LOGGER.log(Level.INFO, "Remote control disabled");
-                }
+            }
+            GStreamerInitState.INIT_SUCCESS = gok;
+        });
 
-                if (QueleaProperties.get().getUseMobLyrics() || QueleaProperties.get().getUseRemoteControl()) {
-                    LOGGER.log(Level.INFO, "Starting auto-detection server on {0}", QueleaProperties.get().getAutoDetectPort());
-                    try {
-                        AutoDetectServer ads = new AutoDetectServer(QueleaProperties.get().getAutoDetectPort());
-                        ads.start();
-                        QueleaApp.get().setAutoDetectServer(ads);
-                    } catch (IOException ex) {
-                        LOGGER.log(Level.INFO, "Couldn't create auto-detect server", ex);
-                    }
-                } else {
-                    LOGGER.log(Level.INFO, "Auto-detect servers disabled");
-                }
+        pipeline.add("fonts", () -> new FontInstaller().setupBundledFonts());
 
-                if (QueleaProperties.get().getWebProxyHost() != null && QueleaProperties.get().getWebProxyPort() != null && QueleaProperties.get().getWebProxyUser() != null && QueleaProperties.get().getWebProxyPassword() != null) {
-                    System.setProperty("http.proxyHost", QueleaProperties.get().getWebProxyHost());
-                    System.setProperty("http.proxyPort", QueleaProperties.get().getWebProxyPort());
-                    System.setProperty("http.proxyUser", QueleaProperties.get().getWebProxyUser());
-                    System.setProperty("http.proxyPassword", QueleaProperties.get().getWebProxyPassword());
-                }
-                if (lyricsHidden) {
-                    LOGGER.log(Level.INFO, "Hiding projector display on monitor 0 (base 0!)");
-                    Platform.runLater(() -> {
-                        fullScreenWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(0).getVisualBounds()), false);
-                        fullScreenWindow.hide();
-                    });
-                } else if (QueleaProperties.get().isProjectorModeCoords()) {
-                    LOGGER.log(Level.INFO, "Starting projector display: ", QueleaProperties.get().getProjectorCoords());
-                    Platform.runLater(() -> {
-                        fullScreenWindow = new DisplayStage(QueleaProperties.get().getProjectorCoords(), false);
-                    });
-                } else {
-                    LOGGER.log(Level.INFO, "Starting projector display on monitor {0} (base 0!)", projectorScreen);
-                    Platform.runLater(() -> {
-                        fullScreenWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(projectorScreen).getBounds()), false);
-                        fullScreenWindow.setFullScreenAlwaysOnTop(true);
-                    });
-                }
+        pipeline.add("userfiles", () -> new UserFileChecker(QueleaProperties.get().getQueleaUserHome()).checkUserFiles());
 
-                Platform.runLater(() -> {
-                    QueleaApp.get().setProjectionWindow(fullScreenWindow);
-                });
+        pipeline.add("servers", this::startServers);
 
-                if (stageHidden) {
-                    LOGGER.log(Level.INFO, "Hiding stage display on monitor 0 (base 0!)");
-                    Platform.runLater(() -> {
-                        stageWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(0).getVisualBounds()), true);
-                        stageWindow.hide();
-                    });
-                } else if (QueleaProperties.get().isStageModeCoords()) {
-                    Platform.runLater(() -> {
-                        LOGGER.log(Level.INFO, "Starting stage display: ", QueleaProperties.get().getStageCoords());
-                        stageWindow = new DisplayStage(QueleaProperties.get().getStageCoords(), true);
-                    });
-                } else {
-                    Platform.runLater(() -> {
-                        LOGGER.log(Level.INFO, "Starting stage display on monitor {0} (base 0!)", stageScreen);
-                        stageWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(stageScreen).getVisualBounds()), true);
-                    });
-                }
+        pipeline.add("office", OOUtils::attemptInit);
 
+        pipeline.add("database", () -> {
+            if (SongManager.get(true) == null) {
                 Platform.runLater(() -> {
-                    QueleaApp.get().setStageWindow(stageWindow);
+                    Dialog.showAndWaitError(LabelGrabber.INSTANCE.getLabel("already.running.title"), LabelGrabber.INSTANCE.getLabel("already.running.error"));
+                    System.exit(1);
                 });
+                throw new CancellationException("Song database already in use");
+            }
+        }, "userfiles");
 
-                backgroundExecutor.submit(() -> {
-                    LOGGER.log(Level.INFO, "Loading bibles");
-                    BibleManager.get();
-                    LOGGER.log(Level.INFO, "Loading bibles done");
-                });
+        pipeline.add("songs", () -> {
+            LOGGER.log(Level.INFO, "Loading songs and building index");
+            try {
+                SongManager.get(true).getSongs();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't preload songs", ex);
+            }
+        }, "database");
 
-                if (SongManager.get(true) == null) {
-                    Platform.runLater(() -> {
-                        Dialog.showAndWaitError(LabelGrabber.INSTANCE.getLabel("already.running.title"), LabelGrabber.INSTANCE.getLabel("already.running.error"));
-                        System.exit(1);
-                    });
+        pipeline.add("bibles", () -> {
+            LOGGER.log(Level.INFO, "Loading bibles");
+            try {
+                BibleManager.get();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't load bibles", ex);
+            }
+            LOGGER.log(Level.INFO, "Loading bibles done");
+        }, "userfiles");
+
+        pipeline.addFX("displays", () -> {
+            if (lyricsHidden) {
+                LOGGER.log(Level.INFO, "Hiding projector display on monitor 0 (base 0!)");
+                fullScreenWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(0).getVisualBounds()), false);
+                fullScreenWindow.hide();
+            } else if (QueleaProperties.get().isProjectorModeCoords()) {
+                LOGGER.log(Level.INFO, "Starting projector display: ", QueleaProperties.get().getProjectorCoords());
+                fullScreenWindow = new DisplayStage(QueleaProperties.get().getProjectorCoords(), false);
+            } else {
+                LOGGER.log(Level.INFO, "Starting projector display on monitor {0} (base 0!)", projectorScreen);
+                fullScreenWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(projectorScreen).getBounds()), false);
+                fullScreenWindow.setFullScreenAlwaysOnTop(true);
+            }
+            QueleaApp.get().setProjectionWindow(fullScreenWindow);
+
+            if (stageHidden) {
+                LOGGER.log(Level.INFO, "Hiding stage display on monitor 0 (base 0!)");
+                stageWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(0).getVisualBounds()), true);
+                stageWindow.hide();
+            } else if (QueleaProperties.get().isStageModeCoords()) {
+                LOGGER.log(Level.INFO, "Starting stage display: ", QueleaProperties.get().getStageCoords());
+                stageWindow = new DisplayStage(QueleaProperties.get().getStageCoords(), true);
+            } else {
+                LOGGER.log(Level.INFO, "Starting stage display on monitor {0} (base 0!)", stageScreen);
+                stageWindow = new DisplayStage(Utils.getBoundsFromRect2D(monitors.get(stageScreen).getVisualBounds()), true);
+            }
+            QueleaApp.get().setStageWindow(stageWindow);
+        }, "gstreamer", "fonts");
+
+        pipeline.addFX("mainwindow", () -> {
+            mainWindow = new MainWindow(true, GStreamerInitState.INIT_SUCCESS);
+        }, "gstreamer", "fonts", "database", "displays");
+
+        pipeline.addFX("canvases", () -> {
+            LOGGER.log(Level.INFO, "Registering canvases");
+            mainWindow.getMainPanel().getLivePanel().registerDisplayCanvas(fullScreenWindow.getCanvas());
+            mainWindow.getMainPanel().getLivePanel().registerDisplayWindow(fullScreenWindow);
+            mainWindow.getNoticeDialog().registerCanvas(fullScreenWindow.getCanvas());
+            if (lyricsHidden) {
+                fullScreenWindow.hide();
+            } else {
+                fullScreenWindow.show();
+            }
+            mainWindow.getMainPanel().getLivePanel().registerDisplayCanvas(stageWindow.getCanvas());
+            mainWindow.getMainPanel().getLivePanel().registerDisplayWindow(stageWindow);
+            if (stageHidden) {
+                stageWindow.hide();
+            } else {
+                stageWindow.show();
+            }
+            if (QueleaProperties.get().getUseOutputTap()) {
+                startOutputTap(fullScreenWindow);
+            }
+            LOGGER.log(Level.INFO, "Adding shortcuts.");
+            new ShortcutManager().addShortcuts(mainWindow);
+        }, "mainwindow");
+
+        pipeline.addFX("show", () -> {
+            splashWindow.hide();
+            mainWindow.getMainPanel().setSliderPos();
+            if (!Utils.isLinux()) {
+                mainWindow.show();
+            }
+            showMonitorWarning(monitorNumber);
+            if (!GStreamerInitState.INIT_SUCCESS && !QueleaProperties.get().getDisableVideo()) {
+                QueleaProperties.get().setConvertRecordings(false);
+                String message = LabelGrabber.INSTANCE.getLabel("gstreamer.warning.message");
+                Dialog.Builder gstreamerWarningDialogBuilder = new Dialog.Builder()
+                        .create()
+                        .setTitle(LabelGrabber.INSTANCE.getLabel("gstreamer.warning.title"))
+                        .setMessage(message)
+                        .addLabelledButton(LabelGrabber.INSTANCE.getLabel("continue.without.gstreamer"), (t) -> {
+                            gstreamerWarningDialog.hide();
+                        });
+                gstreamerWarningDialogBuilder.addLabelledButton(LabelGrabber.INSTANCE.getLabel("download.gstreamer"), (t) -> {
+                    String url = "https://gstreamer.freedesktop.org/download/";
+                    DesktopApi.browse(url);
+                    gstreamerWarningDialog.hide();
+                });
+                gstreamerWarningDialog = gstreamerWarningDialogBuilder.setWarningIcon().build();
+                gstreamerWarningDialog.showAndWait();
+            }
+            mainWindow.show();
+            LOGGER.log(Level.INFO, "Loaded everything.");
+            QueleaApp.get().doneLoading();
+        }, "canvases", "servers");
+
+        // Schedules can hold presentations, so wait for office as well as the window
+        pipeline.add("schedule", () -> openScheduleFromArguments(cmdParams), "show", "office");
+
+        pipeline.add("updates", () -> new UpdateChecker().checkUpdate(false, false, false), "show");
+
+        pipeline.whenDone().whenComplete((result, ex) -> {
+            pipeline.shutdown();
+            String report = pipeline.getReport();
+            LOGGER.log(Level.INFO, report);
+            if (startupProfile) {
+                System.out.println(report);
+                File profileFile = new File(QueleaProperties.get().getQueleaUserHome(), "startup-profile.txt");
+                try {
+                    Files.write(profileFile.toPath(), report.getBytes(StandardCharsets.UTF_8));
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.WARNING, "Couldn't write start-up profile", ioe);
                 }
-                OOUtils.attemptInit();
+            }
+            Throwable cause = ex;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause != null && !(cause instanceof CancellationException)) {
+                LOGGER.log(Level.SEVERE, "Uncaught exception during application start-up", cause);
                 Platform.runLater(() -> {
-                    mainWindow = new MainWindow(true, gstreamerOk);
+                    Dialog.showAndWaitError(LabelGrabber.INSTANCE.getLabel("startup.error.title"), LabelGrabber.INSTANCE.getLabel("startup.error.text").replace("$1", Utils.getDebugLog().getAbsolutePath()));
+                    System.exit(1);
                 });
+            }
+        });
+    }
 
-                backgroundExecutor.submit(() -> {
-                    new UpdateChecker().checkUpdate(false, false, false); //Check updates
-                });
+    /**
+     * Start tapping the projection output for streaming and recording.
+     *
+     * @param projectionWindow the projection window to tap.
+     */
+    private void startOutputTap(DisplayStage projectionWindow) {
+        QueleaProperties props = QueleaProperties.get();
+        String rawPath = props.getOutputTapRawPath();
+        OutputTap tap = new OutputTap(projectionWindow.getCanvas(), props.getOutputTapWidth(), props.getOutputTapHeight(),
+                props.getOutputTapFps(), (float) props.getOutputTapJpegQuality(), rawPath.isEmpty() ? null : Paths.get(rawPath));
+        tap.start();
+        QueleaApp.get().setOutputTap(tap);
+    }
 
-                LOGGER.log(Level.INFO, "Registering canvases");
-                Platform.runLater(() -> {
-                    mainWindow.getMainPanel().getLivePanel().registerDisplayCanvas(fullScreenWindow.getCanvas());
-                    mainWindow.getMainPanel().getLivePanel().registerDisplayWindow(fullScreenWindow);
-                    mainWindow.getNoticeDialog().registerCanvas(fullScreenWindow.getCanvas());
-                    if (lyricsHidden) {
-                        fullScreenWindow.hide();
-                    } else {
-                        fullScreenWindow.show();
-                    }
-                    mainWindow.getMainPanel().getLivePanel().registerDisplayCanvas(stageWindow.getCanvas());
-                    mainWindow.getMainPanel().getLivePanel().registerDisplayWindow(stageWindow);
-                    if (stageHidden) {
-                        stageWindow.hide();
-                    } else {
-                        stageWindow.show();
-                    }
-                });
+    /**
+     * Start the mobile lyrics, remote control and auto-detect servers if
+     * they're enabled, and set up the web proxy.
+     */
+    private void startServers() {
+        if (QueleaProperties.get().getUseMobLyrics()) {
+            LOGGER.log(Level.INFO, "Starting lyric server on {0}", QueleaProperties.get().getMobLyricsPort());
+            try {
+                MobileLyricsServer mls = new MobileLyricsServer(QueleaProperties.get().getMobLyricsPort());
+                mls.start();
+                QueleaApp.get().setMobileLyricsServer(mls);
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, "Couldn't create lyric server", ex);
+            }
+        } else {
+            LOGGER.log(Level.INFO, "Mobile lyrics disabled");
+        }
 
-                LOGGER.log(Level.INFO, "Adding shortcuts.");
-                Platform.runLater(() -> {
-                    new ShortcutManager().addShortcuts(mainWindow);
-                });
-                LOGGER.log(Level.INFO, "Loaded everything.");
+        if (QueleaProperties.get().getUseRemoteControl()) {
+            LOGGER.log(Level.INFO, "Starting remote control server on {0}", QueleaProperties.get().getRemoteControlPort());
+            try {
+                RemoteControlServer rcs = new RemoteControlServer(QueleaProperties.get().getRemoteControlPort());
+                rcs.start();
+                QueleaApp.get().setRemoteControlServer(rcs);
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, "Couldn't create remote control server", ex);
+            }
+        } else {
+            LOGGER.log(Level.INFO, "Remote control disabled");
+        }
 
-                List<String> cmdParams = getParameters().getRaw();
-                if (!cmdParams.isEmpty()) {
-                    String schedulePath = cmdParams.get(cmdParams.size() - 1);
-                    if (!schedulePath.contains("--userhome=") && !schedulePath.contains("-psn_")) {
-                        LOGGER.log(Level.INFO, "Opening schedule through argument: {0}", schedulePath);
-                        Platform.runLater(() -> {
-                            QueleaApp.get().openSchedule(new File(schedulePath));
-                        });
-                    }
-                }
+        if (QueleaProperties.get().getUseMobLyrics() || QueleaProperties.get().getUseRemoteControl()) {
+            LOGGER.log(Level.INFO, "Starting auto-detection server on {0}", QueleaProperties.get().getAutoDetectPort());
+            try {
+                AutoDetectServer ads = new AutoDetectServer(QueleaProperties.get().getAutoDetectPort());
+                ads.start();
+                QueleaApp.get().setAutoDetectServer(ads);
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, "Couldn't create auto-detect server", ex);
+            }
+        } else {
+            LOGGER.log(Level.INFO, "Auto-detect servers disabled");
+        }
 
-                if (Desktop.isDesktopSupported()) {
-                    Desktop desktop = Desktop.getDesktop();
-                    if (desktop.isSupported(Desktop.Action.APP_OPEN_FILE)) {
-                        desktop.setOpenFileHandler((e) -> {
-                            List<File> files = e.getFiles();
-                            if (files != null && files.size() > 0) {
-                                Platform.runLater(() -> {
-                                    QueleaApp.get().openSchedule(files.get(0));
-                                });
-                            }
-                        });
-                    }
-                }
+        if (QueleaProperties.get().getWebProxyHost() != null && QueleaProperties.get().getWebProxyPort() != null && QueleaProperties.get().getWebProxyUser() != null && QueleaProperties.get().getWebProxyPassword() != null) {
+            System.setProperty("http.proxyHost", QueleaProperties.get().getWebProxyHost());
+            System.setProperty("http.proxyPort", QueleaProperties.get().getWebProxyPort());
+            System.setProperty("http.proxyUser", QueleaProperties.get().getWebProxyUser());
+            System.setProperty("http.proxyPassword", QueleaProperties.get().getWebProxyPassword());
+        }
+    }
 
-                Platform.runLater(() -> {
-                    splashWindow.hide();
-                    mainWindow.getMainPanel().setSliderPos();
-                    if (!Utils.isLinux()) {
-                        mainWindow.show();
-                    }
-                    showMonitorWarning(monitorNumber);
-                    if (!gstreamerOk && !QueleaProperties.get().getDisableVideo()) {
-                        QueleaProperties.get().setConvertRecordings(false);
-                        String message = LabelGrabber.INSTANCE.getLabel("gstreamer.warning.message");
-                        Dialog.Builder gstreamerWarningDialogBuilder = new Dialog.Builder()
-                                .create()
-                                .setTitle(LabelGrabber.INSTANCE.getLabel("gstreamer.warning.title"))
-                                .setMessage(message)
-                                .addLabelledButton(LabelGrabber.INSTANCE.getLabel("continue.without.gstreamer"), (t) -> {
-                                    gstreamerWarningDialog.hide();
-                                });
-                        gstreamerWarningDialogBuilder.addLabelledButton(LabelGrabber.INSTANCE.getLabel("download.gstreamer"), (t) -> {
-                            String url = "https://gstreamer.freedesktop.org/download/";
-                            DesktopApi.browse(url);
-                            gstreamerWarningDialog.hide();
+    /**
+     * Open a schedule passed on the command line, and register to open
+     * schedules the desktop asks us to open. Called off the FX thread, since
+     * the desktop handler is registered through AWT.
+     * <p/>
+     *
+     * @param cmdParams the raw command line parameters.
+     */
+    private void openScheduleFromArguments(List<String> cmdParams) {
+        if (!cmdParams.isEmpty()) {
+            String schedulePath = cmdParams.get(cmdParams.size() - 1);
+            if (!schedulePath.contains("--userhome=") && !schedulePath.contains("-psn_") && !schedulePath.equals(STARTUP_PROFILE_FLAG)) {
+                LOGGER.log(Level.INFO, "Opening schedule through argument: {0}", schedulePath);
+                Platform.runLater(() -> QueleaApp.get().openSchedule(new File(schedulePath)));
+            }
+        }
+
+        if (Desktop.isDesktopSupported()) {
+            Desktop desktop = Desktop.getDesktop();
+            if (desktop.isSupported(Desktop.Action.APP_OPEN_FILE)) {
+                desktop.setOpenFileHandler((e) -> {
+                    List<File> files = e.getFiles();
+                    if (files != null && files.size() > 0) {
+                        Platform.runLater(() -> {
+                            QueleaApp.get().openSchedule(files.get(0));
                         });
-                        gstreamerWarningDialog = gstreamerWarningDialogBuilder.setWarningIcon().build();
-                        gstreamerWarningDialog.showAndWait();
                     }
-                    mainWindow.show();
-                    QueleaApp.get().doneLoading();
-                });
-            } catch (Throwable ex) {
-                LOGGER.log(Level.SEVERE, "Uncaught exception during application start-up", ex);
-                Platform.runLater(() -> {
-                    Dialog.showAndWaitError(LabelGrabber.INSTANCE.getLabel("startup.error.title"), LabelGrabber.INSTANCE.getLabel("startup.error.text").replace("$1", Utils.getDebugLog().getAbsolutePath()));
-                    System.exit(1);
                 });
             }
-        }).start();
+        }
     }
 
     /**
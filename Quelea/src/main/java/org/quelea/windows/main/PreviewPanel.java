@@ -23,16 +23,18 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import org.quelea.data.displayable.Displayable;
+import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.WebDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
+import org.quelea.windows.stage.StageLayoutCache;
 
 /**
  * The panel displaying the preview lyrics selection - this is viewed before
@@ -54,7 +56,7 @@ public class PreviewPanel extends LivePreviewPanel {
         HBox.setHgrow(spacer, Priority.ALWAYS);
         header.getItems().add(spacer);
         ImageView goLiveIV = new ImageView(
-                new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/golivearrow-light.png"
+                ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/golivearrow-light.png"
                         : "file:icons/golivearrow.png"));
         goLiveIV.setFitHeight(16);
         goLiveIV.setFitWidth(16);
@@ -108,6 +110,10 @@ public class PreviewPanel extends LivePreviewPanel {
     public void setDisplayable(Displayable d, int index) {
         super.setDisplayable(d, index);
         liveButton.setDisable(false);
+        if (d instanceof TextDisplayable && QueleaApp.get().getStageWindow() != null) {
+            DisplayCanvas stageCanvas = QueleaApp.get().getStageWindow().getCanvas();
+            StageLayoutCache.get().precompute((TextDisplayable) d, stageCanvas.getWidth(), stageCanvas.getHeight());
+        }
         if (d instanceof WebDisplayable) {
             final WebDisplayable webDisplayable = (WebDisplayable) d;
             Platform.runLater(() -> {
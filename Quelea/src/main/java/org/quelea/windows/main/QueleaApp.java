@@ -22,10 +22,14 @@ import java.util.ArrayList;
 import java.util.List;
 import org.javafx.dialog.Dialog;
 import org.quelea.data.Schedule;
+import org.quelea.data.ScheduleLoadListener;
+import org.quelea.data.displayable.Displayable;
 import org.quelea.server.AutoDetectServer;
 import org.quelea.server.MobileLyricsServer;
 import org.quelea.server.RemoteControlServer;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.windows.main.schedule.ScheduleList;
+import org.quelea.windows.output.OutputTap;
 
 /**
  * A singleton class for grabbing application wide objects with ease such as the main window.
@@ -41,6 +45,7 @@ public class QueleaApp {
     private MobileLyricsServer mls;
     private RemoteControlServer rcs;
     private AutoDetectServer ads;
+    private OutputTap outputTap;
     private List<Runnable> runnables = new ArrayList<>();
     private volatile boolean loaded;
 
@@ -78,7 +83,25 @@ public class QueleaApp {
         if (schedule == null) {
             Dialog.showError(LabelGrabber.INSTANCE.getLabel("error.schedule.title"), LabelGrabber.INSTANCE.getLabel("error.schedule.message"));
         } else {
-            QueleaApp.get().getMainWindow().getMainPanel().getSchedulePanel().getScheduleList().setSchedule(schedule);
+            ScheduleList scheduleList = QueleaApp.get().getMainWindow().getMainPanel().getSchedulePanel().getScheduleList();
+            scheduleList.setSchedule(schedule);
+            if (schedule.getPendingCount() > 0) {
+                StatusPanel statusPanel = getStatusGroup().addPanel(LabelGrabber.INSTANCE.getLabel("loading.schedule"));
+                schedule.setLoadListener(new ScheduleLoadListener() {
+                    @Override
+                    public void itemLoaded(Displayable displayable, int index) {
+                        scheduleList.addLoadedItem(schedule, displayable);
+                    }
+
+                    @Override
+                    public void progress(int done, int total) {
+                        statusPanel.setProgress((double) done / total);
+                        if (done == total) {
+                            statusPanel.done();
+                        }
+                    }
+                });
+            }
         }
     }
 
@@ -187,4 +210,23 @@ public class QueleaApp {
     public void setAutoDetectServer(AutoDetectServer ads) {
         this.ads = ads;
     }
+
+    /**
+     * Get the tap on the projection output. Null if none is in use.
+     * <p>
+     *
+     * @return the current output tap.
+     */
+    public OutputTap getOutputTap() {
+        return outputTap;
+    }
+
+    /**
+     * Set the tap on the projection output currently in use.
+     *
+     * @param outputTap the output tap.
+     */
+    public void setOutputTap(OutputTap outputTap) {
+        this.outputTap = outputTap;
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.main;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Schedules redraws of display canvases. However many times a canvas asks to
+ * be redrawn - a resize changes its width and height separately, for instance
+ * - it's redrawn at most once per pulse. Canvases are redrawn in order of
+ * their drawing priority; high priority canvases are always redrawn straight
+ * away, while the rest are redrawn as far as the frame budget allows and left
+ * for the next pulse after that. Canvases that aren't showing are skipped.
+ * <p/>
+ * @author Michael
+ */
+public final class RedrawScheduler {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final RedrawScheduler INSTANCE = new RedrawScheduler();
+    /**
+     * The time to spend redrawing canvases in one pulse before leaving the
+     * lower priority ones until the next.
+     */
+    private static final long FRAME_BUDGET_NANOS = 8_000_000;
+    private final Set<DisplayCanvas> pending;
+    private final AnimationTimer timer;
+    private boolean running;
+
+    private RedrawScheduler() {
+        pending = new LinkedHashSet<>();
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                redraw();
+            }
+        };
+    }
+
+    /**
+     * Get the singleton instance.
+     * <p/>
+     * @return the scheduler.
+     */
+    public static RedrawScheduler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ask for a canvas to be redrawn on the next pulse. Asking again before
+     * then has no further effect.
+     * <p/>
+     * @param canvas the canvas to redraw.
+     */
+    public void schedule(DisplayCanvas canvas) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> schedule(canvas));
+            return;
+        }
+        if (pending.add(canvas) && !running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Forget any pending redraw of the given canvas.
+     * <p/>
+     * @param canvas the canvas.
+     */
+    public void cancel(DisplayCanvas canvas) {
+        pending.remove(canvas);
+    }
+
+    private void redraw() {
+        List<DisplayCanvas> canvases = new ArrayList<>(pending);
+        pending.clear();
+        canvases.sort(DisplayCanvas.DRAW_ORDER);
+        long start = System.nanoTime();
+        for (int i = 0; i < canvases.size(); i++) {
+            DisplayCanvas canvas = canvases.get(i);
+            if (canvas.getDrawingPriority() != DisplayCanvas.Priority.HIGH
+                    && System.nanoTime() - start > FRAME_BUDGET_NANOS) {
+                pending.addAll(canvases.subList(i, canvases.size()));
+                LOGGER.log(Level.FINE, "Frame budget used, deferring {0} canvas redraws", canvases.size() - i);
+                break;
+            }
+            if (canvas.isShowing()) {
+                try {
+                    canvas.redraw();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Couldn't redraw canvas", ex);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            running = false;
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.main;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.application.Platform;
+
+/**
+ * Runs the start-up work as a small graph of named stages. Each stage
+ * declares the stages it depends on and is started as soon as they've all
+ * finished, so independent stages run concurrently. Stages that touch the
+ * scene graph are run on the JavaFX application thread, everything else on a
+ * small pool of background threads. The time each stage took is recorded so
+ * slow starts can be tracked down.
+ * <p/>
+ * Stages must be added after the stages they depend on.
+ * <p/>
+ * @author Michael
+ */
+public class StartupPipeline {
+
+    private static final Executor FX_EXECUTOR = Platform::runLater;
+    private final ExecutorService background;
+    private final Map<String, StartupStage> stages;
+    private final long created;
+
+    /**
+     * Create a new, empty start-up pipeline.
+     */
+    public StartupPipeline() {
+        AtomicInteger threadNum = new AtomicInteger();
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        background = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "startup-" + threadNum.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        stages = new LinkedHashMap<>();
+        created = System.nanoTime();
+    }
+
+    /**
+     * Add a stage to run on a background thread.
+     * <p/>
+     * @param name the name of this stage.
+     * @param work the work to do.
+     * @param dependencies the names of the stages that must finish first.
+     * @return the future that completes when this stage is done.
+     */
+    public CompletableFuture<Void> add(String name, Runnable work, String... dependencies) {
+        return add(name, background, work, dependencies);
+    }
+
+    /**
+     * Add a stage to run on the JavaFX application thread.
+     * <p/>
+     * @param name the name of this stage.
+     * @param work the work to do.
+     * @param dependencies the names of the stages that must finish first.
+     * @return the future that completes when this stage is done.
+     */
+    public CompletableFuture<Void> addFX(String name, Runnable work, String... dependencies) {
+        return add(name, FX_EXECUTOR, work, dependencies);
+    }
+
+    private synchronized CompletableFuture<Void> add(String name, Executor executor, Runnable work, String... dependencies) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate start-up stage: " + name);
+        }
+        List<CompletableFuture<Void>> deps = new ArrayList<>();
+        for (String dep : dependencies) {
+            StartupStage depStage = stages.get(dep);
+            if (depStage == null) {
+                throw new IllegalArgumentException("Start-up stage " + name + " depends on unknown stage " + dep);
+            }
+            deps.add(depStage.future);
+        }
+        StartupStage stage = new StartupStage(name, dependencies);
+        stage.future = CompletableFuture.allOf(deps.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> stage.run(work), executor);
+        stages.put(name, stage);
+        return stage.future;
+    }
+
+    /**
+     * Get a future that completes when every stage added so far is done, or
+     * completes exceptionally if any of them failed.
+     * <p/>
+     * @return a future for the whole pipeline.
+     */
+    public synchronized CompletableFuture<Void> whenDone() {
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+        for (StartupStage stage : stages.values()) {
+            all.add(stage.future);
+        }
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Stop accepting background work once the queued stages have finished.
+     */
+    public void shutdown() {
+        background.shutdown();
+    }
+
+    /**
+     * Get a human readable report of when each stage started, how long it
+     * took and which thread it ran on.
+     * <p/>
+     * @return the timing report.
+     */
+    public synchronized String getReport() {
+        StringBuilder ret = new StringBuilder("Start-up profile (ms since start-up began):\n");
+        ret.append(String.format("  %-14s %8s %8s %8s  %-16s %s%n", "stage", "start", "took", "end", "thread", "after"));
+        long total = 0;
+        for (StartupStage stage : stages.values()) {
+            if (stage.startNanos == 0) {
+                ret.append(String.format("  %-14s %8s%n", stage.name, "not run"));
+                continue;
+            }
+            long start = toMillis(stage.startNanos - created);
+            long end = toMillis(stage.endNanos - created);
+            total = Math.max(total, end);
+            ret.append(String.format("  %-14s %8d %8d %8d  %-16s %s%n", stage.name, start, end - start, end,
+                    stage.thread, String.join(",", stage.dependencies)));
+        }
+        ret.append(String.format("  total %dms", total));
+        return ret.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(0, nanos / 1_000_000);
+    }
+
+    private static final class StartupStage {
+
+        private final String name;
+        private final String[] dependencies;
+        private CompletableFuture<Void> future;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile String thread;
+
+        private StartupStage(String name, String[] dependencies) {
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+
+        private void run(Runnable work) {
+            thread = Thread.currentThread().getName();
+            startNanos = System.nanoTime();
+            try {
+                work.run();
+            } finally {
+                endNanos = System.nanoTime();
+            }
+        }
+    }
+}
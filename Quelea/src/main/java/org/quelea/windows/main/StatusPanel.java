@@ -23,10 +23,10 @@ import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.Utils;
 
 /**
@@ -61,7 +61,7 @@ public class StatusPanel extends HBox {
         progressBar = new ProgressBar();
         progressBar.setMaxWidth(Double.MAX_VALUE); //Allow progress bar to fill space.
         HBox.setHgrow(progressBar, Priority.ALWAYS);
-        cancelButton = new Button("", new ImageView(new Image("file:icons/cross.png", 13, 13, false, true)));
+        cancelButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png", 13, 13, false, true)));
         Utils.setToolbarButtonStyle(cancelButton);
         cancelButton.setAlignment(Pos.CENTER);
         getChildren().add(label);
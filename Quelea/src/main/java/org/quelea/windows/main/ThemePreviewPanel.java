@@ -44,6 +44,7 @@ import javafx.stage.Window;
 import org.javafx.dialog.Dialog;
 import org.quelea.data.ThemeDTO;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.windows.lyrics.LyricDrawer;
 import org.quelea.windows.main.DisplayCanvas.Priority;
@@ -71,6 +72,7 @@ public class ThemePreviewPanel extends VBox {
     private Window popup;
     private ScheduleThemeNode parent;
     private WritableImage previewImage;
+    private WordDrawer drawer;
 
     /**
      * Create a new theme preview panel.
@@ -99,7 +101,7 @@ public class ThemePreviewPanel extends VBox {
         songSelectButton = new RadioButton(LabelGrabber.INSTANCE.getLabel("song.default.theme.label"));
         bibleSelectButton = new RadioButton(LabelGrabber.INSTANCE.getLabel("bible.default.theme.label"));
         if (theme != ThemeDTO.DEFAULT_THEME) {
-            editButton = new Button("", new ImageView(new Image("file:icons/edit32.png", 16, 16, false, true)));
+            editButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/edit32.png", 16, 16, false, true)));
             editButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("edit.theme.tooltip")));
             editButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
                 @Override
@@ -120,7 +122,7 @@ public class ThemePreviewPanel extends VBox {
                 }
             });
 
-            removeButton = new Button("", new ImageView(new Image("file:icons/delete.png", 16, 16, false, true)));
+            removeButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/delete.png", 16, 16, false, true)));
             removeButton.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("remove.theme.tooltip")));
             removeButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
                 @Override
@@ -201,14 +203,25 @@ public class ThemePreviewPanel extends VBox {
         return theme;
     }
 
+    /**
+     * Stop anything the preview is playing, such as a video background. Call
+     * this once the panel is no longer shown.
+     */
+    public void dispose() {
+        if (drawer != null) {
+            drawer.dispose();
+        }
+    }
+
     private void updateThemePreviewCanvas(ThemeDTO theme) {
-        WordDrawer drawer;
-        if (canvas.isStageView()) {
-            drawer = new StageDrawer();
-        } else {
-            drawer = new LyricDrawer();
+        if (drawer == null) {
+            if (canvas.isStageView()) {
+                drawer = new StageDrawer();
+            } else {
+                drawer = new LyricDrawer();
+            }
+            drawer.setCanvas(canvas);
         }
-        drawer.setCanvas(canvas);
         drawer.setTheme(theme);
         drawer.setText(ThemePanel.SAMPLE_LYRICS, new String[0], new String[0], false, -1);
     }
@@ -29,6 +29,7 @@ import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.BiblePassage;
 import org.quelea.data.displayable.Displayable;
 import org.quelea.data.displayable.TextDisplayable;
+import org.quelea.services.metrics.Metrics;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.LyricLine;
@@ -56,6 +57,15 @@ public abstract class WordDrawer extends DisplayableDrawer {
 
     public abstract void setText(TextDisplayable textDisplayable, int selectedIndex);
 
+    /**
+     * Let go of anything this drawer holds on to for its theme, such as a
+     * video background. Call this when a drawer that was only needed for a
+     * preview is finished with.
+     */
+    public void dispose() {
+        //Nothing held by default
+    }
+
     protected boolean getLastClearedState() {
         Boolean val = lastClearedState.get(getCanvas());
         if (val == null) {
@@ -259,7 +269,9 @@ public abstract class WordDrawer extends DisplayableDrawer {
     }
 
     protected void draw(Displayable displayable, double fontSize) {
+        Metrics.Timer timer = Metrics.get().start(getCanvas().isStageView() ? "layout.stage" : "layout.lyrics");
         drawText(fontSize, displayable instanceof BiblePassage);
+        timer.stop();
         if (getCanvas().getCanvasBackground() instanceof ImageView) {
             ImageView imgBackground = (ImageView) getCanvas().getCanvasBackground();
             imgBackground.setFitHeight(getCanvas().getHeight());
@@ -30,6 +30,7 @@ import org.quelea.data.displayable.ImageDisplayable;
 import org.quelea.data.displayable.ImageGroupDisplayable;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -83,7 +84,7 @@ public class AddImageActionHandler implements EventHandler<ActionEvent> {
                                     TextInputDialog dialog = new TextInputDialog();
                                     dialog.setTitle(LabelGrabber.INSTANCE.getLabel("dialog.image.group.title"));
                                     dialog.setHeaderText(LabelGrabber.INSTANCE.getLabel("dialog.image.group.header"));
-                                    dialog.setGraphic(new ImageView(new Image("file:icons/image-group-schedule.png")));
+                                    dialog.setGraphic(new ImageView(ImageManager.INSTANCE.getImage("file:icons/image-group-schedule.png")));
 
                                     String fallbackTitle = ImageGroupDisplayable.concatenatedFileNames(filesArray);
                                     dialog.getEditor().setText(fallbackTitle);
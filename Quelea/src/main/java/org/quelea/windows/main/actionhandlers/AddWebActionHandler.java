@@ -22,11 +22,11 @@ import java.util.Optional;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.TextInputDialog;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 import org.quelea.data.displayable.WebDisplayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.windows.main.QueleaApp;
 
 /**
@@ -43,9 +43,9 @@ public class AddWebActionHandler implements EventHandler<ActionEvent> {
         dialog.setTitle(LabelGrabber.INSTANCE.getLabel("website.dialog.title"));
         dialog.setHeaderText(LabelGrabber.INSTANCE.getLabel("website.dialog.header"));
         dialog.setContentText(LabelGrabber.INSTANCE.getLabel("website.dialog.content"));
-        dialog.setGraphic(new ImageView(new Image("file:icons/website.png")));
+        dialog.setGraphic(new ImageView(ImageManager.INSTANCE.getImage("file:icons/website.png")));
         Stage stage = (Stage) dialog.getDialogPane().getScene().getWindow();
-        stage.getIcons().add(new Image("file:icons/web-small.png"));
+        stage.getIcons().add(ImageManager.INSTANCE.getImage("file:icons/web-small.png"));
 
         Optional<String> result = dialog.showAndWait();
         if (result.isPresent()) {
@@ -40,6 +40,7 @@ import org.quelea.windows.main.MainWindow;
 import org.quelea.windows.main.QueleaApp;
 import org.quelea.windows.main.toolbars.MainToolbar;
 import org.quelea.windows.presentation.PowerPointHandler;
+import org.quelea.windows.video.VideoThumbnailCache;
 
 /**
  * The exit action listener - called when the user requests they wish to exit
@@ -125,6 +126,15 @@ public class ExitActionHandler implements EventHandler<ActionEvent> {
             LOGGER.log(Level.INFO, "Stopping remote control server");
             QueleaApp.get().getRemoteControlServer().stop();
         }
+        if (QueleaApp.get().getOutputTap() != null) {
+            LOGGER.log(Level.INFO, "Stopping output tap");
+            QueleaApp.get().getOutputTap().stop();
+        }
+        LOGGER.log(Level.INFO, "Stopping video thumbnails");
+        if (mainWindow.getMainPanel().getLibraryPanel().getVideoPanel() != null) {
+            mainWindow.getMainPanel().getLibraryPanel().getVideoPanel().getVideoListPanel().stopWatcher();
+        }
+        VideoThumbnailCache.get().shutdown();
         if (QueleaApp.get().getMainWindow().getMainPanel().getLivePanel().getDisplayable() instanceof PresentationDisplayable) {
             LOGGER.log(Level.INFO, "Closing open PowerPoint presentations");
             PowerPointHandler.closePresentation();
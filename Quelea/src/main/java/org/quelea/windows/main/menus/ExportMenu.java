@@ -23,7 +23,6 @@ import java.util.Arrays;
 import java.util.List;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 import org.quelea.data.db.SongManager;
@@ -35,6 +34,7 @@ import org.quelea.services.importexport.SelectExportedSongsDialog;
 import org.quelea.services.importexport.SongListExporter;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.windows.main.QueleaApp;
 
 /**
@@ -53,9 +53,9 @@ public class ExportMenu extends Menu {
      * Create the export menu.
      */
     public ExportMenu() {
-        super(LabelGrabber.INSTANCE.getLabel("export.heading"), new ImageView(new Image("file:icons/right.png", 16, 16, false, true)));
+        super(LabelGrabber.INSTANCE.getLabel("export.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/right.png", 16, 16, false, true)));
 
-        qspItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("qsp.button"), new ImageView(new Image("file:icons/logo16.png", 16, 16, false, true)));
+        qspItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("qsp.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/logo16.png", 16, 16, false, true)));
         qspItem.setOnAction(evt -> {
 			final List<SongDisplayable> songs = Arrays.asList(SongManager.get(true).getSongs());
 			//TODO: Determine if number of songs is above some threshold, then display warning that Quelea might be unresponsive while dialog is built.
@@ -73,7 +73,7 @@ public class ExportMenu extends Menu {
 		});
         getItems().add(openLyricsItem);
 
-        pdfItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pdf.button"), new ImageView(new Image("file:icons/pdf.png", 16, 16, false, true)));
+        pdfItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pdf.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/pdf.png", 16, 16, false, true)));
         pdfItem.setOnAction(evt -> {
 			final List<SongDisplayable> songs = Arrays.asList(SongManager.get(true).getSongs());
 			//TODO: Determine if number of songs is above some threshold, then display warning that Quelea might be unresponsive while dialog is built.
@@ -82,7 +82,7 @@ public class ExportMenu extends Menu {
 		});
         getItems().add(pdfItem);
 
-        listItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("song.list"), new ImageView(new Image("file:icons/list.png", 16, 16, false, true)));
+        listItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("song.list"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/list.png", 16, 16, false, true)));
         listItem.setOnAction(evt -> {
 			FileChooser fc = new FileChooser();
 			fc.getExtensionFilters().add(FileFilters.CSV);
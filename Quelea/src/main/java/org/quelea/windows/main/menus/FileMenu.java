@@ -21,12 +21,12 @@ package org.quelea.windows.main.menus;
 
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.actionhandlers.ExitActionHandler;
@@ -91,7 +91,7 @@ public class FileMenu extends Menu {
 
         exportToPDFItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("export.schedule.pdf.button"));
         if(!Utils.isMac()) {
-            exportToPDFItem.setGraphic(new ImageView(new Image("file:icons/fileexport.png", 20, 20, true, false)));
+            exportToPDFItem.setGraphic(new ImageView(ImageManager.INSTANCE.getImage("file:icons/fileexport.png", 20, 20, true, false)));
         }
         exportToPDFItem.setOnAction(new ExportPDFScheduleActionHandler());
         getItems().add(exportToPDFItem);
@@ -106,7 +106,7 @@ public class FileMenu extends Menu {
 
         exitItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("exit.button"));
         if(!Utils.isMac()) {
-            exitItem.setGraphic(new ImageView(new Image("file:icons/exit.png", 20, 20, true, false)));
+            exitItem.setGraphic(new ImageView(ImageManager.INSTANCE.getImage("file:icons/exit.png", 20, 20, true, false)));
         }
         exitItem.setOnAction(new ExitActionHandler());
         getItems().add(exitItem);
@@ -115,7 +115,7 @@ public class FileMenu extends Menu {
     private ImageView getImage(String path) {
         if (QueleaProperties.get().getUseDarkTheme())
             path = path.replace(".png", "-light.png");
-        return new ImageView(new Image(path, 20, 20, true, false));
+        return new ImageView(ImageManager.INSTANCE.getImage(path, 20, 20, true, false));
     }
 
 }
@@ -21,7 +21,6 @@ package org.quelea.windows.main.menus;
 import javafx.event.ActionEvent;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.importexport.EasySlidesImportDialog;
 import org.quelea.services.importexport.EasyWorshipImportDialog;
@@ -51,6 +50,7 @@ import org.quelea.services.importexport.ProPresenterImportDialog;
 import org.quelea.services.importexport.ScreenMonkeyImportDialog;
 import org.quelea.services.importexport.WorshipHimImportDialog;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.Utils;
 
 /**
@@ -115,7 +115,7 @@ public class ImportMenu extends Menu {
      * Create the import menu.
      */
     public ImportMenu() {
-        super(LabelGrabber.INSTANCE.getLabel("import.heading"), new ImageView(new Image("file:icons/left.png", 16, 16, false, true)));
+        super(LabelGrabber.INSTANCE.getLabel("import.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/left.png", 16, 16, false, true)));
 
         qspImportDialog = new QSPImportDialog();
         openSongImportDialog = new OpenSongImportDialog();
@@ -143,36 +143,36 @@ public class ImportMenu extends Menu {
         planningCenterOnlineImportDialog = new PlanningCenterOnlineImportDialog();
         elevantoImportDialog = new ElevantoImportDialog();
 
-        qspItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("qsp.button"), new ImageView(new Image("file:icons/logo16.png", 16, 16, false, true)));
+        qspItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("qsp.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/logo16.png", 16, 16, false, true)));
         qspItem.setOnAction((ActionEvent t) -> {
             qspImportDialog.show();
         });
 
-        osItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("os.button"), new ImageView(new Image("file:icons/opensong.png", 16, 16, false, true)));
+        osItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("os.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/opensong.png", 16, 16, false, true)));
         osItem.setOnAction((ActionEvent t) -> {
             openSongImportDialog.show();
         });
 
-        mpItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("mp.button"), new ImageView(new Image("file:icons/missionpraise.png", 16, 16, false, true)));
+        mpItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("mp.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/missionpraise.png", 16, 16, false, true)));
         mpItem.setOnAction((ActionEvent t) -> {
             missionPraiseImportDialog.show();
         });
         
         // planning center online
-        pcoItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pco.button"), new ImageView(new Image("file:icons/planningcenteronline.png", 16, 16, false, true)));
+        pcoItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pco.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/planningcenteronline.png", 16, 16, false, true)));
         pcoItem.setOnAction((ActionEvent t) -> {
             planningCenterOnlineImportDialog.start();
         });
 //        pcoItem.setAccelerator(new KeyCodeCombination(KeyCode.P, KeyCombination.SHORTCUT_DOWN, KeyCombination.ALT_DOWN));
         
         // elevanto
-        elevantoItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("elevanto.button"), new ImageView(new Image("file:icons/elevanto.png", 16, 16, false, true)));
+        elevantoItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("elevanto.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/elevanto.png", 16, 16, false, true)));
         elevantoItem.setOnAction((ActionEvent t) -> {
             elevantoImportDialog.start();
         });
 //        elevantoItem.setAccelerator(new KeyCodeCombination(KeyCode.E, KeyCombination.SHORTCUT_DOWN, KeyCombination.ALT_DOWN));
 
-        olpItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("olp.button"), new ImageView(new Image("file:icons/openlp.png", 16, 16, false, true)));
+        olpItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("olp.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/openlp.png", 16, 16, false, true)));
         olpItem.setOnAction((ActionEvent t) -> {
             openLPImportDialog.show();
         });
@@ -182,7 +182,7 @@ public class ImportMenu extends Menu {
             openLyricsImportDialog.show();
         });
 
-        zwItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("zw.button"), new ImageView(new Image("file:icons/zionworx.png", 16, 16, false, true)));
+        zwItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("zw.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/zionworx.png", 16, 16, false, true)));
         zwItem.setOnAction((ActionEvent t) -> {
             boolean ok = new ZWTurboDBChecker().runChecks();
             if (ok) {
@@ -190,57 +190,57 @@ public class ImportMenu extends Menu {
             }
         });
 
-        spItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sp.button"), new ImageView(new Image("file:icons/sundayplus.png", 16, 16, false, true)));
+        spItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sp.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/sundayplus.png", 16, 16, false, true)));
         spItem.setOnAction((ActionEvent t) -> {
             sundayPlusImportDialog.show();
         });
 
-        ssItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("ss.button"), new ImageView(new Image("file:icons/survivor.jpg", 16, 16, false, true)));
+        ssItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("ss.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/survivor.jpg", 16, 16, false, true)));
         ssItem.setOnAction((ActionEvent t) -> {
             sImportDialog.show();
         });
 
-        mediaShoutItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("mediashout.button"), new ImageView(new Image("file:icons/mediashout.png", 16, 16, false, true)));
+        mediaShoutItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("mediashout.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/mediashout.png", 16, 16, false, true)));
         mediaShoutItem.setOnAction((ActionEvent t) -> {
             mediaShoutImportDialog.show();
         });
 
-        worshipHimItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("worshiphim.button"), new ImageView(new Image("file:icons/worshiphim.png", 16, 16, false, true)));
+        worshipHimItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("worshiphim.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/worshiphim.png", 16, 16, false, true)));
         worshipHimItem.setOnAction((ActionEvent t) -> {
             worshipHimImportDialog.show();
         });
 
-        sbItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("songbeamer.button"), new ImageView(new Image("file:icons/songbeamer.png", 16, 16, false, true)));
+        sbItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("songbeamer.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/songbeamer.png", 16, 16, false, true)));
         sbItem.setOnAction((ActionEvent t) -> {
             songBeamerImportDialog.show();
         });
 
-        sourceItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("source.button"), new ImageView(new Image("file:icons/source.jpg", 16, 16, false, true)));
+        sourceItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("source.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/source.jpg", 16, 16, false, true)));
         sourceItem.setOnAction((ActionEvent t) -> {
             sourceImportDialog.show();
         });
 
-        easySlidesItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("easyslides.button"), new ImageView(new Image("file:icons/easyslides.png", 16, 16, false, true)));
+        easySlidesItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("easyslides.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/easyslides.png", 16, 16, false, true)));
         easySlidesItem.setOnAction((ActionEvent t) -> {
             easySlidesImportDialog.show();
         });
 
-        proPresenterItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("propresenter.button"), new ImageView(new Image("file:icons/propresenter.png", 16, 16, false, true)));
+        proPresenterItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("propresenter.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/propresenter.png", 16, 16, false, true)));
         proPresenterItem.setOnAction((ActionEvent t) -> {
             proPresenterImportDialog.show();
         });
 
-        freeWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("freeworship.button"), new ImageView(new Image("file:icons/freeworship.png", 16, 16, false, true)));
+        freeWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("freeworship.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/freeworship.png", 16, 16, false, true)));
         freeWorshipItem.setOnAction((ActionEvent t) -> {
             freeWorshipImportDialog.show();
         });
 
-        easyWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("easyworship.button"), new ImageView(new Image("file:icons/easyworship.png", 16, 16, false, true)));
+        easyWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("easyworship.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/easyworship.png", 16, 16, false, true)));
         easyWorshipItem.setOnAction((ActionEvent t) -> {
             easyWorshipImportDialog.show();
         });
 
-        songproItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("songpro.button"), new ImageView(new Image("file:icons/songpro.png", 16, 16, false, true)));
+        songproItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("songpro.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/songpro.png", 16, 16, false, true)));
         songproItem.setOnAction((ActionEvent t) -> {
             songproImportDialog.show();
         });
@@ -250,27 +250,27 @@ public class ImportMenu extends Menu {
             videoPsalmImportDialog.show();
         });
 
-        epicWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("epicworship.button"), new ImageView(new Image("file:icons/epicworship.png", 16, 16, false, true)));
+        epicWorshipItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("epicworship.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/epicworship.png", 16, 16, false, true)));
         epicWorshipItem.setOnAction((ActionEvent t) -> {
             epicWorshipImportDialog.show();
         });
 
-        pmItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pm.button"), new ImageView(new Image("file:icons/pm.png", 16, 16, false, true)));
+        pmItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("pm.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/pm.png", 16, 16, false, true)));
         pmItem.setOnAction((ActionEvent t) -> {
             presentationManagerImportDialog.show();
         });
 
-        smItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sm.button"), new ImageView(new Image("file:icons/sm.png", 16, 16, false, true)));
+        smItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sm.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/sm.png", 16, 16, false, true)));
         smItem.setOnAction((ActionEvent t) -> {
             screenMonkeyImportDialog.show();
         });
 
-        sofItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sof.button"), new ImageView(new Image("file:icons/sof.png", 16, 16, false, true)));
+        sofItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("sof.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/sof.png", 16, 16, false, true)));
         sofItem.setOnAction((ActionEvent t) -> {
             sofImportDialog.show();
         });
 
-        plainTextItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("plainText.button"), new ImageView(new Image("file:icons/text.png", 16, 16, false, true)));
+        plainTextItem = new MenuItem(LabelGrabber.INSTANCE.getLabel("plainText.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/text.png", 16, 16, false, true)));
         plainTextItem.setOnAction((ActionEvent t) -> {
             plainTextImportDialog.show();
         });
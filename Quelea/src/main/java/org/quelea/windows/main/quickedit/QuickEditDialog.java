@@ -25,7 +25,6 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
@@ -36,6 +35,7 @@ import javafx.stage.StageStyle;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -85,7 +85,7 @@ public class QuickEditDialog extends Stage {
         buttonPanel.setAlignment(Pos.CENTER);
         BorderPane.setMargin(buttonPanel, new Insets(5,0,5,0));
         buttonPanel.setSpacing(5);
-        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(new Image("file:icons/tick.png")));
+        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         okButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
 
             @Override
@@ -109,7 +109,7 @@ public class QuickEditDialog extends Stage {
                 Utils.updateSongInBackground(currentSong, false, true);
             }
         });
-        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(new Image("file:icons/cross.png")));
+        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png")));
         cancelButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
 
             @Override
@@ -434,6 +434,24 @@ public class ScheduleList extends StackPane {
         this.schedule = schedule;
     }
 
+    /**
+     * Add an item that's finished loading in the background to the list, if
+     * the schedule it belongs to is still the one being shown.
+     *
+     * The item is put next to its neighbours from the saved schedule, wherever
+     * they've been moved to since.
+     *
+     * @param schedule the schedule the item was loaded for.
+     * @param displayable the loaded item.
+     */
+    public void addLoadedItem(Schedule schedule, Displayable displayable) {
+        if (this.schedule != schedule) {
+            return;
+        }
+        ObservableList<Displayable> items = listView.itemsProperty().get();
+        items.add(schedule.getInsertIndex(items, displayable), displayable);
+    }
+
     /**
      * Refresh the display of the items in the schedule list.
      *
@@ -519,6 +537,7 @@ public class ScheduleList extends StackPane {
                 }
                 drawer.setCanvas(QueleaApp.get().getProjectionWindow().getCanvas());
                 drawer.setTheme(ThemeDTO.DEFAULT_THEME);
+                drawer.dispose();
             }
             Displayable preview = QueleaApp.get().getMainWindow().getMainPanel().getPreviewPanel().getDisplayable();
             if (d == preview) {
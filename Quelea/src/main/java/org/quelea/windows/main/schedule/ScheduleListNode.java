@@ -22,7 +22,6 @@ import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -31,6 +30,7 @@ import javafx.util.Duration;
 import org.quelea.data.displayable.Displayable;
 import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TimerDisplayable;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.actionhandlers.EditThemeScheduleActionHandler;
 import org.quelea.windows.main.actionhandlers.EditTimerThemeActionHandler;
@@ -48,7 +48,7 @@ public class ScheduleListNode extends HBox {
         super(10);
         setAlignment(Pos.CENTER_LEFT);
         Node icon = displayable.getPreviewIcon();
-        liveIcon = new ImageView(new Image("file:icons/recordingssettingsicon.png"));
+        liveIcon = new ImageView(ImageManager.INSTANCE.getImage("file:icons/recordingssettingsicon.png"));
         liveIcon.setFitHeight(10);
         liveIcon.setFitWidth(10);
         liveIcon.setVisible(false);
@@ -69,7 +69,7 @@ public class ScheduleListNode extends HBox {
         getChildren().add(liveIcon);
     
         if (displayable instanceof TextDisplayable || displayable instanceof TimerDisplayable) {
-            themeButton = new Button("", new ImageView(new Image("file:icons/theme.png", 16, 16, false, true)));
+            themeButton = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/theme.png", 16, 16, false, true)));
             if (displayable instanceof TextDisplayable) {
                 themeButton.setOnAction(new EditThemeScheduleActionHandler((TextDisplayable) displayable));
             } else {
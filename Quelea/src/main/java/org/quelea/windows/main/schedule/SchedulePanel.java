@@ -30,7 +30,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -41,6 +40,7 @@ import javafx.stage.StageStyle;
 import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.Displayable;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -71,7 +71,7 @@ public class SchedulePanel extends BorderPane {
      */
     public SchedulePanel() {
         boolean darkTheme = QueleaProperties.get().getUseDarkTheme();
-        ImageView themeButtonIcon = new ImageView(new Image("file:icons/theme.png"));
+        ImageView themeButtonIcon = new ImageView(ImageManager.INSTANCE.getImage("file:icons/theme.png"));
         themeButtonIcon.setFitWidth(16);
         themeButtonIcon.setFitHeight(16);
         themeButton = new Button("", themeButtonIcon);
@@ -149,7 +149,7 @@ public class SchedulePanel extends BorderPane {
 
         ToolBar toolbar = new ToolBar();
         toolbar.setOrientation(Orientation.VERTICAL);
-        ImageView removeIV = new ImageView(new Image(darkTheme ? "file:icons/cross-light.png" : "file:icons/cross.png"));
+        ImageView removeIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/cross-light.png" : "file:icons/cross.png"));
         removeIV.setFitWidth(16);
         removeIV.setFitHeight(16);
         removeButton = new Button("", removeIV);
@@ -158,7 +158,7 @@ public class SchedulePanel extends BorderPane {
         removeButton.setDisable(true);
         removeButton.setOnAction(new RemoveScheduleItemActionHandler());
 
-        ImageView upIV = new ImageView(new Image(darkTheme ? "file:icons/up-light.png" : "file:icons/up.png"));
+        ImageView upIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/up-light.png" : "file:icons/up.png"));
         upIV.setFitWidth(16);
         upIV.setFitHeight(16);
         upButton = new Button("", upIV);
@@ -172,7 +172,7 @@ public class SchedulePanel extends BorderPane {
             }
         });
 
-        ImageView downIV = new ImageView(new Image(darkTheme ? "file:icons/down-light.png" : "file:icons/down.png"));
+        ImageView downIV = new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/down-light.png" : "file:icons/down.png"));
         downIV.setFitWidth(16);
         downIV.setFitHeight(16);
         downButton = new Button("", downIV);
@@ -32,7 +32,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.ToggleGroup;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
@@ -42,6 +41,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.quelea.data.ThemeDTO;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.utils.ThemeUtils;
@@ -145,6 +145,7 @@ public class ScheduleThemeNode extends BorderPane {
                         selectedBibleTheme = panel.getTheme();
                         setBibleTheme(selectedBibleTheme);
                     }
+                    panel.dispose();
                 }
             }
         }
@@ -217,7 +218,7 @@ public class ScheduleThemeNode extends BorderPane {
             }
         }
         HBox buttonPanel = new HBox();
-        Button newThemeButton = new Button(LabelGrabber.INSTANCE.getLabel("new.theme.text"), new ImageView(new Image("file:icons/add.png")));
+        Button newThemeButton = new Button(LabelGrabber.INSTANCE.getLabel("new.theme.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/add.png")));
         newThemeButton.setOnAction(t -> {
             themeDialog.setTheme(null);
             themeDialog.showAndWait();
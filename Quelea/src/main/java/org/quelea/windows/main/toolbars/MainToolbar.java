@@ -23,7 +23,6 @@ import java.util.Date;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
@@ -33,6 +32,7 @@ import javax.swing.Timer;
 
 import org.javafx.dialog.Dialog;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -150,7 +150,7 @@ public class MainToolbar extends ToolBar {
 
         add = new MenuButton("");
 
-        ImageView iv = new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/add_item-light.png" : "file:icons/add_item.png"));
+        ImageView iv = new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/add_item-light.png" : "file:icons/add_item.png"));
         iv.setSmooth(true);
         iv.setFitWidth(20);
         iv.setFitHeight(20);
@@ -202,18 +202,18 @@ public class MainToolbar extends ToolBar {
         add.getItems().add(addTimerButton);
 
         if (Utils.isMac()) {
-            loadingView = new ImageView(new Image("file:icons/loading.gif"));
+            loadingView = new ImageView(ImageManager.INSTANCE.getImage("file:icons/loading.gif"));
         } else {
-            loadingView = new ImageView(new Image("file:icons/loading.gif", 24, 24, false, true));
+            loadingView = new ImageView(ImageManager.INSTANCE.getImage("file:icons/loading.gif", 24, 24, false, true));
         }
         loadingView.setFitHeight(24);
         loadingView.setFitWidth(24);
         dvdImageStack = new StackPane();
         ImageView dvdIV;
         if (Utils.isMac()) {
-            dvdIV = new ImageView(new Image("file:icons/dvd.png"));
+            dvdIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/dvd.png"));
         } else {
-            dvdIV = new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? "file:icons/dvd-light.png" : "file:icons/dvd.png", 24, 24, false, true));
+            dvdIV = new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? "file:icons/dvd-light.png" : "file:icons/dvd.png", 24, 24, false, true));
         }
         dvdIV.setFitWidth(24);
         dvdIV.setFitHeight(24);
@@ -343,7 +343,7 @@ public class MainToolbar extends ToolBar {
     }
 
     private Button getButtonFromImage(String uri, int width, int height, boolean preserveRatio, boolean smooth) {
-        ImageView iv = new ImageView(new Image(uri, width, height, preserveRatio, smooth));
+        ImageView iv = new ImageView(ImageManager.INSTANCE.getImage(uri, width, height, preserveRatio, smooth));
         iv.setSmooth(true);
         iv.setFitWidth(24);
         iv.setFitHeight(24);
@@ -355,7 +355,7 @@ public class MainToolbar extends ToolBar {
     }
 
     private MenuItem getMenuItemFromImage(String uri, int width, int height, boolean preserveRatio, boolean smooth) {
-        ImageView iv = new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? uri.replace(".png", "-light.png") : uri, width, height, preserveRatio, smooth));
+        ImageView iv = new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? uri.replace(".png", "-light.png") : uri, width, height, preserveRatio, smooth));
         iv.setSmooth(true);
         iv.setFitWidth(24);
         iv.setFitHeight(24);
@@ -363,7 +363,7 @@ public class MainToolbar extends ToolBar {
     }
 
     private ImageView getImageViewForButton(String uri) {
-        ImageView iv = new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? uri.replace(".png", "-light.png") : uri));
+        ImageView iv = new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? uri.replace(".png", "-light.png") : uri));
         iv.setSmooth(true);
         iv.setFitWidth(24);
         iv.setFitHeight(24);
@@ -25,13 +25,13 @@ import javafx.beans.value.ObservableValue;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.windows.main.QueleaApp;
 
 /**
@@ -55,7 +55,7 @@ public class AddSongPromptOverlay extends StackPane {
         VBox content = new VBox();
         content.setAlignment(Pos.TOP_LEFT);
         StackPane.setMargin(content, new Insets(10,0,0,15));
-        ImageView iv = new ImageView(new Image("file:icons/whitearrow.png"));
+        ImageView iv = new ImageView(ImageManager.INSTANCE.getImage("file:icons/whitearrow.png"));
         content.getChildren().add(iv);
         text = new Label(LabelGrabber.INSTANCE.getLabel("add.song.hint.text"));
         Platform.runLater(() -> QueleaApp.get().getMainWindow().getMainPanel().getLibraryPanel().getLibrarySongPanel().getSearchBox().textProperty().addListener(new ChangeListener<String>() {
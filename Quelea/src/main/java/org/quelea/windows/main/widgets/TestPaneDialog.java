@@ -97,7 +97,7 @@ public class TestPaneDialog extends Stage {
         root.setCenter(centrePane);
 
         StackPane bottomPane = new StackPane();
-        Button closeButton = new Button(LabelGrabber.INSTANCE.getLabel("help.about.close"), new ImageView(new Image("file:icons/tick.png")));
+        Button closeButton = new Button(LabelGrabber.INSTANCE.getLabel("help.about.close"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         closeButton.setOnAction(new EventHandler<ActionEvent>() {
 
             @Override
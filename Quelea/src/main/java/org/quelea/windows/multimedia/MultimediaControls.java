@@ -57,6 +57,7 @@ import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.DisplayCanvas;
 import org.quelea.windows.main.LivePanel;
@@ -73,15 +74,15 @@ import org.quelea.windows.main.WordDrawer;
 public class MultimediaControls extends StackPane {
 
     private static final int SLIDER_UPDATE_RATE = 100;
-    private static final Image PLAY_IMAGE = new Image("file:icons/play.png");
-    private static final Image PAUSE_IMAGE = new Image("file:icons/pause.png");
-    private static final Image STOP_IMAGE = new Image("file:icons/stop.png");
-    private static final Image LOOP_IMAGE_ON = new Image("file:icons/loop_on.png");
-    private static final Image LOOP_IMAGE_OFF = new Image("file:icons/loop_off.png");
-    private static final Image PLAY_IMAGE_DISABLE = new Image("file:icons/playdisable.png");
-    private static final Image PAUSE_IMAGE_DISABLE = new Image("file:icons/pausedisable.png");
-    private static final Image STOP_IMAGE_DISABLE = new Image("file:icons/stopdisable.png");
-    private static final Image VOLUME = new Image("file:icons/volume.png");
+    private static final Image PLAY_IMAGE = ImageManager.INSTANCE.getImage("file:icons/play.png");
+    private static final Image PAUSE_IMAGE = ImageManager.INSTANCE.getImage("file:icons/pause.png");
+    private static final Image STOP_IMAGE = ImageManager.INSTANCE.getImage("file:icons/stop.png");
+    private static final Image LOOP_IMAGE_ON = ImageManager.INSTANCE.getImage("file:icons/loop_on.png");
+    private static final Image LOOP_IMAGE_OFF = ImageManager.INSTANCE.getImage("file:icons/loop_off.png");
+    private static final Image PLAY_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/playdisable.png");
+    private static final Image PAUSE_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/pausedisable.png");
+    private static final Image STOP_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/stopdisable.png");
+    private static final Image VOLUME = ImageManager.INSTANCE.getImage("file:icons/volume.png");
     private boolean playpause;
     private ImageView playButton;
     private ImageView stopButton;
@@ -50,6 +50,7 @@ import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.languages.spelling.Dictionary;
 import org.quelea.services.languages.spelling.DictionaryManager;
 import org.quelea.services.languages.spelling.SpellTextArea;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
@@ -197,7 +198,7 @@ public class BasicSongPanel extends BorderPane {
     }
 
     private Button getNonBreakingLineButton() {
-        Button ret = new Button("", new ImageView(new Image("file:icons/nonbreakline.png", 24, 24, false, true)));
+        Button ret = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/nonbreakline.png", 24, 24, false, true)));
         Utils.setToolbarButtonStyle(ret);
         ret.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("nonbreak.tooltip")));
         ret.setOnAction((event) -> {
@@ -239,7 +240,7 @@ public class BasicSongPanel extends BorderPane {
     private Button getTitleButton(String fileName, String label, String titleName) {
         if (darkTheme)
             fileName = fileName.replace(".png", "-light.png");
-        Button ret = new Button("", new ImageView(new Image("file:icons/" + fileName, 24, 24, false, true)));
+        Button ret = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/" + fileName, 24, 24, false, true)));
         Utils.setToolbarButtonStyle(ret);
         ret.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel(label)));
         ret.setOnAction((event) -> insertTitle(titleName, ""));
@@ -253,7 +254,7 @@ public class BasicSongPanel extends BorderPane {
      * @return the sequence button
      */
     private Button getSequenceButton() {
-        Button ret = new Button("", new ImageView(new Image("file:icons/edit32.png", 24, 24, false, true)));
+        Button ret = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/edit32.png", 24, 24, false, true)));
         ret.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("open.sequence.editor.tooltip")));
         ret.setOnAction((event) -> {
             SequenceSelectionDialog sequenceSelectionDialog = new SequenceSelectionDialog();
@@ -296,7 +297,7 @@ public class BasicSongPanel extends BorderPane {
      * @return the button used for transposing the chords.
      */
     private Button getTransposeButton() {
-        Button ret = new Button("", new ImageView(new Image("file:icons/transpose.png", 24, 24, false, true)));
+        Button ret = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/transpose.png", 24, 24, false, true)));
         ret.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("transpose.tooltip")));
         ret.setOnAction(t -> {
             String originalKey = getKey(0);
@@ -362,7 +363,7 @@ public class BasicSongPanel extends BorderPane {
      * @return the spell checker button.
      */
     private Button getDictButton() {
-        Button button = new Button("", new ImageView(new Image("file:icons/dictionary.png", 24, 24, false, true)));
+        Button button = new Button("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/dictionary.png", 24, 24, false, true)));
         button.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("run.spellcheck.label") + " (F7)"));
         button.setOnAction(t -> lyricsArea.runSpellCheck());
         button.disableProperty().bind(lyricsArea.spellingOkProperty());
@@ -446,11 +447,11 @@ public class BasicSongPanel extends BorderPane {
      */
     private SplitMenuButton getVerseButton() {
         SplitMenuButton m = new SplitMenuButton();
-        m.setGraphic(new ImageView(new Image(darkTheme ? "file:icons/verse-light.png" : "file:icons/verse.png", 24, 24, false, true)));
+        m.setGraphic(new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/verse-light.png" : "file:icons/verse.png", 24, 24, false, true)));
         m.setTooltip(new Tooltip(LabelGrabber.INSTANCE.getLabel("verse.tooltip")));
         m.setOnMouseClicked((MouseEvent event) -> insertTitle("Verse", ""));
         for (int i = 1; i < 10; i++) {
-            MenuItem mi = new MenuItem("", new ImageView(new Image(darkTheme ? "file:icons/verse" + i + "-light.png" : "file:icons/verse" + i + ".png", 24, 24, false, true)));
+            MenuItem mi = new MenuItem("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/verse" + i + "-light.png" : "file:icons/verse" + i + ".png", 24, 24, false, true)));
             final int finalI = i;
             mi.setOnAction((ActionEvent event) -> insertTitle("Verse", Integer.toString(finalI)));
             m.getItems().add(mi);
@@ -36,7 +36,6 @@ import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -53,6 +52,7 @@ import javafx.stage.Stage;
 import javafx.util.converter.NumberStringConverter;
 import org.quelea.data.ThemeDTO;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.SerializableDropShadow;
 import org.quelea.services.utils.SerializableFont;
@@ -129,9 +129,9 @@ public class FontOptionsDialog extends Stage {
         shadowSpreadSlider = new Slider(0, 1, 0);
         shadowSpreadSlider.setShowTickMarks(false);
 
-        boldButton = new ToggleButton("", new ImageView(new Image("file:icons/bold.png", 15, 15, false, true)));
+        boldButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/bold.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(boldButton);
-        italicButton = new ToggleButton("", new ImageView(new Image("file:icons/italic.png", 15, 15, false, true)));
+        italicButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage("file:icons/italic.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(italicButton);
 
         BorderPane root = new BorderPane();
@@ -219,7 +219,7 @@ public class FontOptionsDialog extends Stage {
         BorderPane.setMargin(controlRoot, new Insets(10));
         StackPane buttonPane = new StackPane();
         buttonPane.setAlignment(Pos.CENTER);
-        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(new Image("file:icons/tick.png")));
+        okButton = new Button(LabelGrabber.INSTANCE.getLabel("ok.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         okButton.setOnAction((ActionEvent t) -> hide());
         okButton.setAlignment(Pos.CENTER);
         StackPane.setMargin(okButton, new Insets(10));
@@ -11,7 +11,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.Dragboard;
@@ -25,6 +24,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 
@@ -87,7 +87,7 @@ public class FontSelectionDialog extends Stage {
         chosenFontBox.getChildren().add(chosenFontSelection);
         centrePane.getChildren().add(chosenFontBox);
 
-        Button doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(new Image("file:icons/tick.png")));
+        Button doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         doneButton.setOnAction(t -> FontSelectionDialog.this.hide());
         StackPane donePane = new StackPane();
         donePane.setPadding(new Insets(0, 0, 10, 0));
@@ -98,6 +98,7 @@ public class ImageButton extends Button {
                         drawer.getTheme().getTextAlignment());
 
                 drawer.setTheme(theme);
+                drawer.dispose();
             }
         });
     }
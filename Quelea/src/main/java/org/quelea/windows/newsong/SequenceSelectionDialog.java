@@ -16,7 +16,6 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.DragEvent;
@@ -34,6 +33,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.main.QueleaApp;
@@ -95,7 +95,7 @@ public final class SequenceSelectionDialog extends Stage {
         VBox toolbar = new VBox();
         toolbar.setPadding(new Insets(5));
         toolbar.getChildren().add(new Label());
-        ImageView removeIV = new ImageView(new Image("file:icons/cross.png"));
+        ImageView removeIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png"));
         removeIV.setFitWidth(16);
         removeIV.setFitHeight(16);
         removeButton = new Button("", removeIV);
@@ -106,7 +106,7 @@ public final class SequenceSelectionDialog extends Stage {
             chosenSequence.getItems().remove(chosenSequence.selectionModelProperty().get().getSelectedIndex());
         });
 
-        ImageView upIV = new ImageView(new Image("file:icons/up.png"));
+        ImageView upIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/up.png"));
         upIV.setFitWidth(16);
         upIV.setFitHeight(16);
         upButton = new Button("", upIV);
@@ -115,7 +115,7 @@ public final class SequenceSelectionDialog extends Stage {
         upButton.setDisable(true);
         upButton.setOnAction(t -> moveCurrentItem(Direction.UP));
 
-        ImageView downIV = new ImageView(new Image("file:icons/down.png"));
+        ImageView downIV = new ImageView(ImageManager.INSTANCE.getImage("file:icons/down.png"));
         downIV.setFitWidth(16);
         downIV.setFitHeight(16);
         downButton = new Button("", downIV);
@@ -143,7 +143,7 @@ public final class SequenceSelectionDialog extends Stage {
             }
         });
 
-        Button doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(new Image("file:icons/tick.png")));
+        Button doneButton = new Button(LabelGrabber.INSTANCE.getLabel("done.text"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
         doneButton.setOnAction((ActionEvent t) -> {
             finished = true;
             SequenceSelectionDialog.this.hide();
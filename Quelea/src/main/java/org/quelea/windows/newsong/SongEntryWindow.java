@@ -28,7 +28,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -42,6 +41,7 @@ import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.SongDisplayable;
 import org.quelea.data.displayable.TextSection;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.lyrics.TranslatePanel;
@@ -78,7 +78,7 @@ public class SongEntryWindow extends Stage {
         updateDBOnHide = true;
         Utils.addIconsToStage(this);
 
-        confirmButton = new Button(LabelGrabber.INSTANCE.getLabel("add.song.button"), new ImageView(new Image("file:icons/tick.png")));
+        confirmButton = new Button(LabelGrabber.INSTANCE.getLabel("add.song.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/tick.png")));
 
         BorderPane mainPane = new BorderPane();
         tabPane = new TabPane();
@@ -128,7 +128,7 @@ public class SongEntryWindow extends Stage {
             cancel = false;
             saveSong();
         });
-        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(new Image("file:icons/cross.png")));
+        cancelButton = new Button(LabelGrabber.INSTANCE.getLabel("cancel.button"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png")));
         cancelButton.setOnAction(t -> {
             checkSave();
         });
@@ -27,6 +27,8 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 import org.fxmisc.richtext.InlineCssTextArea;
 import org.quelea.data.ThemeDTO;
 import org.quelea.data.displayable.SongDisplayable;
@@ -57,6 +59,7 @@ public class ThemePanel extends BorderPane {
     private String saveHash = "";
     private final Button confirmButton;
     private ComboBox<ThemeDTO> themeCombo;
+    private WordDrawer previewDrawer;
 
     /**
      * Create and initialise the theme panel
@@ -146,6 +149,23 @@ public class ThemePanel extends BorderPane {
         setTop(northBox);
         updateTheme(false);
         setMaxSize(800, 600);
+        //Stop a video background playing in the preview once the window's closed
+        sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene != null) {
+                scene.windowProperty().addListener((windowObs, oldWindow, window) -> releasePreviewOnHide(window));
+                releasePreviewOnHide(scene.getWindow());
+            }
+        });
+    }
+
+    private void releasePreviewOnHide(Window window) {
+        if (window != null) {
+            window.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> {
+                if (previewDrawer != null) {
+                    previewDrawer.dispose();
+                }
+            });
+        }
     }
 
     private boolean isEmpty(String[] text) {
@@ -201,15 +221,17 @@ public class ThemePanel extends BorderPane {
     public void updateTheme(boolean warning) {
         final ThemeDTO theme = getTheme();
         Platform.runLater(() -> {
-            WordDrawer drawer;
-            if (preview.getCanvas().isStageView()) {
-                drawer = new StageDrawer();
-            } else {
-                drawer = new LyricDrawer();
+            //One drawer for the preview, so a video background carries on rather than being restarted
+            if (previewDrawer == null) {
+                if (preview.getCanvas().isStageView()) {
+                    previewDrawer = new StageDrawer();
+                } else {
+                    previewDrawer = new LyricDrawer();
+                }
+                previewDrawer.setCanvas(preview.getCanvas());
             }
-            drawer.setCanvas(preview.getCanvas());
-            drawer.setTheme(theme);
-            drawer.setText(text, null, null, false, -1);
+            previewDrawer.setTheme(theme);
+            previewDrawer.setText(text, null, null, false, -1);
 
         });
     }
@@ -38,7 +38,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -56,6 +55,7 @@ import org.quelea.data.ImageBackground;
 import org.quelea.data.ThemeDTO;
 import org.quelea.data.VideoBackground;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.SerializableDropShadow;
@@ -147,7 +147,7 @@ public class ThemeToolbar extends HBox {
         topLevelFontBox.getChildren().add(fontTop);
 
         HBox fontMid = new HBox();
-        boldButton = new ToggleButton("", new ImageView(new Image(darkTheme ? "file:icons/bold-light.png" : "file:icons/bold.png", 15, 15, false, true)));
+        boldButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/bold-light.png" : "file:icons/bold.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(boldButton);
         boldButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
@@ -155,7 +155,7 @@ public class ThemeToolbar extends HBox {
                 themePanel.updateTheme(false);
             }
         });
-        italicButton = new ToggleButton("", new ImageView(new Image(darkTheme ? "file:icons/italic-light.png" : "file:icons/italic.png", 15, 15, false, true)));
+        italicButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/italic-light.png" : "file:icons/italic.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(italicButton);
         italicButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
             @Override
@@ -164,7 +164,7 @@ public class ThemeToolbar extends HBox {
             }
         });
         ToggleGroup alignGroup = new ToggleGroup();
-        leftAlignButton = new ToggleButton("", new ImageView(new Image(darkTheme ? "file:icons/leftalign-light.png" : "file:icons/leftalign.png", 15, 15, false, true)));
+        leftAlignButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/leftalign-light.png" : "file:icons/leftalign.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(leftAlignButton);
         leftAlignButton.setToggleGroup(alignGroup);
         leftAlignButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
@@ -173,7 +173,7 @@ public class ThemeToolbar extends HBox {
                 themePanel.updateTheme(false);
             }
         });
-        centreAlignButton = new ToggleButton("", new ImageView(new Image(darkTheme ? "file:icons/centrealign-light.png" : "file:icons/centrealign.png", 15, 15, false, true)));
+        centreAlignButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/centrealign-light.png" : "file:icons/centrealign.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(centreAlignButton);
         centreAlignButton.setToggleGroup(alignGroup);
         centreAlignButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
@@ -182,7 +182,7 @@ public class ThemeToolbar extends HBox {
                 themePanel.updateTheme(false);
             }
         });
-        rightAlignButton = new ToggleButton("", new ImageView(new Image(darkTheme ? "file:icons/rightalign-light.png" : "file:icons/rightalign.png", 15, 15, false, true)));
+        rightAlignButton = new ToggleButton("", new ImageView(ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/rightalign-light.png" : "file:icons/rightalign.png", 15, 15, false, true)));
         Utils.setToolbarButtonStyle(rightAlignButton);
         rightAlignButton.setToggleGroup(alignGroup);
         rightAlignButton.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
@@ -302,7 +302,7 @@ public class ThemeToolbar extends HBox {
                 checkConfirmButton();
             }
         });
-        Button backgroundVidSelectButton = new VideoButton(backgroundVidLocation, themePanel.getCanvas());
+        Button backgroundVidSelectButton = new VideoButton(backgroundVidLocation);
         vidLocationPanel.getChildren().add(backgroundVidLocation);
         vidLocationPanel.getChildren().add(backgroundVidSelectButton);
         vidPanel.getChildren().add(vidLocationPanel);
@@ -26,11 +26,11 @@ import com.dlsc.preferencesfx.model.Category;
 import com.dlsc.preferencesfx.model.Setting;
 import javafx.beans.property.*;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.data.bible.Bible;
 import org.quelea.data.bible.BibleManager;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.options.customprefs.DefaultBibleSelector;
 
@@ -92,7 +92,7 @@ public class OptionsBiblePanel {
     public Category getBiblesTab() {
         bindings.put((Field) maxVersesSetting.getElement(), useMaxVersesProperty.not());
 
-        return Category.of(LabelGrabber.INSTANCE.getLabel("bible.options.heading"), new ImageView(new Image("file:icons/biblesettingsicon.png")),
+        return Category.of(LabelGrabber.INSTANCE.getLabel("bible.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/biblesettingsicon.png")),
                 defaultBibleSetting,
                 showVerseNumSetting,
                 splitVersesSetting,
@@ -19,9 +19,9 @@ package org.quelea.windows.options;
 import com.dlsc.formsfx.model.structure.Field;
 import com.dlsc.preferencesfx.model.Category;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.windows.main.GraphicsDeviceWatcher;
 import org.quelea.windows.main.QueleaApp;
 
@@ -56,7 +56,7 @@ public class OptionsDisplaySetupPanel {
     }
 
     Category getDisplaySetupTab() {
-        return Category.of(LabelGrabber.INSTANCE.getLabel("display.options.heading"), new ImageView(new Image("file:icons/monitorsettingsicon.png")),
+        return Category.of(LabelGrabber.INSTANCE.getLabel("display.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/monitorsettingsicon.png")),
                 controlScreen.getGroup(),
                 projectorScreen.getGroup(),
                 stageScreen.getGroup()
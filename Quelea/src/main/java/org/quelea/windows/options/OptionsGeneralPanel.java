@@ -28,11 +28,11 @@ import javafx.beans.property.*;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.languages.LanguageFile;
 import org.quelea.services.languages.LanguageFileManager;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.options.customprefs.PercentSliderControl;
 
@@ -120,7 +120,7 @@ public class OptionsGeneralPanel {
         bindings.put(smallBibleSizeControllerField, showSmallBibleProperty.not());
         bindings.put(defaultTranslationNameField, useDefaultTranslationProperty.not());
 
-        return Category.of(LabelGrabber.INSTANCE.getLabel("general.options.heading"), new ImageView(new Image("file:icons/generalsettingsicon.png")))
+        return Category.of(LabelGrabber.INSTANCE.getLabel("general.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/generalsettingsicon.png")))
                 .subCategories(
                         Category.of(LabelGrabber.INSTANCE.getLabel("interface.options.options"),
                                 Group.of(LabelGrabber.INSTANCE.getLabel("general.interface.options"),
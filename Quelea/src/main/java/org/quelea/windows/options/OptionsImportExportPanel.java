@@ -28,9 +28,9 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 
 import static org.quelea.services.utils.QueleaPropertyKeys.*;
@@ -58,7 +58,7 @@ public class OptionsImportExportPanel {
     }
 
     public Category getImportExportTab() {
-        return Category.of(LabelGrabber.INSTANCE.getLabel("importexport.options.heading"), new ImageView(new Image("file:icons/arrows.png")),
+        return Category.of(LabelGrabber.INSTANCE.getLabel("importexport.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/arrows.png")),
                 Group.of(LabelGrabber.INSTANCE.getLabel("elevanto.import.heading"),
                         Setting.of(LabelGrabber.INSTANCE.getLabel("client.id"), elevantoClientIdProperty).customKey(elevantoClientIdKey)),
                 Group.of(LabelGrabber.INSTANCE.getLabel("pco.import.heading"),
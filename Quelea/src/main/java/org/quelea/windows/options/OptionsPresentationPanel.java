@@ -28,9 +28,9 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
 import org.quelea.windows.options.customprefs.DirectorySelectorPreference;
@@ -75,14 +75,14 @@ public class OptionsPresentationPanel {
                     new DirectorySelectorPreference(LabelGrabber.INSTANCE.getLabel("browse"), null));
             bindings.put(directoryFieldPPField, usePPProperty.not());
 
-            return Category.of(LabelGrabber.INSTANCE.getLabel("presentation.options.heading"), new ImageView(new Image("file:icons/presentationssettingsicon.png")),
+            return Category.of(LabelGrabber.INSTANCE.getLabel("presentation.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/presentationssettingsicon.png")),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("use.oo.label"), useOOProperty).customKey(useOoKey),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("oo.path"), directoryFieldOOField, directoryChooserOOProperty).customKey(ooPathKey),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("use.pp.label"), usePPProperty).customKey(usePpKey),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("pp.path"), directoryFieldPPField, directoryChooserPPProperty).customKey(ppPathKey)
             );
         } else
-            return Category.of(LabelGrabber.INSTANCE.getLabel("presentation.options.heading"), new ImageView(new Image("file:icons/presentationssettingsicon.png")),
+            return Category.of(LabelGrabber.INSTANCE.getLabel("presentation.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/presentationssettingsicon.png")),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("use.oo.label"), useOOProperty).customKey(useOoKey),
                     Setting.of(LabelGrabber.INSTANCE.getLabel("oo.path"), directoryFieldOOField, directoryChooserOOProperty).customKey(ooPathKey)
             );
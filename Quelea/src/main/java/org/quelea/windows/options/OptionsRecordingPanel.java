@@ -28,9 +28,9 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.options.customprefs.DirectorySelectorPreference;
 
@@ -71,7 +71,7 @@ public class OptionsRecordingPanel {
     public Category getRecordingsTab() {
         bindings.put((Field) useConvertSetting.getElement(), new SimpleBooleanProperty(!hasVLC));
 
-        return Category.of(LabelGrabber.INSTANCE.getLabel("recordings.options.heading"), new ImageView(new Image("file:icons/recordingssettingsicon.png")),
+        return Category.of(LabelGrabber.INSTANCE.getLabel("recordings.options.heading"), new ImageView(ImageManager.INSTANCE.getImage("file:icons/recordingssettingsicon.png")),
                 Setting.of(LabelGrabber.INSTANCE.getLabel("recordings.path"), recordingsDirectoryField, recordingsDirectoryChooserProperty).customKey(recPathKey),
                 useConvertSetting
         );
@@ -33,10 +33,10 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.options.customprefs.MobileServerPreference;
 
@@ -95,7 +95,7 @@ public class OptionsServerSettingsPanel {
 
     public Category getServerTab() {
         return Category.of(LabelGrabber.INSTANCE.getLabel("server.settings.heading"),
-                new ImageView(new Image("file:icons/serversettingsicon.png")),
+                new ImageView(ImageManager.INSTANCE.getImage("file:icons/serversettingsicon.png")),
                 Group.of(LabelGrabber.INSTANCE.getLabel("mobile.lyrics.heading"),
                         Setting.of(LabelGrabber.INSTANCE.getLabel("use.mobile.lyrics.label"), useMobileLyricsProperty)
                                 .customKey(useMobLyricsKey),
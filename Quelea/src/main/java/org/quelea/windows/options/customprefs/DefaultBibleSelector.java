@@ -5,7 +5,6 @@ import com.dlsc.preferencesfx.formsfx.view.controls.SimpleControl;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -16,6 +15,7 @@ import org.quelea.data.bible.Bible;
 import org.quelea.data.bible.BibleManager;
 import org.quelea.services.languages.LabelGrabber;
 import org.quelea.services.utils.FileFilters;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
@@ -128,7 +128,7 @@ public class DefaultBibleSelector extends SimpleControl<SingleSelectionField<Str
 
     private Button createAddBibleButton() {
         final Button addBibleButton = new Button(LabelGrabber.INSTANCE.getLabel("add.bible.label"),
-                new ImageView(new Image("file:icons/add.png")));
+                new ImageView(ImageManager.INSTANCE.getImage("file:icons/add.png")));
         addBibleButton.setOnAction(t -> {
 
             FileChooser chooser = new FileChooser();
@@ -162,7 +162,7 @@ public class DefaultBibleSelector extends SimpleControl<SingleSelectionField<Str
 
     private Button createDeleteBibleButton() {
         final Button deleteBibleButton = new Button(LabelGrabber.INSTANCE.getLabel("delete.bible.label"),
-                new ImageView(new Image("file:icons/cross.png")));
+                new ImageView(ImageManager.INSTANCE.getImage("file:icons/cross.png")));
         deleteBibleButton.setOnAction(t -> {
 
             Bible bible = BibleManager.get().getBibleFromName(comboBox.getSelectionModel().getSelectedItem());
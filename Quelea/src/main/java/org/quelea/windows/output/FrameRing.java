@@ -0,0 +1,264 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.output;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed ring of off-heap frame buffers with a single writer and any number
+ * of readers. The writer never waits for readers - a reader that falls more
+ * than a ring's length behind simply loses the oldest frames, and a reader
+ * that's copying a slot while the writer wraps round onto it notices and
+ * tries again.
+ * <p/>
+ * Frames are stored as premultiplied BGRA, four bytes a pixel with no row
+ * padding.
+ * <p/>
+ * @author Michael
+ */
+public class FrameRing {
+
+    private static final long WRITING = -1;
+    private final int width;
+    private final int height;
+    private final int frameBytes;
+    private final ByteBuffer[] slots;
+    private final AtomicLongArray slotSeq;
+    private final List<Cursor> cursors;
+    private final Object signal = new Object();
+    private volatile long written;
+
+    /**
+     * Create a new frame ring.
+     * <p/>
+     * @param width the width of each frame in pixels.
+     * @param height the height of each frame in pixels.
+     * @param capacity the number of frames the ring holds.
+     */
+    public FrameRing(int width, int height, int capacity) {
+        this.width = width;
+        this.height = height;
+        this.frameBytes = width * height * 4;
+        slots = new ByteBuffer[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = ByteBuffer.allocateDirect(frameBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        slotSeq = new AtomicLongArray(capacity);
+        cursors = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Get the buffer the next frame should be written into and mark it as
+     * being written. Must be followed by a call to {@link #endWrite()}.
+     * <p/>
+     * @return the buffer for the next frame, positioned at zero.
+     */
+    ByteBuffer beginWrite() {
+        int idx = index(written + 1);
+        slotSeq.set(idx, WRITING);
+        ByteBuffer slot = slots[idx];
+        slot.clear();
+        return slot;
+    }
+
+    /**
+     * Publish the frame written since the last call to {@link #beginWrite()}
+     * and wake any waiting readers.
+     */
+    void endWrite() {
+        long seq = written + 1;
+        slotSeq.set(index(seq), seq);
+        written = seq;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Open a new reading cursor on this ring. Cursors start at the most
+     * recently written frame.
+     * <p/>
+     * @param latestOnly true if the cursor should always skip to the newest
+     * frame, false if it should read every frame still held in the ring.
+     * @return the new cursor.
+     */
+    public Cursor openCursor(boolean latestOnly) {
+        Cursor cursor = new Cursor(latestOnly);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    /**
+     * Determine whether every open cursor is too far behind to take another
+     * frame. Capturing a frame in that case would only overwrite one that
+     * hasn't been read yet. A cursor that only wants the newest frame counts
+     * as behind until it's picked up the last one written.
+     * <p/>
+     * @return true if there are no cursors ready for a new frame.
+     */
+    boolean isBlocked() {
+        if (cursors.isEmpty()) {
+            return true;
+        }
+        long latest = written;
+        for (Cursor cursor : cursors) {
+            if (cursor.latestOnly ? cursor.position >= latest : cursor.position > latest - slots.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determine whether anything is reading from this ring.
+     * <p/>
+     * @return true if at least one cursor is open.
+     */
+    boolean hasCursors() {
+        return !cursors.isEmpty();
+    }
+
+    /**
+     * Wake up all readers, for instance so they can notice they've been
+     * closed.
+     */
+    void wakeAll() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * @return the width of each frame in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of each frame in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the size of each frame in bytes.
+     */
+    public int getFrameBytes() {
+        return frameBytes;
+    }
+
+    private int index(long seq) {
+        return (int) (seq % slots.length);
+    }
+
+    /**
+     * A reader's position in the ring.
+     */
+    public class Cursor implements AutoCloseable {
+
+        private final boolean latestOnly;
+        private volatile long position;
+        private volatile boolean closed;
+        private long dropped;
+
+        private Cursor(boolean latestOnly) {
+            this.latestOnly = latestOnly;
+            this.position = written;
+        }
+
+        /**
+         * Copy the next frame into the given buffer, waiting for one to be
+         * written if necessary.
+         * <p/>
+         * @param dest the buffer to copy into, which must have room for a
+         * whole frame. It's cleared first and flipped afterwards.
+         * @param timeoutMillis how long to wait for a frame.
+         * @return true if a frame was copied, false if the wait timed out or
+         * the cursor was closed.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        public boolean next(ByteBuffer dest, long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (!closed) {
+                long latest = written;
+                if (latest > position) {
+                    long seq = latestOnly ? latest : Math.max(position + 1, latest - slots.length + 2);
+                    if (copy(seq, dest)) {
+                        dropped += seq - position - 1;
+                        position = seq;
+                        return true;
+                    }
+                    continue;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                synchronized (signal) {
+                    if (written == position && !closed) {
+                        signal.wait(remaining);
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean copy(long seq, ByteBuffer dest) {
+            int idx = index(seq);
+            if (slotSeq.get(idx) != seq) {
+                return false;
+            }
+            ByteBuffer src = slots[idx].duplicate();
+            src.clear().limit(frameBytes);
+            dest.clear();
+            dest.put(src);
+            dest.flip();
+            return slotSeq.get(idx) == seq;
+        }
+
+        /**
+         * Get the number of frames this cursor has skipped over, either
+         * because it only wants the newest frame or because it fell behind.
+         * The count is reset by this call.
+         * <p/>
+         * @return the frames skipped since the last call.
+         */
+        public long takeDropped() {
+            long ret = dropped;
+            dropped = 0;
+            return ret;
+        }
+
+        /**
+         * Stop reading from the ring. A thread waiting in
+         * {@link #next(ByteBuffer, long)} returns straight away.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            cursors.remove(this);
+            wakeAll();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.output;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Encodes frames from the output tap as JPEGs for MJPEG clients. Each frame
+ * is encoded once however many clients are connected, and the encoder only
+ * runs while at least one client is. Clients that can't keep up are handed
+ * the newest frame and skip the rest.
+ * <p/>
+ * @author Michael
+ */
+public class MjpegPublisher {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private final FrameRing ring;
+    private final TapMetrics metrics;
+    private final float quality;
+    private final Object lock = new Object();
+    private int clients;
+    private Thread encoder;
+    private FrameRing.Cursor cursor;
+    private JpegFrame frame;
+    private long lastSeq;
+
+    /**
+     * Create a new publisher.
+     * <p/>
+     * @param ring the ring to take frames from.
+     * @param metrics the metrics to record delivery in.
+     * @param quality the JPEG quality, between 0 and 1.
+     */
+    MjpegPublisher(FrameRing ring, TapMetrics metrics, float quality) {
+        this.ring = ring;
+        this.metrics = metrics;
+        this.quality = quality;
+    }
+
+    /**
+     * Register a new client, starting the encoder if it's the first.
+     */
+    public void addClient() {
+        synchronized (lock) {
+            if (clients++ == 0) {
+                cursor = ring.openCursor(true);
+                final FrameRing.Cursor encoderCursor = cursor;
+                encoder = new Thread(() -> encode(encoderCursor), "output-tap-mjpeg");
+                encoder.setDaemon(true);
+                encoder.start();
+            }
+        }
+    }
+
+    /**
+     * Unregister a client, stopping the encoder if it was the last.
+     */
+    public void removeClient() {
+        synchronized (lock) {
+            if (clients > 0 && --clients == 0) {
+                stopEncoder();
+            }
+        }
+    }
+
+    /**
+     * Stop encoding and wake any waiting clients so they can disconnect.
+     */
+    void stop() {
+        synchronized (lock) {
+            clients = 0;
+            stopEncoder();
+        }
+    }
+
+    private void stopEncoder() {
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+        }
+        encoder = null;
+        frame = null;
+        lock.notifyAll();
+    }
+
+    /**
+     * Wait for a frame newer than the one a client last sent.
+     * <p/>
+     * @param afterSeq the sequence number of the last frame the client sent,
+     * or 0 if it's not sent one yet.
+     * @param timeoutMillis how long to wait.
+     * @return the newest frame, or null if there isn't a newer one yet or the
+     * encoder has stopped.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public JpegFrame awaitFrame(long afterSeq, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (lock) {
+            while (encoder != null && (frame == null || frame.seq <= afterSeq)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                lock.wait(remaining);
+            }
+            if (encoder == null) {
+                return null;
+            }
+            if (afterSeq > 0 && frame.seq > afterSeq + 1) {
+                metrics.framesDropped(frame.seq - afterSeq - 1);
+            }
+            metrics.frameDelivered();
+            return frame;
+        }
+    }
+
+    /**
+     * Determine whether the encoder is running.
+     * <p/>
+     * @return true if frames are being encoded.
+     */
+    public boolean isRunning() {
+        synchronized (lock) {
+            return encoder != null;
+        }
+    }
+
+    private boolean isCurrent(FrameRing.Cursor source) {
+        synchronized (lock) {
+            return cursor == source;
+        }
+    }
+
+    private void encode(FrameRing.Cursor source) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            BufferedImage image = new BufferedImage(ring.getWidth(), ring.getHeight(), BufferedImage.TYPE_INT_RGB);
+            int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ring.getFrameBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            while (isCurrent(source)) {
+                if (!source.next(buffer, 500)) {
+                    continue;
+                }
+                metrics.framesDropped(source.takeDropped());
+                //Little-endian BGRA reads back as ARGB ints, and the RGB image ignores the alpha byte
+                buffer.asIntBuffer().get(data);
+                out.reset();
+                try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+                    writer.setOutput(ios);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                }
+                byte[] jpeg = out.toByteArray();
+                synchronized (lock) {
+                    if (cursor == source) {
+                        frame = new JpegFrame(++lastSeq, jpeg);
+                        lock.notifyAll();
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't encode output frame", ex);
+            synchronized (lock) {
+                if (cursor == source) {
+                    stopEncoder();
+                }
+            }
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * A single encoded frame.
+     */
+    public static final class JpegFrame {
+
+        private final long seq;
+        private final byte[] data;
+
+        private JpegFrame(long seq, byte[] data) {
+            this.seq = seq;
+            this.data = data;
+        }
+
+        /**
+         * @return this frame's sequence number, counting up from 1.
+         */
+        public long getSequence() {
+            return seq;
+        }
+
+        /**
+         * @return the JPEG bytes. Must not be modified.
+         */
+        public byte[] getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.output;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import org.quelea.services.metrics.Metrics;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Taps frames off a display so they can be used as a video source, for
+ * instance by livestreaming software. Frames are captured on the FX thread at
+ * a fixed resolution and rate straight into an off-heap {@link FrameRing},
+ * and everything else - JPEG encoding, writing to a pipe, serving clients -
+ * happens on other threads reading from the ring.
+ * <p/>
+ * The capture is skipped entirely when nothing is reading, skipped when every
+ * reader is still behind, and spaced out if a capture starts eating into the
+ * time the FX thread needs for everything else.
+ * <p/>
+ * @author Michael
+ */
+public class OutputTap {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final int RING_FRAMES = 4;
+    private final Node source;
+    private final FrameRing ring;
+    private final TapMetrics metrics;
+    private final MjpegPublisher mjpeg;
+    private final RawFrameWriter rawWriter;
+    private final long frameNanos;
+    private final WritableImage image;
+    private final SnapshotParameters params;
+    private final AnimationTimer timer;
+    private long nextDue;
+
+    /**
+     * Create a new output tap.
+     * <p/>
+     * @param source the node to capture, usually the projection canvas.
+     * @param width the width of the captured frames.
+     * @param height the height of the captured frames.
+     * @param fps the maximum number of frames to capture a second.
+     * @param jpegQuality the JPEG quality for MJPEG clients, between 0 and 1.
+     * @param rawPath the pipe or file to write raw frames to, or null if raw
+     * frames aren't wanted.
+     */
+    public OutputTap(Node source, int width, int height, int fps, float jpegQuality, Path rawPath) {
+        this.source = source;
+        ring = new FrameRing(width, height, RING_FRAMES);
+        metrics = new TapMetrics();
+        mjpeg = new MjpegPublisher(ring, metrics, jpegQuality);
+        rawWriter = rawPath == null ? null : new RawFrameWriter(ring, metrics, rawPath);
+        frameNanos = 1_000_000_000L / Math.max(1, fps);
+        image = new WritableImage(width, height);
+        params = new SnapshotParameters();
+        params.setFill(Color.BLACK);
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                tick(now);
+            }
+        };
+    }
+
+    /**
+     * Start capturing. Must be called on the FX thread.
+     */
+    public void start() {
+        LOGGER.log(Level.INFO, "Starting output tap at {0}x{1}", new Object[]{ring.getWidth(), ring.getHeight()});
+        timer.start();
+        if (rawWriter != null) {
+            rawWriter.start();
+        }
+        Metrics.get().registerGauge("output.frames.delivered", metrics::getDeliveredFrames);
+        Metrics.get().registerGauge("output.frames.dropped", metrics::getDroppedFrames);
+        Metrics.get().registerGauge("output.frames.skipped", metrics::getBackpressureSkips);
+    }
+
+    /**
+     * Stop capturing and disconnect all readers. Must be called on the FX
+     * thread.
+     */
+    public void stop() {
+        timer.stop();
+        mjpeg.stop();
+        if (rawWriter != null) {
+            rawWriter.stop();
+        }
+        Metrics.get().removeGauge("output.frames.delivered");
+        Metrics.get().removeGauge("output.frames.dropped");
+        Metrics.get().removeGauge("output.frames.skipped");
+        LOGGER.log(Level.INFO, "Stopped output tap: {0}", metrics);
+    }
+
+    /**
+     * @return the publisher MJPEG clients should take frames from.
+     */
+    public MjpegPublisher getMjpegPublisher() {
+        return mjpeg;
+    }
+
+    /**
+     * @return the capture and delivery counters for this tap.
+     */
+    public TapMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void tick(long now) {
+        if (now < nextDue || !ring.hasCursors()) {
+            return;
+        }
+        nextDue = now + frameNanos;
+        if (ring.isBlocked()) {
+            metrics.backpressureSkip();
+            return;
+        }
+        Bounds bounds = source.getLayoutBounds();
+        if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        params.setTransform(Transform.scale(ring.getWidth() / bounds.getWidth(), ring.getHeight() / bounds.getHeight()));
+        source.snapshot(params, image);
+        ByteBuffer slot = ring.beginWrite();
+        image.getPixelReader().getPixels(0, 0, ring.getWidth(), ring.getHeight(), PixelFormat.getByteBgraPreInstance(), slot, ring.getWidth() * 4);
+        ring.endWrite();
+        long took = System.nanoTime() - start;
+        metrics.frameCaptured(took);
+        Metrics.get().record("output.capture", took);
+        //Keep capturing to at most a quarter of the FX thread's time
+        if (took * 4 > frameNanos) {
+            nextDue = now + took * 4;
+            metrics.throttled();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Writes raw frames from the output tap for local encoders. If the target is
+ * a named pipe every frame is streamed down it one after another, and the
+ * pipe is reopened whenever the reader goes away. Otherwise the target is
+ * treated as an ordinary file holding only the latest frame, overwritten in
+ * place.
+ * <p/>
+ * Frames are premultiplied BGRA with no header, so for example ffmpeg can
+ * read the pipe with <code>-f rawvideo -pix_fmt bgra -s WxH -r FPS</code>.
+ * <p/>
+ * @author Michael
+ */
+public class RawFrameWriter {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private final FrameRing ring;
+    private final TapMetrics metrics;
+    private final Path path;
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile FrameRing.Cursor cursor;
+
+    /**
+     * Create a new raw frame writer.
+     * <p/>
+     * @param ring the ring to take frames from.
+     * @param metrics the metrics to record delivery in.
+     * @param path the pipe or file to write to.
+     */
+    RawFrameWriter(FrameRing ring, TapMetrics metrics, Path path) {
+        this.ring = ring;
+        this.metrics = metrics;
+        this.path = path;
+        thread = new Thread(this::run, "output-tap-raw");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Start writing frames.
+     */
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stop writing frames.
+     */
+    void stop() {
+        running = false;
+        FrameRing.Cursor current = cursor;
+        if (current != null) {
+            current.close();
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        boolean pipe = Files.exists(path) && !Files.isRegularFile(path);
+        LOGGER.log(Level.INFO, "Writing {0}x{1} BGRA output frames to {2}", new Object[]{ring.getWidth(), ring.getHeight(), path});
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ring.getFrameBytes());
+        while (running) {
+            //Opening a pipe blocks until something opens it for reading, so only start taking frames after that
+            try (FileChannel channel = pipe
+                    ? FileChannel.open(path, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                cursor = ring.openCursor(!pipe);
+                while (running) {
+                    if (!cursor.next(buffer, 500)) {
+                        continue;
+                    }
+                    metrics.framesDropped(cursor.takeDropped());
+                    long position = 0;
+                    while (buffer.hasRemaining()) {
+                        if (pipe) {
+                            channel.write(buffer);
+                        } else {
+                            position += channel.write(buffer, position);
+                        }
+                    }
+                    metrics.frameDelivered();
+                }
+            } catch (ClosedByInterruptException | InterruptedException ex) {
+                return;
+            } catch (IOException ex) {
+                if (!pipe) {
+                    LOGGER.log(Level.WARNING, "Couldn't write output frames to " + path, ex);
+                    return;
+                }
+                LOGGER.log(Level.INFO, "Output frame pipe reader went away, waiting for another");
+                if (!pause()) {
+                    return;
+                }
+            } finally {
+                FrameRing.Cursor current = cursor;
+                if (current != null) {
+                    current.close();
+                    cursor = null;
+                }
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(1000);
+            return true;
+        } catch (InterruptedException ex) {
+            return false;
+        }
+    }
+}
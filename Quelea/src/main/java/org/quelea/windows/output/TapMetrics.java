@@ -0,0 +1,159 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.output;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the output tap. Capture counters are updated on the FX thread,
+ * delivery counters from the consumer threads, and all of them may be read
+ * from any thread.
+ * <p/>
+ * @author Michael
+ */
+public class TapMetrics {
+
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder backpressureSkips = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalCaptureNanos = new LongAdder();
+    private final AtomicLong maxCaptureNanos = new AtomicLong();
+
+    /**
+     * Record that a frame was captured into the ring.
+     * <p/>
+     * @param nanos how long the FX thread spent capturing it.
+     */
+    void frameCaptured(long nanos) {
+        captured.increment();
+        totalCaptureNanos.add(nanos);
+        maxCaptureNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Record that a capture was skipped because no consumer had room for
+     * another frame.
+     */
+    void backpressureSkip() {
+        backpressureSkips.increment();
+    }
+
+    /**
+     * Record that a capture was put off because the previous one took too much
+     * of the frame budget.
+     */
+    void throttled() {
+        throttled.increment();
+    }
+
+    /**
+     * Record that a consumer handed on a frame.
+     */
+    void frameDelivered() {
+        delivered.increment();
+    }
+
+    /**
+     * Record that a consumer skipped over some frames, either because it fell
+     * behind or because a newer frame replaced them first.
+     * <p/>
+     * @param count the number of frames skipped.
+     */
+    void framesDropped(long count) {
+        dropped.add(count);
+    }
+
+    /**
+     * Reset all counters to zero.
+     */
+    public void reset() {
+        captured.reset();
+        backpressureSkips.reset();
+        throttled.reset();
+        delivered.reset();
+        dropped.reset();
+        totalCaptureNanos.reset();
+        maxCaptureNanos.set(0);
+    }
+
+    /**
+     * @return the number of frames captured from the display.
+     */
+    public long getCapturedFrames() {
+        return captured.sum();
+    }
+
+    /**
+     * @return the number of captures skipped because every consumer was
+     * still behind.
+     */
+    public long getBackpressureSkips() {
+        return backpressureSkips.sum();
+    }
+
+    /**
+     * @return the number of captures put off to keep the FX thread free.
+     */
+    public long getThrottledFrames() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return the number of frames handed on by all consumers.
+     */
+    public long getDeliveredFrames() {
+        return delivered.sum();
+    }
+
+    /**
+     * @return the number of captured frames consumers skipped over.
+     */
+    public long getDroppedFrames() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the mean time spent capturing a frame on the FX thread, in
+     * milliseconds.
+     */
+    public double getAverageCaptureMillis() {
+        long count = captured.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (totalCaptureNanos.sum() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * @return the longest time spent capturing a frame on the FX thread, in
+     * milliseconds.
+     */
+    public double getMaxCaptureMillis() {
+        return maxCaptureNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("captured=%d delivered=%d dropped=%d backpressure=%d throttled=%d capture(avg/max)=%.1f/%.1fms",
+                getCapturedFrames(), getDeliveredFrames(), getDroppedFrames(), getBackpressureSkips(),
+                getThrottledFrames(), getAverageCaptureMillis(), getMaxCaptureMillis());
+    }
+}
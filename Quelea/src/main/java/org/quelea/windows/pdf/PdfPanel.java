@@ -17,6 +17,8 @@
  */
 package org.quelea.windows.pdf;
 
+import java.util.Map;
+import java.util.WeakHashMap;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -54,6 +56,7 @@ public class PdfPanel extends AbstractPanel {
     private boolean live;
     private DisplayableDrawer drawer = new ImageDrawer();
     private PdfSlide currentSlide = null;
+    private final Map<DisplayCanvas, PdfSlide> drawnSlides = new WeakHashMap<>();
     private LivePreviewPanel containerPanel;
     private Timeline loopTimeline;
 
@@ -161,7 +164,35 @@ public class PdfPanel extends AbstractPanel {
     }
 
     private void drawSlide(PdfSlide newSlide, DisplayCanvas canvas) {
-        Image displayImage = newSlide.getImage();
+        double width = 1920;
+        double height = 1080;
+        if (canvas.getWidth() > 0 && canvas.getHeight() > 0) {
+            double outputScale = canvas.getScene() == null || canvas.getScene().getWindow() == null ? 1 : canvas.getScene().getWindow().getOutputScaleX();
+            width = canvas.getWidth() * outputScale;
+            height = canvas.getHeight() * outputScale;
+        }
+        Image displayImage = newSlide.getCachedImage(width, height);
+        if (displayImage != null) {
+            drawImage(newSlide, displayImage, canvas);
+            return;
+        }
+        /*
+         * Render the page in the background. The page already showing stays
+         * up until then - only when nothing from this PDF is showing yet is
+         * the thumbnail put up in the meantime.
+         */
+        if (drawnSlides.get(canvas) == null && newSlide.getThumbnail() != null) {
+            drawImage(null, newSlide.getThumbnail(), canvas);
+        }
+        newSlide.requestImage(width, height, image -> {
+            if (currentSlide == newSlide) {
+                drawImage(newSlide, image, canvas);
+            }
+        });
+    }
+
+    private void drawImage(PdfSlide slide, Image displayImage, DisplayCanvas canvas) {
+        drawnSlides.put(canvas, slide);
         ImageDisplayable imageDisplayable = new ImageDisplayable(displayImage);
         drawer.setCanvas(canvas);
         drawer.draw(imageDisplayable);
@@ -189,6 +220,7 @@ public class PdfPanel extends AbstractPanel {
             return;
         }
         this.displayable = displayable;
+        drawnSlides.clear();
         if (displayable == null) {
             pdfPreview.clear();
             return;
@@ -42,7 +42,8 @@ public class SlideThumbnail extends BorderPane {
     public SlideThumbnail(PdfSlide slide, int num) {
         this.num = num;
         this.slide = slide;
-        image = new ImageView(slide.getThumbnail());
+        image = new ImageView();
+        image.imageProperty().bind(slide.thumbnailProperty());
         image.setFitWidth(QueleaProperties.get().getThumbnailSize());
         image.setPreserveRatio(true);
         image.setSmooth(true);
@@ -24,6 +24,7 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.LivePanel;
 import org.quelea.windows.main.QueleaApp;
@@ -38,8 +39,8 @@ public class PresentationControls extends StackPane {
 
     public PresentationControls() {
         boolean darkTheme = QueleaProperties.get().getUseDarkTheme();
-        final Image PREVIOUS_IMAGE = new Image(darkTheme ? "file:icons/previous-light.png" : "file:icons/previous.png");
-        final Image NEXT_IMAGE = new Image(darkTheme ? "file:icons/next-light.png" : "file:icons/next.png");
+        final Image PREVIOUS_IMAGE = ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/previous-light.png" : "file:icons/previous.png");
+        final Image NEXT_IMAGE = ImageManager.INSTANCE.getImage(darkTheme ? "file:icons/next-light.png" : "file:icons/next.png");
         Button previousButton = new Button("", setImageView(PREVIOUS_IMAGE));
         setButtonParams(previousButton);
         previousButton.setTranslateX(-120);
@@ -17,6 +17,8 @@
  */
 package org.quelea.windows.presentation;
 
+import java.util.Map;
+import java.util.WeakHashMap;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -51,6 +53,7 @@ public class PresentationPanel extends AbstractPanel {
     private boolean live;
     private DisplayableDrawer drawer = new ImageDrawer();
     private PresentationSlide currentSlide = null;
+    private final Map<DisplayCanvas, PresentationSlide> drawnSlides = new WeakHashMap<>();
     private LivePreviewPanel containerPanel;
     private PresentationControls controlPanel;
     private Timeline loopTimeline;
@@ -223,7 +226,46 @@ public class PresentationPanel extends AbstractPanel {
     }
 
     private void drawSlide(PresentationSlide newSlide, DisplayCanvas canvas) {
-        Image displayImage = newSlide.getImage();
+        Image displayImage = newSlide.getLoadedImage();
+        if (displayImage != null) {
+            drawImage(newSlide, displayImage, canvas);
+        } else {
+            /*
+             * Load the full size slide in the background. The slide already
+             * showing stays up until then - only when nothing from this
+             * presentation is showing yet is the thumbnail put up meanwhile.
+             */
+            if (drawnSlides.get(canvas) == null) {
+                drawImage(null, newSlide.getThumbnail(), canvas);
+            }
+            newSlide.requestImage(image -> {
+                if (currentSlide == newSlide) {
+                    drawImage(newSlide, image, canvas);
+                }
+            });
+        }
+        prefetchNext(newSlide);
+    }
+
+    /**
+     * Load the slide after the given one, so moving on to it doesn't have to
+     * wait.
+     */
+    private void prefetchNext(PresentationSlide slide) {
+        if (displayable == null) {
+            return;
+        }
+        PresentationSlide[] slides = displayable.getPresentation().getSlides();
+        for (int i = 0; i < slides.length - 1; i++) {
+            if (slides[i] == slide) {
+                slides[i + 1].prefetch();
+                return;
+            }
+        }
+    }
+
+    private void drawImage(PresentationSlide slide, Image displayImage, DisplayCanvas canvas) {
+        drawnSlides.put(canvas, slide);
         ImageDisplayable imageDisplayable = new ImageDisplayable(displayImage);
         drawer.setCanvas(canvas);
         drawer.draw(imageDisplayable);
@@ -266,6 +308,7 @@ public class PresentationPanel extends AbstractPanel {
             return;
         }
         this.displayable = displayable;
+        drawnSlides.clear();
         if (displayable == null) {
             presentationPreview.clear();
             return;
@@ -43,12 +43,9 @@ import org.quelea.data.VideoBackground;
 import org.quelea.data.displayable.BiblePassage;
 import org.quelea.data.displayable.TextDisplayable;
 import org.quelea.data.displayable.TextSection;
-import org.quelea.services.languages.LabelGrabber;
-import org.quelea.services.utils.LineTypeChecker;
 import org.quelea.services.utils.LyricLine;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.services.utils.Utils;
-import org.quelea.utils.Chord;
 import org.quelea.windows.lyrics.FormattedText;
 import org.quelea.windows.main.WordDrawer;
 import org.quelea.utils.FXFontMetrics;
@@ -88,10 +85,7 @@ public class StageDrawer extends WordDrawer {
                 getCanvas().getChildren().add(smallTextGroup);
             }
         }
-        Font font = Font.font(QueleaProperties.get().getStageTextFont(), QueleaProperties.get().getMaxFontSize());
-        if (font == null) {
-            font = ThemeDTO.DEFAULT_FONT.getFont();
-        }
+        Font font = StageLayoutCache.getBaseFont();
         DropShadow shadow = new DropShadow();
         if (theme.getShadow() != null) {
             shadow = theme.getShadow().getDropShadow();
@@ -111,26 +105,20 @@ public class StageDrawer extends WordDrawer {
         } else {
             newText = sanctifyText(text);
         }
-        double fontSize;
-        if (defaultFontSize > 0) {
-            fontSize = defaultFontSize;
-        } else {
-            fontSize = pickFontSize(font, newText, getCanvas().getWidth() * 0.92, getCanvas().getHeight() * 0.9);
-        }
+        StageLayout layout = StageLayoutCache.get().getLayout(font, newText, defaultFontSize, getCanvas().getWidth(), getCanvas().getHeight());
         font = Font.font(font.getFamily(), FontWeight.NORMAL,
-                FontPosture.REGULAR, fontSize);
+                FontPosture.REGULAR, layout.getFontSize());
 
         double smallFontSize;
         Font smallTextFont = Font.font("Arial", FontWeight.BOLD, FontPosture.REGULAR, 500);
         smallFontSize = pickSmallFontSize(smallTextFont, smallText, getCanvas().getWidth() * 0.5, (getCanvas().getHeight() * 0.07) - 5); //-5 for insets
         smallTextFont = Font.font("Arial", FontWeight.BOLD, FontPosture.REGULAR, smallFontSize);
 
-        FXFontMetrics metrics = new FXFontMetrics(font);
         FXFontMetrics smallTextMetrics = new FXFontMetrics(smallTextFont);
         final Group newTextGroup = new Group();
-        shadow.setOffsetX(metrics.getLineHeight() * shadow.getOffsetX() * 0.003);
-        shadow.setOffsetY(metrics.getLineHeight() * shadow.getOffsetY() * 0.003);
-        shadow.setRadius(shadow.getRadius() * metrics.getLineHeight() * 0.0015);
+        shadow.setOffsetX(layout.getLineHeight() * shadow.getOffsetX() * 0.003);
+        shadow.setOffsetY(layout.getLineHeight() * shadow.getOffsetY() * 0.003);
+        shadow.setRadius(shadow.getRadius() * layout.getLineHeight() * 0.0015);
         newTextGroup.setEffect(shadow);
         StackPane.setAlignment(newTextGroup, Pos.CENTER);
         smallTextGroup = new Group();
@@ -141,53 +129,21 @@ public class StageDrawer extends WordDrawer {
         getCanvas().getChildren().add(newTextGroup);
         getCanvas().pushLogoNoticeToFront();
 
-        int y = 0;
         ParallelTransition paintTransition = new ParallelTransition();
-        for (int i = 0; i < newText.size(); i++) {
-            LyricLine line = newText.get(i);
-
-            if (new LineTypeChecker(line.getLine()).getLineType() == LineTypeChecker.Type.CHORDS && i < newText.size() - 1) {
-                List<Chord> chords = Chord.getChordsFromLine(line.getLine());
-                String nextLine = widenInitialSpaces(newText.get(i + 1).getLine());
-
-                FormattedText nextLineFt = new FormattedText(nextLine);
-                nextLineFt.setFont(font);
-                setPositionX(nextLineFt, metrics, nextLine);
-
-                while (nextLine.length() < line.getLine().length()) {
-                    nextLine += " ";
-                }
-
-                for (Chord chord : chords) {
-                    FormattedText t = new FormattedText(chord.getChord());
-                    t.setFont(font);
-                    t.setLayoutX(nextLineFt.getLayoutX() + metrics.computeStringWidth(nextLine.substring(0, chord.getIdx())));
-                    t.setLayoutY(y);
-                    t.setFill(QueleaProperties.get().getStageChordColor());
-                    newTextGroup.getChildren().add(t);
-                }
-
-            } else {
-                FormattedText t = new FormattedText(widenInitialSpaces(line.getLine()));
-                t.setFont(font);
-                setPositionX(t, metrics, widenInitialSpaces(line.getLine()));
-                t.setLayoutY(y);
-
-                Color lineColor;
-                if (new LineTypeChecker(line.getLine()).getLineType() == LineTypeChecker.Type.CHORDS) {
-                    lineColor = QueleaProperties.get().getStageChordColor();
-                } else {
-                    lineColor = QueleaProperties.get().getStageLyricsColor();
-                }
-                if (lineColor == null) {
-                    LOGGER.log(Level.WARNING, "Warning: Font Color not initialised correctly. Using default font colour.");
-                    lineColor = ThemeDTO.DEFAULT_FONT_COLOR;
-                }
-                t.setFill(lineColor);
-                newTextGroup.getChildren().add(t);
+        Color chordColor = QueleaProperties.get().getStageChordColor();
+        Color lyricsColor = QueleaProperties.get().getStageLyricsColor();
+        for (StageLayout.Item item : layout.getItems()) {
+            FormattedText t = new FormattedText(item.getText());
+            t.setFont(font);
+            t.setLayoutX(item.getX());
+            t.setLayoutY(item.getY());
+            Color lineColor = item.isChord() ? chordColor : lyricsColor;
+            if (lineColor == null) {
+                LOGGER.log(Level.WARNING, "Warning: Font Color not initialised correctly. Using default font colour.");
+                lineColor = ThemeDTO.DEFAULT_FONT_COLOR;
             }
-
-            y += metrics.getLineHeight() + getLineSpacing();
+            t.setFill(lineColor);
+            newTextGroup.getChildren().add(t);
         }
 
         int sy = 0;
@@ -233,18 +189,6 @@ public class StageDrawer extends WordDrawer {
         }
     }
 
-    private void setPositionX(FormattedText t, FXFontMetrics metrics, String line) {
-        Utils.checkFXThread();
-        String strippedLine = line.replaceAll("\\<\\/?sup\\>", "");
-        double width = metrics.computeStringWidth(strippedLine);
-        double centreOffset = (getCanvas().getWidth() - width) / 2;
-        if (QueleaProperties.get().getStageTextAlignment().equalsIgnoreCase(LabelGrabber.INSTANCE.getLabel("left"))) {
-            t.setLayoutX(getCanvas().getWidth());
-        } else {
-            t.setLayoutX(centreOffset);
-        }
-    }
-
     /**
      * Set the theme of this getCanvas().
      * <p/>
@@ -382,7 +326,7 @@ public class StageDrawer extends WordDrawer {
                 newSize = result.getFontSize();
             } else {
                 newText = sanctifyText(textArr);
-                newSize = pickFontSize(font, newText, width, height);
+                newSize = StageLayoutCache.get().pickFontSize(font, newText, width, height, getLineSpacing());
             }
             if (newSize < fontSize) {
                 fontSize = newSize;
@@ -457,21 +401,4 @@ public class StageDrawer extends WordDrawer {
         eraseText();
     }
 
-    private static String widenInitialSpaces(String str) {
-        StringBuilder ret = new StringBuilder(str.length());
-        boolean initialSpace = true;
-        for (int i = 0; i < str.length() ; i++) {
-            if(initialSpace && str.charAt(i)!=' '){
-                initialSpace = false;
-            }
-            if(initialSpace) {
-                ret.append('\u2000');
-            }
-            else {
-                ret.append(str.charAt(i));
-            }
-        }
-        return ret.toString();
-    }
-
 }
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.stage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The positions of all the lines and chords in one section on the stage
+ * display, worked out ahead of time so drawing a section only has to create
+ * the text nodes.
+ * <p/>
+ * @author Michael
+ */
+public class StageLayout {
+
+    private final double fontSize;
+    private final double lineHeight;
+    private final List<Item> items;
+
+    /**
+     * Create a new stage layout.
+     * <p/>
+     * @param fontSize the font size the section is drawn at.
+     * @param lineHeight the height of one line at that font size.
+     * @param items the pieces of text to draw.
+     */
+    StageLayout(double fontSize, double lineHeight, List<Item> items) {
+        this.fontSize = fontSize;
+        this.lineHeight = lineHeight;
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    /**
+     * @return the font size the section is drawn at.
+     */
+    public double getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * @return the height of one line at the chosen font size.
+     */
+    public double getLineHeight() {
+        return lineHeight;
+    }
+
+    /**
+     * @return the pieces of text to draw, in drawing order.
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * A single piece of text in the layout - either a whole line, or one chord
+     * placed above the line it belongs to.
+     */
+    public static final class Item {
+
+        private final String text;
+        private final double x;
+        private final double y;
+        private final boolean chord;
+
+        Item(String text, double x, double y, boolean chord) {
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.chord = chord;
+        }
+
+        /**
+         * @return the text to draw.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the x position of the text.
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * @return the y position of the text.
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * @return true if this should be drawn in the chord colour, false if
+         * in the lyrics colour.
+         */
+        public boolean isChord() {
+            return chord;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.stage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.application.Platform;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontPosture;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import org.quelea.data.ThemeDTO;
+import org.quelea.data.displayable.TextDisplayable;
+import org.quelea.data.displayable.TextSection;
+import org.quelea.services.languages.LabelGrabber;
+import org.quelea.services.utils.LineTypeChecker;
+import org.quelea.services.utils.LyricLine;
+import org.quelea.services.utils.QueleaProperties;
+import org.quelea.services.utils.Utils;
+import org.quelea.utils.Chord;
+
+/**
+ * Works out and caches where everything goes on the stage display. Layouts are
+ * kept per section text, font and canvas size, so going back to a section
+ * that's been shown before (or precomputed when the song went into preview)
+ * costs nothing.
+ * <p/>
+ * Chords are placed using the caret positions of the lyric line beneath them,
+ * so each line is laid out once however many chords sit above it, rather than
+ * measuring a new substring for every chord. Font sizes are found by a binary
+ * search over the same half point steps the drawers have always used.
+ * <p/>
+ * Only to be used on the FX thread.
+ * <p/>
+ * @author Michael
+ */
+public class StageLayoutCache {
+
+    private static final StageLayoutCache INSTANCE = new StageLayoutCache();
+    private static final int CACHE_SIZE = 64;
+    private static final double FONT_STEP = 0.5;
+    private final Map<List<Object>, StageLayout> layouts;
+    private final Map<List<Object>, Double> fontSizes;
+    private final Text measurer;
+
+    private StageLayoutCache() {
+        layouts = createCache();
+        fontSizes = createCache();
+        measurer = new Text();
+    }
+
+    private static <V> Map<List<Object>, V> createCache() {
+        return new LinkedHashMap<List<Object>, V>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, V> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Get the singleton instance.
+     * <p/>
+     * @return the instance.
+     */
+    public static StageLayoutCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the font the stage display starts from before it's shrunk to fit.
+     * <p/>
+     * @return the stage font at the maximum font size.
+     */
+    public static Font getBaseFont() {
+        Font font = Font.font(QueleaProperties.get().getStageTextFont(), QueleaProperties.get().getMaxFontSize());
+        if (font == null) {
+            font = ThemeDTO.DEFAULT_FONT.getFont();
+        }
+        return font;
+    }
+
+    /**
+     * Get the layout for a section on a stage canvas.
+     * <p/>
+     * @param baseFont the font to use, at the largest size allowed.
+     * @param lines the lines of the section.
+     * @param fontSize the font size to use, or a value of zero or below to
+     * pick the largest that fits.
+     * @param canvasWidth the width of the canvas.
+     * @param canvasHeight the height of the canvas.
+     * @return the layout.
+     */
+    public StageLayout getLayout(Font baseFont, List<LyricLine> lines, double fontSize, double canvasWidth, double canvasHeight) {
+        Utils.checkFXThread();
+        double lineSpacing = getLineSpacing(canvasHeight);
+        boolean leftAligned = QueleaProperties.get().getStageTextAlignment().equalsIgnoreCase(LabelGrabber.INSTANCE.getLabel("left"));
+        List<Object> key = Arrays.asList(baseFont.getName(), baseFont.getSize(), joinLines(lines), fontSize,
+                canvasWidth, canvasHeight, lineSpacing, leftAligned);
+        StageLayout layout = layouts.get(key);
+        if (layout == null) {
+            layout = createLayout(baseFont, lines, fontSize, canvasWidth, canvasHeight, lineSpacing, leftAligned);
+            layouts.put(key, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Pick the largest font size, in half point steps down from the given
+     * font's size, that fits the given text into the width and height
+     * provided.
+     * <p/>
+     * @param font the font to use for calculations.
+     * @param lines the text to fit.
+     * @param width the fit width.
+     * @param height the fit height.
+     * @param lineSpacing the extra space between lines.
+     * @return the font size to use.
+     */
+    public double pickFontSize(Font font, List<LyricLine> lines, double width, double height, double lineSpacing) {
+        Utils.checkFXThread();
+        List<Object> key = Arrays.asList(font.getName(), font.getSize(), joinLines(lines), width, height, lineSpacing);
+        Double size = fontSizes.get(key);
+        if (size == null) {
+            size = searchFontSize(font, lines, width, height, lineSpacing);
+            fontSizes.put(key, size);
+        }
+        return size;
+    }
+
+    /**
+     * Work out the layouts for every section of a displayable on a stage
+     * canvas ahead of time, one section per runnable so the FX thread isn't
+     * held up. Sections using a uniform font size depend on the stage
+     * drawer's theme, so are left to be worked out when they're drawn.
+     * <p/>
+     * @param displayable the displayable to lay out.
+     * @param canvasWidth the width of the stage canvas.
+     * @param canvasHeight the height of the stage canvas.
+     */
+    public void precompute(TextDisplayable displayable, double canvasWidth, double canvasHeight) {
+        if (QueleaProperties.get().getUseUniformFontSize() || canvasWidth <= 0 || canvasHeight <= 0) {
+            return;
+        }
+        boolean chords = QueleaProperties.get().getShowChords();
+        for (TextSection section : displayable.getSections()) {
+            String[] text = section.getText(chords, false);
+            Platform.runLater(() -> getLayout(getBaseFont(), toLines(text), -1, canvasWidth, canvasHeight));
+        }
+    }
+
+    /**
+     * Get the extra space between lines on a stage canvas of a given height.
+     * <p/>
+     * @param canvasHeight the height of the canvas.
+     * @return the line spacing.
+     */
+    static double getLineSpacing(double canvasHeight) {
+        return QueleaProperties.get().getAdditionalLineSpacing() * canvasHeight / 1000.0;
+    }
+
+    /**
+     * Turn section text into lyric lines for laying out.
+     * <p/>
+     * @param text the section text.
+     * @return one lyric line per line of text.
+     */
+    static List<LyricLine> toLines(String[] text) {
+        List<LyricLine> ret = new ArrayList<>(text.length);
+        for (String line : text) {
+            ret.add(new LyricLine(line));
+        }
+        return ret;
+    }
+
+    private StageLayout createLayout(Font baseFont, List<LyricLine> lines, double fontSize, double canvasWidth,
+            double canvasHeight, double lineSpacing, boolean leftAligned) {
+        if (fontSize <= 0) {
+            fontSize = pickFontSize(baseFont, lines, canvasWidth * 0.92, canvasHeight * 0.9, lineSpacing);
+        }
+        Font font = Font.font(baseFont.getFamily(), FontWeight.NORMAL, FontPosture.REGULAR, fontSize);
+        measurer.setFont(font);
+        double lineHeight = lineHeight();
+        List<StageLayout.Item> items = new ArrayList<>();
+        int y = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).getLine();
+            boolean chordLine = new LineTypeChecker(line).getLineType() == LineTypeChecker.Type.CHORDS;
+            if (chordLine && i < lines.size() - 1) {
+                String nextLine = widenInitialSpaces(lines.get(i + 1).getLine());
+                double nextLineX = getLineX(nextLine, canvasWidth, leftAligned);
+                setMeasuredText(padTo(nextLine, line.length()));
+                for (Chord chord : Chord.getChordsFromLine(line)) {
+                    items.add(new StageLayout.Item(chord.getChord(), nextLineX + caretX(chord.getIdx()), y, true));
+                }
+            } else {
+                String widened = widenInitialSpaces(line);
+                items.add(new StageLayout.Item(widened, getLineX(widened, canvasWidth, leftAligned), y, chordLine));
+            }
+            y += lineHeight + lineSpacing;
+        }
+        return new StageLayout(fontSize, lineHeight, items);
+    }
+
+    private double getLineX(String line, double canvasWidth, boolean leftAligned) {
+        if (leftAligned) {
+            return canvasWidth;
+        }
+        return (canvasWidth - measure(line.replaceAll("\\<\\/?sup\\>", ""))) / 2;
+    }
+
+    private double searchFontSize(Font font, List<LyricLine> lines, double width, double height, double lineSpacing) {
+        double max = font.getSize();
+        if (fits(font.getName(), max, lines, width, height, lineSpacing)) {
+            return max;
+        }
+        int steps = (int) Math.floor((max - 1) / FONT_STEP);
+        if (steps <= 0 || !fits(font.getName(), max - steps * FONT_STEP, lines, width, height, lineSpacing)) {
+            return 1;
+        }
+        int tooBig = 0;
+        int fitting = steps;
+        while (fitting - tooBig > 1) {
+            int mid = (tooBig + fitting) >>> 1;
+            if (fits(font.getName(), max - mid * FONT_STEP, lines, width, height, lineSpacing)) {
+                fitting = mid;
+            } else {
+                tooBig = mid;
+            }
+        }
+        return max - fitting * FONT_STEP;
+    }
+
+    private boolean fits(String fontName, double size, List<LyricLine> lines, double width, double height, double lineSpacing) {
+        measurer.setFont(new Font(fontName, size));
+        if ((lineHeight() + lineSpacing) * lines.size() > height) {
+            return false;
+        }
+        return longestLine(lines) <= width;
+    }
+
+    /**
+     * Find the width of the widest line with the measurer's current font,
+     * taking chords that overhang the end of their lyric line into account.
+     */
+    private int longestLine(List<LyricLine> lines) {
+        int longest = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).getLine();
+            if (new LineTypeChecker(line).getLineType() == LineTypeChecker.Type.CHORDS && i < lines.size() - 1) {
+                List<Chord> chords = Chord.getChordsFromLine(line);
+                int[] chordWidths = new int[chords.size()];
+                for (int c = 0; c < chords.size(); c++) {
+                    chordWidths[c] = (int) measure(chords.get(c).getChord());
+                }
+                setMeasuredText(padTo(lines.get(i + 1).getLine(), line.length()));
+                for (int c = 0; c < chords.size(); c++) {
+                    longest = Math.max(longest, (int) caretX(chords.get(c).getIdx()) + chordWidths[c]);
+                }
+            } else {
+                longest = Math.max(longest, (int) measure(line));
+            }
+        }
+        return longest;
+    }
+
+    private double measure(String text) {
+        setMeasuredText(text);
+        return measurer.getLayoutBounds().getWidth();
+    }
+
+    private double lineHeight() {
+        setMeasuredText("");
+        return measurer.getLayoutBounds().getHeight();
+    }
+
+    private void setMeasuredText(String text) {
+        measurer.setText(text);
+    }
+
+    /**
+     * Get the distance from the start of the measured text to the given
+     * character, from the caret position in the existing text layout.
+     */
+    private double caretX(int index) {
+        if (index <= 0) {
+            return 0;
+        }
+        measurer.setCaretPosition(Math.min(index, measurer.getText().length()));
+        PathElement[] caret = measurer.getCaretShape();
+        if (caret.length > 0 && caret[0] instanceof MoveTo) {
+            return ((MoveTo) caret[0]).getX();
+        }
+        String text = measurer.getText();
+        double ret = measure(text.substring(0, Math.min(index, text.length())));
+        measurer.setText(text);
+        return ret;
+    }
+
+    private static String padTo(String str, int length) {
+        if (str.length() >= length) {
+            return str;
+        }
+        StringBuilder ret = new StringBuilder(length).append(str);
+        while (ret.length() < length) {
+            ret.append(' ');
+        }
+        return ret.toString();
+    }
+
+    private static String joinLines(List<LyricLine> lines) {
+        StringBuilder ret = new StringBuilder();
+        for (LyricLine line : lines) {
+            ret.append(line.getLine()).append('\n');
+        }
+        return ret.toString();
+    }
+
+    private static String widenInitialSpaces(String str) {
+        StringBuilder ret = new StringBuilder(str.length());
+        boolean initialSpace = true;
+        for (int i = 0; i < str.length(); i++) {
+            if (initialSpace && str.charAt(i) != ' ') {
+                initialSpace = false;
+            }
+            if (initialSpace) {
+                ret.append('\u2000');
+            } else {
+                ret.append(str.charAt(i));
+            }
+        }
+        return ret.toString();
+    }
+}
@@ -30,6 +30,7 @@ import javafx.scene.paint.CycleMethod;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.Rectangle;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.windows.main.widgets.Timer;
 
 import java.util.ArrayList;
@@ -45,12 +46,12 @@ import java.util.Set;
  */
 public class TimerControls extends StackPane {
 
-    private static final Image PLAY_IMAGE = new Image("file:icons/play.png");
-    private static final Image PAUSE_IMAGE = new Image("file:icons/pause.png");
-    private static final Image STOP_IMAGE = new Image("file:icons/stop.png");
-    private static final Image PLAY_IMAGE_DISABLE = new Image("file:icons/playdisable.png");
-    private static final Image PAUSE_IMAGE_DISABLE = new Image("file:icons/pausedisable.png");
-    private static final Image STOP_IMAGE_DISABLE = new Image("file:icons/stopdisable.png");
+    private static final Image PLAY_IMAGE = ImageManager.INSTANCE.getImage("file:icons/play.png");
+    private static final Image PAUSE_IMAGE = ImageManager.INSTANCE.getImage("file:icons/pause.png");
+    private static final Image STOP_IMAGE = ImageManager.INSTANCE.getImage("file:icons/stop.png");
+    private static final Image PLAY_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/playdisable.png");
+    private static final Image PAUSE_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/pausedisable.png");
+    private static final Image STOP_IMAGE_DISABLE = ImageManager.INSTANCE.getImage("file:icons/stopdisable.png");
     private boolean playpause;
     private final ImageView playButton;
     private final ImageView stopButton;
@@ -20,7 +20,8 @@ import org.quelea.windows.main.DisplayCanvas;
 import org.quelea.windows.main.DisplayableDrawer;
 import org.quelea.windows.main.widgets.Timer;
 import org.quelea.utils.FXFontMetrics;
-import org.quelea.windows.video.VidDisplay;
+import org.quelea.windows.video.SharedVideoSource;
+import org.quelea.windows.video.VideoSourceManager;
 
 /**
  * @author tomaszpio@gmail.com, Michael, Ben
@@ -33,11 +34,10 @@ public class TimerDrawer extends DisplayableDrawer {
     private DisplayCanvas mainCanvas;
     private DisplayCanvas stageCanvas;
     private StackPane stack;
-    private VidDisplay vidDisplay;
+    private SharedVideoSource videoSource;
 
     public TimerDrawer(TimerControls controlPanel) {
         this.controlPanel = controlPanel;
-        this.vidDisplay = new VidDisplay();
     }
 
     @Override
@@ -80,12 +80,15 @@ public class TimerDrawer extends DisplayableDrawer {
                         ((VideoBackground) td.getTheme().getBackground()).getStretch());
                 controlPanel.reset();
 
+                // Acquire before releasing so an unchanged video keeps its pipeline
+                SharedVideoSource oldSource = videoSource;
+                videoSource = VideoSourceManager.get().acquire(new File(url).toURI(), true);
+                if (oldSource != null) {
+                    oldSource.release();
+                }
                 ImageView imageView = mainCanvas.getNewImageView();
-                imageView.imageProperty().bind(vidDisplay.imageProperty());
+                imageView.imageProperty().bind(videoSource.imageProperty());
                 imageView.setPreserveRatio(true);
-                vidDisplay.setURI(new File(url).toURI());
-                vidDisplay.setLoop(true);
-                vidDisplay.play();
                 mainCanvas.getChildren().add(0, imageView);
             } else if (td.getTheme().getBackground() instanceof ImageBackground) {
                 ImageView imageView = mainCanvas.getNewImageView();
@@ -107,6 +110,10 @@ public class TimerDrawer extends DisplayableDrawer {
 
     @Override
     public void clear() {
+        if (videoSource != null) {
+            videoSource.release();
+            videoSource = null;
+        }
     }
 
     @Override
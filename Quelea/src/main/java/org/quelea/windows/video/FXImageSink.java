@@ -19,6 +19,7 @@
 package org.quelea.windows.video;
 
 import com.sun.jna.Pointer;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -37,8 +38,10 @@ import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A wrapper connecting a GStreamer AppSink and a JavaFX Image, making use of
@@ -48,11 +51,19 @@ import java.util.concurrent.ArrayBlockingQueue;
  * only be used on the JavaFX application thread, and is only valid while it is
  * the current property value. Using the Image when it is no longer the current
  * property value may cause errors or crashes.
+ * <p>
+ * Samples are handed from the streaming thread to the FX thread through a
+ * single slot mailbox. If a newer sample arrives before the FX thread has
+ * picked up the previous one, the previous one is dropped rather than queued,
+ * so a busy FX thread never builds up a backlog of frames. The mailbox is
+ * drained once per pulse while frames are arriving, and the pulse listener
+ * stops itself again once the stream goes quiet.
  */
 public class FXImageSink {
 
     private final static String DEFAULT_CAPS;
     private final static int OLD_SAMPLE_BUFFER_SIZE = 2;
+    private final static int IDLE_PULSES_BEFORE_STOP = 30;
 
     private static final Field mapInfoBufferField;
     private static final Field pointerPeerField;
@@ -86,7 +97,12 @@ public class FXImageSink {
     private PixelBuffer<IntBuffer> pixelBuffer;
     private Sample activeSample;
     private Buffer activeBuffer;
-    private final Queue<Sample> oldSamples;
+    private final Deque<Sample> oldSamples;
+    private final AtomicReference<PendingFrame> mailbox;
+    private final AtomicBoolean pulseRunning;
+    private final AnimationTimer pulse;
+    private final FrameMetrics metrics;
+    private int idlePulses;
 
     /**
      * Create an FXImageSink. A new AppSink element will be created that can be
@@ -103,18 +119,27 @@ public class FXImageSink {
      */
     public FXImageSink(AppSink sink) {
         this.sink = sink;
-        oldSamples = new ArrayBlockingQueue<>(OLD_SAMPLE_BUFFER_SIZE + 1);
+        oldSamples = new ArrayDeque<>(OLD_SAMPLE_BUFFER_SIZE + 1);
+        mailbox = new AtomicReference<>();
+        pulseRunning = new AtomicBoolean();
+        metrics = new FrameMetrics();
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse();
+            }
+        };
         sink.set("emit-signals", true);
         sink.connect((AppSink.NEW_SAMPLE) elem -> {
             Sample s = elem.pullSample();
             if (s == null) throw new IllegalStateException();
-            Platform.runLater(() -> updateImage(s));
+            offer(s);
             return FlowReturn.OK;
         });
         sink.connect((AppSink.NEW_PREROLL) appsink -> {
             Sample s = appsink.pullPreroll();
             if (s == null) throw new IllegalStateException();
-            Platform.runLater(() -> updateImage(s));
+            offer(s);
             return FlowReturn.OK;
         });
         sink.setCaps(Caps.fromString(DEFAULT_CAPS));
@@ -145,19 +170,57 @@ public class FXImageSink {
         return sink;
     }
 
-    long lastTs = 0;
-    int frames = 0;
+    /**
+     * Get the frame delivery metrics for this sink.
+     *
+     * @return the metrics for this sink
+     */
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
 
-    private void updateImage(Sample newSample) {
-        long ts = System.currentTimeMillis();
-        if(ts-lastTs>1000) {
-            System.out.println(frames);
-            frames = 1;
-            lastTs= ts;
+    /**
+     * Put a sample in the mailbox, dropping any sample still waiting there.
+     * Called on the streaming thread.
+     */
+    private void offer(Sample s) {
+        PendingFrame stale = mailbox.getAndSet(new PendingFrame(s, System.nanoTime()));
+        if (stale != null) {
+            stale.sample.dispose();
+            metrics.frameDropped();
+        }
+        requestPulse();
+    }
+
+    private void requestPulse() {
+        if (pulseRunning.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                pulse.start();
+            } else {
+                Platform.runLater(pulse::start);
+            }
         }
-        else {
-            frames++;
+    }
+
+    private void onPulse() {
+        PendingFrame frame = mailbox.getAndSet(null);
+        if (frame != null) {
+            idlePulses = 0;
+            updateImage(frame.sample);
+            metrics.frameRendered(System.nanoTime() - frame.arrived);
+            return;
         }
+        if (++idlePulses >= IDLE_PULSES_BEFORE_STOP) {
+            idlePulses = 0;
+            pulse.stop();
+            pulseRunning.set(false);
+            if (mailbox.get() != null) {
+                requestPulse();
+            }
+        }
+    }
+
+    private void updateImage(Sample newSample) {
         if (!Platform.isFxApplicationThread()) {
             throw new IllegalStateException("Not on FX application thread");
         }
@@ -214,12 +277,12 @@ public class FXImageSink {
 
 //        image.get().getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getByteBgraPreInstance(), activeBuffer.map(false), width * 4);
 
-        if (oldSample != null) oldSamples.add(oldSample);
+        if (oldSample != null) oldSamples.addLast(oldSample);
         if (oldBuffer != null) {
             oldBuffer.unmap();
         }
         while (oldSamples.size() > OLD_SAMPLE_BUFFER_SIZE) {
-            oldSamples.remove().dispose();
+            oldSamples.removeFirst().dispose();
         }
 
 //        long dur = System.nanoTime() - val;
@@ -244,6 +307,10 @@ public class FXImageSink {
         if (!Platform.isFxApplicationThread()) {
             throw new IllegalStateException("Not on FX application thread");
         }
+        PendingFrame pending = mailbox.getAndSet(null);
+        if (pending != null) {
+            pending.sample.dispose();
+        }
         image.set(new WritableImage(1, 1));
         if (activeBuffer != null) {
             activeBuffer.unmap();
@@ -254,4 +321,18 @@ public class FXImageSink {
             activeSample = null;
         }
     }
+
+    /**
+     * A sample waiting in the mailbox, along with when it left the decoder.
+     */
+    private static final class PendingFrame {
+
+        private final Sample sample;
+        private final long arrived;
+
+        private PendingFrame(Sample sample, long arrived) {
+            this.sample = sample;
+            this.arrived = arrived;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.video;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.quelea.services.metrics.Metrics;
+
+/**
+ * Frame delivery counters for a video sink. Counters may be updated from the
+ * GStreamer streaming thread and read from any thread.
+ * <p>
+ * @author Michael
+ */
+public class FrameMetrics {
+
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong lastLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Record that a frame was displayed.
+     * <p>
+     * @param latencyNanos the time between the frame leaving the decoder and
+     * being put on screen, in nanoseconds.
+     */
+    void frameRendered(long latencyNanos) {
+        rendered.increment();
+        totalLatencyNanos.add(latencyNanos);
+        lastLatencyNanos.set(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        Metrics.get().record("video.frame.latency", latencyNanos);
+    }
+
+    /**
+     * Record that a frame was replaced by a newer one before it could be
+     * displayed.
+     */
+    void frameDropped() {
+        dropped.increment();
+        Metrics.get().increment("video.frame.dropped");
+    }
+
+    /**
+     * Reset all counters to zero.
+     */
+    public void reset() {
+        rendered.reset();
+        dropped.reset();
+        totalLatencyNanos.reset();
+        lastLatencyNanos.set(0);
+        maxLatencyNanos.set(0);
+    }
+
+    /**
+     * @return the number of frames put on screen.
+     */
+    public long getRenderedFrames() {
+        return rendered.sum();
+    }
+
+    /**
+     * @return the number of frames discarded because a newer frame arrived
+     * before the FX thread got round to them.
+     */
+    public long getDroppedFrames() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the decode-to-display latency of the last rendered frame, in
+     * milliseconds.
+     */
+    public double getLastLatencyMillis() {
+        return lastLatencyNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the worst decode-to-display latency seen, in milliseconds.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the mean decode-to-display latency, in milliseconds.
+     */
+    public double getAverageLatencyMillis() {
+        long count = rendered.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (totalLatencyNanos.sum() / (double) count) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rendered=%d dropped=%d latency(avg/last/max)=%.1f/%.1f/%.1fms",
+                getRenderedFrames(), getDroppedFrames(), getAverageLatencyMillis(),
+                getLastLatencyMillis(), getMaxLatencyMillis());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.video;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+import org.quelea.services.utils.Utils;
+
+/**
+ * A single clock that drives position updates for every video display that
+ * is currently playing. The clock only runs while at least one display is
+ * registered, so nothing is polled while all video is paused or stopped.
+ * <p/>
+ * Must only be used on the JavaFX application thread.
+ * <p/>
+ * @author Michael
+ */
+final class PositionClock {
+
+    private static final PositionClock INSTANCE = new PositionClock();
+    private static final Duration INTERVAL = Duration.millis(100);
+    private final Set<VidDisplay> displays;
+    private Timeline timeline;
+
+    private PositionClock() {
+        displays = new LinkedHashSet<>();
+    }
+
+    static PositionClock get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start sending position ticks to the given display.
+     * <p/>
+     * @param display the display to tick.
+     */
+    void register(VidDisplay display) {
+        Utils.checkFXThread();
+        if (displays.add(display) && timeline == null) {
+            timeline = new Timeline(new KeyFrame(INTERVAL, e -> tick()));
+            timeline.setCycleCount(Animation.INDEFINITE);
+            timeline.play();
+        }
+    }
+
+    /**
+     * Stop sending position ticks to the given display, stopping the clock
+     * altogether if nothing else is registered.
+     * <p/>
+     * @param display the display to stop ticking.
+     */
+    void unregister(VidDisplay display) {
+        Utils.checkFXThread();
+        if (displays.remove(display) && displays.isEmpty() && timeline != null) {
+            timeline.stop();
+            timeline = null;
+        }
+    }
+
+    private void tick() {
+        for (VidDisplay display : new ArrayList<>(displays)) {
+            display.updatePosition();
+        }
+    }
+}
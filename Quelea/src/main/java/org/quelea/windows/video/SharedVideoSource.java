@@ -0,0 +1,101 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.video;
+
+import java.net.URI;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.scene.image.Image;
+
+/**
+ * A single decoded video whose frames are shared between any number of
+ * consumers. Each consumer binds its own image view to
+ * {@link #imageProperty()}, so the frame is decoded once and only scaled on
+ * the GPU by views whose size differs from the video's resolution.
+ * <p/>
+ * Obtain instances through {@link VideoSourceManager#acquire(URI, boolean)}
+ * and call {@link #release()} once the consumer no longer needs it.
+ * <p/>
+ * @author Michael
+ */
+public class SharedVideoSource {
+
+    private final VideoSourceManager manager;
+    private final String key;
+    private final VidDisplay display;
+    private int refCount;
+
+    SharedVideoSource(VideoSourceManager manager, String key, VidDisplay display) {
+        this.manager = manager;
+        this.key = key;
+        this.display = display;
+    }
+
+    /**
+     * Get the current frame of this video.
+     * <p/>
+     * @return the image property holding the current frame.
+     */
+    public ReadOnlyObjectProperty<? extends Image> imageProperty() {
+        return display.imageProperty();
+    }
+
+    /**
+     * Get the video this source is playing.
+     * <p/>
+     * @return the URI of the video.
+     */
+    public URI getUri() {
+        return display.getUri();
+    }
+
+    /**
+     * Get the frame delivery metrics for this source.
+     * <p/>
+     * @return the frame metrics, or null if GStreamer isn't available.
+     */
+    public FrameMetrics getFrameMetrics() {
+        return display.getFrameMetrics();
+    }
+
+    /**
+     * Release this consumer's reference to the source. The video pipeline is
+     * torn down when the last reference is released.
+     */
+    public void release() {
+        manager.release(this);
+    }
+
+    void retain() {
+        refCount++;
+    }
+
+    int releaseRef() {
+        if (refCount <= 0) {
+            throw new IllegalStateException("Shared video source released more times than acquired: " + key);
+        }
+        return --refCount;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    VidDisplay getDisplay() {
+        return display;
+    }
+}
@@ -1,16 +1,14 @@
 package org.quelea.windows.video;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.scene.image.Image;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
-import javafx.util.Duration;
 import org.freedesktop.gstreamer.Bus;
 import org.freedesktop.gstreamer.Format;
+import org.freedesktop.gstreamer.State;
 import org.freedesktop.gstreamer.elements.PlayBin;
 import org.freedesktop.gstreamer.event.SeekFlags;
 import org.quelea.services.utils.GStreamerInitState;
@@ -20,9 +18,18 @@ import java.util.EnumSet;
 import java.util.Objects;
 import java.util.function.Consumer;
 
+/**
+ * Plays a single video into a JavaFX image through GStreamer.
+ * <p>
+ * Position updates are only sent while the pipeline is actually playing and
+ * someone has asked for them; they're driven by a clock shared between all
+ * displays and started and stopped by the pipeline's state change messages,
+ * rather than each display polling on its own.
+ */
 public class VidDisplay {
 
     private static int idCounter = 0;
+    private static final double MIN_POS_CHANGE = 0.0005;
 
     private PlayBin playBin;
     private FXImageSink fxImageSink;
@@ -31,6 +38,10 @@ public class VidDisplay {
     private URI uri;
     private Consumer<Double> posChanged;
     private Runnable onFinished;
+    private boolean playing;
+    private boolean posListener;
+    private long duration = -1;
+    private double lastPos = -1;
     private static final Image BLANK_IMG;
 
     static {
@@ -55,17 +66,25 @@ public class VidDisplay {
                     onFinished.run();
                 }
             });
-            Timeline timer = new Timeline(new KeyFrame(Duration.millis(100), e -> {
-                long dur = playBin.queryDuration(Format.TIME);
-                long pos = playBin.queryPosition(Format.TIME);
-                if (dur > 0) {
-                    double relPos = (double) pos / dur;
-                    posChanged.accept(relPos);
+            playBin.getBus().connect((Bus.STATE_CHANGED) (source, old, current, pending) -> {
+                if (source.equals(playBin)) {
+                    Platform.runLater(() -> setPlaying(current == State.PLAYING));
                 }
-            }));
-            timer.setCycleCount(Animation.INDEFINITE);
-            timer.play();
+            });
+            playBin.getBus().connect((Bus.DURATION_CHANGED) source -> Platform.runLater(() -> duration = -1));
+        }
+    }
+
+    /**
+     * Get the frame delivery metrics for this display's video sink.
+     *
+     * @return the frame metrics, or null if GStreamer isn't available.
+     */
+    public FrameMetrics getFrameMetrics() {
+        if (fxImageSink == null) {
+            return null;
         }
+        return fxImageSink.getMetrics();
     }
 
     public ReadOnlyObjectProperty<? extends Image> imageProperty() {
@@ -94,9 +113,30 @@ public class VidDisplay {
         }
     }
 
+    /**
+     * Stop playback and release the native pipeline. This display can't be
+     * used again after it's been disposed.
+     */
+    public void dispose() {
+        runOnFXThread(() -> {
+            playing = false;
+            PositionClock.get().unregister(this);
+        });
+        if (playBin != null) {
+            playBin.stop();
+            playBin.dispose();
+            playBin = null;
+            fxImageSink.clear();
+        }
+    }
+
     public void setURI(URI uri) {
         if (!Objects.equals(this.uri, uri)) {
             this.uri = uri;
+            runOnFXThread(() -> {
+                duration = -1;
+                lastPos = -1;
+            });
             if (playBin != null) {
                 playBin.setURI(uri);
             }
@@ -125,8 +165,21 @@ public class VidDisplay {
         this.loop = loop;
     }
 
+    /**
+     * Set the callback to be notified of the relative playback position (0-1)
+     * while the video is playing. Updates are coalesced, so the callback is
+     * only called when the position has actually moved.
+     *
+     * @param callback the position callback, or null to stop receiving
+     * updates.
+     */
     public void setOnPosChanged(Consumer<Double> callback) {
-        this.posChanged = callback;
+        runOnFXThread(() -> {
+            posListener = callback != null;
+            this.posChanged = callback == null ? d -> {
+            } : callback;
+            updateClockRegistration();
+        });
     }
 
     public void setOnFinished(Runnable onFinished) {
@@ -134,9 +187,61 @@ public class VidDisplay {
     }
 
     public void seek(double seekPos) {
+        if (playBin == null) {
+            return;
+        }
         long dur = playBin.queryDuration(Format.TIME);
         if (dur > 0) {
             playBin.seekSimple(Format.TIME, EnumSet.of(SeekFlags.FLUSH), (long) (seekPos * dur));
         }
     }
+
+    /**
+     * Called by the shared position clock while this display is playing.
+     */
+    void updatePosition() {
+        if (playBin == null) {
+            return;
+        }
+        if (duration <= 0) {
+            duration = playBin.queryDuration(Format.TIME);
+            if (duration <= 0) {
+                return;
+            }
+        }
+        long pos = playBin.queryPosition(Format.TIME);
+        double relPos = (double) pos / duration;
+        if (Math.abs(relPos - lastPos) >= MIN_POS_CHANGE) {
+            lastPos = relPos;
+            posChanged.accept(relPos);
+        }
+    }
+
+    private void setPlaying(boolean playing) {
+        if (this.playing == playing) {
+            return;
+        }
+        this.playing = playing;
+        if (!playing && posListener) {
+            // Send a final position so a paused video shows where it stopped
+            updatePosition();
+        }
+        updateClockRegistration();
+    }
+
+    private void updateClockRegistration() {
+        if (playing && posListener && playBin != null) {
+            PositionClock.get().register(this);
+        } else {
+            PositionClock.get().unregister(this);
+        }
+    }
+
+    private static void runOnFXThread(Runnable r) {
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+        } else {
+            Platform.runLater(r);
+        }
+    }
 }
@@ -62,4 +62,16 @@ public class VidPreviewDisplay {
         }
     }
 
+    /**
+     * Release the native pipeline. This display can't be used again after
+     * it's been disposed.
+     */
+    public synchronized void dispose() {
+        if (playBin != null) {
+            playBin.stop();
+            playBin.dispose();
+            playBin = null;
+        }
+    }
+
 }
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.video;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Hands out shared video sources so that the same video shown on several
+ * canvases (projector, live preview, stage and so on) is only decoded once.
+ * Sources are keyed by their URI and playback state, and are reference
+ * counted - the underlying pipeline is torn down when the last consumer
+ * releases it.
+ * <p/>
+ * @author Michael
+ */
+public final class VideoSourceManager {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final VideoSourceManager INSTANCE = new VideoSourceManager();
+    private final Map<String, SharedVideoSource> sources;
+
+    private VideoSourceManager() {
+        sources = new HashMap<>();
+    }
+
+    /**
+     * Get the instance of this singleton class.
+     * <p/>
+     * @return the instance of this singleton class.
+     */
+    public static VideoSourceManager get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Acquire a shared source for the given video. If a source with the same
+     * URI and playback state already exists it is reused, otherwise a new one
+     * is created and started. Every call must be balanced by a call to
+     * {@link SharedVideoSource#release()}.
+     * <p/>
+     * @param uri the video to play.
+     * @param loop true if the video should loop, false otherwise.
+     * @return the shared source.
+     */
+    public synchronized SharedVideoSource acquire(URI uri, boolean loop) {
+        String key = getKey(uri, loop);
+        SharedVideoSource source = sources.get(key);
+        if (source == null) {
+            LOGGER.log(Level.INFO, "Creating shared video source for {0}", uri);
+            VidDisplay display = new VidDisplay();
+            display.setLoop(loop);
+            display.setURI(uri);
+            display.play();
+            source = new SharedVideoSource(this, key, display);
+            sources.put(key, source);
+        }
+        source.retain();
+        return source;
+    }
+
+    /**
+     * Release one reference to the given source, disposing of it if that was
+     * the last one.
+     * <p/>
+     * @param source the source to release.
+     */
+    synchronized void release(SharedVideoSource source) {
+        if (source.releaseRef() > 0) {
+            return;
+        }
+        if (sources.get(source.getKey()) == source) {
+            sources.remove(source.getKey());
+        }
+        LOGGER.log(Level.INFO, "Disposing shared video source for {0}", source.getUri());
+        source.getDisplay().dispose();
+    }
+
+    /**
+     * Get the number of videos currently being decoded through this manager.
+     * <p/>
+     * @return the number of live shared sources.
+     */
+    public synchronized int getActiveSourceCount() {
+        return sources.size();
+    }
+
+    private static String getKey(URI uri, boolean loop) {
+        return uri + (loop ? "#loop" : "#once");
+    }
+}
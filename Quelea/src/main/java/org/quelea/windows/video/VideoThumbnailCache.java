@@ -0,0 +1,345 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.video;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javax.imageio.ImageIO;
+import org.quelea.services.utils.DiskCacheUtils;
+import org.quelea.services.utils.LoggerUtils;
+import org.quelea.services.utils.QueleaProperties;
+import org.quelea.windows.library.VideoListPanel;
+
+/**
+ * A disk backed cache of video thumbnails. Thumbnails are keyed by the
+ * video's absolute path, size and last modified time, so a changed file gets
+ * a new thumbnail and unchanged files never need to be decoded again.
+ * Missing thumbnails are generated on a small fixed pool of background
+ * threads, sharing a bounded set of preview pipelines. Recently used
+ * thumbnails are kept in memory, and the directory on disk is trimmed back to
+ * a fixed size, least recently used first.
+ * <p/>
+ * @author Michael
+ */
+public final class VideoThumbnailCache {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final VideoThumbnailCache INSTANCE = new VideoThumbnailCache();
+    public static final int THUMBNAIL_WIDTH = 160;
+    public static final int THUMBNAIL_HEIGHT = 90;
+    private static final int GENERATOR_THREADS = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int MEMORY_ENTRIES = 256;
+    private static final long MAX_DISK_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_DISK_ENTRIES = 5000;
+    private static final String UNSUPPORTED_SUFFIX = ".unsupported";
+    private final ExecutorService loader;
+    private final ExecutorService generator;
+    private final BlockingQueue<VidPreviewDisplay> idleDisplays;
+    private final List<VidPreviewDisplay> allDisplays;
+    private final Map<String, Image> memory;
+    private final Map<String, List<Consumer<Image>>> pending;
+    private volatile boolean shutdown;
+
+    private VideoThumbnailCache() {
+        loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "video-thumbnail-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        generator = Executors.newFixedThreadPool(GENERATOR_THREADS, r -> {
+            Thread t = new Thread(r, "video-thumbnailer");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        idleDisplays = new LinkedBlockingQueue<>();
+        allDisplays = new ArrayList<>();
+        memory = new LinkedHashMap<String, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > MEMORY_ENTRIES;
+            }
+        };
+        pending = new HashMap<>();
+        loader.submit(this::trimDiskCache);
+    }
+
+    /**
+     * Get the instance of this singleton class.
+     * <p/>
+     * @return the instance of this singleton class.
+     */
+    public static VideoThumbnailCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the thumbnail for the given video if it's already been loaded. This
+     * never reads the thumbnail directory, but working out the key does look
+     * up the video's size and last modified time, so it costs a couple of
+     * file system calls and a hash. Use {@link #request(File, Consumer)} to
+     * load the thumbnail from disk or generate it.
+     * <p/>
+     * @param video the video file.
+     * @return the cached thumbnail, or null if it hasn't been loaded yet.
+     */
+    public Image getCached(File video) {
+        String key = DiskCacheUtils.getFileKey(video);
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    /**
+     * Get the thumbnail for the given video, loading it from disk or
+     * generating it in the background if it's not already in memory. The
+     * callback is always run on the JavaFX application thread; if the
+     * thumbnail is in memory it's run before this method returns (when called
+     * on the FX thread.)
+     * <p/>
+     * @param video the video file.
+     * @param callback the callback to receive the thumbnail.
+     */
+    public void request(File video, Consumer<Image> callback) {
+        Image cached = getCached(video);
+        if (cached != null) {
+            runOnFXThread(() -> callback.accept(cached));
+            return;
+        }
+        String key = DiskCacheUtils.getFileKey(video);
+        synchronized (pending) {
+            List<Consumer<Image>> waiting = pending.get(key);
+            if (waiting != null) {
+                waiting.add(callback);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            pending.put(key, waiting);
+        }
+        if (shutdown) {
+            return;
+        }
+        loader.submit(() -> {
+            Image image = null;
+            try {
+                image = readFromDisk(key);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Couldn't read cached thumbnail for " + video, ex);
+            }
+            if (image != null || shutdown) {
+                complete(key, image);
+            } else {
+                generator.submit(() -> {
+                    Image generated = null;
+                    try {
+                        generated = generate(video, key);
+                    } catch (RuntimeException ex) {
+                        LOGGER.log(Level.WARNING, "Couldn't generate thumbnail for " + video, ex);
+                        generated = VideoListPanel.UNSUPPORTED;
+                    } finally {
+                        complete(key, generated);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Remove any cached thumbnails for the given video.
+     * <p/>
+     * @param video the video file.
+     */
+    public void invalidate(File video) {
+        String key = DiskCacheUtils.getFileKey(video);
+        synchronized (memory) {
+            memory.remove(key);
+        }
+        getThumbnailFile(key).delete();
+        new File(getThumbnailFile(key).getParentFile(), key + UNSUPPORTED_SUFFIX).delete();
+    }
+
+    /**
+     * Stop generating thumbnails and release the preview pipelines. Called
+     * when Quelea exits.
+     */
+    public void shutdown() {
+        shutdown = true;
+        loader.shutdownNow();
+        generator.shutdownNow();
+        try {
+            generator.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (allDisplays) {
+            for (VidPreviewDisplay display : allDisplays) {
+                display.dispose();
+            }
+            allDisplays.clear();
+        }
+        idleDisplays.clear();
+    }
+
+    private void complete(String key, Image image) {
+        if (image != null) {
+            synchronized (memory) {
+                memory.put(key, image);
+            }
+        }
+        List<Consumer<Image>> callbacks;
+        synchronized (pending) {
+            callbacks = pending.remove(key);
+        }
+        if (callbacks != null) {
+            final Image result = image;
+            Platform.runLater(() -> callbacks.forEach(c -> c.accept(result)));
+        }
+    }
+
+    private Image readFromDisk(String key) {
+        File thumb = getThumbnailFile(key);
+        if (thumb.isFile()) {
+            Image image = new Image(thumb.toURI().toString());
+            if (!image.isError()) {
+                // Keep the modified time as the last use, so trimming drops the least recently used
+                thumb.setLastModified(System.currentTimeMillis());
+                return image;
+            }
+            LOGGER.log(Level.WARNING, "Corrupt cached thumbnail {0}, regenerating", thumb);
+            thumb.delete();
+            return null;
+        }
+        if (new File(thumb.getParentFile(), key + UNSUPPORTED_SUFFIX).isFile()) {
+            return VideoListPanel.UNSUPPORTED;
+        }
+        return null;
+    }
+
+    private Image generate(File video, String key) {
+        if (shutdown) {
+            return VideoListPanel.BLANK;
+        }
+        LOGGER.log(Level.INFO, "Generating thumbnail for {0}", video);
+        VidPreviewDisplay display = idleDisplays.poll();
+        if (display == null) {
+            // At most one per generator thread, since each one is handed back when it's done
+            display = new VidPreviewDisplay();
+            synchronized (allDisplays) {
+                allDisplays.add(display);
+            }
+        }
+        Image preview;
+        try {
+            preview = display.getPreviewImg(video.toURI());
+        } finally {
+            idleDisplays.offer(display);
+        }
+        if (preview == VideoListPanel.UNSUPPORTED || preview == VideoListPanel.BLANK) {
+            if (preview == VideoListPanel.UNSUPPORTED) {
+                touch(new File(getThumbnailFile(key).getParentFile(), key + UNSUPPORTED_SUFFIX));
+            }
+            return preview;
+        }
+        BufferedImage thumb = scale(SwingFXUtils.fromFXImage(preview, null));
+        File target = getThumbnailFile(key);
+        try {
+            File tmp = File.createTempFile(key, ".tmp", target.getParentFile());
+            ImageIO.write(thumb, "png", tmp);
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't write thumbnail for " + video, ex);
+        }
+        if (!shutdown) {
+            loader.submit(this::trimDiskCache);
+        }
+        return SwingFXUtils.toFXImage(thumb, null);
+    }
+
+    /**
+     * Delete the least recently used thumbnails until the directory is back
+     * under its size and entry limits.
+     */
+    private void trimDiskCache() {
+        File[] files = QueleaProperties.get().getVideoThumbnailDir().listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        int remaining = DiskCacheUtils.trimLeastRecentlyUsed(files, MAX_DISK_BYTES, MAX_DISK_ENTRIES, file -> false);
+        if (remaining < files.length) {
+            LOGGER.log(Level.INFO, "Trimmed video thumbnail cache to {0} files", remaining);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage src) {
+        double ratio = Math.min((double) THUMBNAIL_WIDTH / src.getWidth(), (double) THUMBNAIL_HEIGHT / src.getHeight());
+        int width = Math.max(1, (int) Math.round(src.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(src.getHeight() * ratio));
+        BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = ret.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(src, 0, 0, width, height, null);
+        g.dispose();
+        return ret;
+    }
+
+    private static void touch(File file) {
+        try {
+            file.createNewFile();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Couldn't create " + file, ex);
+        }
+    }
+
+    private static File getThumbnailFile(String key) {
+        File dir = QueleaProperties.get().getVideoThumbnailDir();
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        return new File(dir, key + ".png");
+    }
+
+    private static void runOnFXThread(Runnable r) {
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+        } else {
+            Platform.runLater(r);
+        }
+    }
+}
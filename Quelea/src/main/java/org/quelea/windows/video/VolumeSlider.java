@@ -22,9 +22,9 @@ import java.util.ArrayList;
 import java.util.List;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
+import org.quelea.services.utils.ImageManager;
 
 /**
  * A volume slider. Consists of a slider and up / down icons.
@@ -47,9 +47,9 @@ public class VolumeSlider extends BorderPane {
             }
         });
         
-        setLeft(new Label("",new ImageView(new Image("file:icons/volumedown.png", 16, 16, false, true))));
+        setLeft(new Label("",new ImageView(ImageManager.INSTANCE.getImage("file:icons/volumedown.png", 16, 16, false, true))));
         setCenter(volumeSlider);
-        setRight(new Label("",new ImageView(new Image("file:icons/volumeup.png", 16, 16, false, true))));
+        setRight(new Label("",new ImageView(ImageManager.INSTANCE.getImage("file:icons/volumeup.png", 16, 16, false, true))));
     }
     
     /**
@@ -0,0 +1,295 @@
+/*
+ * This file is part of Quelea, free projection software for churches.
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.quelea.windows.web;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.input.InputEvent;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.scene.web.WebView;
+import javax.imageio.ImageIO;
+import org.quelea.services.utils.LoggerUtils;
+
+/**
+ * Mirrors a live web item into a preview image view. Frames are snapshotted
+ * at preview resolution straight into one reused image, frames that haven't
+ * changed since the last one are dropped, and the capture rate backs off when
+ * the page is static or the FX thread is struggling to keep up. A snapshot is
+ * only taken when something may have changed: the mirrored node or its size,
+ * the watched web view loading, navigating, zooming or getting input, or the
+ * previous snapshot having changed (the page is animating.) Otherwise a
+ * snapshot is taken every couple of seconds to catch changes nothing told us
+ * about. The latest frame is also kept so it can be served to the remote
+ * control.
+ * <p/>
+ * @author Michael
+ */
+public class WebMirror {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger();
+    private static final double PREVIEW_WIDTH = 640;
+    private static final long NOMINAL_PULSE_NANOS = 16_666_667;
+    private static final long MAX_INTERVAL_NANOS = 2_000_000_000;
+    private static final int UNCHANGED_BEFORE_BACKOFF = 5;
+    private final ImageView target;
+    private final AnimationTimer timer;
+    private final SnapshotParameters params;
+    private Supplier<Node> source;
+    private WritableImage frame;
+    private int[] pixels;
+    private int lastHash;
+    private long baseInterval;
+    private long interval;
+    private long lastCapture;
+    private long lastPulse;
+    private int slowPulses;
+    private int unchanged;
+    private boolean dirty;
+    private long lastSnapshot;
+    private Node lastNode;
+    private double lastWidth;
+    private double lastHeight;
+    private WebView watched;
+    private final InvalidationListener changeListener;
+    private final EventHandler<InputEvent> inputHandler;
+    private final Object sharedLock = new Object();
+    private int[] sharedPixels;
+    private int sharedWidth;
+    private int sharedHeight;
+    private byte[] sharedPng;
+
+    /**
+     * Create a new mirror.
+     * <p/>
+     * @param target the image view the mirrored frames are shown in.
+     */
+    public WebMirror(ImageView target) {
+        this.target = target;
+        params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        changeListener = observable -> markDirty();
+        inputHandler = event -> markDirty();
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                tick(now);
+            }
+        };
+    }
+
+    /**
+     * Start mirroring. Must be called on the FX thread.
+     * <p/>
+     * @param source supplies the node to mirror each time a frame is due, or
+     * null if there's nothing to mirror at the moment.
+     * @param intervalMillis the time between frames when the page is changing
+     * and the FX thread isn't busy.
+     */
+    public void start(Supplier<Node> source, int intervalMillis) {
+        this.source = source;
+        baseInterval = Math.max(1, intervalMillis) * 1_000_000L;
+        interval = baseInterval;
+        lastCapture = 0;
+        lastPulse = 0;
+        slowPulses = 0;
+        unchanged = 0;
+        lastHash = 0;
+        lastSnapshot = 0;
+        lastNode = null;
+        dirty = true;
+        timer.start();
+    }
+
+    /**
+     * Watch a web view for changes, so frames are captured promptly when it
+     * loads, navigates, zooms or is interacted with. Must be called on the FX
+     * thread after {@link #start(Supplier, int)}; stopping the mirror stops
+     * watching it.
+     * <p/>
+     * @param view the web view being mirrored.
+     */
+    public void watch(WebView view) {
+        unwatch();
+        watched = view;
+        view.addEventFilter(InputEvent.ANY, inputHandler);
+        view.zoomProperty().addListener(changeListener);
+        view.getEngine().locationProperty().addListener(changeListener);
+        view.getEngine().getLoadWorker().stateProperty().addListener(changeListener);
+        markDirty();
+    }
+
+    /**
+     * Let the mirror know the mirrored content may have changed, so the next
+     * frame that's due is captured. Must be called on the FX thread.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    private void unwatch() {
+        if (watched != null) {
+            watched.removeEventFilter(InputEvent.ANY, inputHandler);
+            watched.zoomProperty().removeListener(changeListener);
+            watched.getEngine().locationProperty().removeListener(changeListener);
+            watched.getEngine().getLoadWorker().stateProperty().removeListener(changeListener);
+            watched = null;
+        }
+    }
+
+    /**
+     * Stop mirroring and forget the last frame. Must be called on the FX
+     * thread.
+     */
+    public void stop() {
+        timer.stop();
+        unwatch();
+        source = null;
+        lastNode = null;
+        synchronized (sharedLock) {
+            sharedPixels = null;
+            sharedPng = null;
+        }
+    }
+
+    private void tick(long now) {
+        if (lastPulse != 0 && now - lastPulse > 2 * NOMINAL_PULSE_NANOS) {
+            slowPulses++;
+        } else if (slowPulses > 0) {
+            slowPulses--;
+        }
+        lastPulse = now;
+        if (now - lastCapture < interval || source == null) {
+            return;
+        }
+        lastCapture = now;
+        Node node = source.get();
+        if (node == null) {
+            return;
+        }
+        Bounds bounds = node.getBoundsInLocal();
+        if (node != lastNode || bounds.getWidth() != lastWidth || bounds.getHeight() != lastHeight) {
+            lastNode = node;
+            lastWidth = bounds.getWidth();
+            lastHeight = bounds.getHeight();
+            dirty = true;
+        }
+        if (!dirty && now - lastSnapshot < MAX_INTERVAL_NANOS) {
+            return;
+        }
+        dirty = false;
+        lastSnapshot = now;
+        long start = System.nanoTime();
+        boolean changed = capture(node);
+        if (changed) {
+            // Probably animating, so keep looking until a frame comes back the same
+            dirty = true;
+        }
+        long cost = System.nanoTime() - start;
+        if (slowPulses > 3 || cost > interval / 4) {
+            interval = Math.min(interval * 2, Math.max(baseInterval, MAX_INTERVAL_NANOS));
+        } else if (changed) {
+            unchanged = 0;
+            interval = Math.max(baseInterval, interval / 2);
+        } else if (++unchanged >= UNCHANGED_BEFORE_BACKOFF) {
+            interval = Math.min(interval * 3 / 2, Math.max(baseInterval, MAX_INTERVAL_NANOS));
+        }
+    }
+
+    /**
+     * Snapshot the node into the reused frame.
+     * <p/>
+     * @return true if the frame changed, false otherwise.
+     */
+    private boolean capture(Node node) {
+        Bounds bounds = node.getBoundsInLocal();
+        if (bounds.getWidth() < 1 || bounds.getHeight() < 1) {
+            return false;
+        }
+        double scale = Math.min(1, PREVIEW_WIDTH / bounds.getWidth());
+        int width = Math.max(1, (int) Math.round(bounds.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(bounds.getHeight() * scale));
+        if (frame == null || (int) frame.getWidth() != width || (int) frame.getHeight() != height) {
+            frame = new WritableImage(width, height);
+            pixels = new int[width * height];
+            lastHash = 0;
+        }
+        params.setTransform(Transform.scale(scale, scale));
+        node.snapshot(params, frame);
+        if (target.getImage() != frame) {
+            target.setImage(frame);
+        }
+        frame.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        int hash = Arrays.hashCode(pixels);
+        if (hash == lastHash) {
+            return false;
+        }
+        lastHash = hash;
+        synchronized (sharedLock) {
+            if (sharedPixels == null || sharedPixels.length != pixels.length) {
+                sharedPixels = new int[pixels.length];
+            }
+            System.arraycopy(pixels, 0, sharedPixels, 0, pixels.length);
+            sharedWidth = width;
+            sharedHeight = height;
+            sharedPng = null;
+        }
+        return true;
+    }
+
+    /**
+     * Get the latest mirrored frame as a PNG. Safe to call from any thread;
+     * the frame is only encoded once however many times it's asked for.
+     * <p/>
+     * @return the PNG bytes, or null if there's no frame.
+     */
+    public byte[] getFramePng() {
+        synchronized (sharedLock) {
+            if (sharedPixels == null) {
+                return null;
+            }
+            if (sharedPng == null) {
+                BufferedImage image = new BufferedImage(sharedWidth, sharedHeight, BufferedImage.TYPE_INT_ARGB);
+                image.setRGB(0, 0, sharedWidth, sharedHeight, sharedPixels, 0, sharedWidth);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try {
+                    ImageIO.write(image, "png", out);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Couldn't encode web mirror frame", ex);
+                    return null;
+                }
+                sharedPng = out.toByteArray();
+            }
+            return sharedPng;
+        }
+    }
+}
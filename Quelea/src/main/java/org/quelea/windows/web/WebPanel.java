@@ -31,7 +31,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Separator;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -41,6 +40,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.web.WebView;
 import org.quelea.data.displayable.WebDisplayable;
+import org.quelea.services.utils.ImageManager;
 import org.quelea.services.utils.LoggerUtils;
 import org.quelea.services.utils.QueleaProperties;
 import org.quelea.windows.main.AbstractPanel;
@@ -81,7 +81,7 @@ public class WebPanel extends AbstractPanel {
     public WebPanel() {
         imagePane = new StackPane();
         imagePreview = new ImageView();
-        loading = new ImageView(new Image("file:icons/loading.gif"));
+        loading = new ImageView(ImageManager.INSTANCE.getImage("file:icons/loading.gif"));
         drawer = new WebDrawer();
         VBox centerBit = new VBox(5);
         centerBit.setAlignment(Pos.CENTER);
@@ -144,7 +144,7 @@ public class WebPanel extends AbstractPanel {
                 }
             }
         });
-        imagePreview.setImage(new Image("file:icons/web preview.png"));
+        imagePreview.setImage(ImageManager.INSTANCE.getImage("file:icons/web preview.png"));
         addEventFilter(KeyEvent.KEY_PRESSED, (KeyEvent t) -> {
             if (t.getCode().equals(KeyCode.PAGE_DOWN) || t.getCode().equals(KeyCode.DOWN)) {
                 t.consume();
@@ -348,7 +348,7 @@ public class WebPanel extends AbstractPanel {
     }
 
     private ImageView getButtonImageView(String path) {
-        return new ImageView(new Image(QueleaProperties.get().getUseDarkTheme() ? path.replace(".png", "-light.png") : path));
+        return new ImageView(ImageManager.INSTANCE.getImage(QueleaProperties.get().getUseDarkTheme() ? path.replace(".png", "-light.png") : path));
     }
 
 }
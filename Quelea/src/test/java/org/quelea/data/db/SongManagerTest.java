@@ -0,0 +1,52 @@
+package org.quelea.data.db;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quelea.data.ThemeDTO;
+import org.quelea.services.utils.QueleaProperties;
+import org.quelea.services.utils.SerializableDropShadow;
+
+@DisplayName("SongManagerTest")
+public class SongManagerTest {
+
+    @BeforeAll
+    public static void init() {
+        // the default theme reads the maximum font size from the properties
+        QueleaProperties.init("");
+    }
+
+    @Test
+    @DisplayName("Test Bulk Import Keeps Themes Differing Only In Shadow")
+    public void testThemeKeyDiffersByShadow() {
+        ThemeDTO plain = theme(ThemeDTO.DEFAULT_SHADOW, 0);
+        ThemeDTO shadowed = theme(new SerializableDropShadow(Color.RED, 3, 3, 5, 0, true), 0);
+        // the incomplete equals would give both songs the same theme row
+        Assertions.assertEquals(plain, shadowed);
+        Assertions.assertNotEquals(SongManager.themeKey(plain), SongManager.themeKey(shadowed));
+    }
+
+    @Test
+    @DisplayName("Test Bulk Import Keeps Themes Differing Only In Alignment")
+    public void testThemeKeyDiffersByAlignment() {
+        ThemeDTO first = theme(ThemeDTO.DEFAULT_SHADOW, -1);
+        ThemeDTO second = theme(ThemeDTO.DEFAULT_SHADOW, 0);
+        Assertions.assertEquals(first, second);
+        Assertions.assertNotEquals(SongManager.themeKey(first), SongManager.themeKey(second));
+    }
+
+    @Test
+    @DisplayName("Test Bulk Import Shares Identical Themes")
+    public void testThemeKeySameForSameTheme() {
+        Assertions.assertEquals(SongManager.themeKey(theme(ThemeDTO.DEFAULT_SHADOW, 0)),
+                SongManager.themeKey(theme(ThemeDTO.DEFAULT_SHADOW, 0)));
+    }
+
+    private static ThemeDTO theme(SerializableDropShadow shadow, int alignment) {
+        return new ThemeDTO(ThemeDTO.DEFAULT_FONT, ThemeDTO.DEFAULT_FONT_COLOR, ThemeDTO.DEFAULT_FONT,
+                ThemeDTO.DEFAULT_TRANSLATE_FONT_COLOR, ThemeDTO.DEFAULT_BACKGROUND, shadow,
+                true, false, true, true, -1, alignment);
+    }
+}
@@ -21,6 +21,8 @@ public class QueleaPropertiesTest {
         QueleaProperties.init("");
         // trigger a properties write
         QueleaProperties.get().setCheckUpdate(true);
+        // writes are deferred to a background thread, so force it out now
+        QueleaProperties.get().flush();
         // read the properties file
         Scanner scanner = new Scanner(new File(QueleaProperties.get().getQueleaUserHome(), "quelea.properties"));
         ArrayList<String> propertyKeys = new ArrayList<>();